@@ -39,7 +39,7 @@ public class ChunkBlockTickSystem {
 
       @Override
       public boolean isParallel(int archetypeChunkSize, int taskCount) {
-         return EntityTickingSystem.maybeUseParallel(archetypeChunkSize, taskCount);
+         return EntityTickingSystem.useCalibratedParallel(archetypeChunkSize, taskCount);
       }
 
       @Override
@@ -69,6 +69,7 @@ import com.hypixel.hytale.builtin.hytalegenerator.assets.density.PositionsPinchD
 import com.hypixel.hytale.builtin.hytalegenerator.assets.density.PositionsTwistDensityAsset;
 import com.hypixel.hytale.builtin.hytalegenerator.assets.density.PowDensityAsset;
 import com.hypixel.hytale.builtin.hytalegenerator.assets.density.RotatorDensityAsset;
+import com.hypixel.hytale.builtin.hytalegenerator.assets.density.SampledDensityAsset;
 import com.hypixel.hytale.builtin.hytalegenerator.assets.density.ScaleDensityAsset;
 import com.hypixel.hytale.builtin.hytalegenerator.assets.density.ShellDensityAsset;
 import com.hypixel.hytale.builtin.hytalegenerator.assets.density.SimplexNoise2dDensityAsset;
@@ -458,6 +459,7 @@ public class AssetManager {
       DensityAsset.CODEC.register("YOverride", YOverrideDensityAsset.class, YOverrideDensityAsset.CODEC);
       DensityAsset.CODEC.register("ZOverride", ZOverrideDensityAsset.class, ZOverrideDensityAsset.CODEC);
       DensityAsset.CODEC.register("Cache", CacheDensityAsset.class, CacheDensityAsset.CODEC);
+      DensityAsset.CODEC.register("Sampled", SampledDensityAsset.class, SampledDensityAsset.CODEC);
       DensityAsset.CODEC.register("Angle", AngleDensityAsset.class, AngleDensityAsset.CODEC);
       DensityAsset.CODEC.register("Exported", ExportedDensityAsset.class, ExportedDensityAsset.CODEC);
       DensityAsset.CODEC.register("Terrain", TerrainDensityAsset.class, TerrainDensityAsset.CODEC);
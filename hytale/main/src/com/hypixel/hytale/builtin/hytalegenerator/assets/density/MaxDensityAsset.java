@@ -13,7 +13,9 @@ public class MaxDensityAsset extends DensityAsset {
    @Nonnull
    @Override
    public Density build(@Nonnull DensityAsset.Argument argument) {
-      return (Density)(this.isSkipped() ? new ConstantValueDensity(0.0) : new MaxDensity(this.buildInputs(argument, true)));
+      return (Density)(this.isSkipped()
+         ? new ConstantValueDensity(0.0)
+         : new MaxDensity(this.buildInputs(argument, true), argument.workerIndexer.getWorkerCount()));
    }
 
    @Override
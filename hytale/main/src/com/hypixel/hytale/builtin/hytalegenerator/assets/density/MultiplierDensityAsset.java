@@ -15,7 +15,9 @@ public class MultiplierDensityAsset extends DensityAsset {
    @Nonnull
    @Override
    public Density build(@Nonnull DensityAsset.Argument argument) {
-      return (Density)(this.isSkipped() ? new ConstantValueDensity(0.0) : new MultiplierDensity(this.buildInputs(argument, true)));
+      return (Density)(this.isSkipped()
+         ? new ConstantValueDensity(0.0)
+         : new MultiplierDensity(this.buildInputs(argument, true), argument.workerIndexer.getWorkerCount()));
    }
 
    @Override
@@ -0,0 +1,47 @@
+package com.hypixel.hytale.builtin.hytalegenerator.assets.density;
+
+import com.hypixel.hytale.builtin.hytalegenerator.density.Density;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.ConstantValueDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.SampledDensity;
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.math.vector.Vector3i;
+import javax.annotation.Nonnull;
+
+public class SampledDensityAsset extends DensityAsset {
+   public static final BuilderCodec<SampledDensityAsset> CODEC = BuilderCodec.builder(
+         SampledDensityAsset.class, SampledDensityAsset::new, DensityAsset.ABSTRACT_CODEC
+      )
+      .append(new KeyedCodec<>("Resolution", Vector3i.CODEC, false), (t, k) -> t.resolution = k, t -> t.resolution)
+      .add()
+      .build();
+   @Nonnull
+   private Vector3i resolution = SampledDensity.DEFAULT_RESOLUTION.clone();
+
+   @Nonnull
+   @Override
+   public Density build(@Nonnull DensityAsset.Argument argument) {
+      if (this.isSkipped()) {
+         return new ConstantValueDensity(0.0);
+      } else {
+         Density input = this.buildFirstInput(argument);
+         if (input == null) {
+            return new ConstantValueDensity(0.0);
+         } else {
+            return (Density)(this.resolution.x <= 1 && this.resolution.y <= 1 && this.resolution.z <= 1
+               ? input
+               : new SampledDensity(input, sanitize(this.resolution), argument.workerIndexer.getWorkerCount()));
+         }
+      }
+   }
+
+   @Nonnull
+   public static Vector3i sanitize(@Nonnull Vector3i resolution) {
+      return new Vector3i(Math.max(1, resolution.x), Math.max(1, resolution.y), Math.max(1, resolution.z));
+   }
+
+   @Override
+   public void cleanUp() {
+      this.cleanUpInputs();
+   }
+}
@@ -2,13 +2,19 @@ package com.hypixel.hytale.builtin.hytalegenerator.assets.terrains;
 
 import com.hypixel.hytale.builtin.hytalegenerator.assets.density.ConstantDensityAsset;
 import com.hypixel.hytale.builtin.hytalegenerator.assets.density.DensityAsset;
+import com.hypixel.hytale.builtin.hytalegenerator.assets.density.SampledDensityAsset;
 import com.hypixel.hytale.builtin.hytalegenerator.density.Density;
+import com.hypixel.hytale.builtin.hytalegenerator.density.DensityCompiler;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.SampledDensity;
 import com.hypixel.hytale.builtin.hytalegenerator.referencebundle.ReferenceBundle;
 import com.hypixel.hytale.builtin.hytalegenerator.seed.SeedBox;
 import com.hypixel.hytale.builtin.hytalegenerator.threadindexer.WorkerIndexer;
+import com.hypixel.hytale.codec.Codec;
 import com.hypixel.hytale.codec.KeyedCodec;
 import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.math.vector.Vector3i;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class DensityTerrainAsset extends TerrainAsset {
    public static final BuilderCodec<DensityTerrainAsset> CODEC = BuilderCodec.builder(
@@ -16,14 +22,28 @@ public class DensityTerrainAsset extends TerrainAsset {
       )
       .append(new KeyedCodec<>("Density", DensityAsset.CODEC, true), (t, k) -> t.densityAsset = k, t -> t.densityAsset)
       .add()
+      .append(new KeyedCodec<>("Sampling", Vector3i.CODEC, false), (t, k) -> t.sampling = k, t -> t.sampling)
+      .add()
+      .append(new KeyedCodec<>("Compile", Codec.BOOLEAN, false), (t, k) -> t.compile = k, t -> t.compile)
+      .add()
       .build();
    @Nonnull
    private DensityAsset densityAsset = new ConstantDensityAsset();
+   @Nullable
+   private Vector3i sampling;
+   private boolean compile = true;
 
    @Nonnull
    @Override
    public Density buildDensity(@Nonnull SeedBox parentSeed, @Nonnull ReferenceBundle referenceBundle, @Nonnull WorkerIndexer workerIndexer) {
-      return this.densityAsset.build(new DensityAsset.Argument(parentSeed, referenceBundle, workerIndexer));
+      Density density = this.densityAsset.build(new DensityAsset.Argument(parentSeed, referenceBundle, workerIndexer));
+      if (this.sampling != null && (this.sampling.x > 1 || this.sampling.y > 1 || this.sampling.z > 1)) {
+         density = new SampledDensity(density, SampledDensityAsset.sanitize(this.sampling), workerIndexer.getWorkerCount());
+      }
+
+      return this.compile && !workerIndexer.getWorkedIds().isEmpty()
+         ? DensityCompiler.compile(density, workerIndexer.getWorkedIds().get(0), workerIndexer.getWorkerCount())
+         : density;
    }
 
    @Override
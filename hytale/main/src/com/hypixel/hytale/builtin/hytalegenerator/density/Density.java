@@ -19,9 +19,43 @@ public abstract class Density {
 
    public abstract double process(@Nonnull Density.Context var1);
 
+   public void processColumn(@Nonnull Density.Context context, int minY, int maxY, @Nonnull double[] out) {
+      double y = context.position.y;
+
+      for (int i = 0; i < maxY - minY; i++) {
+         context.position.y = minY + i;
+         out[i] = this.process(context);
+      }
+
+      context.position.y = y;
+   }
+
    public void setInputs(Density[] inputs) {
    }
 
+   public static class ColumnBuffer {
+      @Nonnull
+      private final WorkerIndexer.Data<double[][]> threadData;
+
+      public ColumnBuffer(int threadCount) {
+         this.threadData = new WorkerIndexer.Data<>(threadCount, () -> new double[1][0]);
+      }
+
+      @Nonnull
+      public double[] get(@Nonnull WorkerIndexer.Id workerId, int length) {
+         if (!this.threadData.isValid(workerId)) {
+            return new double[length];
+         } else {
+            double[][] holder = this.threadData.get(workerId);
+            if (holder[0].length < length) {
+               holder[0] = new double[length];
+            }
+
+            return holder[0];
+         }
+      }
+   }
+
    public static class Context {
       @Nonnull
       public Vector3d position;
@@ -0,0 +1,719 @@
+package com.hypixel.hytale.builtin.hytalegenerator.density;
+
+import com.hypixel.hytale.builtin.hytalegenerator.LoggerUtil;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.AbsDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.AmplitudeConstantDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.CacheDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.ClampDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.ConstantValueDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.InverterDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.MaxDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.MinDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.MultiplierDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.Noise2dDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.Noise3dDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.OffsetConstantDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.SampledDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.SumDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.XValueDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.YValueDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.density.nodes.ZValueDensity;
+import com.hypixel.hytale.builtin.hytalegenerator.fields.noise.NoiseField;
+import com.hypixel.hytale.builtin.hytalegenerator.framework.math.Calculator;
+import com.hypixel.hytale.builtin.hytalegenerator.threadindexer.WorkerIndexer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Map.Entry;
+import javax.annotation.Nonnull;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+public final class DensityCompiler {
+   public static final int VALIDATION_SAMPLES = 64;
+   public static final int VALIDATION_COLUMN_HEIGHT = 64;
+   public static final double VALIDATION_TOLERANCE = 1.0E-6;
+   private static final String CLASS_NAME = "com/hypixel/hytale/builtin/hytalegenerator/density/CompiledDensity";
+   private static final String DENSITY = "com/hypixel/hytale/builtin/hytalegenerator/density/Density";
+   private static final String DENSITY_DESCRIPTOR = "Lcom/hypixel/hytale/builtin/hytalegenerator/density/Density;";
+   private static final String CONTEXT = "com/hypixel/hytale/builtin/hytalegenerator/density/Density$Context";
+   private static final String VECTOR = "com/hypixel/hytale/math/vector/Vector3d";
+   private static final String VECTOR_DESCRIPTOR = "Lcom/hypixel/hytale/math/vector/Vector3d;";
+   private static final String NOISE_FIELD = "com/hypixel/hytale/builtin/hytalegenerator/fields/noise/NoiseField";
+   private static final String NOISE_FIELD_DESCRIPTOR = "Lcom/hypixel/hytale/builtin/hytalegenerator/fields/noise/NoiseField;";
+   private static final String PROCESS_DESCRIPTOR = "(Lcom/hypixel/hytale/builtin/hytalegenerator/density/Density$Context;)D";
+   private static final String PROCESS_COLUMN_DESCRIPTOR = "(Lcom/hypixel/hytale/builtin/hytalegenerator/density/Density$Context;II[D)V";
+   private static final String COLUMN_BUFFER = "com/hypixel/hytale/builtin/hytalegenerator/density/Density$ColumnBuffer";
+   private static final String COLUMN_BUFFER_DESCRIPTOR = "Lcom/hypixel/hytale/builtin/hytalegenerator/density/Density$ColumnBuffer;";
+   private static final String WORKER_ID_DESCRIPTOR = "Lcom/hypixel/hytale/builtin/hytalegenerator/threadindexer/WorkerIndexer$Id;";
+   private static final String CONSTRUCTOR_DESCRIPTOR = "([Lcom/hypixel/hytale/builtin/hytalegenerator/density/Density;[Lcom/hypixel/hytale/builtin/hytalegenerator/fields/noise/NoiseField;[Lcom/hypixel/hytale/builtin/hytalegenerator/density/Density$ColumnBuffer;)V";
+   @Nonnull
+   private final WorkerIndexer.Id workerId;
+   private final int threadCount;
+   @Nonnull
+   private final Set<Density> visited;
+   private final List<Density> leaves = new ArrayList<>();
+   private final List<NoiseField> noises = new ArrayList<>();
+   private final Map<Density, Density> rewires = new HashMap<>();
+
+   private DensityCompiler(@Nonnull WorkerIndexer.Id workerId, int threadCount, @Nonnull Set<Density> visited) {
+      this.workerId = workerId;
+      this.threadCount = threadCount;
+      this.visited = visited;
+   }
+
+   @Nonnull
+   public static Density compile(@Nonnull Density density, @Nonnull WorkerIndexer.Id workerId, int threadCount) {
+      DensityCompiler compiler = new DensityCompiler(workerId, threadCount, new HashSet<>());
+      Density compiled = compiler.compileGraph(density);
+
+      for (Entry<Density, Density> entry : compiler.rewires.entrySet()) {
+         entry.getKey().setInputs(new Density[]{entry.getValue()});
+      }
+
+      return compiled;
+   }
+
+   public static boolean validate(@Nonnull Density interpreted, @Nonnull Density compiled, @Nonnull WorkerIndexer.Id workerId) {
+      Density.Context interpretedContext = new Density.Context();
+      interpretedContext.workerId = workerId;
+      Density.Context compiledContext = new Density.Context();
+      compiledContext.workerId = workerId;
+      double[] interpretedColumn = new double[64];
+      double[] compiledColumn = new double[64];
+
+      for (int i = 0; i < 64; i++) {
+         int x = i * 37 % 509 - 254;
+         int z = i * 61 % 503 - 251;
+         int minY = i % 5 * 64;
+         int maxY = minY + 64;
+         int y = minY + i * 13 % 64;
+         interpretedContext.position.assign((double)x, (double)y, (double)z);
+         compiledContext.position.assign((double)x, (double)y, (double)z);
+
+         double interpretedValue;
+         try {
+            interpretedValue = interpreted.process(interpretedContext);
+            interpreted.processColumn(interpretedContext, minY, maxY, interpretedColumn);
+         } catch (RuntimeException var16) {
+            continue;
+         }
+
+         if (!matches(interpretedValue, compiled.process(compiledContext))) {
+            return false;
+         }
+
+         compiled.processColumn(compiledContext, minY, maxY, compiledColumn);
+         if (compiledContext.position.y != y) {
+            return false;
+         }
+
+         for (int j = 0; j < 64; j++) {
+            if (!matches(interpretedColumn[j], compiledColumn[j])) {
+               return false;
+            }
+         }
+      }
+
+      return true;
+   }
+
+   private static boolean matches(double expected, double actual) {
+      return Double.compare(expected, actual) == 0 || Math.abs(expected - actual) <= 1.0E-6 * Math.max(1.0, Math.abs(expected));
+   }
+
+   static double min(double current, double value) {
+      return current > value ? value : current;
+   }
+
+   static double max(double current, double value) {
+      return current < value ? value : current;
+   }
+
+   @Nonnull
+   private Density compileGraph(@Nonnull Density density) {
+      DensityCompiler.Node root = this.lower(density);
+      if (root.op == DensityCompiler.Op.LEAF) {
+         return density;
+      } else {
+         try {
+            Density compiled = this.define(generate(root, this.leaves.size(), this.noises.size()));
+            if (validate(density, compiled, this.workerId)) {
+               LoggerUtil.getLogger()
+                  .fine("Compiled density graph " + density.getClass().getSimpleName() + " with " + this.leaves.size() + " interpreted leaves");
+               return compiled;
+            } else {
+               LoggerUtil.getLogger()
+                  .warning("Compiled density graph " + density.getClass().getSimpleName() + " does not match the interpreter, using the interpreter");
+               this.rewires.clear();
+               return density;
+            }
+         } catch (Throwable var4) {
+            LoggerUtil.logException("density graph compilation", var4);
+            this.rewires.clear();
+            return density;
+         }
+      }
+   }
+
+   @Nonnull
+   private Density define(@Nonnull byte[] bytes) throws Throwable {
+      MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+      MethodHandle constructor = lookup.findConstructor(
+         lookup.lookupClass(), MethodType.methodType(void.class, Density[].class, NoiseField[].class, Density.ColumnBuffer[].class)
+      );
+      Density.ColumnBuffer[] columns = new Density.ColumnBuffer[this.leaves.size()];
+
+      for (int i = 0; i < columns.length; i++) {
+         columns[i] = new Density.ColumnBuffer(this.threadCount);
+      }
+
+      return (Density)constructor.invoke(this.leaves.toArray(new Density[0]), this.noises.toArray(new NoiseField[0]), columns);
+   }
+
+   @Nonnull
+   private DensityCompiler.Node lower(@Nonnull Density density) {
+      if (density instanceof ConstantValueDensity constantValueDensity) {
+         return DensityCompiler.Node.constant(constantValueDensity.getValue());
+      } else if (density instanceof XValueDensity) {
+         return new DensityCompiler.Node(DensityCompiler.Op.X, true);
+      } else if (density instanceof YValueDensity) {
+         return new DensityCompiler.Node(DensityCompiler.Op.Y, false);
+      } else if (density instanceof ZValueDensity) {
+         return new DensityCompiler.Node(DensityCompiler.Op.Z, true);
+      } else if (density instanceof SumDensity sumDensity) {
+         return DensityCompiler.Node.sum(this.lower(sumDensity.getInputs()));
+      } else if (density instanceof MultiplierDensity multiplierDensity) {
+         return DensityCompiler.Node.product(this.lower(multiplierDensity.getInputs()));
+      } else if (density instanceof MinDensity minDensity) {
+         return DensityCompiler.Node.extremum(DensityCompiler.Op.MIN, this.lower(minDensity.getInputs()));
+      } else if (density instanceof MaxDensity maxDensity) {
+         return DensityCompiler.Node.extremum(DensityCompiler.Op.MAX, this.lower(maxDensity.getInputs()));
+      } else if (density instanceof OffsetConstantDensity offsetConstantDensity) {
+         return offsetConstantDensity.getInput() == null
+            ? DensityCompiler.Node.constant(0.0)
+            : DensityCompiler.Node.sum(
+               new DensityCompiler.Node[]{this.lower(offsetConstantDensity.getInput()), DensityCompiler.Node.constant(offsetConstantDensity.getOffset())}
+            );
+      } else if (density instanceof AmplitudeConstantDensity amplitudeConstantDensity) {
+         return amplitudeConstantDensity.getInput() == null
+            ? DensityCompiler.Node.constant(0.0)
+            : DensityCompiler.Node.product(
+               new DensityCompiler.Node[]{
+                  this.lower(amplitudeConstantDensity.getInput()), DensityCompiler.Node.constant(amplitudeConstantDensity.getAmplitude())
+               }
+            );
+      } else if (density instanceof AbsDensity absDensity) {
+         return absDensity.getInput() == null
+            ? DensityCompiler.Node.constant(0.0)
+            : DensityCompiler.Node.unary(DensityCompiler.Op.ABS, this.lower(absDensity.getInput()), 0.0, 0.0);
+      } else if (density instanceof InverterDensity inverterDensity) {
+         return inverterDensity.getInput() == null
+            ? DensityCompiler.Node.constant(0.0)
+            : DensityCompiler.Node.unary(DensityCompiler.Op.NEGATE, this.lower(inverterDensity.getInput()), 0.0, 0.0);
+      } else if (density instanceof ClampDensity clampDensity) {
+         return clampDensity.getInput() == null
+            ? DensityCompiler.Node.constant(0.0)
+            : DensityCompiler.Node.unary(DensityCompiler.Op.CLAMP, this.lower(clampDensity.getInput()), clampDensity.getWallA(), clampDensity.getWallB());
+      } else if (density instanceof Noise2dDensity noise2dDensity) {
+         DensityCompiler.Node node = new DensityCompiler.Node(DensityCompiler.Op.NOISE_2D, true);
+         node.slot = this.noises.size();
+         this.noises.add(noise2dDensity.getNoise());
+         return node;
+      } else if (density instanceof Noise3dDensity noise3dDensity) {
+         DensityCompiler.Node node = new DensityCompiler.Node(DensityCompiler.Op.NOISE_3D, false);
+         node.slot = this.noises.size();
+         this.noises.add(noise3dDensity.getNoise());
+         return node;
+      } else {
+         if (density instanceof CacheDensity cacheDensity) {
+            this.compileInput(cacheDensity, cacheDensity.getInput());
+         } else if (density instanceof SampledDensity sampledDensity) {
+            this.compileInput(sampledDensity, sampledDensity.getInput());
+         }
+
+         DensityCompiler.Node node = new DensityCompiler.Node(DensityCompiler.Op.LEAF, false);
+         node.slot = this.leaves.size();
+         this.leaves.add(density);
+         return node;
+      }
+   }
+
+   @Nonnull
+   private DensityCompiler.Node[] lower(@Nonnull Density[] inputs) {
+      DensityCompiler.Node[] nodes = new DensityCompiler.Node[inputs.length];
+
+      for (int i = 0; i < inputs.length; i++) {
+         nodes[i] = this.lower(inputs[i]);
+      }
+
+      return nodes;
+   }
+
+   private void compileInput(@Nonnull Density density, @Nonnull Density input) {
+      if (this.visited.add(density)) {
+         DensityCompiler compiler = new DensityCompiler(this.workerId, this.threadCount, this.visited);
+         Density compiledInput = compiler.compileGraph(input);
+         this.rewires.putAll(compiler.rewires);
+         if (compiledInput != input) {
+            this.rewires.put(density, compiledInput);
+         }
+      }
+   }
+
+   @Nonnull
+   private static byte[] generate(@Nonnull DensityCompiler.Node root, int leafCount, int noiseCount) {
+      ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+      writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, CLASS_NAME, null, DENSITY, null);
+
+      for (int i = 0; i < leafCount; i++) {
+         writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "leaf" + i, DENSITY_DESCRIPTOR, null, null).visitEnd();
+         writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "column" + i, COLUMN_BUFFER_DESCRIPTOR, null, null).visitEnd();
+      }
+
+      for (int i = 0; i < noiseCount; i++) {
+         writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "noise" + i, NOISE_FIELD_DESCRIPTOR, null, null).visitEnd();
+      }
+
+      MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+      constructor.visitCode();
+      constructor.visitVarInsn(Opcodes.ALOAD, 0);
+      constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, DENSITY, "<init>", "()V", false);
+
+      for (int i = 0; i < leafCount; i++) {
+         constructor.visitVarInsn(Opcodes.ALOAD, 0);
+         constructor.visitVarInsn(Opcodes.ALOAD, 1);
+         constructor.visitLdcInsn(i);
+         constructor.visitInsn(Opcodes.AALOAD);
+         constructor.visitFieldInsn(Opcodes.PUTFIELD, CLASS_NAME, "leaf" + i, DENSITY_DESCRIPTOR);
+         constructor.visitVarInsn(Opcodes.ALOAD, 0);
+         constructor.visitVarInsn(Opcodes.ALOAD, 3);
+         constructor.visitLdcInsn(i);
+         constructor.visitInsn(Opcodes.AALOAD);
+         constructor.visitFieldInsn(Opcodes.PUTFIELD, CLASS_NAME, "column" + i, COLUMN_BUFFER_DESCRIPTOR);
+      }
+
+      for (int i = 0; i < noiseCount; i++) {
+         constructor.visitVarInsn(Opcodes.ALOAD, 0);
+         constructor.visitVarInsn(Opcodes.ALOAD, 2);
+         constructor.visitLdcInsn(i);
+         constructor.visitInsn(Opcodes.AALOAD);
+         constructor.visitFieldInsn(Opcodes.PUTFIELD, CLASS_NAME, "noise" + i, NOISE_FIELD_DESCRIPTOR);
+      }
+
+      constructor.visitInsn(Opcodes.RETURN);
+      constructor.visitMaxs(0, 0);
+      constructor.visitEnd();
+      Map<DensityCompiler.Node, Integer> hoisted = new HashMap<>();
+      MethodVisitor process = writer.visitMethod(Opcodes.ACC_PUBLIC, "process", PROCESS_DESCRIPTOR, null, null);
+      process.visitCode();
+      emit(process, root, hoisted, new HashMap<>(), 0);
+      process.visitInsn(Opcodes.DRETURN);
+      process.visitMaxs(0, 0);
+      process.visitEnd();
+      Map<DensityCompiler.Node, Integer> columns = new HashMap<>();
+      MethodVisitor processColumn = writer.visitMethod(Opcodes.ACC_PUBLIC, "processColumn", PROCESS_COLUMN_DESCRIPTOR, null, null);
+      processColumn.visitCode();
+      int local = hoist(processColumn, root, hoisted, 5);
+      if (root.yFree) {
+         processColumn.visitVarInsn(Opcodes.ALOAD, 4);
+         processColumn.visitInsn(Opcodes.ICONST_0);
+         processColumn.visitVarInsn(Opcodes.ILOAD, 3);
+         processColumn.visitVarInsn(Opcodes.ILOAD, 2);
+         processColumn.visitInsn(Opcodes.ISUB);
+         emit(processColumn, root, hoisted, columns, 0);
+         processColumn.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Arrays", "fill", "([DIID)V", false);
+      } else {
+         int yLocal = local;
+         int iLocal = local + 2;
+         Label loop = new Label();
+         Label done = new Label();
+         processColumn.visitVarInsn(Opcodes.ALOAD, 1);
+         processColumn.visitFieldInsn(Opcodes.GETFIELD, CONTEXT, "position", VECTOR_DESCRIPTOR);
+         processColumn.visitFieldInsn(Opcodes.GETFIELD, VECTOR, "y", "D");
+         processColumn.visitVarInsn(Opcodes.DSTORE, yLocal);
+         column(processColumn, root, columns, local + 3);
+         processColumn.visitInsn(Opcodes.ICONST_0);
+         processColumn.visitVarInsn(Opcodes.ISTORE, iLocal);
+         processColumn.visitLabel(loop);
+         processColumn.visitVarInsn(Opcodes.ILOAD, iLocal);
+         processColumn.visitVarInsn(Opcodes.ILOAD, 3);
+         processColumn.visitVarInsn(Opcodes.ILOAD, 2);
+         processColumn.visitInsn(Opcodes.ISUB);
+         processColumn.visitJumpInsn(Opcodes.IF_ICMPGE, done);
+         processColumn.visitVarInsn(Opcodes.ALOAD, 1);
+         processColumn.visitFieldInsn(Opcodes.GETFIELD, CONTEXT, "position", VECTOR_DESCRIPTOR);
+         processColumn.visitVarInsn(Opcodes.ILOAD, 2);
+         processColumn.visitVarInsn(Opcodes.ILOAD, iLocal);
+         processColumn.visitInsn(Opcodes.IADD);
+         processColumn.visitInsn(Opcodes.I2D);
+         processColumn.visitFieldInsn(Opcodes.PUTFIELD, VECTOR, "y", "D");
+         processColumn.visitVarInsn(Opcodes.ALOAD, 4);
+         processColumn.visitVarInsn(Opcodes.ILOAD, iLocal);
+         emit(processColumn, root, hoisted, columns, iLocal);
+         processColumn.visitInsn(Opcodes.DASTORE);
+         processColumn.visitIincInsn(iLocal, 1);
+         processColumn.visitJumpInsn(Opcodes.GOTO, loop);
+         processColumn.visitLabel(done);
+         processColumn.visitVarInsn(Opcodes.ALOAD, 1);
+         processColumn.visitFieldInsn(Opcodes.GETFIELD, CONTEXT, "position", VECTOR_DESCRIPTOR);
+         processColumn.visitVarInsn(Opcodes.DLOAD, yLocal);
+         processColumn.visitFieldInsn(Opcodes.PUTFIELD, VECTOR, "y", "D");
+      }
+
+      processColumn.visitInsn(Opcodes.RETURN);
+      processColumn.visitMaxs(0, 0);
+      processColumn.visitEnd();
+      writer.visitEnd();
+      return writer.toByteArray();
+   }
+
+   private static int hoist(@Nonnull MethodVisitor method, @Nonnull DensityCompiler.Node node, @Nonnull Map<DensityCompiler.Node, Integer> hoisted, int local) {
+      if (node.yFree) {
+         if (node.op != DensityCompiler.Op.CONSTANT && !hoisted.containsKey(node)) {
+            emit(method, node, hoisted, new HashMap<>(), 0);
+            method.visitVarInsn(Opcodes.DSTORE, local);
+            hoisted.put(node, local);
+            return local + 2;
+         } else {
+            return local;
+         }
+      } else {
+         for (DensityCompiler.Node child : node.children) {
+            local = hoist(method, child, hoisted, local);
+         }
+
+         return local;
+      }
+   }
+
+   private static int column(
+      @Nonnull MethodVisitor method, @Nonnull DensityCompiler.Node node, @Nonnull Map<DensityCompiler.Node, Integer> columns, int local
+   ) {
+      if (node.yFree) {
+         return local;
+      } else if (node.op == DensityCompiler.Op.LEAF) {
+         if (columns.containsKey(node)) {
+            return local;
+         } else {
+            method.visitVarInsn(Opcodes.ALOAD, 0);
+            method.visitFieldInsn(Opcodes.GETFIELD, CLASS_NAME, "column" + node.slot, COLUMN_BUFFER_DESCRIPTOR);
+            method.visitVarInsn(Opcodes.ALOAD, 1);
+            method.visitFieldInsn(Opcodes.GETFIELD, CONTEXT, "workerId", WORKER_ID_DESCRIPTOR);
+            method.visitVarInsn(Opcodes.ILOAD, 3);
+            method.visitVarInsn(Opcodes.ILOAD, 2);
+            method.visitInsn(Opcodes.ISUB);
+            method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, COLUMN_BUFFER, "get", "(" + WORKER_ID_DESCRIPTOR + "I)[D", false);
+            method.visitVarInsn(Opcodes.ASTORE, local);
+            method.visitVarInsn(Opcodes.ALOAD, 0);
+            method.visitFieldInsn(Opcodes.GETFIELD, CLASS_NAME, "leaf" + node.slot, DENSITY_DESCRIPTOR);
+            method.visitVarInsn(Opcodes.ALOAD, 1);
+            method.visitVarInsn(Opcodes.ILOAD, 2);
+            method.visitVarInsn(Opcodes.ILOAD, 3);
+            method.visitVarInsn(Opcodes.ALOAD, local);
+            method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, DENSITY, "processColumn", PROCESS_COLUMN_DESCRIPTOR, false);
+            columns.put(node, local);
+            return local + 1;
+         }
+      } else {
+         for (DensityCompiler.Node child : node.children) {
+            local = column(method, child, columns, local);
+         }
+
+         return local;
+      }
+   }
+
+   private static void emit(
+      @Nonnull MethodVisitor method,
+      @Nonnull DensityCompiler.Node node,
+      @Nonnull Map<DensityCompiler.Node, Integer> hoisted,
+      @Nonnull Map<DensityCompiler.Node, Integer> columns,
+      int indexLocal
+   ) {
+      Integer local = hoisted.get(node);
+      if (local != null) {
+         method.visitVarInsn(Opcodes.DLOAD, local);
+      } else {
+         switch (node.op) {
+            case CONSTANT:
+               if (Double.doubleToRawLongBits(node.value) == 0L) {
+                  method.visitInsn(Opcodes.DCONST_0);
+               } else if (node.value == 1.0) {
+                  method.visitInsn(Opcodes.DCONST_1);
+               } else {
+                  method.visitLdcInsn(node.value);
+               }
+               break;
+            case X:
+               emitPosition(method, "x");
+               break;
+            case Y:
+               emitPosition(method, "y");
+               break;
+            case Z:
+               emitPosition(method, "z");
+               break;
+            case LEAF:
+               Integer column = columns.get(node);
+               if (column != null) {
+                  method.visitVarInsn(Opcodes.ALOAD, column);
+                  method.visitVarInsn(Opcodes.ILOAD, indexLocal);
+                  method.visitInsn(Opcodes.DALOAD);
+               } else {
+                  method.visitVarInsn(Opcodes.ALOAD, 0);
+                  method.visitFieldInsn(Opcodes.GETFIELD, CLASS_NAME, "leaf" + node.slot, DENSITY_DESCRIPTOR);
+                  method.visitVarInsn(Opcodes.ALOAD, 1);
+                  method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, DENSITY, "process", PROCESS_DESCRIPTOR, false);
+               }
+               break;
+            case NOISE_2D:
+               method.visitVarInsn(Opcodes.ALOAD, 0);
+               method.visitFieldInsn(Opcodes.GETFIELD, CLASS_NAME, "noise" + node.slot, NOISE_FIELD_DESCRIPTOR);
+               emitPosition(method, "x");
+               emitPosition(method, "z");
+               method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, NOISE_FIELD, "valueAt", "(DD)D", false);
+               break;
+            case NOISE_3D:
+               method.visitVarInsn(Opcodes.ALOAD, 0);
+               method.visitFieldInsn(Opcodes.GETFIELD, CLASS_NAME, "noise" + node.slot, NOISE_FIELD_DESCRIPTOR);
+               emitPosition(method, "x");
+               emitPosition(method, "y");
+               emitPosition(method, "z");
+               method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, NOISE_FIELD, "valueAt", "(DDD)D", false);
+               break;
+            case SUM:
+               emit(method, node.children[0], hoisted, columns, indexLocal);
+
+               for (int i = 1; i < node.children.length; i++) {
+                  emit(method, node.children[i], hoisted, columns, indexLocal);
+                  method.visitInsn(Opcodes.DADD);
+               }
+               break;
+            case PRODUCT:
+               Label zero = new Label();
+               Label end = new Label();
+               emit(method, node.children[0], hoisted, columns, indexLocal);
+
+               for (int i = 1; i < node.children.length; i++) {
+                  method.visitInsn(Opcodes.DUP2);
+                  method.visitInsn(Opcodes.DCONST_0);
+                  method.visitInsn(Opcodes.DCMPL);
+                  method.visitJumpInsn(Opcodes.IFEQ, zero);
+                  emit(method, node.children[i], hoisted, columns, indexLocal);
+                  method.visitInsn(Opcodes.DMUL);
+               }
+
+               method.visitJumpInsn(Opcodes.GOTO, end);
+               method.visitLabel(zero);
+               method.visitInsn(Opcodes.POP2);
+               method.visitInsn(Opcodes.DCONST_0);
+               method.visitLabel(end);
+               break;
+            case MIN:
+            case MAX:
+               String name = node.op == DensityCompiler.Op.MIN ? "min" : "max";
+               method.visitLdcInsn(node.op == DensityCompiler.Op.MIN ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY);
+
+               for (DensityCompiler.Node child : node.children) {
+                  emit(method, child, hoisted, columns, indexLocal);
+                  method.visitMethodInsn(Opcodes.INVOKESTATIC, "com/hypixel/hytale/builtin/hytalegenerator/density/DensityCompiler", name, "(DD)D", false);
+               }
+               break;
+            case NEGATE:
+               emit(method, node.children[0], hoisted, columns, indexLocal);
+               method.visitInsn(Opcodes.DNEG);
+               break;
+            case ABS:
+               emit(method, node.children[0], hoisted, columns, indexLocal);
+               method.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Math", "abs", "(D)D", false);
+               break;
+            case CLAMP:
+               method.visitLdcInsn(node.value);
+               emit(method, node.children[0], hoisted, columns, indexLocal);
+               method.visitLdcInsn(node.value2);
+               method.visitMethodInsn(Opcodes.INVOKESTATIC, "com/hypixel/hytale/builtin/hytalegenerator/framework/math/Calculator", "clamp", "(DDD)D", false);
+         }
+      }
+   }
+
+   private static void emitPosition(@Nonnull MethodVisitor method, @Nonnull String axis) {
+      method.visitVarInsn(Opcodes.ALOAD, 1);
+      method.visitFieldInsn(Opcodes.GETFIELD, CONTEXT, "position", VECTOR_DESCRIPTOR);
+      method.visitFieldInsn(Opcodes.GETFIELD, VECTOR, axis, "D");
+   }
+
+   private static class Node {
+      @Nonnull
+      final DensityCompiler.Op op;
+      final boolean yFree;
+      @Nonnull
+      DensityCompiler.Node[] children = new DensityCompiler.Node[0];
+      double value;
+      double value2;
+      int slot;
+
+      Node(@Nonnull DensityCompiler.Op op, boolean yFree) {
+         this.op = op;
+         this.yFree = yFree;
+      }
+
+      Node(@Nonnull DensityCompiler.Op op, @Nonnull DensityCompiler.Node[] children) {
+         this.op = op;
+         this.children = children;
+         boolean yFree = true;
+
+         for (DensityCompiler.Node child : children) {
+            yFree &= child.yFree;
+         }
+
+         this.yFree = yFree;
+      }
+
+      @Nonnull
+      static DensityCompiler.Node constant(double value) {
+         DensityCompiler.Node node = new DensityCompiler.Node(DensityCompiler.Op.CONSTANT, true);
+         node.value = value;
+         return node;
+      }
+
+      @Nonnull
+      static DensityCompiler.Node sum(@Nonnull DensityCompiler.Node[] inputs) {
+         List<DensityCompiler.Node> children = new ArrayList<>();
+         double constant = 0.0;
+
+         for (DensityCompiler.Node input : flatten(DensityCompiler.Op.SUM, inputs)) {
+            if (input.op == DensityCompiler.Op.CONSTANT) {
+               constant += input.value;
+            } else {
+               children.add(input);
+            }
+         }
+
+         if (children.isEmpty()) {
+            return constant(constant);
+         } else {
+            if (constant != 0.0) {
+               children.add(constant(constant));
+            }
+
+            return children.size() == 1
+               ? children.get(0)
+               : new DensityCompiler.Node(DensityCompiler.Op.SUM, children.toArray(new DensityCompiler.Node[0]));
+         }
+      }
+
+      @Nonnull
+      static DensityCompiler.Node product(@Nonnull DensityCompiler.Node[] inputs) {
+         if (inputs.length == 0) {
+            return constant(0.0);
+         } else {
+            List<DensityCompiler.Node> children = new ArrayList<>();
+            double constant = 1.0;
+
+            for (DensityCompiler.Node input : flatten(DensityCompiler.Op.PRODUCT, inputs)) {
+               if (input.op == DensityCompiler.Op.CONSTANT) {
+                  constant *= input.value;
+               } else {
+                  children.add(input);
+               }
+            }
+
+            if (constant == 0.0) {
+               return constant(0.0);
+            } else if (children.isEmpty()) {
+               return constant(constant);
+            } else {
+               if (constant != 1.0) {
+                  children.add(constant(constant));
+               }
+
+               return children.size() == 1
+                  ? children.get(0)
+                  : new DensityCompiler.Node(DensityCompiler.Op.PRODUCT, children.toArray(new DensityCompiler.Node[0]));
+            }
+         }
+      }
+
+      @Nonnull
+      static DensityCompiler.Node extremum(@Nonnull DensityCompiler.Op op, @Nonnull DensityCompiler.Node[] inputs) {
+         if (inputs.length == 0) {
+            return constant(0.0);
+         } else {
+            List<DensityCompiler.Node> children = flatten(op, inputs);
+            boolean constant = true;
+            double value = op == DensityCompiler.Op.MIN ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+
+            for (DensityCompiler.Node child : children) {
+               constant &= child.op == DensityCompiler.Op.CONSTANT;
+               value = op == DensityCompiler.Op.MIN ? DensityCompiler.min(value, child.value) : DensityCompiler.max(value, child.value);
+            }
+
+            return constant ? constant(value) : new DensityCompiler.Node(op, children.toArray(new DensityCompiler.Node[0]));
+         }
+      }
+
+      @Nonnull
+      static DensityCompiler.Node unary(@Nonnull DensityCompiler.Op op, @Nonnull DensityCompiler.Node input, double value, double value2) {
+         if (input.op == DensityCompiler.Op.CONSTANT) {
+            switch (op) {
+               case NEGATE:
+                  return constant(-input.value);
+               case ABS:
+                  return constant(Math.abs(input.value));
+               default:
+                  return constant(Calculator.clamp(value, input.value, value2));
+            }
+         } else if (op == DensityCompiler.Op.NEGATE && input.op == DensityCompiler.Op.NEGATE) {
+            return input.children[0];
+         } else {
+            DensityCompiler.Node node = new DensityCompiler.Node(op, new DensityCompiler.Node[]{input});
+            node.value = value;
+            node.value2 = value2;
+            return node;
+         }
+      }
+
+      @Nonnull
+      private static List<DensityCompiler.Node> flatten(@Nonnull DensityCompiler.Op op, @Nonnull DensityCompiler.Node[] inputs) {
+         List<DensityCompiler.Node> nodes = new ArrayList<>();
+
+         for (DensityCompiler.Node input : inputs) {
+            if (input.op == op) {
+               for (DensityCompiler.Node child : input.children) {
+                  nodes.add(child);
+               }
+            } else {
+               nodes.add(input);
+            }
+         }
+
+         return nodes;
+      }
+   }
+
+   private static enum Op {
+      CONSTANT,
+      X,
+      Y,
+      Z,
+      LEAF,
+      NOISE_2D,
+      NOISE_3D,
+      SUM,
+      PRODUCT,
+      MIN,
+      MAX,
+      NEGATE,
+      ABS,
+      CLAMP;
+   }
+}
@@ -15,6 +15,11 @@ public class CacheDensity extends Density {
       this.threadData = new WorkerIndexer.Data<>(threadCount, CacheDensity.Cache::new);
    }
 
+   @Nonnull
+   public Density getInput() {
+      return this.input;
+   }
+
    @Override
    public double process(@Nonnull Density.Context context) {
       CacheDensity.Cache cache = this.threadData.get(context.workerId);
@@ -31,6 +36,32 @@ public class CacheDensity extends Density {
       }
    }
 
+   @Override
+   public void processColumn(@Nonnull Density.Context context, int minY, int maxY, @Nonnull double[] out) {
+      int length = maxY - minY;
+      if (length > 0) {
+         CacheDensity.Cache cache = this.threadData.get(context.workerId);
+         if (cache.column != null
+            && cache.columnX == context.position.x
+            && cache.columnZ == context.position.z
+            && cache.columnMinY == minY
+            && cache.columnMaxY == maxY) {
+            System.arraycopy(cache.column, 0, out, 0, length);
+         } else {
+            this.input.processColumn(context, minY, maxY, out);
+            if (cache.column == null || cache.column.length < length) {
+               cache.column = new double[length];
+            }
+
+            System.arraycopy(out, 0, cache.column, 0, length);
+            cache.columnX = context.position.x;
+            cache.columnZ = context.position.z;
+            cache.columnMinY = minY;
+            cache.columnMaxY = maxY;
+         }
+      }
+   }
+
    @Override
    public void setInputs(@Nonnull Density[] inputs) {
       assert inputs.length != 0;
@@ -43,5 +74,10 @@ public class CacheDensity extends Density {
    private static class Cache {
       Vector3d position;
       double value;
+      double[] column;
+      double columnX;
+      double columnZ;
+      int columnMinY;
+      int columnMaxY;
    }
 }
@@ -2,6 +2,7 @@ package com.hypixel.hytale.builtin.hytalegenerator.density.nodes;
 
 import com.hypixel.hytale.builtin.hytalegenerator.density.Density;
 import com.hypixel.hytale.builtin.hytalegenerator.framework.math.Calculator;
+import java.util.Arrays;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -17,11 +18,37 @@ public class ClampDensity extends Density {
       this.input = input;
    }
 
+   public double getWallA() {
+      return this.wallA;
+   }
+
+   public double getWallB() {
+      return this.wallB;
+   }
+
+   @Nullable
+   public Density getInput() {
+      return this.input;
+   }
+
    @Override
    public double process(@Nonnull Density.Context context) {
       return this.input == null ? 0.0 : Calculator.clamp(this.wallA, this.input.process(context), this.wallB);
    }
 
+   @Override
+   public void processColumn(@Nonnull Density.Context context, int minY, int maxY, @Nonnull double[] out) {
+      if (this.input == null) {
+         Arrays.fill(out, 0, maxY - minY, 0.0);
+      } else {
+         this.input.processColumn(context, minY, maxY, out);
+
+         for (int i = 0; i < maxY - minY; i++) {
+            out[i] = Calculator.clamp(this.wallA, out[i], this.wallB);
+         }
+      }
+   }
+
    @Override
    public void setInputs(@Nonnull Density[] inputs) {
       if (inputs.length == 0) {
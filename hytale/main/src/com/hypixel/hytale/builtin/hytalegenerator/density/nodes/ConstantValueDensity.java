@@ -1,6 +1,7 @@
 package com.hypixel.hytale.builtin.hytalegenerator.density.nodes;
 
 import com.hypixel.hytale.builtin.hytalegenerator.density.Density;
+import java.util.Arrays;
 import javax.annotation.Nonnull;
 
 public class ConstantValueDensity extends Density {
@@ -10,8 +11,17 @@ public class ConstantValueDensity extends Density {
       this.value = value;
    }
 
+   public double getValue() {
+      return this.value;
+   }
+
    @Override
    public double process(@Nonnull Density.Context context) {
       return this.value;
    }
+
+   @Override
+   public void processColumn(@Nonnull Density.Context context, int minY, int maxY, @Nonnull double[] out) {
+      Arrays.fill(out, 0, maxY - minY, this.value);
+   }
 }
@@ -1,6 +1,7 @@
 package com.hypixel.hytale.builtin.hytalegenerator.density.nodes;
 
 import com.hypixel.hytale.builtin.hytalegenerator.density.Density;
+import java.util.Arrays;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -12,11 +13,29 @@ public class InverterDensity extends Density {
       this.input = input;
    }
 
+   @Nullable
+   public Density getInput() {
+      return this.input;
+   }
+
    @Override
    public double process(@Nonnull Density.Context context) {
       return this.input == null ? 0.0 : -this.input.process(context);
    }
 
+   @Override
+   public void processColumn(@Nonnull Density.Context context, int minY, int maxY, @Nonnull double[] out) {
+      if (this.input == null) {
+         Arrays.fill(out, 0, maxY - minY, 0.0);
+      } else {
+         this.input.processColumn(context, minY, maxY, out);
+
+         for (int i = 0; i < maxY - minY; i++) {
+            out[i] = -out[i];
+         }
+      }
+   }
+
    @Override
    public void setInputs(@Nonnull Density[] inputs) {
       if (inputs.length == 0) {
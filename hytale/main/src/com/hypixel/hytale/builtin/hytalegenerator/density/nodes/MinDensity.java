@@ -1,15 +1,24 @@
 package com.hypixel.hytale.builtin.hytalegenerator.density.nodes;
 
 import com.hypixel.hytale.builtin.hytalegenerator.density.Density;
+import java.util.Arrays;
 import java.util.List;
 import javax.annotation.Nonnull;
 
 public class MinDensity extends Density {
    private Density[] inputs;
+   @Nonnull
+   private final Density.ColumnBuffer columnBuffer;
 
-   public MinDensity(@Nonnull List<Density> inputs) {
+   public MinDensity(@Nonnull List<Density> inputs, int threadCount) {
       this.inputs = new Density[inputs.size()];
       inputs.toArray(this.inputs);
+      this.columnBuffer = new Density.ColumnBuffer(threadCount);
+   }
+
+   @Nonnull
+   public Density[] getInputs() {
+      return this.inputs;
    }
 
    @Override
@@ -30,6 +39,27 @@ public class MinDensity extends Density {
       }
    }
 
+   @Override
+   public void processColumn(@Nonnull Density.Context context, int minY, int maxY, @Nonnull double[] out) {
+      int length = maxY - minY;
+      if (this.inputs.length == 0) {
+         Arrays.fill(out, 0, length, 0.0);
+      } else {
+         Arrays.fill(out, 0, length, Double.POSITIVE_INFINITY);
+         double[] values = this.columnBuffer.get(context.workerId, length);
+
+         for (Density input : this.inputs) {
+            input.processColumn(context, minY, maxY, values);
+
+            for (int i = 0; i < length; i++) {
+               if (out[i] > values[i]) {
+                  out[i] = values[i];
+               }
+            }
+         }
+      }
+   }
+
    @Override
    public void setInputs(@Nonnull Density[] inputs) {
       this.inputs = inputs;
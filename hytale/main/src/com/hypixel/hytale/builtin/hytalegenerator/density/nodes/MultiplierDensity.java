@@ -1,15 +1,24 @@
 package com.hypixel.hytale.builtin.hytalegenerator.density.nodes;
 
 import com.hypixel.hytale.builtin.hytalegenerator.density.Density;
+import java.util.Arrays;
 import java.util.List;
 import javax.annotation.Nonnull;
 
 public class MultiplierDensity extends Density {
    private Density[] inputs;
+   @Nonnull
+   private final Density.ColumnBuffer columnBuffer;
 
-   public MultiplierDensity(@Nonnull List<Density> inputs) {
+   public MultiplierDensity(@Nonnull List<Density> inputs, int threadCount) {
       this.inputs = new Density[inputs.size()];
       inputs.toArray(this.inputs);
+      this.columnBuffer = new Density.ColumnBuffer(threadCount);
+   }
+
+   @Nonnull
+   public Density[] getInputs() {
+      return this.inputs;
    }
 
    @Override
@@ -26,6 +35,47 @@ public class MultiplierDensity extends Density {
       return multiply;
    }
 
+   @Override
+   public void processColumn(@Nonnull Density.Context context, int minY, int maxY, @Nonnull double[] out) {
+      int length = maxY - minY;
+      if (this.inputs.length == 0) {
+         Arrays.fill(out, 0, length, 0.0);
+      } else {
+         this.inputs[0].processColumn(context, minY, maxY, out);
+
+         for (int i = 0; i < length; i++) {
+            if (out[i] == 0.0) {
+               out[i] = 0.0;
+            }
+         }
+
+         if (this.inputs.length != 1) {
+            double[] values = this.columnBuffer.get(context.workerId, length);
+
+            for (int j = 1; j < this.inputs.length && !isZero(out, length); j++) {
+               this.inputs[j].processColumn(context, minY, maxY, values);
+
+               for (int i = 0; i < length; i++) {
+                  if (out[i] != 0.0) {
+                     double multiply = out[i] * values[i];
+                     out[i] = multiply == 0.0 ? 0.0 : multiply;
+                  }
+               }
+            }
+         }
+      }
+   }
+
+   private static boolean isZero(@Nonnull double[] values, int length) {
+      for (int i = 0; i < length; i++) {
+         if (values[i] != 0.0) {
+            return false;
+         }
+      }
+
+      return true;
+   }
+
    @Override
    public void setInputs(@Nonnull Density[] inputs) {
       this.inputs = inputs;
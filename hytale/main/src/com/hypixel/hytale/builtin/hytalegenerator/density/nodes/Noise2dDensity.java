@@ -2,6 +2,7 @@ package com.hypixel.hytale.builtin.hytalegenerator.density.nodes;
 
 import com.hypixel.hytale.builtin.hytalegenerator.density.Density;
 import com.hypixel.hytale.builtin.hytalegenerator.fields.noise.NoiseField;
+import java.util.Arrays;
 import javax.annotation.Nonnull;
 
 public class Noise2dDensity extends Density {
@@ -11,11 +12,21 @@ public class Noise2dDensity extends Density {
       this.noise = noise;
    }
 
+   @Nonnull
+   public NoiseField getNoise() {
+      return this.noise;
+   }
+
    @Override
    public double process(@Nonnull Density.Context context) {
       return this.noise.valueAt(context.position.x, context.position.z);
    }
 
+   @Override
+   public void processColumn(@Nonnull Density.Context context, int minY, int maxY, @Nonnull double[] out) {
+      Arrays.fill(out, 0, maxY - minY, this.noise.valueAt(context.position.x, context.position.z));
+   }
+
    @Override
    public void setInputs(@Nonnull Density[] inputs) {
    }
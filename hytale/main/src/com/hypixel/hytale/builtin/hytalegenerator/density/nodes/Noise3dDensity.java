@@ -12,11 +12,26 @@ public class Noise3dDensity extends Density {
       this.noise = noise;
    }
 
+   @Nonnull
+   public NoiseField getNoise() {
+      return this.noise;
+   }
+
    @Override
    public double process(@Nonnull Density.Context context) {
       return this.noise.valueAt(context.position.x, context.position.y, context.position.z);
    }
 
+   @Override
+   public void processColumn(@Nonnull Density.Context context, int minY, int maxY, @Nonnull double[] out) {
+      double x = context.position.x;
+      double z = context.position.z;
+
+      for (int i = 0; i < maxY - minY; i++) {
+         out[i] = this.noise.valueAt(x, (double)(minY + i), z);
+      }
+   }
+
    @Override
    public void setInputs(@Nonnull Density[] inputs) {
    }
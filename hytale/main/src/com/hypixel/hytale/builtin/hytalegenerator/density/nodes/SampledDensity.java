@@ -0,0 +1,178 @@
+package com.hypixel.hytale.builtin.hytalegenerator.density.nodes;
+
+import com.hypixel.hytale.builtin.hytalegenerator.density.Density;
+import com.hypixel.hytale.builtin.hytalegenerator.threadindexer.WorkerIndexer;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.math.vector.Vector3i;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+public class SampledDensity extends Density {
+   public static final Vector3i DEFAULT_RESOLUTION = new Vector3i(4, 8, 4);
+   public static final int CACHE_SIZE = 2048;
+   private static final int CACHE_MASK = 2047;
+   private final WorkerIndexer.Data<SampledDensity.Cache> threadData;
+   private final int resolutionX;
+   private final int resolutionY;
+   private final int resolutionZ;
+   private final double inverseResolutionX;
+   private final double inverseResolutionY;
+   private final double inverseResolutionZ;
+   @Nonnull
+   private Density input;
+
+   public SampledDensity(@Nonnull Density input, @Nonnull Vector3i resolution, int threadCount) {
+      if (resolution.x >= 1 && resolution.y >= 1 && resolution.z >= 1) {
+         this.input = input;
+         this.resolutionX = resolution.x;
+         this.resolutionY = resolution.y;
+         this.resolutionZ = resolution.z;
+         this.inverseResolutionX = 1.0 / resolution.x;
+         this.inverseResolutionY = 1.0 / resolution.y;
+         this.inverseResolutionZ = 1.0 / resolution.z;
+         this.threadData = new WorkerIndexer.Data<>(threadCount, SampledDensity.Cache::new);
+      } else {
+         throw new IllegalArgumentException("Invalid sampling resolution " + resolution);
+      }
+   }
+
+   @Nonnull
+   public Density getInput() {
+      return this.input;
+   }
+
+   @Override
+   public double process(@Nonnull Density.Context context) {
+      SampledDensity.Cache cache = this.threadData.get(context.workerId);
+      cache.validate(context);
+      double x = context.position.x * this.inverseResolutionX;
+      double y = context.position.y * this.inverseResolutionY;
+      double z = context.position.z * this.inverseResolutionZ;
+      int cellX = (int)Math.floor(x);
+      int cellY = (int)Math.floor(y);
+      int cellZ = (int)Math.floor(z);
+      double tx = x - cellX;
+      double ty = y - cellY;
+      double tz = z - cellZ;
+      if (tx == 0.0 && ty == 0.0 && tz == 0.0) {
+         return this.sample(cache, context, cellX, cellY, cellZ);
+      } else {
+         double v000 = this.sample(cache, context, cellX, cellY, cellZ);
+         double v100 = this.sample(cache, context, cellX + 1, cellY, cellZ);
+         double v010 = this.sample(cache, context, cellX, cellY + 1, cellZ);
+         double v110 = this.sample(cache, context, cellX + 1, cellY + 1, cellZ);
+         double v001 = this.sample(cache, context, cellX, cellY, cellZ + 1);
+         double v101 = this.sample(cache, context, cellX + 1, cellY, cellZ + 1);
+         double v011 = this.sample(cache, context, cellX, cellY + 1, cellZ + 1);
+         double v111 = this.sample(cache, context, cellX + 1, cellY + 1, cellZ + 1);
+         double v00 = v000 + (v100 - v000) * tx;
+         double v10 = v010 + (v110 - v010) * tx;
+         double v01 = v001 + (v101 - v001) * tx;
+         double v11 = v011 + (v111 - v011) * tx;
+         double v0 = v00 + (v10 - v00) * ty;
+         double v1 = v01 + (v11 - v01) * ty;
+         return v0 + (v1 - v0) * tz;
+      }
+   }
+
+   @Override
+   public void processColumn(@Nonnull Density.Context context, int minY, int maxY, @Nonnull double[] out) {
+      SampledDensity.Cache cache = this.threadData.get(context.workerId);
+      cache.validate(context);
+      double x = context.position.x * this.inverseResolutionX;
+      double z = context.position.z * this.inverseResolutionZ;
+      int cellX = (int)Math.floor(x);
+      int cellZ = (int)Math.floor(z);
+      double tx = x - cellX;
+      double tz = z - cellZ;
+      int layerY = Integer.MIN_VALUE;
+      double layer0 = 0.0;
+      double layer1 = 0.0;
+
+      for (int i = 0; i < maxY - minY; i++) {
+         double y = (minY + i) * this.inverseResolutionY;
+         int cellY = (int)Math.floor(y);
+         if (cellY != layerY) {
+            layer0 = cellY == layerY + 1 ? layer1 : this.sampleLayer(cache, context, cellX, cellY, cellZ, tx, tz);
+            layer1 = this.sampleLayer(cache, context, cellX, cellY + 1, cellZ, tx, tz);
+            layerY = cellY;
+         }
+
+         out[i] = layer0 + (layer1 - layer0) * (y - cellY);
+      }
+   }
+
+   private double sampleLayer(@Nonnull SampledDensity.Cache cache, @Nonnull Density.Context context, int cellX, int cellY, int cellZ, double tx, double tz) {
+      double v00 = this.sample(cache, context, cellX, cellY, cellZ);
+      double v10 = this.sample(cache, context, cellX + 1, cellY, cellZ);
+      double v01 = this.sample(cache, context, cellX, cellY, cellZ + 1);
+      double v11 = this.sample(cache, context, cellX + 1, cellY, cellZ + 1);
+      double v0 = v00 + (v10 - v00) * tx;
+      double v1 = v01 + (v11 - v01) * tx;
+      return v0 + (v1 - v0) * tz;
+   }
+
+   private double sample(@Nonnull SampledDensity.Cache cache, @Nonnull Density.Context context, int cellX, int cellY, int cellZ) {
+      int slot = (cellX * 73856093 ^ cellY * 19349663 ^ cellZ * 83492791) & CACHE_MASK;
+      if (cache.generations[slot] == cache.generation && cache.cellX[slot] == cellX && cache.cellY[slot] == cellY && cache.cellZ[slot] == cellZ) {
+         return cache.values[slot];
+      } else {
+         Density.Context sampleContext = cache.context;
+         sampleContext.position.assign((double)cellX * this.resolutionX, (double)cellY * this.resolutionY, (double)cellZ * this.resolutionZ);
+         sampleContext.workerId = context.workerId;
+         double value = this.input.process(sampleContext);
+         cache.generations[slot] = cache.generation;
+         cache.cellX[slot] = cellX;
+         cache.cellY[slot] = cellY;
+         cache.cellZ[slot] = cellZ;
+         cache.values[slot] = value;
+         return value;
+      }
+   }
+
+   @Override
+   public void setInputs(@Nonnull Density[] inputs) {
+      assert inputs.length != 0;
+
+      assert inputs[0] != null;
+
+      this.input = inputs[0];
+   }
+
+   private static class Cache {
+      final Density.Context context = new Density.Context();
+      final Vector3d densityAnchor = new Vector3d();
+      final Vector3d positionsAnchor = new Vector3d();
+      final int[] generations = new int[2048];
+      final int[] cellX = new int[2048];
+      final int[] cellY = new int[2048];
+      final int[] cellZ = new int[2048];
+      final double[] values = new double[2048];
+      int generation = 1;
+
+      void validate(@Nonnull Density.Context context) {
+         if (this.context.switchState != context.switchState
+            || this.context.distanceFromCellWall != context.distanceFromCellWall
+            || this.context.distanceToBiomeEdge != context.distanceToBiomeEdge
+            || this.context.terrainDensityProvider != context.terrainDensityProvider
+            || !matches(this.context.densityAnchor, context.densityAnchor)
+            || !matches(this.context.positionsAnchor, context.positionsAnchor)) {
+            this.context.switchState = context.switchState;
+            this.context.distanceFromCellWall = context.distanceFromCellWall;
+            this.context.distanceToBiomeEdge = context.distanceToBiomeEdge;
+            this.context.terrainDensityProvider = context.terrainDensityProvider;
+            this.context.densityAnchor = context.densityAnchor != null ? this.densityAnchor.assign(context.densityAnchor) : null;
+            this.context.positionsAnchor = context.positionsAnchor != null ? this.positionsAnchor.assign(context.positionsAnchor) : null;
+            if (++this.generation == 0) {
+               Arrays.fill(this.generations, 0);
+               this.generation = 1;
+            }
+         }
+      }
+
+      private static boolean matches(@Nullable Vector3d cached, @Nullable Vector3d anchor) {
+         return cached == null ? anchor == null : cached.equals(anchor);
+      }
+   }
+}
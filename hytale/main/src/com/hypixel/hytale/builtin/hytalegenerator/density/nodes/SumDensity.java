@@ -7,10 +7,18 @@ import javax.annotation.Nonnull;
 
 public class SumDensity extends Density {
    private Density[] inputs;
+   @Nonnull
+   private final Density.ColumnBuffer columnBuffer;
 
-   public SumDensity(@Nonnull List<Density> inputs) {
+   public SumDensity(@Nonnull List<Density> inputs, int threadCount) {
       this.inputs = new Density[inputs.size()];
       inputs.toArray(this.inputs);
+      this.columnBuffer = new Density.ColumnBuffer(threadCount);
+   }
+
+   @Nonnull
+   public Density[] getInputs() {
+      return this.inputs;
    }
 
    @Override
@@ -28,6 +36,27 @@ public class SumDensity extends Density {
       }
    }
 
+   @Override
+   public void processColumn(@Nonnull Density.Context context, int minY, int maxY, @Nonnull double[] out) {
+      int length = maxY - minY;
+      if (this.inputs.length == 0) {
+         Arrays.fill(out, 0, length, 0.0);
+      } else {
+         this.inputs[0].processColumn(context, minY, maxY, out);
+         if (this.inputs.length != 1) {
+            double[] values = this.columnBuffer.get(context.workerId, length);
+
+            for (int j = 1; j < this.inputs.length; j++) {
+               this.inputs[j].processColumn(context, minY, maxY, values);
+
+               for (int i = 0; i < length; i++) {
+                  out[i] += values[i];
+               }
+            }
+         }
+      }
+   }
+
    @Override
    public void setInputs(@Nonnull Density[] inputs) {
       this.inputs = Arrays.copyOf(inputs, inputs.length);
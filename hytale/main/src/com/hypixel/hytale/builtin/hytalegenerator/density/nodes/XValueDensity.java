@@ -1,6 +1,7 @@
 package com.hypixel.hytale.builtin.hytalegenerator.density.nodes;
 
 import com.hypixel.hytale.builtin.hytalegenerator.density.Density;
+import java.util.Arrays;
 import javax.annotation.Nonnull;
 
 public class XValueDensity extends Density {
@@ -9,6 +10,11 @@ public class XValueDensity extends Density {
       return context.position.x;
    }
 
+   @Override
+   public void processColumn(@Nonnull Density.Context context, int minY, int maxY, @Nonnull double[] out) {
+      Arrays.fill(out, 0, maxY - minY, context.position.x);
+   }
+
    @Override
    public void setInputs(@Nonnull Density[] inputs) {
    }
@@ -9,6 +9,13 @@ public class YValueDensity extends Density {
       return context.position.y;
    }
 
+   @Override
+   public void processColumn(@Nonnull Density.Context context, int minY, int maxY, @Nonnull double[] out) {
+      for (int i = 0; i < maxY - minY; i++) {
+         out[i] = minY + i;
+      }
+   }
+
    @Override
    public void setInputs(@Nonnull Density[] inputs) {
    }
@@ -1,6 +1,7 @@
 package com.hypixel.hytale.builtin.hytalegenerator.density.nodes;
 
 import com.hypixel.hytale.builtin.hytalegenerator.density.Density;
+import java.util.Arrays;
 import javax.annotation.Nonnull;
 
 public class ZValueDensity extends Density {
@@ -9,6 +10,11 @@ public class ZValueDensity extends Density {
       return context.position.z;
    }
 
+   @Override
+   public void processColumn(@Nonnull Density.Context context, int minY, int maxY, @Nonnull double[] out) {
+      Arrays.fill(out, 0, maxY - minY, context.position.z);
+   }
+
    @Override
    public void setInputs(@Nonnull Density[] inputs) {
    }
@@ -124,6 +124,7 @@ public class NTerrainStage implements NStage {
       Density.Context densityContext = new Density.Context();
       densityContext.position = position_voxelGrid.toVector3d();
       densityContext.workerId = workerId;
+      double[] densityColumn = new double[bounds_voxelGrid.max.y - bounds_voxelGrid.min.y];
 
       for (position_voxelGrid.x = bounds_voxelGrid.min.x; position_voxelGrid.x < bounds_voxelGrid.max.x; position_voxelGrid.x++) {
          densityContext.position.x = position_voxelGrid.x;
@@ -140,11 +141,11 @@ public class NTerrainStage implements NStage {
 
             for (NTerrainStage.BiomeWeights.Entry biomeWeight : biomeWeights.entries) {
                Density density = biomeWeight.biomeType.getTerrainDensity();
+               density.processColumn(densityContext, bounds_voxelGrid.min.y, bounds_voxelGrid.max.y, densityColumn);
                if (isFirstBiome) {
                   for (position_voxelGrid.y = bounds_voxelGrid.min.y; position_voxelGrid.y < bounds_voxelGrid.max.y; position_voxelGrid.y++) {
                      position_voxelGrid.dropHash();
-                     densityContext.position.y = position_voxelGrid.y;
-                     float densityValue = (float)density.process(densityContext);
+                     float densityValue = (float)densityColumn[position_voxelGrid.y - bounds_voxelGrid.min.y];
                      float scaledDensityValue = densityValue * biomeWeight.weight;
                      densityBuffer.set(position_voxelGrid, scaledDensityValue);
                   }
@@ -153,9 +154,8 @@ public class NTerrainStage implements NStage {
                if (!isFirstBiome) {
                   for (position_voxelGrid.y = bounds_voxelGrid.min.y; position_voxelGrid.y < bounds_voxelGrid.max.y; position_voxelGrid.y++) {
                      position_voxelGrid.dropHash();
-                     densityContext.position.y = position_voxelGrid.y;
                      float bufferDensityValue = densityBuffer.get(position_voxelGrid);
-                     float densityValue = (float)density.process(densityContext);
+                     float densityValue = (float)densityColumn[position_voxelGrid.y - bounds_voxelGrid.min.y];
                      float scaledDensityValue = densityValue * biomeWeight.weight;
                      densityBuffer.set(position_voxelGrid, bufferDensityValue + scaledDensityValue);
                   }
@@ -8,6 +8,7 @@ import com.hypixel.hytale.server.core.universe.world.worldgen.IWorldGen;
 import com.hypixel.hytale.server.core.universe.world.worldgen.WorldGenTimingsCollector;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.LongPredicate;
+import java.util.function.LongToIntFunction;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -24,10 +25,17 @@ public class Handle implements IWorldGen {
 
    @Override
    public CompletableFuture<GeneratedChunk> generate(int seed, long index, int x, int z, LongPredicate stillNeeded) {
+      return this.generate(seed, index, x, z, stillNeeded, null);
+   }
+
+   @Override
+   public CompletableFuture<GeneratedChunk> generate(
+      int seed, long index, int x, int z, @Nullable LongPredicate stillNeeded, @Nullable LongToIntFunction priority
+   ) {
       ChunkRequest.Arguments arguments = new ChunkRequest.Arguments(seed, index, x, z, stillNeeded);
       this.profile.setSeed(seed);
       ChunkRequest request = new ChunkRequest(this.profile, arguments);
-      return this.plugin.submitChunkRequest(request);
+      return this.plugin.submitChunkRequest(request, priority);
    }
 
    @Nonnull
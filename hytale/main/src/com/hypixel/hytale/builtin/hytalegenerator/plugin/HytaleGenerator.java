@@ -35,6 +35,7 @@ import com.hypixel.hytale.codec.builder.BuilderCodec;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
 import com.hypixel.hytale.server.core.universe.world.events.RemoveWorldEvent;
+import com.hypixel.hytale.server.core.universe.world.worldgen.ChunkGenerationQueue;
 import com.hypixel.hytale.server.core.universe.world.worldgen.GeneratedChunk;
 import com.hypixel.hytale.server.core.universe.world.worldgen.provider.IWorldGenProvider;
 import java.util.ArrayList;
@@ -51,7 +52,9 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongToIntFunction;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class HytaleGenerator extends JavaPlugin {
    private AssetManager assetManager;
@@ -61,6 +64,7 @@ public class HytaleGenerator extends JavaPlugin {
    private int concurrency;
    private ExecutorService mainExecutor;
    private ThreadPoolExecutor concurrentExecutor;
+   private final ChunkGenerationQueue generationQueue = new ChunkGenerationQueue(r -> this.mainExecutor.execute(r));
 
    @Override
    protected void start() {
@@ -77,7 +81,13 @@ public class HytaleGenerator extends JavaPlugin {
 
    @Nonnull
    public CompletableFuture<GeneratedChunk> submitChunkRequest(@Nonnull ChunkRequest request) {
-      return CompletableFuture.<GeneratedChunk>supplyAsync(() -> {
+      return this.submitChunkRequest(request, null);
+   }
+
+   @Nonnull
+   public CompletableFuture<GeneratedChunk> submitChunkRequest(@Nonnull ChunkRequest request, @Nullable LongToIntFunction priority) {
+      ChunkRequest.Arguments arguments = request.arguments();
+      return this.generationQueue.<GeneratedChunk>submit(arguments.index(), arguments.stillNeeded(), priority, () -> {
          GeneratedChunk var3;
          try {
             this.chunkGenerationSemaphore.acquireUninterruptibly();
@@ -88,7 +98,7 @@ public class HytaleGenerator extends JavaPlugin {
          }
 
          return var3;
-      }, this.mainExecutor).handle((r, e) -> {
+      }).handle((r, e) -> {
          if (e == null) {
             return (GeneratedChunk)r;
          } else {
@@ -84,16 +84,18 @@ public class DensityProp extends Prop {
       childContext.densityAnchor = position.toVector3d();
       childContext.workerId = id;
       Vector3i itPosition = new Vector3i(position);
+      double[] densityColumn = new double[height + 1];
 
       for (itPosition.x = min.x; itPosition.x <= max.x; itPosition.x++) {
          for (itPosition.z = min.z; itPosition.z <= max.z; itPosition.z++) {
+            childContext.position.x = itPosition.x;
+            childContext.position.y = min.y;
+            childContext.position.z = itPosition.z;
+            this.density.processColumn(childContext, min.y, max.y + 1, densityColumn);
+
             for (itPosition.y = min.y; itPosition.y <= max.y; itPosition.y++) {
                if (densitySpace.isInsideSpace(itPosition.x, itPosition.y, itPosition.z)) {
-                  childContext.position.x = itPosition.x;
-                  childContext.position.y = itPosition.y;
-                  childContext.position.z = itPosition.z;
-                  double densityValue = this.density.process(childContext);
-                  densitySpace.set(densityValue > 0.0, itPosition.x, itPosition.y, itPosition.z);
+                  densitySpace.set(densityColumn[itPosition.y - min.y] > 0.0, itPosition.x, itPosition.y, itPosition.z);
                }
             }
          }
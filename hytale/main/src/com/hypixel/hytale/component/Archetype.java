@@ -68,6 +68,22 @@ public class Archetype<ECS_TYPE> implements Query<ECS_TYPE> {
       }
    }
 
+   public boolean intersects(@Nonnull Archetype<ECS_TYPE> archetype) {
+      if (!this.isEmpty() && !archetype.isEmpty()) {
+         int end = Math.min(this.componentTypes.length, archetype.componentTypes.length);
+
+         for (int i = Math.max(this.minIndex, archetype.minIndex); i < end; i++) {
+            if (this.componentTypes[i] != null && this.componentTypes[i] == archetype.componentTypes[i]) {
+               return true;
+            }
+         }
+
+         return false;
+      } else {
+         return false;
+      }
+   }
+
    public void validateComponentType(@Nonnull ComponentType<ECS_TYPE, ?> componentType) {
       if (!this.contains(componentType)) {
          throw new IllegalArgumentException("ComponentType is not in archetype: " + componentType + ", " + this);
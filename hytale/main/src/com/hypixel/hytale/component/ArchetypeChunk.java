@@ -69,6 +69,9 @@ public class ArchetypeChunk<ECS_TYPE> {
    @Nullable
    public <T extends Component<ECS_TYPE>> T getComponent(int index, @Nonnull ComponentType<ECS_TYPE, T> componentType) {
       componentType.validateRegistry(this.store.getRegistry());
+
+      assert this.store.validateBatchAccess(componentType);
+
       if (index < 0 || index >= this.entitiesSize) {
          throw new IndexOutOfBoundsException(index);
       } else {
@@ -15,6 +15,7 @@ import com.hypixel.hytale.component.metric.ArchetypeChunkData;
 import com.hypixel.hytale.component.metric.SystemMetricData;
 import com.hypixel.hytale.component.query.ExactArchetypeQuery;
 import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.query.ReadWriteArchetypeQuery;
 import com.hypixel.hytale.component.system.ArchetypeChunkSystem;
 import com.hypixel.hytale.component.system.EcsEvent;
 import com.hypixel.hytale.component.system.EntityEventSystem;
@@ -32,6 +33,7 @@ import com.hypixel.hytale.component.system.tick.ArchetypeTickingSystem;
 import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
 import com.hypixel.hytale.component.system.tick.TickableSystem;
 import com.hypixel.hytale.component.system.tick.TickingSystem;
+import com.hypixel.hytale.component.task.ParallelCalibrator;
 import com.hypixel.hytale.component.task.ParallelRangeTask;
 import com.hypixel.hytale.component.task.ParallelTask;
 import com.hypixel.hytale.function.consumer.IntBiObjectConsumer;
@@ -82,7 +84,9 @@ public class Store<ECS_TYPE> implements ComponentAccessor<ECS_TYPE> {
                   componentStore.getArchetypeChunkCountFor(systemIndex),
                   componentStore.getEntityCountFor(systemIndex),
                   system instanceof TickingSystem ? systemMetrics[systemIndex] : null,
-                  metrics
+                  metrics,
+                  system instanceof EntityTickingSystem ? componentStore.getParallelCalibrator().getData(system) : null,
+                  componentStore.getScheduledBatchSize(systemIndex)
                );
             }
 
@@ -106,8 +110,16 @@ public class Store<ECS_TYPE> implements ComponentAccessor<ECS_TYPE> {
    @Nonnull
    private final ParallelTask<EntityDataSystem.SystemTaskData<ECS_TYPE, ?, ?>> fetchTask = new ParallelTask<>(EntityDataSystem.SystemTaskData::new);
    @Nonnull
+   private final SystemScheduler<ECS_TYPE> scheduler = new SystemScheduler<>();
+   @Nonnull
+   private final ParallelCalibrator parallelCalibrator = new ParallelCalibrator();
+   @Nonnull
    private final Store.ProcessingCounter processing = new Store.ProcessingCounter();
    private boolean shutdown;
+   private boolean parallelScheduling;
+   private boolean tickingBatch;
+   @Nonnull
+   private final ThreadLocal<ReadWriteArchetypeQuery<ECS_TYPE>> batchAccess = new ThreadLocal<>();
    int storeIndex;
    private int entitiesSize;
    @Nonnull
@@ -189,6 +201,11 @@ public class Store<ECS_TYPE> implements ComponentAccessor<ECS_TYPE> {
       return this.parallelTask;
    }
 
+   @Nonnull
+   public ParallelCalibrator getParallelCalibrator() {
+      return this.parallelCalibrator;
+   }
+
    @Nonnull
    public ParallelTask<EntityDataSystem.SystemTaskData<ECS_TYPE, ?, ?>> getFetchTask() {
       return this.fetchTask;
@@ -204,6 +221,41 @@ public class Store<ECS_TYPE> implements ComponentAccessor<ECS_TYPE> {
       return this.shutdown;
    }
 
+   public boolean isParallelScheduling() {
+      return this.parallelScheduling;
+   }
+
+   public void setParallelScheduling(boolean parallelScheduling) {
+      this.parallelScheduling = parallelScheduling;
+   }
+
+   public boolean isTickingBatch() {
+      return this.tickingBatch;
+   }
+
+   public int getScheduledBatchSize(int systemIndex) {
+      return this.scheduler.getBatchSize(this.registry.getData(), systemIndex);
+   }
+
+   boolean setBatchAccess(@Nullable ReadWriteArchetypeQuery<ECS_TYPE> access) {
+      if (access == null) {
+         this.batchAccess.remove();
+      } else {
+         this.batchAccess.set(access);
+      }
+
+      return true;
+   }
+
+   boolean validateBatchAccess(@Nonnull ComponentType<ECS_TYPE, ?> componentType) {
+      ReadWriteArchetypeQuery<ECS_TYPE> access = this.batchAccess.get();
+      if (access != null && !access.requiresComponentType(componentType)) {
+         throw new AssertionError("Batched system accessed undeclared component " + componentType + "!");
+      } else {
+         return true;
+      }
+   }
+
    void onAdd(@Nonnull ComponentRegistry.Data<ECS_TYPE> data) {
       this.updateArchetypeIndexes(data);
       int resourceSize = data.getResourceSize();
@@ -1648,15 +1700,25 @@ public class Store<ECS_TYPE> implements ComponentAccessor<ECS_TYPE> {
 
          try {
             ComponentRegistry.Data<ECS_TYPE> data = this.registry.doDataUpdate();
-            BitSet systemIndexes = data.getSystemIndexesForType(tickingSystemType);
-            int systemIndex = -1;
+            if (this.parallelScheduling) {
+               SystemScheduler.Schedule schedule = this.scheduler.getSchedule(this.registry, data, tickingSystemType);
+
+               for (int batch = 0; batch < schedule.getBatchCount(); batch++) {
+                  int batchStart = schedule.getBatchStart(batch);
+                  int batchEnd = schedule.getBatchEnd(batch);
+                  if (batchEnd - batchStart == 1) {
+                     this.tickSystem(dt, data, schedule.getSystemIndex(batchStart), tickingSystemType);
+                  } else {
+                     this.tickBatch(dt, data, schedule, batchStart, batchEnd);
+                  }
+               }
+            } else {
+               BitSet systemIndexes = data.getSystemIndexesForType(tickingSystemType);
+               int systemIndex = -1;
 
-            while ((systemIndex = systemIndexes.nextSetBit(systemIndex + 1)) >= 0) {
-               Tickable tickingSystem = (Tickable)data.getSystem(systemIndex, tickingSystemType);
-               long start = System.nanoTime();
-               tickingSystem.tick(dt, systemIndex, this);
-               long end = System.nanoTime();
-               this.systemMetrics[systemIndex].add(end, end - start);
+               while ((systemIndex = systemIndexes.nextSetBit(systemIndex + 1)) >= 0) {
+                  this.tickSystem(dt, data, systemIndex, tickingSystemType);
+               }
             }
          } finally {
             this.registry.getDataUpdateLock().readLock().unlock();
@@ -1664,6 +1726,64 @@ public class Store<ECS_TYPE> implements ComponentAccessor<ECS_TYPE> {
       }
    }
 
+   private <Tickable extends TickableSystem<ECS_TYPE>> void tickSystem(
+      float dt, @Nonnull ComponentRegistry.Data<ECS_TYPE> data, int systemIndex, SystemType<ECS_TYPE, Tickable> tickingSystemType
+   ) {
+      Tickable tickingSystem = (Tickable)data.getSystem(systemIndex, tickingSystemType);
+      long start = System.nanoTime();
+      tickingSystem.tick(dt, systemIndex, this);
+      long end = System.nanoTime();
+      this.systemMetrics[systemIndex].add(end, end - start);
+      if (tickingSystem instanceof EntityTickingSystem) {
+         this.parallelCalibrator.complete(tickingSystem, end - start);
+      }
+   }
+
+   private void tickBatch(float dt, @Nonnull ComponentRegistry.Data<ECS_TYPE> data, @Nonnull SystemScheduler.Schedule schedule, int batchStart, int batchEnd) {
+      CommandBuffer<ECS_TYPE> commandBuffer = this.takeCommandBuffer();
+      SystemScheduler.BatchTaskData<ECS_TYPE> taskData = this.scheduler.getTaskData();
+      taskData.init(this, dt, batchEnd - batchStart);
+
+      for (int i = batchStart; i < batchEnd; i++) {
+         int systemIndex = schedule.getSystemIndex(i);
+         taskData.set(i - batchStart, (EntityTickingSystem<ECS_TYPE>)data.getSystem(systemIndex), systemIndex, commandBuffer.fork());
+      }
+
+      this.processing.lock();
+      this.tickingBatch = true;
+
+      try {
+         this.scheduler.invoke();
+      } finally {
+         this.tickingBatch = false;
+         this.processing.unlock();
+      }
+
+      long end = System.nanoTime();
+
+      for (int i = 0; i < taskData.size(); i++) {
+         int systemIndex = taskData.getSystemIndex(i);
+         long duration = taskData.getDuration(i);
+         ISystem<ECS_TYPE> system = data.getSystem(systemIndex);
+         this.systemMetrics[systemIndex].add(end, duration);
+         this.parallelCalibrator.record(system, this.getEntityCountFor(systemIndex), 0);
+         this.parallelCalibrator.complete(system, duration);
+         taskData.getCommandBuffer(i).mergeParallel(commandBuffer);
+      }
+
+      taskData.clear();
+      commandBuffer.consume();
+   }
+
+   void tickScheduled(@Nonnull EntityTickingSystem<ECS_TYPE> system, float dt, int systemIndex, @Nonnull CommandBuffer<ECS_TYPE> commandBuffer) {
+      BitSet indexes = this.systemIndexToArchetypeChunkIndexes[systemIndex];
+      int index = -1;
+
+      while ((index = indexes.nextSetBit(index + 1)) >= 0) {
+         system.tick(dt, this.archetypeChunks[index], this, commandBuffer);
+      }
+   }
+
    public void tick(ArchetypeTickingSystem<ECS_TYPE> system, float dt, int systemIndex) {
       if (this.shutdown) {
          throw new IllegalStateException("Store is shutdown!");
@@ -1766,6 +1886,8 @@ public class Store<ECS_TYPE> implements ComponentAccessor<ECS_TYPE> {
                if (system instanceof StoreSystem) {
                   ((StoreSystem)system).onSystemRemovedFromStore(this);
                }
+
+               this.parallelCalibrator.remove(system);
          }
       }
    }
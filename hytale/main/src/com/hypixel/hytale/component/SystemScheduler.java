@@ -0,0 +1,278 @@
+package com.hypixel.hytale.component;
+
+import com.hypixel.hytale.component.dependency.DependencyGraph;
+import com.hypixel.hytale.component.query.ReadWriteArchetypeQuery;
+import com.hypixel.hytale.component.system.ISystem;
+import com.hypixel.hytale.component.system.tick.ArchetypeTickingSystem;
+import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.component.system.tick.ParallelSchedulableSystem;
+import com.hypixel.hytale.component.task.ParallelRangeTask;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+public class SystemScheduler<ECS_TYPE> {
+   @Nonnull
+   private final Map<SystemType<ECS_TYPE, ?>, SystemScheduler.Schedule> schedules = new Object2ObjectOpenHashMap();
+   @Nonnull
+   private final SystemScheduler.BatchTaskData<ECS_TYPE> taskData = new SystemScheduler.BatchTaskData<>();
+   @Nonnull
+   private final ParallelRangeTask<SystemScheduler.BatchTaskData<ECS_TYPE>> task = new ParallelRangeTask<>(() -> this.taskData);
+   @Nullable
+   private ComponentRegistry.Data<ECS_TYPE> data;
+   @Nullable
+   private DependencyGraph<ECS_TYPE> dependencyGraph;
+
+   @Nonnull
+   public SystemScheduler.Schedule getSchedule(
+      @Nonnull ComponentRegistry<ECS_TYPE> registry, @Nonnull ComponentRegistry.Data<ECS_TYPE> data, @Nonnull SystemType<ECS_TYPE, ?> systemType
+   ) {
+      if (this.data != data) {
+         this.data = data;
+         this.dependencyGraph = null;
+         this.schedules.clear();
+      }
+
+      SystemScheduler.Schedule schedule = this.schedules.get(systemType);
+      if (schedule == null) {
+         schedule = this.buildSchedule(registry, data, systemType);
+         this.schedules.put(systemType, schedule);
+      }
+
+      return schedule;
+   }
+
+   public int getBatchSize(@Nonnull ComponentRegistry.Data<ECS_TYPE> data, int systemIndex) {
+      if (this.data == data) {
+         for (SystemScheduler.Schedule schedule : this.schedules.values()) {
+            int batchSize = schedule.getBatchSizeOf(systemIndex);
+            if (batchSize > 0) {
+               return batchSize;
+            }
+         }
+      }
+
+      return 0;
+   }
+
+   @Nonnull
+   SystemScheduler.BatchTaskData<ECS_TYPE> getTaskData() {
+      return this.taskData;
+   }
+
+   void invoke() {
+      this.task.init(0, this.taskData.size);
+      this.task.running = true;
+
+      try {
+         this.task.invoke();
+      } finally {
+         this.task.running = false;
+      }
+   }
+
+   @Nonnull
+   private SystemScheduler.Schedule buildSchedule(
+      @Nonnull ComponentRegistry<ECS_TYPE> registry, @Nonnull ComponentRegistry.Data<ECS_TYPE> data, @Nonnull SystemType<ECS_TYPE, ?> systemType
+   ) {
+      if (this.dependencyGraph == null) {
+         ISystem<ECS_TYPE>[] systems = new ISystem[data.getSystemSize()];
+
+         for (int systemIndex = 0; systemIndex < systems.length; systemIndex++) {
+            systems[systemIndex] = data.getSystem(systemIndex);
+         }
+
+         this.dependencyGraph = new DependencyGraph<>(systems);
+         this.dependencyGraph.resolveEdges(registry);
+      }
+
+      int[] systemIndexes = data.getSystemIndexesForType(systemType).stream().toArray();
+      IntArrayList batchStarts = new IntArrayList();
+      batchStarts.add(0);
+      int batchStart = 0;
+
+      for (int i = 1; i < systemIndexes.length; i++) {
+         if (!this.canJoinBatch(data, systemIndexes, batchStart, i)) {
+            batchStart = i;
+            batchStarts.add(i);
+         }
+      }
+
+      batchStarts.add(systemIndexes.length);
+      return new SystemScheduler.Schedule(systemIndexes, batchStarts.toIntArray());
+   }
+
+   private boolean canJoinBatch(@Nonnull ComponentRegistry.Data<ECS_TYPE> data, @Nonnull int[] systemIndexes, int batchStart, int index) {
+      ISystem<ECS_TYPE> system = data.getSystem(systemIndexes[index]);
+      ReadWriteArchetypeQuery<ECS_TYPE> access = getAccessQuery(system);
+      if (access == null) {
+         return false;
+      } else {
+         for (int i = batchStart; i < index; i++) {
+            ISystem<ECS_TYPE> otherSystem = data.getSystem(systemIndexes[i]);
+            ReadWriteArchetypeQuery<ECS_TYPE> otherAccess = getAccessQuery(otherSystem);
+            if (otherAccess == null
+               || this.dependencyGraph.hasPath(otherSystem, system)
+               || this.dependencyGraph.hasPath(system, otherSystem)
+               || conflicts(access, otherAccess)) {
+               return false;
+            }
+         }
+
+         return true;
+      }
+   }
+
+   @Nullable
+   private static <ECS_TYPE> ReadWriteArchetypeQuery<ECS_TYPE> getAccessQuery(@Nonnull ISystem<ECS_TYPE> system) {
+      return system instanceof EntityTickingSystem
+            && system instanceof ParallelSchedulableSystem<ECS_TYPE> schedulableSystem
+            && !(system instanceof DisableProcessingAssert)
+            && !overridesSystemTick(system)
+         ? schedulableSystem.getAccessQuery()
+         : null;
+   }
+
+   private static boolean overridesSystemTick(@Nonnull ISystem<?> system) {
+      try {
+         return system.getClass().getMethod("tick", float.class, int.class, Store.class).getDeclaringClass() != ArchetypeTickingSystem.class;
+      } catch (NoSuchMethodException var2) {
+         return true;
+      }
+   }
+
+   private static <ECS_TYPE> boolean conflicts(@Nonnull ReadWriteArchetypeQuery<ECS_TYPE> access, @Nonnull ReadWriteArchetypeQuery<ECS_TYPE> otherAccess) {
+      Archetype<ECS_TYPE> write = access.getWriteArchetype();
+      Archetype<ECS_TYPE> otherWrite = otherAccess.getWriteArchetype();
+      return write.intersects(otherWrite) || write.intersects(otherAccess.getReadArchetype()) || otherWrite.intersects(access.getReadArchetype());
+   }
+
+   public static class Schedule {
+      @Nonnull
+      private final int[] systemIndexes;
+      @Nonnull
+      private final int[] batchStarts;
+
+      public Schedule(@Nonnull int[] systemIndexes, @Nonnull int[] batchStarts) {
+         this.systemIndexes = systemIndexes;
+         this.batchStarts = batchStarts;
+      }
+
+      public int getBatchCount() {
+         return this.batchStarts.length - 1;
+      }
+
+      public int getBatchStart(int batch) {
+         return this.batchStarts[batch];
+      }
+
+      public int getBatchEnd(int batch) {
+         return this.batchStarts[batch + 1];
+      }
+
+      public int getSystemIndex(int index) {
+         return this.systemIndexes[index];
+      }
+
+      public int getBatchSizeOf(int systemIndex) {
+         for (int batch = 0; batch < this.getBatchCount(); batch++) {
+            for (int i = this.batchStarts[batch]; i < this.batchStarts[batch + 1]; i++) {
+               if (this.systemIndexes[i] == systemIndex) {
+                  return this.batchStarts[batch + 1] - this.batchStarts[batch];
+               }
+            }
+         }
+
+         return 0;
+      }
+
+      @Nonnull
+      @Override
+      public String toString() {
+         return "Schedule{systemIndexes=" + Arrays.toString(this.systemIndexes) + ", batchStarts=" + Arrays.toString(this.batchStarts) + "}";
+      }
+   }
+
+   static class BatchTaskData<ECS_TYPE> implements IntConsumer {
+      @Nullable
+      private Store<ECS_TYPE> store;
+      private float dt;
+      private int size;
+      @Nonnull
+      private EntityTickingSystem<ECS_TYPE>[] systems = new EntityTickingSystem[0];
+      @Nonnull
+      private int[] systemIndexes = new int[0];
+      @Nonnull
+      private ReadWriteArchetypeQuery<ECS_TYPE>[] accessQueries = new ReadWriteArchetypeQuery[0];
+      @Nonnull
+      private CommandBuffer<ECS_TYPE>[] commandBuffers = new CommandBuffer[0];
+      @Nonnull
+      private long[] durations = new long[0];
+
+      void init(@Nonnull Store<ECS_TYPE> store, float dt, int size) {
+         this.store = store;
+         this.dt = dt;
+         this.size = size;
+         if (this.systems.length < size) {
+            this.systems = Arrays.copyOf(this.systems, size);
+            this.systemIndexes = Arrays.copyOf(this.systemIndexes, size);
+            this.accessQueries = Arrays.copyOf(this.accessQueries, size);
+            this.commandBuffers = Arrays.copyOf(this.commandBuffers, size);
+            this.durations = Arrays.copyOf(this.durations, size);
+         }
+      }
+
+      void set(int index, @Nonnull EntityTickingSystem<ECS_TYPE> system, int systemIndex, @Nonnull CommandBuffer<ECS_TYPE> commandBuffer) {
+         this.systems[index] = system;
+         this.systemIndexes[index] = systemIndex;
+         this.accessQueries[index] = SystemScheduler.getAccessQuery(system);
+         this.commandBuffers[index] = commandBuffer;
+      }
+
+      int size() {
+         return this.size;
+      }
+
+      int getSystemIndex(int index) {
+         return this.systemIndexes[index];
+      }
+
+      @Nonnull
+      CommandBuffer<ECS_TYPE> getCommandBuffer(int index) {
+         return this.commandBuffers[index];
+      }
+
+      long getDuration(int index) {
+         return this.durations[index];
+      }
+
+      @Override
+      public void accept(int index) {
+         CommandBuffer<ECS_TYPE> commandBuffer = this.commandBuffers[index];
+
+         assert commandBuffer.setThread();
+
+         assert this.store.setBatchAccess(this.accessQueries[index]);
+
+         try {
+            long start = System.nanoTime();
+            this.store.tickScheduled(this.systems[index], this.dt, this.systemIndexes[index], commandBuffer);
+            this.durations[index] = System.nanoTime() - start;
+         } finally {
+            assert this.store.setBatchAccess(null);
+         }
+      }
+
+      void clear() {
+         Arrays.fill(this.systems, 0, this.size, null);
+         Arrays.fill(this.accessQueries, 0, this.size, null);
+         Arrays.fill(this.commandBuffers, 0, this.size, null);
+         this.store = null;
+         this.size = 0;
+      }
+   }
+}
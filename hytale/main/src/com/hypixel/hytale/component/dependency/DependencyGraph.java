@@ -105,6 +105,29 @@ public class DependencyGraph<ECS_TYPE> {
       }
    }
 
+   public boolean hasPath(@Nonnull ISystem<ECS_TYPE> beforeSystem, @Nonnull ISystem<ECS_TYPE> afterSystem) {
+      Set<ISystem<ECS_TYPE>> visited = new HashSet<>();
+      List<ISystem<ECS_TYPE>> pending = new ObjectArrayList();
+      pending.add(beforeSystem);
+
+      while (!pending.isEmpty()) {
+         List<DependencyGraph.Edge<ECS_TYPE>> edges = this.beforeSystemEdges.get(pending.removeLast());
+         if (edges != null) {
+            for (DependencyGraph.Edge<ECS_TYPE> edge : edges) {
+               if (edge.afterSystem == afterSystem) {
+                  return true;
+               }
+
+               if (visited.add(edge.afterSystem)) {
+                  pending.add(edge.afterSystem);
+               }
+            }
+         }
+      }
+
+      return false;
+   }
+
    public void sort(@Nonnull ISystem<ECS_TYPE>[] sortedSystems) {
       int index = 0;
 
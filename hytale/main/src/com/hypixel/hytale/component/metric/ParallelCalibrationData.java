@@ -0,0 +1,52 @@
+package com.hypixel.hytale.component.metric;
+
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import javax.annotation.Nonnull;
+
+public class ParallelCalibrationData {
+   @Nonnull
+   public static final Codec<ParallelCalibrationData> CODEC = BuilderCodec.builder(ParallelCalibrationData.class, ParallelCalibrationData::new)
+      .append(new KeyedCodec<>("SerialNanosPerEntity", Codec.DOUBLE), (data, o) -> data.serialNanosPerEntity = o, data -> data.serialNanosPerEntity)
+      .add()
+      .append(new KeyedCodec<>("ParallelNanosPerEntity", Codec.DOUBLE), (data, o) -> data.parallelNanosPerEntity = o, data -> data.parallelNanosPerEntity)
+      .add()
+      .append(new KeyedCodec<>("Penalty", Codec.INTEGER), (data, o) -> data.penalty = o, data -> data.penalty)
+      .add()
+      .append(new KeyedCodec<>("BucketTaskCounts", Codec.INT_ARRAY), (data, o) -> data.bucketTaskCounts = o, data -> data.bucketTaskCounts)
+      .add()
+      .build();
+   private double serialNanosPerEntity;
+   private double parallelNanosPerEntity;
+   private int penalty;
+   @Nonnull
+   private int[] bucketTaskCounts = new int[0];
+
+   public ParallelCalibrationData() {
+   }
+
+   public ParallelCalibrationData(double serialNanosPerEntity, double parallelNanosPerEntity, int penalty, @Nonnull int[] bucketTaskCounts) {
+      this.serialNanosPerEntity = serialNanosPerEntity;
+      this.parallelNanosPerEntity = parallelNanosPerEntity;
+      this.penalty = penalty;
+      this.bucketTaskCounts = bucketTaskCounts;
+   }
+
+   public double getSerialNanosPerEntity() {
+      return this.serialNanosPerEntity;
+   }
+
+   public double getParallelNanosPerEntity() {
+      return this.parallelNanosPerEntity;
+   }
+
+   public int getPenalty() {
+      return this.penalty;
+   }
+
+   @Nonnull
+   public int[] getBucketTaskCounts() {
+      return this.bucketTaskCounts;
+   }
+}
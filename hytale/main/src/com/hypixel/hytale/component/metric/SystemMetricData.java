@@ -35,6 +35,16 @@ public class SystemMetricData {
          new KeyedCodec<>("Metrics", MetricResults.CODEC), (systemMetricData, o) -> systemMetricData.metrics = o, systemMetricData -> systemMetricData.metrics
       )
       .add()
+      .append(
+         new KeyedCodec<>("ParallelCalibration", ParallelCalibrationData.CODEC),
+         (systemMetricData, o) -> systemMetricData.parallelCalibration = o,
+         systemMetricData -> systemMetricData.parallelCalibration
+      )
+      .add()
+      .append(
+         new KeyedCodec<>("BatchSize", Codec.INTEGER), (systemMetricData, o) -> systemMetricData.batchSize = o, systemMetricData -> systemMetricData.batchSize
+      )
+      .add()
       .build();
    private String name;
    private int archetypeChunkCount;
@@ -42,6 +52,9 @@ public class SystemMetricData {
    @Nullable
    private HistoricMetric historicMetric;
    private MetricResults metrics;
+   @Nullable
+   private ParallelCalibrationData parallelCalibration;
+   private int batchSize;
 
    public SystemMetricData() {
    }
@@ -55,4 +68,29 @@ public class SystemMetricData {
       this.historicMetric = historicMetric;
       this.metrics = metrics;
    }
+
+   public SystemMetricData(
+      @Nonnull String name,
+      int archetypeChunkCount,
+      int entityCount,
+      @Nullable HistoricMetric historicMetric,
+      @Nonnull MetricResults metrics,
+      @Nullable ParallelCalibrationData parallelCalibration
+   ) {
+      this(name, archetypeChunkCount, entityCount, historicMetric, metrics);
+      this.parallelCalibration = parallelCalibration;
+   }
+
+   public SystemMetricData(
+      @Nonnull String name,
+      int archetypeChunkCount,
+      int entityCount,
+      @Nullable HistoricMetric historicMetric,
+      @Nonnull MetricResults metrics,
+      @Nullable ParallelCalibrationData parallelCalibration,
+      int batchSize
+   ) {
+      this(name, archetypeChunkCount, entityCount, historicMetric, metrics, parallelCalibration);
+      this.batchSize = batchSize;
+   }
 }
@@ -14,6 +14,10 @@ public class MortonCode {
       return interleaveBits(ix, iy, iz);
    }
 
+   public static long encodeCell(int x, int y, int z) {
+      return interleaveBits(x + 1048576L, y + 1048576L, z + 1048576L);
+   }
+
    private static long interleaveBits(long x, long y, long z) {
       x = expandBits(x);
       y = expandBits(y);
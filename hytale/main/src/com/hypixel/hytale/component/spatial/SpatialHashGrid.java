@@ -0,0 +1,416 @@
+package com.hypixel.hytale.component.spatial;
+
+import com.hypixel.hytale.math.vector.Vector3d;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+public class SpatialHashGrid<T> implements SpatialStructure<T> {
+   public static final double DEFAULT_CELL_SIZE = 16.0;
+   private static final int MAX_CLOSEST_RINGS = 8;
+   @Nonnull
+   private final Reference2ObjectOpenHashMap<T, SpatialHashGrid.Entry<T>> entries = new Reference2ObjectOpenHashMap();
+   @Nonnull
+   private final Long2ObjectOpenHashMap<SpatialHashGrid.Cell<T>> cells = new Long2ObjectOpenHashMap();
+   @Nonnull
+   private final List<SpatialHashGrid.Cell<T>> cellPool = new ObjectArrayList();
+   @Nonnull
+   private final Predicate<T> collectionFilter;
+   private final double cellSize;
+   private final double inverseCellSize;
+   private int generation;
+   private int movedCount;
+
+   public SpatialHashGrid(@Nonnull Predicate<T> collectionFilter) {
+      this(collectionFilter, DEFAULT_CELL_SIZE);
+   }
+
+   public SpatialHashGrid(@Nonnull Predicate<T> collectionFilter, double cellSize) {
+      if (!(cellSize > 0.0)) {
+         throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+      } else {
+         this.collectionFilter = collectionFilter;
+         this.cellSize = cellSize;
+         this.inverseCellSize = 1.0 / cellSize;
+      }
+   }
+
+   public double getCellSize() {
+      return this.cellSize;
+   }
+
+   public int getCellCount() {
+      return this.cells.size();
+   }
+
+   public int getMovedCount() {
+      return this.movedCount;
+   }
+
+   @Override
+   public int size() {
+      return this.entries.size();
+   }
+
+   @Override
+   public void rebuild(@Nonnull SpatialData<T> spatialData) {
+      int generation = ++this.generation;
+      int movedCount = 0;
+      int spatialDataSize = spatialData.size();
+
+      for (int i = 0; i < spatialDataSize; i++) {
+         Vector3d vector = spatialData.getVector(i);
+         T data = spatialData.getData(i);
+         SpatialHashGrid.Entry<T> entry = this.entries.get(data);
+         if (entry == null) {
+            entry = new SpatialHashGrid.Entry<>(data);
+            entry.position.assign(vector);
+            this.entries.put(data, entry);
+            this.addToCell(entry, this.cellKey(vector));
+            movedCount++;
+         } else if (entry.generation != generation && !entry.position.equals(vector)) {
+            entry.position.assign(vector);
+            long cellKey = this.cellKey(vector);
+            if (cellKey != entry.cell.key) {
+               this.removeFromCell(entry);
+               this.addToCell(entry, cellKey);
+            }
+
+            movedCount++;
+         }
+
+         entry.generation = generation;
+      }
+
+      if (this.entries.size() > spatialDataSize) {
+         ObjectIterator<Reference2ObjectOpenHashMap.Entry<T, SpatialHashGrid.Entry<T>>> iterator = this.entries.reference2ObjectEntrySet().fastIterator();
+
+         while (iterator.hasNext()) {
+            SpatialHashGrid.Entry<T> entry = iterator.next().getValue();
+            if (entry.generation != generation) {
+               this.removeFromCell(entry);
+               iterator.remove();
+               movedCount++;
+            }
+         }
+      }
+
+      this.movedCount = movedCount;
+   }
+
+   @Nullable
+   @Override
+   public T closest(@Nonnull Vector3d point) {
+      if (this.entries.isEmpty()) {
+         return null;
+      } else {
+         int cellX = this.toCell(point.x);
+         int cellY = this.toCell(point.y);
+         int cellZ = this.toCell(point.z);
+         SpatialHashGrid.Entry<T> closest = null;
+         double closestDistanceSq = Double.MAX_VALUE;
+
+         for (int ring = 0; ring <= MAX_CLOSEST_RINGS; ring++) {
+            if (closest != null) {
+               double ringDistance = (ring - 1) * this.cellSize;
+               if (ringDistance > 0.0 && ringDistance * ringDistance >= closestDistanceSq) {
+                  return closest.data;
+               }
+            }
+
+            for (int x = cellX - ring; x <= cellX + ring; x++) {
+               for (int y = cellY - ring; y <= cellY + ring; y++) {
+                  for (int z = cellZ - ring; z <= cellZ + ring; z++) {
+                     if (Math.abs(x - cellX) == ring || Math.abs(y - cellY) == ring || Math.abs(z - cellZ) == ring) {
+                        SpatialHashGrid.Cell<T> cell = this.cells.get(MortonCode.encodeCell(x, y, z));
+                        if (cell != null) {
+                           for (int i = 0; i < cell.size; i++) {
+                              SpatialHashGrid.Entry<T> entry = cell.entries[i];
+                              double distanceSq = entry.position.distanceSquaredTo(point);
+                              if (distanceSq < closestDistanceSq) {
+                                 closest = entry;
+                                 closestDistanceSq = distanceSq;
+                              }
+                           }
+                        }
+                     }
+                  }
+               }
+            }
+         }
+
+         for (SpatialHashGrid.Entry<T> entry : this.entries.values()) {
+            double distanceSq = entry.position.distanceSquaredTo(point);
+            if (distanceSq < closestDistanceSq) {
+               closest = entry;
+               closestDistanceSq = distanceSq;
+            }
+         }
+
+         return closest == null ? null : closest.data;
+      }
+   }
+
+   @Override
+   public void collect(@Nonnull Vector3d center, double radius, @Nonnull List<T> results) {
+      double distanceSq = radius * radius;
+      this.forEachCell(center.x - radius, center.y - radius, center.z - radius, center.x + radius, center.y + radius, center.z + radius, cell -> {
+         for (int i = 0; i < cell.size; i++) {
+            SpatialHashGrid.Entry<T> entry = cell.entries[i];
+            if (entry.position.distanceSquaredTo(center) < distanceSq && this.collectionFilter.test(entry.data)) {
+               results.add(entry.data);
+            }
+         }
+      });
+   }
+
+   @Override
+   public void collectCylinder(@Nonnull Vector3d center, double radius, double height, @Nonnull List<T> results) {
+      double radiusSq = radius * radius;
+      double halfHeight = height / 2.0;
+      this.forEachCell(center.x - radius, center.y - halfHeight, center.z - radius, center.x + radius, center.y + halfHeight, center.z + radius, cell -> {
+         for (int i = 0; i < cell.size; i++) {
+            SpatialHashGrid.Entry<T> entry = cell.entries[i];
+            Vector3d position = entry.position;
+            if (Math.abs(position.y - center.y) <= halfHeight) {
+               double dx = position.x - center.x;
+               double dz = position.z - center.z;
+               if (dx * dx + dz * dz <= radiusSq && this.collectionFilter.test(entry.data)) {
+                  results.add(entry.data);
+               }
+            }
+         }
+      });
+   }
+
+   @Override
+   public void collectBox(@Nonnull Vector3d min, @Nonnull Vector3d max, @Nonnull List<T> results) {
+      this.forEachCell(min.x, min.y, min.z, max.x, max.y, max.z, cell -> {
+         for (int i = 0; i < cell.size; i++) {
+            SpatialHashGrid.Entry<T> entry = cell.entries[i];
+            if (isInBox(entry.position, min.x, min.y, min.z, max.x, max.y, max.z) && this.collectionFilter.test(entry.data)) {
+               results.add(entry.data);
+            }
+         }
+      });
+   }
+
+   @Override
+   public void ordered(@Nonnull Vector3d center, double radius, @Nonnull List<T> results) {
+      double distanceSq = radius * radius;
+      ObjectArrayList<SpatialHashGrid.OrderedEntry<T>> entryResults = new ObjectArrayList();
+      this.forEachCell(center.x - radius, center.y - radius, center.z - radius, center.x + radius, center.y + radius, center.z + radius, cell -> {
+         for (int i = 0; i < cell.size; i++) {
+            SpatialHashGrid.Entry<T> entry = cell.entries[i];
+            double entryDistanceSq = entry.position.distanceSquaredTo(center);
+            if (entryDistanceSq < distanceSq) {
+               entryResults.add(new SpatialHashGrid.OrderedEntry<>(entryDistanceSq, entry.data));
+            }
+         }
+      });
+      addOrdered(entryResults, results, this.collectionFilter);
+   }
+
+   @Override
+   public void ordered3DAxis(@Nonnull Vector3d center, double xSearchRadius, double ySearchRadius, double zSearchRadius, @Nonnull List<T> results) {
+      double minX = center.x - xSearchRadius;
+      double minY = center.y - ySearchRadius;
+      double minZ = center.z - zSearchRadius;
+      double maxX = center.x + xSearchRadius;
+      double maxY = center.y + ySearchRadius;
+      double maxZ = center.z + zSearchRadius;
+      ObjectArrayList<SpatialHashGrid.OrderedEntry<T>> entryResults = new ObjectArrayList();
+      this.forEachCell(minX, minY, minZ, maxX, maxY, maxZ, cell -> {
+         for (int i = 0; i < cell.size; i++) {
+            SpatialHashGrid.Entry<T> entry = cell.entries[i];
+            if (isInBox(entry.position, minX, minY, minZ, maxX, maxY, maxZ)) {
+               entryResults.add(new SpatialHashGrid.OrderedEntry<>(entry.position.distanceSquaredTo(center), entry.data));
+            }
+         }
+      });
+      addOrdered(entryResults, results, this.collectionFilter);
+   }
+
+   @Nonnull
+   @Override
+   public String dump() {
+      StringBuilder builder = new StringBuilder()
+         .append("SpatialHashGrid(size=")
+         .append(this.entries.size())
+         .append(", cells=")
+         .append(this.cells.size())
+         .append(", cellSize=")
+         .append(this.cellSize)
+         .append(", moved=")
+         .append(this.movedCount)
+         .append(")\n");
+
+      for (Long2ObjectMap.Entry<SpatialHashGrid.Cell<T>> cellEntry : this.cells.long2ObjectEntrySet()) {
+         SpatialHashGrid.Cell<T> cell = cellEntry.getValue();
+         builder.append(" cell=").append(Long.toHexString(cellEntry.getLongKey())).append(", data=[");
+
+         for (int i = 0; i < cell.size; i++) {
+            if (i > 0) {
+               builder.append(", ");
+            }
+
+            builder.append(cell.entries[i].data).append('@').append(cell.entries[i].position);
+         }
+
+         builder.append("]\n");
+      }
+
+      return builder.toString();
+   }
+
+   private void forEachCell(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, @Nonnull SpatialHashGrid.CellConsumer<T> consumer) {
+      int minCellX = this.toCell(minX);
+      int minCellY = this.toCell(minY);
+      int minCellZ = this.toCell(minZ);
+      int maxCellX = this.toCell(maxX);
+      int maxCellY = this.toCell(maxY);
+      int maxCellZ = this.toCell(maxZ);
+      long cellCount = ((long)maxCellX - minCellX + 1L) * ((long)maxCellY - minCellY + 1L) * ((long)maxCellZ - minCellZ + 1L);
+      if (cellCount > this.cells.size()) {
+         for (SpatialHashGrid.Cell<T> cell : this.cells.values()) {
+            if (cell.x >= minCellX && cell.x <= maxCellX && cell.y >= minCellY && cell.y <= maxCellY && cell.z >= minCellZ && cell.z <= maxCellZ) {
+               consumer.accept(cell);
+            }
+         }
+      } else {
+         for (int x = minCellX; x <= maxCellX; x++) {
+            for (int z = minCellZ; z <= maxCellZ; z++) {
+               for (int y = minCellY; y <= maxCellY; y++) {
+                  SpatialHashGrid.Cell<T> cell = this.cells.get(MortonCode.encodeCell(x, y, z));
+                  if (cell != null) {
+                     consumer.accept(cell);
+                  }
+               }
+            }
+         }
+      }
+   }
+
+   private void addToCell(@Nonnull SpatialHashGrid.Entry<T> entry, long cellKey) {
+      SpatialHashGrid.Cell<T> cell = this.cells.get(cellKey);
+      if (cell == null) {
+         cell = this.cellPool.isEmpty() ? new SpatialHashGrid.Cell<>() : this.cellPool.remove(this.cellPool.size() - 1);
+         cell.init(cellKey, this.toCell(entry.position.x), this.toCell(entry.position.y), this.toCell(entry.position.z));
+         this.cells.put(cellKey, cell);
+      }
+
+      cell.add(entry);
+   }
+
+   private void removeFromCell(@Nonnull SpatialHashGrid.Entry<T> entry) {
+      SpatialHashGrid.Cell<T> cell = entry.cell;
+      cell.remove(entry);
+      if (cell.size == 0) {
+         this.cells.remove(cell.key);
+         this.cellPool.add(cell);
+      }
+   }
+
+   private long cellKey(@Nonnull Vector3d vector) {
+      return MortonCode.encodeCell(this.toCell(vector.x), this.toCell(vector.y), this.toCell(vector.z));
+   }
+
+   private int toCell(double value) {
+      return (int)Math.floor(value * this.inverseCellSize);
+   }
+
+   private static boolean isInBox(@Nonnull Vector3d position, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+      return position.x >= minX && position.x <= maxX && position.y >= minY && position.y <= maxY && position.z >= minZ && position.z <= maxZ;
+   }
+
+   private static <T> void addOrdered(@Nonnull ObjectArrayList<SpatialHashGrid.OrderedEntry<T>> entryResults, @Nonnull List<T> results, @Nonnull Predicate<T> filter) {
+      entryResults.sort(Comparator.comparingDouble(o -> o.distanceSq));
+      int i = 0;
+
+      for (int bound = entryResults.size(); i < bound; i++) {
+         T data = entryResults.get(i).data;
+         if (filter.test(data)) {
+            results.add(data);
+         }
+      }
+   }
+
+   @FunctionalInterface
+   private interface CellConsumer<T> {
+      void accept(@Nonnull SpatialHashGrid.Cell<T> var1);
+   }
+
+   private static class Cell<T> {
+      private long key;
+      private int x;
+      private int y;
+      private int z;
+      @Nonnull
+      private SpatialHashGrid.Entry<T>[] entries = new SpatialHashGrid.Entry[4];
+      private int size;
+
+      public void init(long key, int x, int y, int z) {
+         this.key = key;
+         this.x = x;
+         this.y = y;
+         this.z = z;
+         this.size = 0;
+      }
+
+      public void add(@Nonnull SpatialHashGrid.Entry<T> entry) {
+         if (this.size == this.entries.length) {
+            this.entries = Arrays.copyOf(this.entries, this.size << 1);
+         }
+
+         entry.cell = this;
+         entry.cellIndex = this.size;
+         this.entries[this.size++] = entry;
+      }
+
+      public void remove(@Nonnull SpatialHashGrid.Entry<T> entry) {
+         int index = entry.cellIndex;
+         int last = --this.size;
+         if (index != last) {
+            SpatialHashGrid.Entry<T> moved = this.entries[last];
+            this.entries[index] = moved;
+            moved.cellIndex = index;
+         }
+
+         this.entries[last] = null;
+         entry.cell = null;
+         entry.cellIndex = -1;
+      }
+   }
+
+   private static class Entry<T> {
+      @Nonnull
+      private final T data;
+      @Nonnull
+      private final Vector3d position = new Vector3d();
+      private SpatialHashGrid.Cell<T> cell;
+      private int cellIndex = -1;
+      private int generation;
+
+      public Entry(@Nonnull T data) {
+         this.data = data;
+      }
+   }
+
+   private static class OrderedEntry<T> {
+      private final double distanceSq;
+      private final T data;
+
+      public OrderedEntry(double distanceSq, T data) {
+         this.distanceSq = distanceSq;
+         this.data = data;
+      }
+   }
+}
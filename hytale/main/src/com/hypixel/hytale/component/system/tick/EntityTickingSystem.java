@@ -3,6 +3,7 @@ package com.hypixel.hytale.component.system.tick;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.task.ParallelCalibrator;
 import com.hypixel.hytale.component.task.ParallelRangeTask;
 import com.hypixel.hytale.component.task.ParallelTask;
 import java.util.function.IntConsumer;
@@ -14,6 +15,10 @@ public abstract class EntityTickingSystem<ECS_TYPE> extends ArchetypeTickingSyst
       return false;
    }
 
+   protected static boolean useCalibratedParallel(int archetypeChunkSize, int taskCount) {
+      return archetypeChunkSize > 1;
+   }
+
    protected static boolean useParallel(int archetypeChunkSize, int taskCount) {
       return taskCount > 0 || archetypeChunkSize > ParallelRangeTask.PARALLELISM;
    }
@@ -37,11 +42,18 @@ public abstract class EntityTickingSystem<ECS_TYPE> extends ArchetypeTickingSyst
       @Nonnull CommandBuffer<ECS_TYPE> commandBuffer
    ) {
       int archetypeChunkSize = archetypeChunk.size();
-      if (archetypeChunkSize != 0) {
+      if (archetypeChunkSize != 0 && store.isTickingBatch()) {
+         for (int index = 0; index < archetypeChunkSize; index++) {
+            system.tick(dt, index, archetypeChunk, store, commandBuffer);
+         }
+      } else if (archetypeChunkSize != 0) {
          ParallelTask<EntityTickingSystem.SystemTaskData<ECS_TYPE>> task = store.getParallelTask();
-         if (system.isParallel(archetypeChunkSize, task.size())) {
+         ParallelCalibrator calibrator = store.getParallelCalibrator();
+         int taskCount = system.isParallel(archetypeChunkSize, task.size()) ? calibrator.getTaskCount(system, archetypeChunkSize) : 0;
+         calibrator.record(system, archetypeChunkSize, taskCount);
+         if (taskCount > 0) {
             ParallelRangeTask<EntityTickingSystem.SystemTaskData<ECS_TYPE>> systemTask = task.appendTask();
-            systemTask.init(0, archetypeChunkSize);
+            systemTask.init(0, archetypeChunkSize, taskCount);
             int i = 0;
 
             for (int systemTaskSize = systemTask.size(); i < systemTaskSize; i++) {
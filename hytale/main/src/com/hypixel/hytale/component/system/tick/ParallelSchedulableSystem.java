@@ -0,0 +1,12 @@
+package com.hypixel.hytale.component.system.tick;
+
+import com.hypixel.hytale.component.query.ReadWriteArchetypeQuery;
+import com.hypixel.hytale.component.system.QuerySystem;
+import javax.annotation.Nullable;
+
+public interface ParallelSchedulableSystem<ECS_TYPE> extends QuerySystem<ECS_TYPE> {
+   @Nullable
+   default ReadWriteArchetypeQuery<ECS_TYPE> getAccessQuery() {
+      return this.getQuery() instanceof ReadWriteArchetypeQuery<ECS_TYPE> readWriteQuery ? readWriteQuery : null;
+   }
+}
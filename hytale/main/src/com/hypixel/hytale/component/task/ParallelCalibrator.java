@@ -0,0 +1,133 @@
+package com.hypixel.hytale.component.task;
+
+import com.hypixel.hytale.component.metric.ParallelCalibrationData;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import java.util.Arrays;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+public class ParallelCalibrator {
+   public static final int SIZE_BUCKETS = 32;
+   public static final long MIN_PARALLEL_NANOS = 50000L;
+   public static final long TARGET_TASK_NANOS = 20000L;
+   public static final int MAX_PENALTY = 64;
+   public static final int RESAMPLE_INTERVAL = 200;
+   public static final double SMOOTHING = 0.2;
+   public static final double REQUIRED_SPEEDUP = 1.25;
+   @Nonnull
+   private final Map<Object, ParallelCalibrator.Entry> entries = new Reference2ObjectOpenHashMap();
+
+   public int getTaskCount(@Nonnull Object system, int archetypeChunkSize) {
+      ParallelCalibrator.Entry entry = this.getEntry(system);
+      int taskCount = entry.getTaskCount(archetypeChunkSize);
+      entry.bucketTaskCounts[bucketOf(archetypeChunkSize)] = taskCount;
+      return taskCount;
+   }
+
+   public void record(@Nonnull Object system, int archetypeChunkSize, int taskCount) {
+      ParallelCalibrator.Entry entry = this.getEntry(system);
+      entry.tickEntities += archetypeChunkSize;
+      if (taskCount > 0) {
+         entry.tickParallelEntities += archetypeChunkSize;
+      }
+   }
+
+   public void complete(@Nonnull Object system, long nanos) {
+      ParallelCalibrator.Entry entry = this.entries.get(system);
+      if (entry != null) {
+         entry.complete(nanos);
+      }
+   }
+
+   public void remove(@Nonnull Object system) {
+      this.entries.remove(system);
+   }
+
+   @Nullable
+   public ParallelCalibrationData getData(@Nonnull Object system) {
+      ParallelCalibrator.Entry entry = this.entries.get(system);
+      return entry == null
+         ? null
+         : new ParallelCalibrationData(entry.serialNanosPerEntity, entry.parallelNanosPerEntity, entry.penalty, entry.bucketTaskCounts.clone());
+   }
+
+   @Nonnull
+   private ParallelCalibrator.Entry getEntry(@Nonnull Object system) {
+      return this.entries.computeIfAbsent(system, o -> new ParallelCalibrator.Entry());
+   }
+
+   private static int bucketOf(int archetypeChunkSize) {
+      return 31 - Integer.numberOfLeadingZeros(Math.max(archetypeChunkSize, 1));
+   }
+
+   private static double smooth(boolean sampled, double average, double value) {
+      return sampled ? average + (value - average) * SMOOTHING : value;
+   }
+
+   private static class Entry {
+      private double serialNanosPerEntity;
+      private double parallelNanosPerEntity;
+      private boolean serialSampled;
+      private boolean parallelSampled;
+      private int penalty = 1;
+      private int ticksSinceSerialSample;
+      private int serialTicksSincePenalty;
+      private boolean sampleSerial;
+      private int tickEntities;
+      private int tickParallelEntities;
+      @Nonnull
+      private final int[] bucketTaskCounts = new int[ParallelCalibrator.SIZE_BUCKETS];
+
+      private Entry() {
+         Arrays.fill(this.bucketTaskCounts, -1);
+      }
+
+      private int getTaskCount(int archetypeChunkSize) {
+         if (archetypeChunkSize > 1 && !this.sampleSerial && this.serialSampled) {
+            double estimatedNanos = archetypeChunkSize * this.serialNanosPerEntity;
+            if (estimatedNanos < (double)(ParallelCalibrator.MIN_PARALLEL_NANOS * this.penalty)) {
+               return 0;
+            } else {
+               int taskCount = (int)(estimatedNanos / ParallelCalibrator.TARGET_TASK_NANOS);
+               return Math.max(Math.min(Math.min(taskCount, ParallelRangeTask.TASK_COUNT), archetypeChunkSize), 2);
+            }
+         } else {
+            return 0;
+         }
+      }
+
+      private void complete(long nanos) {
+         int entities = this.tickEntities;
+         int parallelEntities = this.tickParallelEntities;
+         this.tickEntities = 0;
+         this.tickParallelEntities = 0;
+         if (entities != 0) {
+            double nanosPerEntity = (double)nanos / entities;
+            if (parallelEntities == 0) {
+               this.serialNanosPerEntity = ParallelCalibrator.smooth(this.serialSampled, this.serialNanosPerEntity, nanosPerEntity);
+               this.serialSampled = true;
+               this.ticksSinceSerialSample = 0;
+               this.sampleSerial = false;
+               if (this.penalty > 1 && ++this.serialTicksSincePenalty >= ParallelCalibrator.RESAMPLE_INTERVAL) {
+                  this.serialTicksSincePenalty = 0;
+                  this.penalty >>= 1;
+               }
+            } else if (parallelEntities * 2 >= entities) {
+               this.parallelNanosPerEntity = ParallelCalibrator.smooth(this.parallelSampled, this.parallelNanosPerEntity, nanosPerEntity);
+               this.parallelSampled = true;
+               if (this.parallelNanosPerEntity * ParallelCalibrator.REQUIRED_SPEEDUP > this.serialNanosPerEntity) {
+                  this.penalty = Math.min(this.penalty << 1, ParallelCalibrator.MAX_PENALTY);
+                  this.serialTicksSincePenalty = 0;
+               } else if (this.penalty > 1) {
+                  this.penalty >>= 1;
+               }
+
+               if (++this.ticksSinceSerialSample >= ParallelCalibrator.RESAMPLE_INTERVAL) {
+                  this.sampleSerial = true;
+               }
+            }
+         }
+      }
+   }
+}
@@ -37,10 +37,16 @@ public class ParallelRangeTask<D extends IntConsumer> extends CountedCompleter<V
 
    @Nonnull
    public ParallelRangeTask<D> init(int from, int to) {
+      return this.init(from, to, this.subTasks.length);
+   }
+
+   @Nonnull
+   public ParallelRangeTask<D> init(int from, int to, int taskCount) {
       this.reinitialize();
-      int perTask = Math.max((to - from + (this.subTasks.length - 1)) / this.subTasks.length, 1);
+      taskCount = Math.max(Math.min(taskCount, this.subTasks.length), 1);
+      int perTask = Math.max((to - from + (taskCount - 1)) / taskCount, 1);
 
-      for (this.size = 0; this.size < this.subTasks.length && from < to; this.size++) {
+      for (this.size = 0; this.size < taskCount && from < to; this.size++) {
          int next = Math.min(from + perTask, to);
          this.subTasks[this.size].init(from, next);
          from = next;
@@ -1,27 +1,47 @@
 package com.hypixel.hytale.protocol;
 
+import com.hypixel.hytale.protocol.io.PacketCompression;
+import com.hypixel.hytale.protocol.io.PacketIO;
+import com.hypixel.hytale.protocol.io.PacketStatsRecorder;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import java.util.Arrays;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public final class CachedPacket<T extends Packet> implements Packet, AutoCloseable {
    private final Class<T> packetType;
    private final int packetId;
    private final ByteBuf cachedBytes;
+   private final boolean framed;
+   @Nonnull
+   private volatile CachedPacket.Frame[] frames = new CachedPacket.Frame[0];
+   private boolean closed;
 
-   private CachedPacket(Class<T> packetType, int packetId, ByteBuf cachedBytes) {
+   private CachedPacket(Class<T> packetType, int packetId, ByteBuf cachedBytes, boolean framed) {
       this.packetType = packetType;
       this.packetId = packetId;
       this.cachedBytes = cachedBytes;
+      this.framed = framed;
    }
 
    public static <T extends Packet> CachedPacket<T> cache(@Nonnull T packet) {
+      return cache(packet, false);
+   }
+
+   public static <T extends Packet> CachedPacket<T> cacheFramed(@Nonnull T packet) {
+      CachedPacket<T> cached = cache(packet, true);
+      cached.getFrame(null);
+      return cached;
+   }
+
+   private static <T extends Packet> CachedPacket<T> cache(@Nonnull T packet, boolean framed) {
       if (packet instanceof CachedPacket) {
          throw new IllegalArgumentException("Cannot cache a CachedPacket");
       } else {
          ByteBuf buf = Unpooled.buffer();
          packet.serialize(buf);
-         return new CachedPacket<>((Class<T>)packet.getClass(), packet.getId(), buf);
+         return new CachedPacket<>((Class<T>)packet.getClass(), packet.getId(), buf, framed);
       }
    }
 
@@ -52,10 +72,112 @@ public final class CachedPacket<T extends Packet> implements Packet, AutoCloseab
       return this.cachedBytes.readableBytes();
    }
 
+   public boolean isFramed() {
+      return this.framed;
+   }
+
+   @Nonnull
+   public CachedPacket.Frame getFrame(@Nullable PacketCompression compression) {
+      int compressionLevel = compression != null ? compression.getCompressionLevel() : PacketCompression.COMPRESSION_LEVEL;
+      CachedPacket.Frame frame = this.findFrame(compressionLevel);
+      if (frame != null) {
+         return frame;
+      } else {
+         ByteBuf buf = Unpooled.buffer(this.cachedBytes.readableBytes() + 8);
+
+         try {
+            PacketIO.writeFramedPacket(this, this.packetType, buf, PacketStatsRecorder.NOOP, compression);
+         } catch (Throwable var8) {
+            buf.release();
+            throw var8;
+         }
+
+         PacketRegistry.PacketInfo info = PacketRegistry.getById(this.packetId);
+         int compressedSize = info != null && info.compressed() && this.cachedBytes.isReadable() ? buf.readableBytes() - 8 : 0;
+         frame = new CachedPacket.Frame(compressionLevel, buf, this.cachedBytes.readableBytes(), compressedSize);
+         synchronized (this) {
+            CachedPacket.Frame existing = this.findFrame(compressionLevel);
+            if (existing == null && !this.closed) {
+               CachedPacket.Frame[] frames = Arrays.copyOf(this.frames, this.frames.length + 1);
+               frames[frames.length - 1] = frame;
+               this.frames = frames;
+               return frame;
+            } else {
+               buf.release();
+               if (existing == null) {
+                  throw new IllegalStateException("CachedPacket was closed before its frame was cached");
+               } else {
+                  return existing;
+               }
+            }
+         }
+      }
+   }
+
+   @Nullable
+   private CachedPacket.Frame findFrame(int compressionLevel) {
+      for (CachedPacket.Frame frame : this.frames) {
+         if (frame.compressionLevel == compressionLevel) {
+            return frame;
+         }
+      }
+
+      return null;
+   }
+
    @Override
    public void close() {
+      CachedPacket.Frame[] frames;
+      synchronized (this) {
+         this.closed = true;
+         frames = this.frames;
+         this.frames = new CachedPacket.Frame[0];
+      }
+
+      for (CachedPacket.Frame frame : frames) {
+         if (frame.bytes.refCnt() > 0) {
+            frame.bytes.release();
+         }
+      }
+
       if (this.cachedBytes.refCnt() > 0) {
          this.cachedBytes.release();
       }
    }
+
+   public static final class Frame {
+      private final int compressionLevel;
+      @Nonnull
+      private final ByteBuf bytes;
+      private final int uncompressedSize;
+      private final int compressedSize;
+
+      private Frame(int compressionLevel, @Nonnull ByteBuf bytes, int uncompressedSize, int compressedSize) {
+         this.compressionLevel = compressionLevel;
+         this.bytes = bytes;
+         this.uncompressedSize = uncompressedSize;
+         this.compressedSize = compressedSize;
+      }
+
+      public int getCompressionLevel() {
+         return this.compressionLevel;
+      }
+
+      @Nonnull
+      public ByteBuf retainedSlice() {
+         if (this.bytes.refCnt() <= 0) {
+            throw new IllegalStateException("CachedPacket frame was released before it was written");
+         } else {
+            return this.bytes.retainedSlice();
+         }
+      }
+
+      public int getUncompressedSize() {
+         return this.uncompressedSize;
+      }
+
+      public int getCompressedSize() {
+         return this.compressedSize;
+      }
+   }
 }
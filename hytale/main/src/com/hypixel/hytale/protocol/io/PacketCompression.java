@@ -0,0 +1,183 @@
+package com.hypixel.hytale.protocol.io;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdDecompressCtx;
+import com.github.luben.zstd.ZstdException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import java.nio.ByteBuffer;
+import javax.annotation.Nonnull;
+
+public final class PacketCompression implements AutoCloseable {
+   public static final AttributeKey<PacketCompression> CHANNEL_KEY = AttributeKey.valueOf("PacketCompression");
+   public static final int COMPRESSION_LEVEL = Integer.getInteger("hytale.protocol.compressionLevel", Zstd.defaultCompressionLevel());
+   @Nonnull
+   private final ByteBufAllocator allocator;
+   private final int compressionLevel;
+   private ZstdCompressCtx compressCtx;
+   private ZstdDecompressCtx decompressCtx;
+   private boolean closed;
+
+   public PacketCompression(@Nonnull ByteBufAllocator allocator) {
+      this(allocator, COMPRESSION_LEVEL);
+   }
+
+   public PacketCompression(@Nonnull ByteBufAllocator allocator, int compressionLevel) {
+      this.allocator = allocator;
+      this.compressionLevel = compressionLevel;
+   }
+
+   @Nonnull
+   public static PacketCompression get(@Nonnull Channel channel) {
+      Attribute<PacketCompression> attribute = channel.attr(CHANNEL_KEY);
+      PacketCompression compression = attribute.get();
+      if (compression == null) {
+         compression = new PacketCompression(channel.alloc());
+         PacketCompression existing = attribute.setIfAbsent(compression);
+         if (existing != null) {
+            compression.close();
+            compression = existing;
+         }
+      }
+
+      return compression;
+   }
+
+   public static void close(@Nonnull Channel channel) {
+      PacketCompression compression = channel.attr(CHANNEL_KEY).getAndSet(null);
+      if (compression != null) {
+         compression.close();
+      }
+   }
+
+   @Nonnull
+   public ByteBufAllocator getAllocator() {
+      return this.allocator;
+   }
+
+   public int getCompressionLevel() {
+      return this.compressionLevel;
+   }
+
+   public int compress(@Nonnull ByteBuf src, @Nonnull ByteBuf dst, int dstOffset, int maxDstSize) {
+      ZstdCompressCtx ctx = this.getCompressCtx();
+      int srcSize = src.readableBytes();
+
+      try {
+         if (src.isDirect() && dst.isDirect() && src.nioBufferCount() == 1 && dst.nioBufferCount() == 1) {
+            return ctx.compress(dst.nioBuffer(dstOffset, maxDstSize), src.nioBuffer());
+         } else if (src.hasArray() && dst.hasArray()) {
+            return ctx.compressByteArray(
+               dst.array(), dst.arrayOffset() + dstOffset, maxDstSize, src.array(), src.arrayOffset() + src.readerIndex(), srcSize
+            );
+         } else {
+            ByteBuf directSrc = src.isDirect() && src.nioBufferCount() == 1 ? src.retain() : this.toDirect(src);
+            ByteBuf directDst = this.allocator.directBuffer(maxDstSize);
+
+            int var9;
+            try {
+               int compressedSize = ctx.compress(directDst.nioBuffer(0, maxDstSize), directSrc.nioBuffer());
+               dst.setBytes(dstOffset, directDst, 0, compressedSize);
+               var9 = compressedSize;
+            } finally {
+               directDst.release();
+               directSrc.release();
+            }
+
+            return var9;
+         }
+      } catch (ZstdException var14) {
+         throw new ProtocolException("Zstd compression failed: " + var14.getMessage());
+      }
+   }
+
+   @Nonnull
+   public ByteBuf decompress(@Nonnull ByteBuf src, int srcOffset, int srcLength, int maxDecompressedSize) {
+      if (srcLength > maxDecompressedSize) {
+         throw new ProtocolException("Compressed size " + srcLength + " exceeds max decompressed size " + maxDecompressedSize);
+      } else {
+         ByteBuf directSrc = src.isDirect() && src.nioBufferCount() == 1
+            ? src.retainedSlice(srcOffset, srcLength)
+            : this.toDirect(src.slice(srcOffset, srcLength));
+
+         try {
+            ByteBuffer srcNio = directSrc.nioBuffer();
+            long decompressedSize = Zstd.getFrameContentSize(srcNio);
+            if (decompressedSize < 0L) {
+               throw new ProtocolException("Invalid Zstd frame or unknown content size");
+            } else if (decompressedSize > maxDecompressedSize) {
+               throw new ProtocolException("Decompressed size " + decompressedSize + " exceeds maximum " + maxDecompressedSize);
+            } else {
+               ByteBuf dst = this.allocator.directBuffer((int)decompressedSize);
+
+               try {
+                  int result = this.getDecompressCtx().decompress(dst.nioBuffer(0, (int)decompressedSize), srcNio);
+                  dst.writerIndex(result);
+                  return dst;
+               } catch (ZstdException var13) {
+                  dst.release();
+                  throw new ProtocolException("Zstd decompression failed: " + var13.getMessage());
+               }
+            }
+         } finally {
+            directSrc.release();
+         }
+      }
+   }
+
+   @Override
+   public void close() {
+      if (!this.closed) {
+         this.closed = true;
+         if (this.compressCtx != null) {
+            this.compressCtx.close();
+            this.compressCtx = null;
+         }
+
+         if (this.decompressCtx != null) {
+            this.decompressCtx.close();
+            this.decompressCtx = null;
+         }
+      }
+   }
+
+   @Nonnull
+   private ZstdCompressCtx getCompressCtx() {
+      if (this.closed) {
+         throw new IllegalStateException("PacketCompression is closed");
+      } else {
+         if (this.compressCtx == null) {
+            this.compressCtx = new ZstdCompressCtx();
+            this.compressCtx.setLevel(this.compressionLevel);
+            this.compressCtx.setContentSize(true);
+         }
+
+         return this.compressCtx;
+      }
+   }
+
+   @Nonnull
+   private ZstdDecompressCtx getDecompressCtx() {
+      if (this.closed) {
+         throw new IllegalStateException("PacketCompression is closed");
+      } else {
+         if (this.decompressCtx == null) {
+            this.decompressCtx = new ZstdDecompressCtx();
+         }
+
+         return this.decompressCtx;
+      }
+   }
+
+   @Nonnull
+   private ByteBuf toDirect(@Nonnull ByteBuf src) {
+      int size = src.readableBytes();
+      ByteBuf direct = this.allocator.directBuffer(size);
+      direct.writeBytes(src, src.readerIndex(), size);
+      return direct;
+   }
+}
@@ -16,7 +16,7 @@ public final class PacketIO {
    public static final int FRAME_HEADER_SIZE = 4;
    public static final Charset UTF8 = StandardCharsets.UTF_8;
    public static final Charset ASCII = StandardCharsets.US_ASCII;
-   private static final int COMPRESSION_LEVEL = Integer.getInteger("hytale.protocol.compressionLevel", Zstd.defaultCompressionLevel());
+   private static final int COMPRESSION_LEVEL = PacketCompression.COMPRESSION_LEVEL;
 
    private PacketIO() {
    }
@@ -300,6 +300,16 @@ public final class PacketIO {
 
    public static void writeFramedPacket(
       @Nonnull Packet packet, @Nonnull Class<? extends Packet> packetClass, @Nonnull ByteBuf out, @Nonnull PacketStatsRecorder statsRecorder
+   ) {
+      writeFramedPacket(packet, packetClass, out, statsRecorder, null);
+   }
+
+   public static void writeFramedPacket(
+      @Nonnull Packet packet,
+      @Nonnull Class<? extends Packet> packetClass,
+      @Nonnull ByteBuf out,
+      @Nonnull PacketStatsRecorder statsRecorder,
+      @Nullable PacketCompression compression
    ) {
       Integer id = PacketRegistry.getId(packetClass);
       if (id == null) {
@@ -309,41 +319,53 @@ public final class PacketIO {
          int lengthIndex = out.writerIndex();
          out.writeIntLE(0);
          out.writeIntLE(id);
-         ByteBuf payloadBuf = Unpooled.buffer(Math.min(info.maxSize(), 65536));
-
-         try {
-            packet.serialize(payloadBuf);
-            int serializedSize = payloadBuf.readableBytes();
+         if (!info.compressed()) {
+            int payloadIndex = out.writerIndex();
+            packet.serialize(out);
+            int serializedSize = out.writerIndex() - payloadIndex;
             if (serializedSize > info.maxSize()) {
                throw new ProtocolException("Packet " + info.name() + " serialized to " + serializedSize + " bytes, exceeds max size " + info.maxSize());
+            } else if (serializedSize > 1677721600) {
+               throw new ProtocolException("Packet " + info.name() + " payload size " + serializedSize + " exceeds protocol maximum");
+            } else {
+               out.setIntLE(lengthIndex, serializedSize);
+               statsRecorder.recordSend(id, serializedSize, 0);
             }
-
-            if (info.compressed() && serializedSize > 0) {
-               int compressBound = (int)Zstd.compressBound(serializedSize);
-               out.ensureWritable(compressBound);
-               int compressedSize = compressToBuffer(payloadBuf, out, out.writerIndex(), compressBound);
-               if (Zstd.isError(compressedSize)) {
-                  throw new ProtocolException("Zstd compression failed: " + Zstd.getErrorName(compressedSize));
-               }
-
-               if (compressedSize > 1677721600) {
-                  throw new ProtocolException("Packet " + info.name() + " compressed payload size " + compressedSize + " exceeds protocol maximum");
+         } else {
+            int initialCapacity = Math.min(info.maxSize(), 65536);
+            ByteBuf payloadBuf = compression != null ? compression.getAllocator().directBuffer(initialCapacity) : Unpooled.buffer(initialCapacity);
+
+            try {
+               packet.serialize(payloadBuf);
+               int serializedSize = payloadBuf.readableBytes();
+               if (serializedSize > info.maxSize()) {
+                  throw new ProtocolException("Packet " + info.name() + " serialized to " + serializedSize + " bytes, exceeds max size " + info.maxSize());
                }
 
-               out.writerIndex(out.writerIndex() + compressedSize);
-               out.setIntLE(lengthIndex, compressedSize);
-               statsRecorder.recordSend(id, serializedSize, compressedSize);
-            } else {
-               if (serializedSize > 1677721600) {
-                  throw new ProtocolException("Packet " + info.name() + " payload size " + serializedSize + " exceeds protocol maximum");
+               if (serializedSize > 0) {
+                  int compressBound = (int)Zstd.compressBound(serializedSize);
+                  out.ensureWritable(compressBound);
+                  int compressedSize = compression != null
+                     ? compression.compress(payloadBuf, out, out.writerIndex(), compressBound)
+                     : compressToBuffer(payloadBuf, out, out.writerIndex(), compressBound);
+                  if (Zstd.isError(compressedSize)) {
+                     throw new ProtocolException("Zstd compression failed: " + Zstd.getErrorName(compressedSize));
+                  }
+
+                  if (compressedSize > 1677721600) {
+                     throw new ProtocolException("Packet " + info.name() + " compressed payload size " + compressedSize + " exceeds protocol maximum");
+                  }
+
+                  out.writerIndex(out.writerIndex() + compressedSize);
+                  out.setIntLE(lengthIndex, compressedSize);
+                  statsRecorder.recordSend(id, serializedSize, compressedSize);
+               } else {
+                  out.setIntLE(lengthIndex, 0);
+                  statsRecorder.recordSend(id, 0, 0);
                }
-
-               out.writeBytes(payloadBuf);
-               out.setIntLE(lengthIndex, serializedSize);
-               statsRecorder.recordSend(id, serializedSize, 0);
+            } finally {
+               payloadBuf.release();
             }
-         } finally {
-            payloadBuf.release();
          }
       }
    }
@@ -363,13 +385,26 @@ public final class PacketIO {
    @Nonnull
    public static Packet readFramedPacketWithInfo(
       @Nonnull ByteBuf in, int payloadLength, @Nonnull PacketRegistry.PacketInfo info, @Nonnull PacketStatsRecorder statsRecorder
+   ) {
+      return readFramedPacketWithInfo(in, payloadLength, info, statsRecorder, null);
+   }
+
+   @Nonnull
+   public static Packet readFramedPacketWithInfo(
+      @Nonnull ByteBuf in,
+      int payloadLength,
+      @Nonnull PacketRegistry.PacketInfo info,
+      @Nonnull PacketStatsRecorder statsRecorder,
+      @Nullable PacketCompression compression
    ) {
       int compressedSize = 0;
       ByteBuf payload;
       int uncompressedSize;
       if (info.compressed() && payloadLength > 0) {
          try {
-            payload = decompressFromBuffer(in, in.readerIndex(), payloadLength, info.maxSize());
+            payload = compression != null
+               ? compression.decompress(in, in.readerIndex(), payloadLength, info.maxSize())
+               : decompressFromBuffer(in, in.readerIndex(), payloadLength, info.maxSize());
          } catch (ProtocolException var12) {
             in.skipBytes(payloadLength);
             throw var12;
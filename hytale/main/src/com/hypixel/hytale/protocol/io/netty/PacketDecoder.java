@@ -1,6 +1,7 @@
 package com.hypixel.hytale.protocol.io.netty;
 
 import com.hypixel.hytale.protocol.PacketRegistry;
+import com.hypixel.hytale.protocol.io.PacketCompression;
 import com.hypixel.hytale.protocol.io.PacketIO;
 import com.hypixel.hytale.protocol.io.PacketStatsRecorder;
 import com.hypixel.hytale.protocol.io.ProtocolException;
@@ -37,6 +38,7 @@ public class PacketDecoder extends ByteToMessageDecoder {
 
    public void channelInactive(@Nonnull ChannelHandlerContext ctx) throws Exception {
       this.cancelTimeoutCheck();
+      PacketCompression.close(ctx.channel());
       super.channelInactive(ctx);
    }
 
@@ -92,7 +94,7 @@ public class PacketDecoder extends ByteToMessageDecoder {
                }
 
                try {
-                  out.add(PacketIO.readFramedPacketWithInfo(in, payloadLength, packetInfo, statsRecorder));
+                  out.add(PacketIO.readFramedPacketWithInfo(in, payloadLength, packetInfo, statsRecorder, PacketCompression.get(ctx.channel())));
                   this.lastPacketTimeNanos = System.nanoTime();
                } catch (ProtocolException var9) {
                   in.skipBytes(in.readableBytes());
@@ -2,16 +2,33 @@ package com.hypixel.hytale.protocol.io.netty;
 
 import com.hypixel.hytale.protocol.CachedPacket;
 import com.hypixel.hytale.protocol.Packet;
+import com.hypixel.hytale.protocol.io.PacketCompression;
 import com.hypixel.hytale.protocol.io.PacketIO;
 import com.hypixel.hytale.protocol.io.PacketStatsRecorder;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.handler.codec.MessageToByteEncoder;
 import javax.annotation.Nonnull;
 
 @Sharable
 public class PacketEncoder extends MessageToByteEncoder<Packet> {
+   public void write(@Nonnull ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+      if (msg instanceof CachedPacket<?> cached && cached.isFramed()) {
+         CachedPacket.Frame frame = cached.getFrame(PacketCompression.get(ctx.channel()));
+         ByteBuf buf = frame.retainedSlice();
+         PacketStatsRecorder statsRecorder = (PacketStatsRecorder)ctx.channel().attr(PacketStatsRecorder.CHANNEL_KEY).get();
+         if (statsRecorder != null) {
+            statsRecorder.recordSend(cached.getId(), frame.getUncompressedSize(), frame.getCompressedSize());
+         }
+
+         ctx.write(buf, promise);
+      } else {
+         super.write(ctx, msg, promise);
+      }
+   }
+
    protected void encode(@Nonnull ChannelHandlerContext ctx, @Nonnull Packet packet, @Nonnull ByteBuf out) {
       Class<? extends Packet> packetClass;
       if (packet instanceof CachedPacket<?> cached) {
@@ -25,6 +42,11 @@ public class PacketEncoder extends MessageToByteEncoder<Packet> {
          statsRecorder = PacketStatsRecorder.NOOP;
       }
 
-      PacketIO.writeFramedPacket(packet, packetClass, out, statsRecorder);
+      PacketIO.writeFramedPacket(packet, packetClass, out, statsRecorder, PacketCompression.get(ctx.channel()));
+   }
+
+   public void handlerRemoved(@Nonnull ChannelHandlerContext ctx) throws Exception {
+      PacketCompression.close(ctx.channel());
+      super.handlerRemoved(ctx);
    }
 }
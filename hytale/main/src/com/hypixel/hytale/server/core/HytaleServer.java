@@ -40,6 +40,7 @@ import com.hypixel.hytale.server.core.universe.datastore.DiskDataStoreProvider;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.update.UpdateModule;
 import com.hypixel.hytale.server.core.util.concurrent.ThreadUtil;
+import com.hypixel.hytale.server.core.util.io.StorageExecutor;
 import io.netty.handler.codec.quic.Quic;
 import io.sentry.Sentry;
 import io.sentry.SentryOptions;
@@ -81,7 +82,8 @@ public class HytaleServer {
       }, Codec.STRING)
       .register("PluginManager", HytaleServer::getPluginManager, PluginManager.METRICS_REGISTRY)
       .register("Config", HytaleServer::getConfig, HytaleServerConfig.CODEC)
-      .register("JVM", JVMMetrics.METRICS_REGISTRY);
+      .register("JVM", JVMMetrics.METRICS_REGISTRY)
+      .register("Storage", StorageExecutor.LANES_METRICS_REGISTRY);
    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
    private static HytaleServer instance;
    private final Semaphore aliveLock = new Semaphore(0);
@@ -65,7 +65,7 @@ public class BlockTypePacketGenerator extends AssetPacketGenerator<String, Block
       packet.updateModelTextures = rebuildCache.isModelTextures();
       packet.updateModels = rebuildCache.isModels();
       packet.updateMapGeometry = rebuildCache.isMapGeometry();
-      return CachedPacket.cache(packet);
+      return CachedPacket.cacheFramed(packet);
    }
 
    @Nonnull
@@ -91,6 +91,6 @@ public class BlockTypePacketGenerator extends AssetPacketGenerator<String, Block
       packet.updateModels = rebuildCache.isModels();
       packet.updateModelTextures = rebuildCache.isModelTextures();
       packet.updateMapGeometry = rebuildCache.isMapGeometry();
-      return CachedPacket.cache(packet);
+      return CachedPacket.cacheFramed(packet);
    }
 }
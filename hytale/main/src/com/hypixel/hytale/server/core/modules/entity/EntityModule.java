@@ -24,6 +24,7 @@ import com.hypixel.hytale.component.dependency.RootDependency;
 import com.hypixel.hytale.component.dependency.SystemDependency;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.spatial.KDTree;
+import com.hypixel.hytale.component.spatial.SpatialHashGrid;
 import com.hypixel.hytale.component.spatial.SpatialResource;
 import com.hypixel.hytale.component.system.HolderSystem;
 import com.hypixel.hytale.component.system.ISystem;
@@ -221,6 +222,7 @@ public class EntityModule extends JavaPlugin {
    private ComponentType<EntityStore, EntityTrackerSystems.EntityViewer> entityViewerComponentType;
    private ComponentType<EntityStore, EntityTrackerSystems.Visible> visibleComponentType;
    private ResourceType<EntityStore, SnapshotSystems.SnapshotWorldInfo> snapshotWorldInfoResourceType;
+   private ResourceType<EntityStore, EntityTrackerSystems.SendPackets.EncodeCache> encodeCacheResourceType;
    private ComponentType<EntityStore, SnapshotBuffer> snapshotBufferComponentType;
    private ComponentType<EntityStore, PersistentRefCount> persistentRefCountComponentType;
    private ComponentType<EntityStore, Velocity> velocityComponentType;
@@ -425,7 +427,7 @@ public class EntityModule extends JavaPlugin {
       );
       this.playerSpatialResourceType = entityStoreRegistry.registerSpatialResource(() -> new KDTree<>(Ref::isValid));
       entityStoreRegistry.registerSystem(new PlayerSpatialSystem(this.playerSpatialResourceType));
-      this.entitySpatialResourceType = entityStoreRegistry.registerSpatialResource(() -> new KDTree<>(Ref::isValid));
+      this.entitySpatialResourceType = entityStoreRegistry.registerSpatialResource(() -> new SpatialHashGrid<>(Ref::isValid));
       entityStoreRegistry.registerSystem(new EntitySpatialSystem(this.entitySpatialResourceType));
       this.despawnComponentComponentType = entityStoreRegistry.registerComponent(DespawnComponent.class, "Despawn", DespawnComponent.CODEC);
       this.dynamicLightComponentType = entityStoreRegistry.registerComponent(DynamicLight.class, DynamicLight::new);
@@ -440,7 +442,7 @@ public class EntityModule extends JavaPlugin {
       this.prefabCopyableComponentType = entityStoreRegistry.registerComponent(PrefabCopyableComponent.class, "PrefabCopyable", PrefabCopyableComponent.CODEC);
       this.pickupItemComponentType = entityStoreRegistry.registerComponent(PickupItemComponent.class, PickupItemComponent::new);
       entityStoreRegistry.registerSystem(new DespawnSystem(this.despawnComponentComponentType));
-      this.itemSpatialResourceType = entityStoreRegistry.registerSpatialResource(() -> new KDTree<>(Ref::isValid));
+      this.itemSpatialResourceType = entityStoreRegistry.registerSpatialResource(() -> new SpatialHashGrid<>(Ref::isValid));
       entityStoreRegistry.registerSystem(new ItemSpatialSystem(this.itemSpatialResourceType));
       entityStoreRegistry.registerSystem(new ItemMergeSystem(this.itemComponentType, this.interactableComponentType, this.itemSpatialResourceType));
       entityStoreRegistry.registerSystem(new PlayerItemEntityPickupSystem(this.itemComponentType, this.playerComponentType, this.playerSpatialResourceType));
@@ -469,9 +471,12 @@ public class EntityModule extends JavaPlugin {
       entityStoreRegistry.registerSystem(new EntityTrackerSystems.AddToVisible(this.entityViewerComponentType, this.visibleComponentType));
       entityStoreRegistry.registerSystem(new EntityTrackerSystems.RemoveEmptyVisibleComponent(this.visibleComponentType));
       entityStoreRegistry.registerSystem(new EntityTrackerSystems.RemoveVisibleComponent(this.visibleComponentType));
+      this.encodeCacheResourceType = entityStoreRegistry.registerResource(
+         EntityTrackerSystems.SendPackets.EncodeCache.class, EntityTrackerSystems.SendPackets.EncodeCache::new
+      );
       entityStoreRegistry.registerSystem(new EntityTrackerSystems.SendPackets(this.entityViewerComponentType));
       entityStoreRegistry.registerSystem(new MovementStatesSystems.TickingSystem(this.visibleComponentType, this.movementStatesComponentType));
-      this.networkSendableSpatialResourceType = entityStoreRegistry.registerSpatialResource(() -> new KDTree<>(Ref::isValid));
+      this.networkSendableSpatialResourceType = entityStoreRegistry.registerSpatialResource(() -> new SpatialHashGrid<>(Ref::isValid));
       entityStoreRegistry.registerSystem(new NetworkSendableSpatialSystem(this.networkSendableSpatialResourceType));
       entityStoreRegistry.registerSystem(new EntityTrackerSystems.CollectVisible(this.entityViewerComponentType));
       entityStoreRegistry.registerSystem(new LegacyEntityTrackerSystems.LegacyLODCull(this.entityViewerComponentType));
@@ -687,6 +692,10 @@ public class EntityModule extends JavaPlugin {
       return this.snapshotWorldInfoResourceType;
    }
 
+   public ResourceType<EntityStore, EntityTrackerSystems.SendPackets.EncodeCache> getEncodeCacheResourceType() {
+      return this.encodeCacheResourceType;
+   }
+
    public ComponentType<EntityStore, SnapshotBuffer> getSnapshotBufferComponentType() {
       return this.snapshotBufferComponentType;
    }
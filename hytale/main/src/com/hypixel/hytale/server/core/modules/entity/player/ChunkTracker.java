@@ -15,19 +15,23 @@ import com.hypixel.hytale.math.util.ChunkUtil;
 import com.hypixel.hytale.math.util.MathUtil;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.metrics.MetricsRegistry;
+import com.hypixel.hytale.protocol.MovementStates;
 import com.hypixel.hytale.protocol.Packet;
 import com.hypixel.hytale.protocol.packets.world.UnloadChunk;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.entity.movement.MovementStatesComponent;
 import com.hypixel.hytale.server.core.io.PacketHandler;
 import com.hypixel.hytale.server.core.modules.entity.EntityModule;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.modules.physics.component.Velocity;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.chunk.ChunkFlag;
 import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.hytale.server.core.util.io.StorageExecutor;
 import it.unimi.dsi.fastutil.longs.LongIterator;
 import it.unimi.dsi.fastutil.longs.LongSet;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
@@ -53,7 +57,12 @@ public class ChunkTracker implements Component<EntityStore> {
       .register("MaxChunksPerTick", ChunkTracker::getMaxChunksPerTick, Codec.INTEGER)
       .register("ReadyForChunks", ChunkTracker::isReadyForChunks, Codec.BOOLEAN)
       .register("LastChunkX", tracker -> tracker.lastChunkX, Codec.INTEGER)
-      .register("LastChunkZ", tracker -> tracker.lastChunkZ, Codec.INTEGER);
+      .register("LastChunkZ", tracker -> tracker.lastChunkZ, Codec.INTEGER)
+      .register("PrefetchingChunksCount", ChunkTracker::getPrefetchingChunksCount, Codec.INTEGER)
+      .register("PrefetchedChunks", tracker -> tracker.prefetchedChunks, Codec.LONG)
+      .register("CancelledPrefetches", tracker -> tracker.cancelledPrefetches, Codec.LONG)
+      .register("MaxPrefetchChunksPerTick", ChunkTracker::getMaxPrefetchChunksPerTick, Codec.INTEGER)
+      .register("PrefetchLookaheadSeconds", ChunkTracker::getPrefetchLookaheadSeconds, Codec.FLOAT);
    public static final int MAX_CHUNKS_PER_SECOND_LOCAL = 256;
    public static final int MAX_CHUNKS_PER_SECOND_LAN = 128;
    public static final int MAX_CHUNKS_PER_SECOND = 36;
@@ -61,6 +70,13 @@ public class ChunkTracker implements Component<EntityStore> {
    public static final int MIN_LOADED_CHUNKS_RADIUS = 2;
    public static final int MAX_HOT_LOADED_CHUNKS_RADIUS = 8;
    public static final long MAX_FAILURE_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(10L);
+   public static final int MAX_PREFETCH_CHUNKS_PER_TICK = 2;
+   public static final int MAX_PREFETCHING_CHUNKS = 16;
+   public static final float PREFETCH_LOOKAHEAD_SECONDS = 2.0F;
+   public static final float FAST_TRAVEL_LOOKAHEAD_MULTIPLIER = 2.0F;
+   public static final double MIN_PREFETCH_SPEED = 6.0;
+   public static final double MAX_TRACKED_MOVE_DISTANCE = 32.0;
+   public static final double MOTION_SMOOTHING = 0.25;
    @Nullable
    private TransformComponent transformComponent;
    private int chunkViewRadius;
@@ -74,6 +90,22 @@ public class ChunkTracker implements Component<EntityStore> {
    private final HLongSet loaded = new HLongOpenHashSet();
    @Nonnull
    private final HLongSet reload = new HLongOpenHashSet();
+   @Nonnull
+   private final CircleSpiralIterator prefetchIterator = new CircleSpiralIterator();
+   @Nonnull
+   private final HLongSet prefetching = new HLongOpenHashSet();
+   private int maxPrefetchChunksPerTick;
+   private float prefetchLookaheadSeconds;
+   private boolean hasLastPosition;
+   private double lastX;
+   private double lastZ;
+   private double motionX;
+   private double motionZ;
+   private int prefetchChunkX;
+   private int prefetchChunkZ;
+   private int prefetchRadius;
+   private long prefetchedChunks;
+   private long cancelledPrefetches;
    private int maxChunksPerSecond;
    private float inverseMaxChunksPerSecond;
    private int maxChunksPerTick;
@@ -94,6 +126,8 @@ public class ChunkTracker implements Component<EntityStore> {
       this.minLoadedChunksRadius = 2;
       this.maxHotLoadedChunksRadius = 8;
       this.maxChunksPerTick = 4;
+      this.maxPrefetchChunksPerTick = 2;
+      this.prefetchLookaheadSeconds = 2.0F;
    }
 
    private ChunkTracker(@Nonnull ChunkTracker other) {
@@ -115,8 +149,10 @@ public class ChunkTracker implements Component<EntityStore> {
          }
 
          this.loaded.clear();
+         this.prefetching.clear();
          this.sentViewRadius = 0;
          this.hotRadius = 0;
+         this.prefetchRadius = 0;
       } finally {
          this.loadedLock.unlockWrite(stamp);
       }
@@ -128,8 +164,10 @@ public class ChunkTracker implements Component<EntityStore> {
       try {
          this.loading.clear();
          this.loaded.clear();
+         this.prefetching.clear();
          this.sentViewRadius = 0;
          this.hotRadius = 0;
+         this.prefetchRadius = 0;
       } finally {
          this.loadedLock.unlockWrite(stamp);
       }
@@ -139,6 +177,8 @@ public class ChunkTracker implements Component<EntityStore> {
       @Nonnull Player playerComponent,
       @Nonnull PlayerRef playerRefComponent,
       @Nonnull TransformComponent transformComponent,
+      @Nullable Velocity velocityComponent,
+      @Nullable MovementStatesComponent movementStatesComponent,
       float dt,
       @Nonnull CommandBuffer<EntityStore> commandBuffer
    ) {
@@ -146,6 +186,7 @@ public class ChunkTracker implements Component<EntityStore> {
          this.transformComponent = transformComponent;
          int chunkViewRadius = this.chunkViewRadius = playerComponent.getViewRadius();
          Vector3d position = transformComponent.getPosition();
+         this.updateMotion(position, velocityComponent, dt);
          int chunkX = MathUtil.floor(position.getX()) >> 5;
          int chunkZ = MathUtil.floor(position.getZ()) >> 5;
          int xDiff = Math.abs(this.lastChunkX - chunkX);
@@ -176,6 +217,7 @@ public class ChunkTracker implements Component<EntityStore> {
                int toLoad = Math.min((int)(this.maxChunksPerSecond * this.accumulator), this.maxChunksPerTick);
                int loadingSize = this.loading.size();
                toLoad -= loadingSize;
+               toLoad = Math.min(toLoad, StorageExecutor.READ.getAvailableCapacity());
                if (!this.reload.isEmpty()) {
                   LongIterator iterator = this.reload.iterator();
 
@@ -240,7 +282,151 @@ public class ChunkTracker implements Component<EntityStore> {
                this.accumulator = 0.0F;
             }
          }
+
+         this.prefetch(commandBuffer.getExternalData().getWorld().getChunkStore(), position, chunkX, chunkZ, chunkViewRadius, movementStatesComponent);
+      }
+   }
+
+   private void updateMotion(@Nonnull Vector3d position, @Nullable Velocity velocityComponent, float dt) {
+      double x = position.getX();
+      double z = position.getZ();
+      if (this.hasLastPosition && dt > 0.0F) {
+         double xDiff = x - this.lastX;
+         double zDiff = z - this.lastZ;
+         if (xDiff * xDiff + zDiff * zDiff > MAX_TRACKED_MOVE_DISTANCE * MAX_TRACKED_MOVE_DISTANCE) {
+            this.motionX = 0.0;
+            this.motionZ = 0.0;
+         } else {
+            double sampleX = xDiff / dt;
+            double sampleZ = zDiff / dt;
+            if (velocityComponent != null) {
+               Vector3d clientVelocity = velocityComponent.getClientVelocity();
+               double clientX = clientVelocity.getX();
+               double clientZ = clientVelocity.getZ();
+               if (clientX * clientX + clientZ * clientZ > sampleX * sampleX + sampleZ * sampleZ) {
+                  sampleX = clientX;
+                  sampleZ = clientZ;
+               }
+            }
+
+            this.motionX = this.motionX + (sampleX - this.motionX) * MOTION_SMOOTHING;
+            this.motionZ = this.motionZ + (sampleZ - this.motionZ) * MOTION_SMOOTHING;
+         }
       }
+
+      this.lastX = x;
+      this.lastZ = z;
+      this.hasLastPosition = true;
+   }
+
+   private void prefetch(
+      @Nonnull ChunkStore chunkStore,
+      @Nonnull Vector3d position,
+      int chunkX,
+      int chunkZ,
+      int chunkViewRadius,
+      @Nullable MovementStatesComponent movementStatesComponent
+   ) {
+      double speedSq = this.motionX * this.motionX + this.motionZ * this.motionZ;
+      boolean shouldPrefetch = this.maxPrefetchChunksPerTick > 0 && speedSq >= MIN_PREFETCH_SPEED * MIN_PREFETCH_SPEED;
+      float lookahead = this.prefetchLookaheadSeconds;
+      if (movementStatesComponent != null) {
+         MovementStates movementStates = movementStatesComponent.getMovementStates();
+         if (movementStates.mounting || movementStates.gliding || movementStates.flying) {
+            lookahead *= FAST_TRAVEL_LOOKAHEAD_MULTIPLIER;
+         }
+      }
+
+      int predictedChunkX = MathUtil.floor(position.getX() + this.motionX * lookahead) >> 5;
+      int predictedChunkZ = MathUtil.floor(position.getZ() + this.motionZ * lookahead) >> 5;
+      if (predictedChunkX != this.prefetchChunkX || predictedChunkZ != this.prefetchChunkZ) {
+         this.prefetchChunkX = predictedChunkX;
+         this.prefetchChunkZ = predictedChunkZ;
+         this.prefetchRadius = 0;
+      }
+
+      int chunkViewRadiusSq = chunkViewRadius * chunkViewRadius;
+      long stamp = this.loadedLock.writeLock();
+
+      try {
+         if (!this.prefetching.isEmpty()) {
+            LongIterator iterator = this.prefetching.iterator();
+
+            while (iterator.hasNext()) {
+               long chunkIndex = iterator.nextLong();
+               int x = ChunkUtil.xOfChunkIndex(chunkIndex);
+               int z = ChunkUtil.zOfChunkIndex(chunkIndex);
+               if (!shouldPrefetch
+                  || !shouldBeVisible(chunkViewRadiusSq, predictedChunkX, predictedChunkZ, x, z)
+                     && !shouldBeVisible(chunkViewRadiusSq, chunkX, chunkZ, x, z)) {
+                  iterator.remove();
+                  this.cancelledPrefetches++;
+               }
+            }
+         }
+
+         if (shouldPrefetch && (predictedChunkX != chunkX || predictedChunkZ != chunkZ) && this.prefetchRadius < chunkViewRadius) {
+            int toPrefetch = Math.min(this.maxPrefetchChunksPerTick, MAX_PREFETCHING_CHUNKS - this.prefetching.size());
+            toPrefetch = Math.min(toPrefetch, StorageExecutor.READ.getAvailableCapacity() / 2);
+            if (toPrefetch > 0) {
+               boolean areAllPrefetched = true;
+               this.prefetchIterator.init(predictedChunkX, predictedChunkZ, this.prefetchRadius, chunkViewRadius);
+
+               while (toPrefetch > 0 && this.prefetchIterator.hasNext()) {
+                  long chunkIndex = this.prefetchIterator.next();
+                  int x = ChunkUtil.xOfChunkIndex(chunkIndex);
+                  int z = ChunkUtil.zOfChunkIndex(chunkIndex);
+                  if (!shouldBeVisible(chunkViewRadiusSq, chunkX, chunkZ, x, z)
+                     && (x - chunkX) * this.motionX + (z - chunkZ) * this.motionZ > 0.0
+                     && !this.loaded.contains(chunkIndex)
+                     && !this.loading.contains(chunkIndex)
+                     && !this.prefetching.contains(chunkIndex)
+                     && chunkStore.getChunkReference(chunkIndex) == null) {
+                     areAllPrefetched = false;
+                     if (!chunkStore.isChunkOnBackoff(chunkIndex, MAX_FAILURE_BACKOFF_NANOS) && this.prefetching.add(chunkIndex)) {
+                        this.prefetchChunkAsync(chunkStore, chunkIndex);
+                        toPrefetch--;
+                     }
+                  } else if (areAllPrefetched) {
+                     this.prefetchRadius = this.prefetchIterator.getCompletedRadius();
+                  }
+               }
+
+               if (areAllPrefetched) {
+                  this.prefetchRadius = this.prefetchIterator.getCompletedRadius();
+               }
+            }
+         }
+      } finally {
+         this.loadedLock.unlockWrite(stamp);
+      }
+   }
+
+   private void prefetchChunkAsync(@Nonnull ChunkStore chunkStore, long chunkIndex) {
+      chunkStore.getChunkReferenceAsync(chunkIndex, -2147483632).whenComplete((reference, throwable) -> {
+         long stamp = this.loadedLock.writeLock();
+
+         try {
+            if (this.prefetching.remove(chunkIndex) && reference != null) {
+               this.prefetchedChunks++;
+            }
+         } finally {
+            this.loadedLock.unlockWrite(stamp);
+         }
+      });
+   }
+
+   public boolean isPrefetching(long indexChunk) {
+      long stamp = this.loadedLock.readLock();
+
+      boolean var5;
+      try {
+         var5 = this.prefetching.contains(indexChunk);
+      } finally {
+         this.loadedLock.unlockRead(stamp);
+      }
+
+      return var5;
    }
 
    public boolean isLoaded(long indexChunk) {
@@ -282,6 +468,21 @@ public class ChunkTracker implements Component<EntityStore> {
       }
    }
 
+   public int getLoadPriority(long chunkCoordinates) {
+      if (this.transformComponent == null) {
+         return Integer.MAX_VALUE;
+      } else {
+         Vector3d position = this.transformComponent.getPosition();
+         int chunkX = MathUtil.floor(position.getX()) >> 5;
+         int chunkZ = MathUtil.floor(position.getZ()) >> 5;
+         int xDiff = ChunkUtil.xOfChunkIndex(chunkCoordinates) - chunkX;
+         int zDiff = ChunkUtil.zOfChunkIndex(chunkCoordinates) - chunkZ;
+         int distanceSq = xDiff * xDiff + zDiff * zDiff;
+         int minLoadedRadius = Math.max(this.minLoadedChunksRadius, this.chunkViewRadius);
+         return distanceSq <= minLoadedRadius * minLoadedRadius ? distanceSq : Integer.MAX_VALUE;
+      }
+   }
+
    @Nonnull
    public ChunkTracker.ChunkVisibility getChunkVisibility(long indexChunk) {
       if (this.transformComponent == null) {
@@ -351,6 +552,22 @@ public class ChunkTracker implements Component<EntityStore> {
       this.maxHotLoadedChunksRadius = maxHotLoadedChunksRadius;
    }
 
+   public int getMaxPrefetchChunksPerTick() {
+      return this.maxPrefetchChunksPerTick;
+   }
+
+   public void setMaxPrefetchChunksPerTick(int maxPrefetchChunksPerTick) {
+      this.maxPrefetchChunksPerTick = maxPrefetchChunksPerTick;
+   }
+
+   public float getPrefetchLookaheadSeconds() {
+      return this.prefetchLookaheadSeconds;
+   }
+
+   public void setPrefetchLookaheadSeconds(float prefetchLookaheadSeconds) {
+      this.prefetchLookaheadSeconds = prefetchLookaheadSeconds;
+   }
+
    public int getLoadedChunksCount() {
       long stamp = this.loadedLock.tryOptimisticRead();
       int size = this.loaded.size();
@@ -370,6 +587,25 @@ public class ChunkTracker implements Component<EntityStore> {
       }
    }
 
+   public int getPrefetchingChunksCount() {
+      long stamp = this.loadedLock.tryOptimisticRead();
+      int size = this.prefetching.size();
+      if (this.loadedLock.validate(stamp)) {
+         return size;
+      } else {
+         stamp = this.loadedLock.readLock();
+
+         int var4;
+         try {
+            var4 = this.prefetching.size();
+         } finally {
+            this.loadedLock.unlockRead(stamp);
+         }
+
+         return var4;
+      }
+   }
+
    public int getLoadingChunksCount() {
       long stamp = this.loadedLock.tryOptimisticRead();
       int size = this.loading.size();
@@ -468,7 +704,9 @@ public class ChunkTracker implements Component<EntityStore> {
             + "\nLoaded: "
             + this.loaded.size()
             + "\nLoading: "
-            + this.loading.size();
+            + this.loading.size()
+            + "\nPrefetching: "
+            + this.prefetching.size();
       } finally {
          this.loadedLock.unlockRead(stamp);
       }
@@ -11,7 +11,9 @@ import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.HolderSystem;
 import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
 import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.entity.movement.MovementStatesComponent;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.modules.physics.component.Velocity;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import javax.annotation.Nonnull;
@@ -49,6 +51,10 @@ public class PlayerChunkTrackerSystems {
       private static final ComponentType<EntityStore, PlayerRef> PLAYER_REF_COMPONENT_TYPE = PlayerRef.getComponentType();
       @Nonnull
       private static final ComponentType<EntityStore, TransformComponent> TRANSFORM_COMPONENT_TYPE = TransformComponent.getComponentType();
+      @Nonnull
+      private static final ComponentType<EntityStore, Velocity> VELOCITY_COMPONENT_TYPE = Velocity.getComponentType();
+      @Nonnull
+      private static final ComponentType<EntityStore, MovementStatesComponent> MOVEMENT_STATES_COMPONENT_TYPE = MovementStatesComponent.getComponentType();
 
       @Override
       public Query<EntityStore> getQuery() {
@@ -84,7 +90,9 @@ public class PlayerChunkTrackerSystems {
 
          assert transformComponent != null;
 
-         chunkTrackerComponent.tick(playerComponent, playerRefComponent, transformComponent, dt, commandBuffer);
+         Velocity velocityComponent = archetypeChunk.getComponent(index, VELOCITY_COMPONENT_TYPE);
+         MovementStatesComponent movementStatesComponent = archetypeChunk.getComponent(index, MOVEMENT_STATES_COMPONENT_TYPE);
+         chunkTrackerComponent.tick(playerComponent, playerRefComponent, transformComponent, velocityComponent, movementStatesComponent, dt, commandBuffer);
       }
    }
 }
@@ -0,0 +1,38 @@
+package com.hypixel.hytale.server.core.modules.entity.tracker;
+
+import com.hypixel.hytale.protocol.ComponentUpdate;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import javax.annotation.Nonnull;
+
+public class EncodedComponentUpdate extends ComponentUpdate {
+   @Nonnull
+   private final byte[] encoded;
+
+   public EncodedComponentUpdate(@Nonnull ComponentUpdate update, @Nonnull byte[] encoded) {
+      super(update);
+      this.encoded = encoded;
+   }
+
+   @Nonnull
+   public static EncodedComponentUpdate encode(@Nonnull ComponentUpdate update, @Nonnull ByteBuf scratch) {
+      scratch.clear();
+      update.serialize(scratch);
+      return new EncodedComponentUpdate(update, ByteBufUtil.getBytes(scratch));
+   }
+
+   @Override
+   public void serialize(@Nonnull ByteBuf buf) {
+      buf.writeBytes(this.encoded);
+   }
+
+   @Override
+   public int computeSize() {
+      return this.encoded.length;
+   }
+
+   @Nonnull
+   public byte[] getEncoded() {
+      return this.encoded;
+   }
+}
@@ -9,6 +9,8 @@ import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.component.Holder;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.RemoveReason;
+import com.hypixel.hytale.component.Resource;
+import com.hypixel.hytale.component.ResourceType;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.SystemGroup;
 import com.hypixel.hytale.component.dependency.Dependency;
@@ -31,6 +33,8 @@ import com.hypixel.hytale.server.core.modules.entity.component.TransformComponen
 import com.hypixel.hytale.server.core.modules.entity.system.NetworkSendableSpatialSystem;
 import com.hypixel.hytale.server.core.receiver.IPacketReceiver;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
@@ -40,6 +44,7 @@ import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import it.unimi.dsi.fastutil.objects.ObjectList;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
@@ -476,6 +481,21 @@ public class EntityTrackerSystems {
       public ComponentUpdate[] toUpdatesArray() {
          return this.updates.isEmpty() ? null : this.updates.toArray(ComponentUpdate[]::new);
       }
+
+      @Nullable
+      public ComponentUpdate[] toEncodedUpdatesArray(@Nonnull EntityTrackerSystems.SendPackets.EncodeCache encodeCache) {
+         if (this.updates.isEmpty()) {
+            return null;
+         } else {
+            ComponentUpdate[] updates = new ComponentUpdate[this.updates.size()];
+
+            for (int i = 0; i < updates.length; i++) {
+               updates[i] = encodeCache.encode(this.updates.get(i));
+            }
+
+            return updates;
+         }
+      }
    }
 
    public static class EntityViewer implements Component<EntityStore> {
@@ -603,6 +623,7 @@ public class EntityTrackerSystems {
    public static class SendPackets extends EntityTickingSystem<EntityStore> {
       public static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
       public static final ThreadLocal<IntList> INT_LIST_THREAD_LOCAL = ThreadLocal.withInitial(IntArrayList::new);
+      public static final ThreadLocal<ByteBuf> SCRATCH_THREAD_LOCAL = ThreadLocal.withInitial(() -> Unpooled.buffer(256));
       public static final Set<Dependency<EntityStore>> DEPENDENCIES = Set.of(new SystemGroupDependency<>(Order.AFTER, EntityTrackerSystems.QUEUE_UPDATE_GROUP));
       private final ComponentType<EntityStore, EntityTrackerSystems.EntityViewer> componentType;
 
@@ -632,6 +653,12 @@ public class EntityTrackerSystems {
          return EntityTickingSystem.maybeUseParallel(archetypeChunkSize, taskCount);
       }
 
+      @Override
+      public void tick(float dt, int systemIndex, @Nonnull Store<EntityStore> store) {
+         store.getResource(EntityTrackerSystems.SendPackets.EncodeCache.getResourceType()).clear();
+         super.tick(dt, systemIndex, store);
+      }
+
       @Override
       public void tick(
          float dt,
@@ -683,6 +710,7 @@ public class EntityTrackerSystems {
             EntityUpdates packet = new EntityUpdates();
             packet.removed = !removedEntities.isEmpty() ? removedEntities.toIntArray() : null;
             packet.updates = new com.hypixel.hytale.protocol.EntityUpdate[viewer.updates.size()];
+            EntityTrackerSystems.SendPackets.EncodeCache encodeCache = store.getResource(EntityTrackerSystems.SendPackets.EncodeCache.getResourceType());
             int i = 0;
 
             for (Entry<Ref<EntityStore>, EntityTrackerSystems.EntityUpdate> entry : viewer.updates.entrySet()) {
@@ -690,13 +718,70 @@ public class EntityTrackerSystems {
                entityUpdate.networkId = viewer.sent.getInt(entry.getKey());
                EntityTrackerSystems.EntityUpdate update = entry.getValue();
                entityUpdate.removed = update.toRemovedArray();
-               entityUpdate.updates = update.toUpdatesArray();
+               entityUpdate.updates = update.toEncodedUpdatesArray(encodeCache);
             }
 
             viewer.updates.clear();
             viewer.packetReceiver.writeNoCache(packet);
          }
       }
+
+      public static class EncodeCache implements Resource<EntityStore> {
+         @Nonnull
+         private final StampedLock lock = new StampedLock();
+         @Nonnull
+         private final Map<ComponentUpdate, EncodedComponentUpdate> encoded = new Reference2ObjectOpenHashMap();
+
+         public static ResourceType<EntityStore, EntityTrackerSystems.SendPackets.EncodeCache> getResourceType() {
+            return EntityModule.get().getEncodeCacheResourceType();
+         }
+
+         public void clear() {
+            long stamp = this.lock.writeLock();
+
+            try {
+               this.encoded.clear();
+            } finally {
+               this.lock.unlockWrite(stamp);
+            }
+         }
+
+         @Nonnull
+         public EncodedComponentUpdate encode(@Nonnull ComponentUpdate update) {
+            if (update instanceof EncodedComponentUpdate encodedUpdate) {
+               return encodedUpdate;
+            } else {
+               long stamp = this.lock.readLock();
+
+               EncodedComponentUpdate encodedUpdate;
+               try {
+                  encodedUpdate = this.encoded.get(update);
+               } finally {
+                  this.lock.unlockRead(stamp);
+               }
+
+               if (encodedUpdate != null) {
+                  return encodedUpdate;
+               } else {
+                  encodedUpdate = EncodedComponentUpdate.encode(update, EntityTrackerSystems.SendPackets.SCRATCH_THREAD_LOCAL.get());
+                  stamp = this.lock.writeLock();
+
+                  try {
+                     EncodedComponentUpdate existing = this.encoded.putIfAbsent(update, encodedUpdate);
+                     return existing != null ? existing : encodedUpdate;
+                  } finally {
+                     this.lock.unlockWrite(stamp);
+                  }
+               }
+            }
+         }
+
+         @Nonnull
+         @Override
+         public Resource<EntityStore> clone() {
+            return new EntityTrackerSystems.SendPackets.EncodeCache();
+         }
+      }
    }
 
    public static class Visible implements Component<EntityStore> {
@@ -239,6 +239,7 @@ public class World extends TickingThread implements Executor, ExecutorMetricsReg
       IResourceStorage resourceStorage = this.worldConfig.getResourceStorageProvider().getResourceStorage(this);
       this.chunkStore.start(resourceStorage);
       this.entityStore.start(resourceStorage);
+      this.entityStore.getStore().setParallelScheduling(this.worldConfig.isParallelSystemScheduling());
       this.chunkLighting.start();
       this.worldMapManager.updateTickingState(this.worldMapManager.isStarted());
       Path rffPath = this.savePath.resolve("rff");
@@ -309,6 +310,7 @@ public class World extends TickingThread implements Executor, ExecutorMetricsReg
             }
 
             this.consumeTaskQueue();
+            this.chunkLighting.updateFocusChunks();
          } finally {
             AssetRegistry.ASSET_LOCK.readLock().unlock();
          }
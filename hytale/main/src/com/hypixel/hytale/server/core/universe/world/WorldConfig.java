@@ -97,6 +97,13 @@ public class WorldConfig {
       .<Boolean>append(new KeyedCodec<>("IsBlockTicking", Codec.BOOLEAN), (o, i) -> o.isBlockTicking = i, o -> o.isBlockTicking)
       .documentation("Sets whether blocks in this world are ticking or not.")
       .add()
+      .<Boolean>append(
+         new KeyedCodec<>("IsParallelSystemScheduling", Codec.BOOLEAN), (o, i) -> o.isParallelSystemScheduling = i, o -> o.isParallelSystemScheduling
+      )
+      .documentation(
+         "Sets whether entity systems that declare their component access are allowed to tick at the same time.\n\nSystems only run together when they have no dependency on each other and their read and write components don't overlap."
+      )
+      .add()
       .<Boolean>append(new KeyedCodec<>("IsPvpEnabled", Codec.BOOLEAN), (o, i) -> o.isPvpEnabled = i, o -> o.isPvpEnabled)
       .documentation("Sets whether PvP is allowed in this world or not.")
       .add()
@@ -234,6 +241,7 @@ public class WorldConfig {
    private WorldConfig.ChunkConfig chunkConfig = new WorldConfig.ChunkConfig();
    private boolean isTicking = true;
    private boolean isBlockTicking = true;
+   private boolean isParallelSystemScheduling = false;
    private boolean isPvpEnabled = false;
    private boolean isFallDamageEnabled = true;
    private boolean isGameTimePaused = false;
@@ -389,6 +397,14 @@ public class WorldConfig {
       this.isBlockTicking = ticking;
    }
 
+   public boolean isParallelSystemScheduling() {
+      return this.isParallelSystemScheduling;
+   }
+
+   public void setParallelSystemScheduling(boolean parallelSystemScheduling) {
+      this.isParallelSystemScheduling = parallelSystemScheduling;
+   }
+
    public boolean isPvpEnabled() {
       return this.isPvpEnabled;
    }
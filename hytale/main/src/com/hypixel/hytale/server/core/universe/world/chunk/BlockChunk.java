@@ -88,7 +88,7 @@ public class BlockChunk implements Component<ChunkStore> {
       return LegacyModule.get().getBlockChunkComponentType();
    }
 
-   private BlockChunk() {
+   public BlockChunk() {
       this(new ShortBytePalette(), new IntBytePalette(), new EnvironmentChunk(), new BlockSection[10]);
    }
 
@@ -486,9 +486,7 @@ public class BlockChunk implements Component<ChunkStore> {
       ByteBuf buf = ByteBufAllocator.DEFAULT.buffer();
 
       try {
-         buf.writeBoolean(this.needsPhysics);
-         this.height.serialize(buf);
-         this.tint.serialize(buf);
+         this.serializeData(buf);
          return ByteBufUtil.getBytesRelease(buf);
       } catch (Throwable var4) {
          buf.release();
@@ -497,17 +495,26 @@ public class BlockChunk implements Component<ChunkStore> {
    }
 
    private void deserialize(@Nonnull byte[] bytes, @Nonnull ExtraInfo extraInfo) {
-      ByteBuf buf = Unpooled.wrappedBuffer(bytes);
+      this.deserializeData(Unpooled.wrappedBuffer(bytes), extraInfo.getVersion());
+   }
+
+   public void serializeData(@Nonnull ByteBuf buf) {
+      buf.writeBoolean(this.needsPhysics);
+      this.height.serialize(buf);
+      this.tint.serialize(buf);
+   }
+
+   public void deserializeData(@Nonnull ByteBuf buf, int version) {
       this.needsPhysics = buf.readBoolean();
       this.height.deserialize(buf);
       this.tint.deserialize(buf);
-      if (extraInfo.getVersion() <= 2) {
+      if (version <= 2) {
          int sections = buf.readInt();
          this.migratedChunkSections = new BlockSection[sections];
 
          for (int y = 0; y < sections; y++) {
             BlockSection section = new BlockSection();
-            section.deserialize(BlockType.KEY_DESERIALIZER, buf, extraInfo.getVersion());
+            section.deserialize(BlockType.KEY_DESERIALIZER, buf, version);
             this.migratedChunkSections[y] = section;
          }
       }
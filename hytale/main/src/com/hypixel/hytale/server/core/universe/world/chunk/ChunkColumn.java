@@ -20,29 +20,7 @@ public class ChunkColumn implements Component<ChunkStore> {
       .append(
          new KeyedCodec<>("Sections", new ArrayCodec<>(new StoredCodec<>(ChunkStore.HOLDER_CODEC_KEY), Holder[]::new)),
          (chunk, holders) -> chunk.sectionHolders = holders,
-         chunk -> {
-            int length = chunk.sections.length;
-            if (chunk.sectionHolders != null) {
-               length = Math.max(chunk.sectionHolders.length, chunk.sections.length);
-            }
-
-            Holder<ChunkStore>[] array = new Holder[length];
-            if (chunk.sectionHolders != null) {
-               System.arraycopy(chunk.sectionHolders, 0, array, 0, chunk.sectionHolders.length);
-            }
-
-            for (int i = 0; i < chunk.sections.length; i++) {
-               Ref<ChunkStore> section = chunk.sections[i];
-               if (section == null) {
-                  break;
-               }
-
-               Store<ChunkStore> store = section.getStore();
-               array[i] = store.copySerializableEntity(section);
-            }
-
-            return array;
-         }
+         ChunkColumn::copySerializableSectionHolders
       )
       .add()
       .build();
@@ -87,6 +65,31 @@ public class ChunkColumn implements Component<ChunkStore> {
       this.sectionHolders = holders;
    }
 
+   @Nonnull
+   public Holder<ChunkStore>[] copySerializableSectionHolders() {
+      int length = this.sections.length;
+      if (this.sectionHolders != null) {
+         length = Math.max(this.sectionHolders.length, this.sections.length);
+      }
+
+      Holder<ChunkStore>[] array = new Holder[length];
+      if (this.sectionHolders != null) {
+         System.arraycopy(this.sectionHolders, 0, array, 0, this.sectionHolders.length);
+      }
+
+      for (int i = 0; i < this.sections.length; i++) {
+         Ref<ChunkStore> section = this.sections[i];
+         if (section == null) {
+            break;
+         }
+
+         Store<ChunkStore> store = section.getStore();
+         array[i] = store.copySerializableEntity(section);
+      }
+
+      return array;
+   }
+
    @Nonnull
    @Override
    public Component<ChunkStore> clone() {
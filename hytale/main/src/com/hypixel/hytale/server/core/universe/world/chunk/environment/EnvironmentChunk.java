@@ -130,31 +130,37 @@ public class EnvironmentChunk implements Component<ChunkStore> {
       ByteBuf buf = ByteBufAllocator.DEFAULT.buffer();
 
       try {
-         buf.writeInt(this.counts.size());
-         ObjectIterator t = this.counts.int2LongEntrySet().iterator();
-
-         while (t.hasNext()) {
-            Entry entry = (Entry)t.next();
-            int environmentId = entry.getIntKey();
-            Environment environment = Environment.getAssetMap().getAsset(environmentId);
-            String key = environment != null ? environment.getId() : Environment.UNKNOWN.getId();
-            buf.writeInt(environmentId);
-            ByteBufUtil.writeUTF(buf, key);
-         }
-
-         for (int i = 0; i < this.columns.length; i++) {
-            this.columns[i].serialize(buf, (environmentIdx, buf0) -> buf0.writeInt(environmentIdx));
-         }
-
+         this.serializeData(buf);
          return ByteBufUtil.getBytesRelease(buf);
-      } catch (Throwable var7) {
+      } catch (Throwable var3) {
          buf.release();
-         throw SneakyThrow.sneakyThrow(var7);
+         throw SneakyThrow.sneakyThrow(var3);
+      }
+   }
+
+   public void serializeData(@Nonnull ByteBuf buf) {
+      buf.writeInt(this.counts.size());
+      ObjectIterator t = this.counts.int2LongEntrySet().iterator();
+
+      while (t.hasNext()) {
+         Entry entry = (Entry)t.next();
+         int environmentId = entry.getIntKey();
+         Environment environment = Environment.getAssetMap().getAsset(environmentId);
+         String key = environment != null ? environment.getId() : Environment.UNKNOWN.getId();
+         buf.writeInt(environmentId);
+         ByteBufUtil.writeUTF(buf, key);
+      }
+
+      for (int i = 0; i < this.columns.length; i++) {
+         this.columns[i].serialize(buf, (environmentIdx, buf0) -> buf0.writeInt(environmentIdx));
       }
    }
 
    private void deserialize(@Nonnull byte[] bytes) {
-      ByteBuf buf = Unpooled.wrappedBuffer(bytes);
+      this.deserializeData(Unpooled.wrappedBuffer(bytes));
+   }
+
+   public void deserializeData(@Nonnull ByteBuf buf) {
       this.counts.clear();
       int mappingCount = buf.readInt();
       Int2IntMap idMapping = new Int2IntOpenHashMap(mappingCount);
@@ -65,6 +65,7 @@ public class BlockSection implements Component<ChunkStore> {
       .build();
    private final StampedLock chunkSectionLock = new StampedLock();
    public boolean loaded = false;
+   private volatile boolean needsSaving = true;
    @Nonnull
    private IntOpenHashSet changedPositions = new IntOpenHashSet(0);
    @Nonnull
@@ -126,16 +127,31 @@ public class BlockSection implements Component<ChunkStore> {
 
    public void setChunkSection(ISectionPalette chunkSection) {
       this.chunkSection = chunkSection;
+      this.needsSaving = true;
    }
 
    public void setLocalLight(@Nonnull ChunkLightDataBuilder localLight) {
       Objects.requireNonNull(localLight);
       this.localLight = localLight.build();
+      this.needsSaving = true;
+   }
+
+   public void setLocalLight(@Nonnull ChunkLightData localLight) {
+      Objects.requireNonNull(localLight);
+      this.localLight = localLight instanceof ChunkLightDataBuilder builder ? builder.build() : localLight;
+      this.needsSaving = true;
    }
 
    public void setGlobalLight(@Nonnull ChunkLightDataBuilder globalLight) {
       Objects.requireNonNull(globalLight);
       this.globalLight = globalLight.build();
+      this.needsSaving = true;
+   }
+
+   public void setGlobalLight(@Nonnull ChunkLightData globalLight) {
+      Objects.requireNonNull(globalLight);
+      this.globalLight = globalLight instanceof ChunkLightDataBuilder builder ? builder.build() : globalLight;
+      this.needsSaving = true;
    }
 
    public ChunkLightData getLocalLight() {
@@ -161,6 +177,7 @@ public class BlockSection implements Component<ChunkStore> {
 
    public void invalidateGlobalLight() {
       this.globalChangeCounter++;
+      this.needsSaving = true;
    }
 
    public short getLocalChangeCounter() {
@@ -175,6 +192,20 @@ public class BlockSection implements Component<ChunkStore> {
       this.cachedChunkPacket = null;
    }
 
+   public boolean getNeedsSaving() {
+      return this.needsSaving;
+   }
+
+   public void markNeedsSaving() {
+      this.needsSaving = true;
+   }
+
+   public boolean consumeNeedsSaving() {
+      boolean out = this.needsSaving;
+      this.needsSaving = false;
+      return out;
+   }
+
    public int get(int index) {
       long lock = this.chunkSectionLock.tryOptimisticRead();
       int i = this.chunkSection.get(index);
@@ -506,6 +537,7 @@ public class BlockSection implements Component<ChunkStore> {
          }
 
          this.tickingBlocks.set(blockIdx, ticking);
+         this.needsSaving = true;
          var7 = true;
       } finally {
          this.chunkSectionLock.unlockWrite(writeStamp);
@@ -1052,7 +1084,7 @@ public class BlockSection implements Component<ChunkStore> {
             }
 
             SetChunk setChunk = new SetChunk(x, y, z, localLightArr, globalLightArr, data);
-            return CachedPacket.cache(setChunk);
+            return CachedPacket.cacheFramed(setChunk);
          });
          this.cachedChunkPacket = new SoftReference<>(future);
          return future;
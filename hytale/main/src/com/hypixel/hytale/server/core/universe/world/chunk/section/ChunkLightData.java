@@ -4,6 +4,7 @@ import com.hypixel.hytale.math.util.ChunkUtil;
 import com.hypixel.hytale.math.util.MathUtil;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import java.util.Arrays;
 import javax.annotation.Nonnull;
 
 public class ChunkLightData {
@@ -134,6 +135,79 @@ public class ChunkLightData {
       }
    }
 
+   public void toArray(@Nonnull short[] dst) {
+      if (this.light == null) {
+         Arrays.fill(dst, 0, 32768, (short)0);
+      } else {
+         toArrayTraverse(this.light, dst, 0, 0, 0);
+      }
+   }
+
+   protected static void toArrayTraverse(@Nonnull ByteBuf local, @Nonnull short[] dst, int pointer, int depth, int from) {
+      int position = pointer * 17;
+      byte mask = local.getByte(position);
+      int shift = 12 - depth;
+
+      for (int i = 0; i < 8; i++) {
+         int childFrom = from + (i << shift);
+         int val = local.getUnsignedShort(position + i * 2 + 1);
+         if ((mask >> i & 1) == 1) {
+            toArrayTraverse(local, dst, val, depth + 3, childFrom);
+         } else {
+            Arrays.fill(dst, childFrom, childFrom + (1 << shift), (short)val);
+         }
+      }
+   }
+
+   @Nonnull
+   public static ChunkLightData fromArray(@Nonnull short[] light, short changeId) {
+      if (isUniform(light, 0, 32768) && light[0] == 0) {
+         return new ChunkLightData(null, changeId);
+      } else {
+         ByteBuf buffer = Unpooled.buffer(128);
+         buffer.writerIndex(17);
+         fromArrayTraverse(light, buffer, 0, 0, 0, 0);
+         return new ChunkLightData(buffer.copy(), changeId);
+      }
+   }
+
+   private static int fromArrayTraverse(@Nonnull short[] light, @Nonnull ByteBuf to, int position, int segmentIndex, int depth, int from) {
+      int shift = 12 - depth;
+      int size = 1 << shift;
+      int mask = 0;
+
+      for (int i = 0; i < 8; i++) {
+         int childFrom = from + (i << shift);
+         int val;
+         if (!isUniform(light, childFrom, size)) {
+            mask |= 1 << i;
+            to.ensureWritable(17);
+            to.writerIndex((++segmentIndex + 1) * 17);
+            val = segmentIndex;
+            segmentIndex = fromArrayTraverse(light, to, segmentIndex, segmentIndex, depth + 3, childFrom);
+         } else {
+            val = light[childFrom];
+         }
+
+         to.setShort(position * 17 + i * 2 + 1, val);
+      }
+
+      to.setByte(position * 17, mask);
+      return segmentIndex;
+   }
+
+   private static boolean isUniform(@Nonnull short[] light, int from, int size) {
+      short value = light[from];
+
+      for (int i = from + 1; i < from + size; i++) {
+         if (light[i] != value) {
+            return false;
+         }
+      }
+
+      return true;
+   }
+
    public void serialize(@Nonnull ByteBuf buf) {
       buf.writeShort(this.changeId);
       boolean hasLight = this.light != null;
@@ -42,10 +42,12 @@ public class FluidSection implements Component<ChunkStore> {
    private int y;
    private int z;
    private boolean loaded = false;
+   private volatile boolean needsSaving = true;
    private ISectionPalette typePalette = EmptySectionPalette.INSTANCE;
    @Nullable
    private byte[] levelData = null;
    private int nonZeroLevels = 0;
+   private short changeCounter;
    @Nonnull
    private IntOpenHashSet changedPositions = new IntOpenHashSet(0);
    @Nonnull
@@ -117,6 +119,11 @@ public class FluidSection implements Component<ChunkStore> {
       try {
          boolean changed = this.setFluidRaw(index, fluidId);
          changed |= this.setFluidLevel(index, level);
+         if (changed) {
+            this.needsSaving = true;
+            this.changeCounter++;
+         }
+
          if (changed && this.loaded) {
             this.cachedPacket = null;
             this.changedPositions.add(index);
@@ -258,6 +265,10 @@ public class FluidSection implements Component<ChunkStore> {
       return this.z;
    }
 
+   public short getChangeCounter() {
+      return this.changeCounter;
+   }
+
    @Nonnull
    public IntOpenHashSet getAndClearChangedPositions() {
       long stamp = this.lock.writeLock();
@@ -276,6 +287,20 @@ public class FluidSection implements Component<ChunkStore> {
       return var4;
    }
 
+   public boolean getNeedsSaving() {
+      return this.needsSaving;
+   }
+
+   public void markNeedsSaving() {
+      this.needsSaving = true;
+   }
+
+   public boolean consumeNeedsSaving() {
+      boolean out = this.needsSaving;
+      this.needsSaving = false;
+      return out;
+   }
+
    @Nonnull
    @Override
    public Component<ChunkStore> clone() {
@@ -301,9 +326,19 @@ public class FluidSection implements Component<ChunkStore> {
 
    private byte[] serialize(ExtraInfo extraInfo) {
       ByteBuf buf = ByteBufAllocator.DEFAULT.buffer();
+
+      try {
+         this.serializeData(buf);
+         return ByteBufUtil.getBytesRelease(buf);
+      } catch (Throwable var4) {
+         buf.release();
+         throw SneakyThrow.sneakyThrow(var4);
+      }
+   }
+
+   public void serializeData(@Nonnull ByteBuf buf) {
       long stamp = this.lock.readLock();
 
-      byte[] e;
       try {
          buf.writeByte(this.typePalette.getPaletteType().ordinal());
          this.typePalette.serialize(Fluid.KEY_SERIALIZER, buf);
@@ -313,20 +348,16 @@ public class FluidSection implements Component<ChunkStore> {
          } else {
             buf.writeBoolean(false);
          }
-
-         e = ByteBufUtil.getBytesRelease(buf);
-      } catch (Throwable var9) {
-         buf.release();
-         throw SneakyThrow.sneakyThrow(var9);
       } finally {
          this.lock.unlockRead(stamp);
       }
-
-      return e;
    }
 
    private void deserialize(@Nonnull byte[] bytes, ExtraInfo extraInfo) {
-      ByteBuf buf = Unpooled.wrappedBuffer(bytes);
+      this.deserializeData(Unpooled.wrappedBuffer(bytes), extraInfo.getVersion());
+   }
+
+   public void deserializeData(@Nonnull ByteBuf buf, int version) {
       PaletteTypeEnum type = PaletteTypeEnum.get(buf.readByte());
       this.typePalette = type.getConstructor().get();
       this.typePalette.deserialize(Fluid.KEY_DESERIALIZER, buf, 0);
@@ -2,35 +2,66 @@ package com.hypixel.hytale.server.core.universe.world.lighting;
 
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.math.vector.Vector3i;
 import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.chunk.BlockChunk;
 import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.chunk.section.BlockSection;
-import it.unimi.dsi.fastutil.objects.ObjectArrayFIFOQueue;
+import io.netty.util.internal.SystemPropertyUtil;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
 import java.util.logging.Level;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class ChunkLightingManager implements Runnable {
+   public static final int THREAD_COUNT = Math.max(
+      1, SystemPropertyUtil.getInt("server.world.lighting.threads", Math.max(1, Runtime.getRuntime().availableProcessors() / 4))
+   );
+   public static final long REPRIORITIZE_INTERVAL_NANOS = 500000000L;
+   private static final Semaphore PROCESSING_PERMITS = new Semaphore(THREAD_COUNT);
    @Nonnull
    private final HytaleLogger logger;
    @Nonnull
-   private final Thread thread;
+   private final Thread[] threads;
    @Nonnull
    private final World world;
-   private final Semaphore semaphore = new Semaphore(1);
    private final Set<Vector3i> set = ConcurrentHashMap.newKeySet();
-   private final ObjectArrayFIFOQueue<Vector3i> queue = new ObjectArrayFIFOQueue();
-   private LightCalculation lightCalculation;
+   private final PriorityQueue<ChunkLightingManager.QueueEntry> queue = new PriorityQueue<>();
+   private final List<Vector3i> inFlight = new ObjectArrayList();
+   private final List<ChunkLightingManager.QueueEntry> skipped = new ObjectArrayList();
+   @Nonnull
+   private volatile int[] focusChunks = new int[0];
+   @Nonnull
+   private int[] queueFocusChunks = this.focusChunks;
+   private long lastFocusNanos;
+   private long lastPrioritizeNanos;
+   private long sequence;
+   private volatile LightCalculation lightCalculation;
 
    public ChunkLightingManager(@Nonnull World world) {
+      this(world, THREAD_COUNT);
+   }
+
+   public ChunkLightingManager(@Nonnull World world, int threadCount) {
       this.logger = HytaleLogger.get("World|" + world.getName() + "|L");
-      this.thread = new Thread(this, "ChunkLighting - " + world.getName());
-      this.thread.setDaemon(true);
+      this.threads = new Thread[Math.max(threadCount, 1)];
+
+      for (int i = 0; i < this.threads.length; i++) {
+         Thread thread = new Thread(this, this.threads.length == 1 ? "ChunkLighting - " + world.getName() : "ChunkLighting - " + world.getName() + " - " + i);
+         thread.setDaemon(true);
+         this.threads[i] = thread;
+      }
+
       this.world = world;
       this.lightCalculation = new FloodLightCalculation(this);
    }
@@ -47,50 +78,173 @@ public class ChunkLightingManager implements Runnable {
 
    public void setLightCalculation(LightCalculation lightCalculation) {
       this.lightCalculation = lightCalculation;
+      synchronized (this.queue) {
+         this.queue.notifyAll();
+      }
    }
 
    public LightCalculation getLightCalculation() {
       return this.lightCalculation;
    }
 
+   public int getThreadCount() {
+      return this.threads.length;
+   }
+
    public void start() {
-      this.thread.start();
+      for (Thread thread : this.threads) {
+         thread.start();
+      }
    }
 
    @Override
    public void run() {
       try {
-         int lastSize = 0;
-         int count = 0;
+         while (!Thread.currentThread().isInterrupted()) {
+            Vector3i pos = this.poll();
+
+            try {
+               PROCESSING_PERMITS.acquire();
 
-         while (!this.thread.isInterrupted()) {
-            this.semaphore.drainPermits();
-            Vector3i pos;
-            synchronized (this.queue) {
-               pos = this.queue.isEmpty() ? null : (Vector3i)this.queue.dequeue();
+               try {
+                  this.process(pos);
+               } finally {
+                  PROCESSING_PERMITS.release();
+               }
+            } finally {
+               this.complete(pos);
             }
+         }
+      } catch (InterruptedException var6) {
+         Thread.currentThread().interrupt();
+      }
+   }
 
-            if (pos != null) {
-               this.process(pos);
+   @Nonnull
+   private Vector3i poll() throws InterruptedException {
+      synchronized (this.queue) {
+         while (true) {
+            long now = System.nanoTime();
+            if (now - this.lastPrioritizeNanos >= REPRIORITIZE_INTERVAL_NANOS) {
+               this.lastPrioritizeNanos = now;
+               this.reprioritize();
             }
 
-            Thread.yield();
-            int currentSize;
-            synchronized (this.queue) {
-               currentSize = this.queue.size();
+            int maxInFlight = this.lightCalculation.isConcurrent() ? this.threads.length : 1;
+            if (this.inFlight.size() < maxInFlight) {
+               Vector3i pos = this.pollIndependent();
+               if (pos != null) {
+                  this.inFlight.add(pos);
+                  return pos;
+               }
             }
 
-            if (currentSize != lastSize) {
-               count = 0;
-               lastSize = currentSize;
-            } else if (count <= currentSize) {
-               count++;
-            } else {
-               this.semaphore.acquire();
+            this.queue.wait(REPRIORITIZE_INTERVAL_NANOS / 1000000L);
+         }
+      }
+   }
+
+   @Nullable
+   private Vector3i pollIndependent() {
+      Vector3i result = null;
+
+      while (!this.queue.isEmpty()) {
+         ChunkLightingManager.QueueEntry entry = this.queue.poll();
+         if (!this.isNeighbourInFlight(entry.position)) {
+            result = entry.position;
+            break;
+         }
+
+         this.skipped.add(entry);
+      }
+
+      if (!this.skipped.isEmpty()) {
+         this.queue.addAll(this.skipped);
+         this.skipped.clear();
+      }
+
+      return result;
+   }
+
+   private boolean isNeighbourInFlight(@Nonnull Vector3i pos) {
+      for (int i = 0; i < this.inFlight.size(); i++) {
+         Vector3i other = this.inFlight.get(i);
+         if (Math.abs(other.x - pos.x) <= 1 && Math.abs(other.y - pos.y) <= 1 && Math.abs(other.z - pos.z) <= 1) {
+            return true;
+         }
+      }
+
+      return false;
+   }
+
+   private void complete(@Nonnull Vector3i pos) {
+      synchronized (this.queue) {
+         this.inFlight.remove(pos);
+         this.queue.notifyAll();
+      }
+   }
+
+   public void updateFocusChunks() {
+      long now = System.nanoTime();
+      if (now - this.lastFocusNanos >= REPRIORITIZE_INTERVAL_NANOS) {
+         this.lastFocusNanos = now;
+         Collection<PlayerRef> playerRefs = this.world.getPlayerRefs();
+         int[] focusChunks = new int[playerRefs.size() * 2];
+         int count = 0;
+
+         for (PlayerRef playerRef : playerRefs) {
+            if (count >= focusChunks.length) {
+               break;
+            }
+
+            Vector3d position = playerRef.getTransform().getPosition();
+            focusChunks[count++] = ChunkUtil.chunkCoordinate(position.x);
+            focusChunks[count++] = ChunkUtil.chunkCoordinate(position.z);
+         }
+
+         if (count != focusChunks.length) {
+            focusChunks = Arrays.copyOf(focusChunks, count);
+         }
+
+         if (!Arrays.equals(this.focusChunks, focusChunks)) {
+            this.focusChunks = focusChunks;
+         }
+      }
+   }
+
+   private void reprioritize() {
+      int[] focusChunks = this.focusChunks;
+      if (this.queueFocusChunks != focusChunks) {
+         this.queueFocusChunks = focusChunks;
+         if (!this.queue.isEmpty()) {
+            ChunkLightingManager.QueueEntry[] entries = this.queue.toArray(ChunkLightingManager.QueueEntry[]::new);
+            this.queue.clear();
+
+            for (ChunkLightingManager.QueueEntry entry : entries) {
+               entry.priority = this.getPriority(entry.position);
+               this.queue.add(entry);
             }
          }
-      } catch (InterruptedException var9) {
-         Thread.currentThread().interrupt();
+      }
+   }
+
+   private long getPriority(@Nonnull Vector3i pos) {
+      int[] focusChunks = this.queueFocusChunks;
+      long priority = Long.MAX_VALUE;
+
+      for (int i = 0; i < focusChunks.length; i += 2) {
+         long dx = pos.x - focusChunks[i];
+         long dz = pos.z - focusChunks[i + 1];
+         priority = Math.min(priority, dx * dx + dz * dz);
+      }
+
+      return priority;
+   }
+
+   private void enqueue(@Nonnull Vector3i chunkPosition) {
+      synchronized (this.queue) {
+         this.queue.add(new ChunkLightingManager.QueueEntry(chunkPosition, this.getPriority(chunkPosition), this.sequence++));
+         this.queue.notify();
       }
    }
 
@@ -103,46 +257,50 @@ public class ChunkLightingManager implements Runnable {
                this.set.remove(chunkPosition);
                break;
             case INVALIDATED:
-               synchronized (this.queue) {
-                  this.queue.enqueue(chunkPosition);
-               }
+               this.enqueue(chunkPosition);
          }
-      } catch (Exception var5) {
-         ((HytaleLogger.Api)this.logger.at(Level.WARNING).withCause(var5)).log("Failed to calculate lighting for: %s", chunkPosition);
+      } catch (Exception var3) {
+         ((HytaleLogger.Api)this.logger.at(Level.WARNING).withCause(var3)).log("Failed to calculate lighting for: %s", chunkPosition);
          this.set.remove(chunkPosition);
       }
    }
 
    public boolean interrupt() {
-      if (this.thread.isAlive()) {
-         this.thread.interrupt();
-         return true;
-      } else {
-         return false;
+      boolean interrupted = false;
+
+      for (Thread thread : this.threads) {
+         if (thread.isAlive()) {
+            thread.interrupt();
+            interrupted = true;
+         }
       }
+
+      return interrupted;
    }
 
    public void stop() {
       try {
-         int i = 0;
-
-         while (this.thread.isAlive()) {
-            this.thread.interrupt();
-            this.thread.join(this.world.getTickStepNanos() / 1000000);
-            i += this.world.getTickStepNanos() / 1000000;
-            if (i > 5000) {
-               StringBuilder sb = new StringBuilder();
-
-               for (StackTraceElement traceElement : this.thread.getStackTrace()) {
-                  sb.append("\tat ").append(traceElement).append('\n');
+         for (Thread thread : this.threads) {
+            int i = 0;
+
+            while (thread.isAlive()) {
+               thread.interrupt();
+               thread.join(this.world.getTickStepNanos() / 1000000);
+               i += this.world.getTickStepNanos() / 1000000;
+               if (i > 5000) {
+                  StringBuilder sb = new StringBuilder();
+
+                  for (StackTraceElement traceElement : thread.getStackTrace()) {
+                     sb.append("\tat ").append(traceElement).append('\n');
+                  }
+
+                  HytaleLogger.getLogger().at(Level.SEVERE).log("Forcing ChunkLighting Thread %s to stop:\n%s", thread, sb.toString());
+                  thread.stop();
+                  break;
                }
-
-               HytaleLogger.getLogger().at(Level.SEVERE).log("Forcing ChunkLighting Thread %s to stop:\n%s", this.thread, sb.toString());
-               this.thread.stop();
-               break;
             }
          }
-      } catch (InterruptedException var7) {
+      } catch (InterruptedException var9) {
          Thread.currentThread().interrupt();
       }
    }
@@ -153,11 +311,7 @@ public class ChunkLightingManager implements Runnable {
 
    public void addToQueue(Vector3i chunkPosition) {
       if (this.set.add(chunkPosition)) {
-         synchronized (this.queue) {
-            this.queue.enqueue(chunkPosition);
-         }
-
-         this.semaphore.release(1);
+         this.enqueue(chunkPosition);
       }
    }
 
@@ -221,4 +375,22 @@ public class ChunkLightingManager implements Runnable {
          }
       });
    }
+
+   private static class QueueEntry implements Comparable<ChunkLightingManager.QueueEntry> {
+      @Nonnull
+      private final Vector3i position;
+      private long priority;
+      private final long sequence;
+
+      private QueueEntry(@Nonnull Vector3i position, long priority, long sequence) {
+         this.position = position;
+         this.priority = priority;
+         this.sequence = sequence;
+      }
+
+      public int compareTo(@Nonnull ChunkLightingManager.QueueEntry o) {
+         int compare = Long.compare(this.priority, o.priority);
+         return compare != 0 ? compare : Long.compare(this.sequence, o.sequence);
+      }
+   }
 }
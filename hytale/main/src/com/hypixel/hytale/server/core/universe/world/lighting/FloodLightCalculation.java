@@ -4,7 +4,6 @@ import com.hypixel.hytale.common.util.FormatUtil;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.math.util.ChunkUtil;
 import com.hypixel.hytale.math.util.MathUtil;
-import com.hypixel.hytale.math.vector.Vector2i;
 import com.hypixel.hytale.math.vector.Vector3i;
 import com.hypixel.hytale.metrics.metric.AverageCollector;
 import com.hypixel.hytale.protocol.ColorLight;
@@ -17,18 +16,11 @@ import com.hypixel.hytale.server.core.universe.world.chunk.BlockChunk;
 import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.chunk.section.BlockSection;
 import com.hypixel.hytale.server.core.universe.world.chunk.section.ChunkLightData;
-import com.hypixel.hytale.server.core.universe.world.chunk.section.ChunkLightDataBuilder;
 import com.hypixel.hytale.server.core.universe.world.chunk.section.FluidSection;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
-import it.unimi.dsi.fastutil.ints.Int2IntFunction;
-import it.unimi.dsi.fastutil.ints.IntIterator;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
-import it.unimi.dsi.fastutil.ints.IntSet;
 import java.util.Arrays;
-import java.util.BitSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.IntBinaryOperator;
 import java.util.logging.Level;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -39,14 +31,17 @@ public class FloodLightCalculation implements LightCalculation {
    protected final AverageCollector blocksAvg = new AverageCollector();
    protected final AverageCollector borderAvg = new AverageCollector();
    protected final AverageCollector avgChunk = new AverageCollector();
-   protected final BlockSection[][] fromSections = new BlockSection[][]{
-      new BlockSection[Vector3i.BLOCK_SIDES.length], new BlockSection[Vector3i.BLOCK_EDGES.length], new BlockSection[Vector3i.BLOCK_CORNERS.length]
-   };
+   protected final ThreadLocal<FloodLightCalculation.Scratch> scratch = ThreadLocal.withInitial(FloodLightCalculation.Scratch::new);
 
    public FloodLightCalculation(ChunkLightingManager chunkLightingManager) {
       this.chunkLightingManager = chunkLightingManager;
    }
 
+   @Override
+   public boolean isConcurrent() {
+      return true;
+   }
+
    @Override
    public void init(@Nonnull WorldChunk chunk) {
       this.chunkLightingManager.getWorld().debugAssertInTickingThread();
@@ -183,7 +178,11 @@ public class FloodLightCalculation implements LightCalculation {
                }
 
                if (done) {
-                  this.avgChunk.add(chunkDiff);
+                  double avgChunk;
+                  synchronized (this.avgChunk) {
+                     avgChunk = this.avgChunk.addAndGet(chunkDiff);
+                  }
+
                   this.chunkLightingManager
                      .getLogger()
                      .at(Level.FINE)
@@ -192,7 +191,7 @@ public class FloodLightCalculation implements LightCalculation {
                         FormatUtil.nanosToString(chunkDiff),
                         chunkX,
                         chunkZ,
-                        FormatUtil.nanosToString((long)this.avgChunk.get())
+                        FormatUtil.nanosToString((long)avgChunk)
                      );
                }
             }
@@ -220,11 +219,12 @@ public class FloodLightCalculation implements LightCalculation {
    ) {
       long start = System.nanoTime();
       boolean solidAir = toSection.isSolidAir() && fluidSection.isEmpty();
-      ChunkLightDataBuilder localLight;
+      FloodLightCalculation.Scratch scratch = this.scratch.get();
+      ChunkLightData localLight;
       if (solidAir) {
-         localLight = this.floodEmptyChunkSection(worldChunk, toSection.getLocalChangeCounter(), chunkY);
+         localLight = this.floodEmptyChunkSection(scratch, worldChunk, toSection.getLocalChangeCounter(), chunkY);
       } else {
-         localLight = this.floodChunkSection(worldChunk, toSection, fluidSection, chunkY);
+         localLight = this.floodChunkSection(scratch, worldChunk, toSection, fluidSection, chunkY);
       }
 
       toSection.setLocalLight(localLight);
@@ -232,10 +232,10 @@ public class FloodLightCalculation implements LightCalculation {
       if (fineLoggable) {
          long end = System.nanoTime();
          long diff = end - start;
-         if (solidAir) {
-            this.emptyAvg.add(diff);
-         } else {
-            this.blocksAvg.add(diff);
+         AverageCollector avgCollector = solidAir ? this.emptyAvg : this.blocksAvg;
+         double avg;
+         synchronized (avgCollector) {
+            avg = avgCollector.addAndGet(diff);
          }
 
          chunkLightTiming.addAndGet(diff);
@@ -249,7 +249,7 @@ public class FloodLightCalculation implements LightCalculation {
                chunkY,
                chunkZ,
                solidAir ? "air" : "blocks",
-               FormatUtil.nanosToString((long)(solidAir ? this.emptyAvg.get() : this.blocksAvg.get()))
+               FormatUtil.nanosToString((long)avg)
             );
       }
 
@@ -283,22 +283,29 @@ public class FloodLightCalculation implements LightCalculation {
       boolean fineLoggable
    ) {
       long start = System.nanoTime();
-      if (this.testNeighboursForLocalLight(accessor, worldChunk, chunkX, chunkY, chunkZ)) {
+      FloodLightCalculation.Scratch scratch = this.scratch.get();
+      if (this.testNeighboursForLocalLight(scratch, accessor, worldChunk, chunkX, chunkY, chunkZ)) {
          return CalculationResult.WAITING_FOR_NEIGHBOUR;
       } else {
-         ChunkLightDataBuilder globalLight = new ChunkLightDataBuilder(toSection.getLocalLight(), toSection.getGlobalChangeCounter());
-         BitSet bitSetQueue = new BitSet(32768);
-         this.propagateSides(toSection, globalLight, bitSetQueue);
-         this.propagateEdges(toSection, globalLight, bitSetQueue);
-         this.propagateCorners(toSection, globalLight, bitSetQueue);
-         this.propagateLight(bitSetQueue, toSection, globalLight);
-         toSection.setGlobalLight(globalLight);
+         short globalChangeCounter = toSection.getGlobalChangeCounter();
+         toSection.getLocalLight().toArray(scratch.light);
+         fillOpacities(scratch, toSection);
+         scratch.clearQueue();
+         this.propagateSides(scratch);
+         this.propagateEdges(scratch);
+         this.propagateCorners(scratch);
+         this.propagateLight(scratch);
+         toSection.setGlobalLight(ChunkLightData.fromArray(scratch.light, globalChangeCounter));
          worldChunk.markNeedsSaving();
          if (fineLoggable) {
             long end = System.nanoTime();
             long diff = end - start;
             chunkLightTiming.addAndGet(diff);
-            this.borderAvg.add(diff);
+            double borderAvg;
+            synchronized (this.borderAvg) {
+               borderAvg = this.borderAvg.addAndGet(diff);
+            }
+
             this.chunkLightingManager
                .getLogger()
                .at(Level.FINER)
@@ -312,7 +319,7 @@ public class FloodLightCalculation implements LightCalculation {
                      + ", "
                      + chunkZ
                      + " - Avg: "
-                     + FormatUtil.nanosToString((long)this.borderAvg.get())
+                     + FormatUtil.nanosToString((long)borderAvg)
                );
          }
 
@@ -402,85 +409,85 @@ public class FloodLightCalculation implements LightCalculation {
    }
 
    @Nonnull
-   private ChunkLightDataBuilder floodEmptyChunkSection(@Nonnull WorldChunk worldChunk, short changeCounter, int chunkY) {
+   private ChunkLightData floodEmptyChunkSection(@Nonnull FloodLightCalculation.Scratch scratch, @Nonnull WorldChunk worldChunk, short changeCounter, int chunkY) {
       int sectionY = chunkY * 32;
-      ChunkLightDataBuilder light = new ChunkLightDataBuilder(changeCounter);
-      BitSet bitSetQueue = new BitSet(1024);
+      byte[] columnLight = scratch.columnLight;
+      int[] queue = scratch.queue;
+      int head = 0;
+      int tail = 0;
+
+      for (int column = 0; column < 1024; column++) {
+         short height = worldChunk.getHeight(column);
+         if (sectionY > height) {
+            columnLight[column] = 15;
+            queue[tail++] = column;
+         } else {
+            columnLight[column] = 0;
+         }
+      }
 
-      for (int x = 0; x < 32; x++) {
-         for (int z = 0; z < 32; z++) {
-            int column = ChunkUtil.indexColumn(x, z);
-            short height = worldChunk.getHeight(column);
-            if (sectionY > height) {
-               for (int y = 0; y < 32; y++) {
-                  light.setLight(ChunkUtil.indexBlockFromColumn(column, y), 3, (byte)15);
+      if (tail < 1024) {
+         while (head < tail) {
+            int column = queue[head++];
+            byte propagatedValue = (byte)(columnLight[column] - 1);
+            if (propagatedValue >= 1) {
+               int x = ChunkUtil.xFromColumn(column);
+               int z = ChunkUtil.zFromColumn(column);
+               if (x > 0) {
+                  tail = propagateColumn(columnLight, queue, tail, column - 1, propagatedValue);
+               }
+
+               if (x < 31) {
+                  tail = propagateColumn(columnLight, queue, tail, column + 1, propagatedValue);
                }
 
-               bitSetQueue.set(column);
+               if (z > 0) {
+                  tail = propagateColumn(columnLight, queue, tail, column - 32, propagatedValue);
+               }
+
+               if (z < 31) {
+                  tail = propagateColumn(columnLight, queue, tail, column + 32, propagatedValue);
+               }
             }
          }
       }
 
-      if (bitSetQueue.cardinality() < 1024) {
-         IntSet changedColumns = new IntOpenHashSet(1024);
-         int counter = 0;
+      short[] light = scratch.light;
 
-         while (true) {
-            int column = bitSetQueue.nextSetBit(counter);
-            if (column == -1) {
-               if (bitSetQueue.isEmpty()) {
-                  IntIterator iterator = changedColumns.iterator();
+      for (int column = 0; column < 1024; column++) {
+         short lightValue = (short)(columnLight[column] << 12);
 
-                  while (iterator.hasNext()) {
-                     int columnx = iterator.nextInt();
-                     byte skyLight = light.getLight(columnx, 3);
+         for (int y = 0; y < 32; y++) {
+            light[ChunkUtil.indexBlockFromColumn(column, y)] = lightValue;
+         }
+      }
 
-                     for (int y = 1; y < 32; y++) {
-                        light.setLight(ChunkUtil.indexBlockFromColumn(columnx, y), 3, skyLight);
-                     }
-                  }
-                  break;
-               }
+      return ChunkLightData.fromArray(light, changeCounter);
+   }
 
-               counter = 0;
-            } else {
-               bitSetQueue.clear(column);
-               counter = column;
-               int x = ChunkUtil.xFromColumn(column);
-               int zx = ChunkUtil.zFromColumn(column);
-               byte skyLight = light.getLight(column, 3);
-               byte propagatedValue = (byte)(skyLight - 1);
-               if (propagatedValue >= 1) {
-                  for (Vector2i side : Vector2i.DIRECTIONS) {
-                     int nx = x + side.x;
-                     int nz = zx + side.y;
-                     if (nx >= 0 && nx < 32 && nz >= 0 && nz < 32) {
-                        int neighbourColumn = ChunkUtil.indexColumn(nx, nz);
-                        byte neighbourSkyLight = light.getLight(neighbourColumn, 3);
-                        if (neighbourSkyLight < propagatedValue) {
-                           light.setLight(neighbourColumn, 3, propagatedValue);
-                           changedColumns.add(neighbourColumn);
-                           if (propagatedValue > 1) {
-                              bitSetQueue.set(neighbourColumn);
-                           }
-                        }
-                     }
-                  }
-               }
-            }
+   private static int propagateColumn(@Nonnull byte[] columnLight, @Nonnull int[] queue, int tail, int column, byte propagatedValue) {
+      if (columnLight[column] < propagatedValue) {
+         columnLight[column] = propagatedValue;
+         if (propagatedValue > 1) {
+            queue[tail++] = column;
          }
       }
 
-      return light;
+      return tail;
    }
 
    @Nonnull
-   private ChunkLightDataBuilder floodChunkSection(
-      @Nonnull WorldChunk worldChunk, @Nonnull BlockSection toSection, @Nonnull FluidSection fluidSection, int chunkY
+   private ChunkLightData floodChunkSection(
+      @Nonnull FloodLightCalculation.Scratch scratch,
+      @Nonnull WorldChunk worldChunk,
+      @Nonnull BlockSection toSection,
+      @Nonnull FluidSection fluidSection,
+      int chunkY
    ) {
       int sectionY = chunkY * 32;
-      ChunkLightDataBuilder toLight = new ChunkLightDataBuilder(toSection.getLocalChangeCounter());
-      BitSet bitSetQueue = new BitSet(32768);
+      short[] light = scratch.light;
+      Opacity[] opacities = scratch.opacities;
+      scratch.clearQueue();
 
       for (int x = 0; x < 32; x++) {
          for (int z = 0; z < 32; z++) {
@@ -493,6 +500,7 @@ public class FloodLightCalculation implements LightCalculation {
                short lightValue = (short)(skyValue << 12);
                int blockId = toSection.get(blockIndex);
                BlockType blockType = BlockType.getAssetMap().getAsset(blockId);
+               opacities[blockIndex] = blockType.getOpacity();
                ColorLight blockTypeLight = blockType.getLight();
                int fluidId = fluidSection.getFluidId(blockIndex);
                Fluid fluid = Fluid.getAssetMap().getAsset(fluidId);
@@ -510,16 +518,16 @@ public class FloodLightCalculation implements LightCalculation {
                   lightValue = ChunkLightData.combineLightValues(blockTypeLight.red, blockTypeLight.green, blockTypeLight.blue, skyValue);
                }
 
+               light[blockIndex] = lightValue;
                if (lightValue != 0) {
-                  toLight.setLightRaw(blockIndex, lightValue);
-                  bitSetQueue.set(blockIndex);
+                  scratch.enqueue(blockIndex);
                }
             }
          }
       }
 
-      this.propagateLight(bitSetQueue, toSection, toLight);
-      return toLight;
+      this.propagateLight(scratch);
+      return ChunkLightData.fromArray(light, toSection.getLocalChangeCounter());
    }
 
    protected byte getSkyValue(WorldChunk worldChunk, int chunkY, int blockX, int blockY, int blockZ, int sectionY, int height) {
@@ -528,67 +536,73 @@ public class FloodLightCalculation implements LightCalculation {
       return (byte)(hasSky ? 15 : 0);
    }
 
-   private void propagateLight(@Nonnull BitSet bitSetQueue, @Nonnull BlockSection section, @Nonnull ChunkLightDataBuilder light) {
-      int counter = 0;
+   private static void fillOpacities(@Nonnull FloodLightCalculation.Scratch scratch, @Nonnull BlockSection section) {
+      Opacity[] opacities = scratch.opacities;
+      int lastBlockId = Integer.MIN_VALUE;
+      Opacity lastOpacity = null;
 
-      while (true) {
-         int blockIndex = bitSetQueue.nextSetBit(counter);
-         if (blockIndex == -1) {
-            if (bitSetQueue.isEmpty()) {
-               return;
-            }
+      for (int blockIndex = 0; blockIndex < 32768; blockIndex++) {
+         int blockId = section.get(blockIndex);
+         if (blockId != lastBlockId) {
+            lastBlockId = blockId;
+            lastOpacity = BlockType.getAssetMap().getAsset(blockId).getOpacity();
+         }
 
-            counter = 0;
-         } else {
-            bitSetQueue.clear(blockIndex);
-            counter = blockIndex;
-            BlockType fromBlockType = BlockType.getAssetMap().getAsset(section.get(blockIndex));
-            Opacity fromOpacity = fromBlockType.getOpacity();
-            if (fromOpacity != Opacity.Solid) {
-               short lightValue = light.getLightRaw(blockIndex);
-               byte redLight = ChunkLightData.getLightValue(lightValue, 0);
-               byte greenLight = ChunkLightData.getLightValue(lightValue, 1);
-               byte blueLight = ChunkLightData.getLightValue(lightValue, 2);
-               byte skyLight = ChunkLightData.getLightValue(lightValue, 3);
-               if (redLight >= 2 || greenLight >= 2 || blueLight >= 2 || skyLight >= 2) {
-                  byte propagatedRedValue = (byte)(redLight - 1);
-                  byte propagatedGreenValue = (byte)(greenLight - 1);
-                  byte propagatedBlueValue = (byte)(blueLight - 1);
-                  byte propagatedSkyValue = (byte)(skyLight - 1);
-                  if (fromOpacity == Opacity.Semitransparent || fromOpacity == Opacity.Cutout) {
-                     propagatedRedValue--;
-                     propagatedGreenValue--;
-                     propagatedBlueValue--;
-                     propagatedSkyValue--;
+         opacities[blockIndex] = lastOpacity;
+      }
+   }
+
+   private void propagateLight(@Nonnull FloodLightCalculation.Scratch scratch) {
+      short[] light = scratch.light;
+      Opacity[] opacities = scratch.opacities;
+
+      while (!scratch.isQueueEmpty()) {
+         int blockIndex = scratch.dequeue();
+         Opacity fromOpacity = opacities[blockIndex];
+         if (fromOpacity != Opacity.Solid) {
+            short lightValue = light[blockIndex];
+            byte redLight = ChunkLightData.getLightValue(lightValue, 0);
+            byte greenLight = ChunkLightData.getLightValue(lightValue, 1);
+            byte blueLight = ChunkLightData.getLightValue(lightValue, 2);
+            byte skyLight = ChunkLightData.getLightValue(lightValue, 3);
+            if (redLight >= 2 || greenLight >= 2 || blueLight >= 2 || skyLight >= 2) {
+               byte propagatedRedValue = (byte)(redLight - 1);
+               byte propagatedGreenValue = (byte)(greenLight - 1);
+               byte propagatedBlueValue = (byte)(blueLight - 1);
+               byte propagatedSkyValue = (byte)(skyLight - 1);
+               if (fromOpacity == Opacity.Semitransparent || fromOpacity == Opacity.Cutout) {
+                  propagatedRedValue--;
+                  propagatedGreenValue--;
+                  propagatedBlueValue--;
+                  propagatedSkyValue--;
+               }
+
+               if (propagatedRedValue >= 1 || propagatedGreenValue >= 1 || propagatedBlueValue >= 1 || propagatedSkyValue >= 1) {
+                  int x = ChunkUtil.xFromIndex(blockIndex);
+                  int y = ChunkUtil.yFromIndex(blockIndex);
+                  int z = ChunkUtil.zFromIndex(blockIndex);
+                  if (x > 0) {
+                     propagateLight(scratch, propagatedRedValue, propagatedGreenValue, propagatedBlueValue, propagatedSkyValue, blockIndex - 1);
                   }
 
-                  if (propagatedRedValue >= 1 || propagatedGreenValue >= 1 || propagatedBlueValue >= 1 || propagatedSkyValue >= 1) {
-                     int x = ChunkUtil.xFromIndex(blockIndex);
-                     int y = ChunkUtil.yFromIndex(blockIndex);
-                     int z = ChunkUtil.zFromIndex(blockIndex);
-
-                     for (Vector3i side : Vector3i.BLOCK_SIDES) {
-                        int nx = x + side.x;
-                        if (nx >= 0 && nx < 32) {
-                           int ny = y + side.y;
-                           if (ny >= 0 && ny < 32) {
-                              int nz = z + side.z;
-                              if (nz >= 0 && nz < 32) {
-                                 int neighbourBlock = ChunkUtil.indexBlock(nx, ny, nz);
-                                 this.propagateLight(
-                                    bitSetQueue,
-                                    propagatedRedValue,
-                                    propagatedGreenValue,
-                                    propagatedBlueValue,
-                                    propagatedSkyValue,
-                                    section,
-                                    light,
-                                    neighbourBlock
-                                 );
-                              }
-                           }
-                        }
-                     }
+                  if (x < 31) {
+                     propagateLight(scratch, propagatedRedValue, propagatedGreenValue, propagatedBlueValue, propagatedSkyValue, blockIndex + 1);
+                  }
+
+                  if (z > 0) {
+                     propagateLight(scratch, propagatedRedValue, propagatedGreenValue, propagatedBlueValue, propagatedSkyValue, blockIndex - 32);
+                  }
+
+                  if (z < 31) {
+                     propagateLight(scratch, propagatedRedValue, propagatedGreenValue, propagatedBlueValue, propagatedSkyValue, blockIndex + 32);
+                  }
+
+                  if (y > 0) {
+                     propagateLight(scratch, propagatedRedValue, propagatedGreenValue, propagatedBlueValue, propagatedSkyValue, blockIndex - 1024);
+                  }
+
+                  if (y < 31) {
+                     propagateLight(scratch, propagatedRedValue, propagatedGreenValue, propagatedBlueValue, propagatedSkyValue, blockIndex + 1024);
                   }
                }
             }
@@ -596,11 +610,14 @@ public class FloodLightCalculation implements LightCalculation {
       }
    }
 
-   public boolean testNeighboursForLocalLight(@Nonnull LocalCachedChunkAccessor accessor, @Nonnull WorldChunk worldChunk, int chunkX, int chunkY, int chunkZ) {
+   public boolean testNeighboursForLocalLight(
+      @Nonnull FloodLightCalculation.Scratch scratch, @Nonnull LocalCachedChunkAccessor accessor, @Nonnull WorldChunk worldChunk, int chunkX, int chunkY, int chunkZ
+   ) {
       Vector3i[][] blockParts = Vector3i.BLOCK_PARTS;
+      BlockSection[][] fromSections = scratch.fromSections;
 
-      for (int partType = 0; partType < this.fromSections.length; partType++) {
-         BlockSection[] partSections = this.fromSections[partType];
+      for (int partType = 0; partType < fromSections.length; partType++) {
+         BlockSection[] partSections = fromSections[partType];
          Arrays.fill(partSections, null);
          Vector3i[] directions = blockParts[partType];
 
@@ -637,203 +654,123 @@ public class FloodLightCalculation implements LightCalculation {
       return false;
    }
 
-   public void propagateSides(@Nonnull BlockSection toSection, @Nonnull ChunkLightDataBuilder globalLight, @Nonnull BitSet bitSetQueue) {
-      BlockSection[] fromSectionsSides = this.fromSections[0];
+   private void propagateSides(@Nonnull FloodLightCalculation.Scratch scratch) {
+      BlockSection[] fromSectionsSides = scratch.fromSections[0];
       int i = 0;
-      this.propagateSide(
-         bitSetQueue, fromSectionsSides[i++], toSection, globalLight, (a, b) -> ChunkUtil.indexBlock(a, 0, b), (a, b) -> ChunkUtil.indexBlock(a, 31, b)
-      );
-      this.propagateSide(
-         bitSetQueue, fromSectionsSides[i++], toSection, globalLight, (a, b) -> ChunkUtil.indexBlock(a, 31, b), (a, b) -> ChunkUtil.indexBlock(a, 0, b)
-      );
-      this.propagateSide(
-         bitSetQueue, fromSectionsSides[i++], toSection, globalLight, (a, b) -> ChunkUtil.indexBlock(a, b, 31), (a, b) -> ChunkUtil.indexBlock(a, b, 0)
-      );
-      this.propagateSide(
-         bitSetQueue, fromSectionsSides[i++], toSection, globalLight, (a, b) -> ChunkUtil.indexBlock(a, b, 0), (a, b) -> ChunkUtil.indexBlock(a, b, 31)
-      );
-      this.propagateSide(
-         bitSetQueue, fromSectionsSides[i++], toSection, globalLight, (a, b) -> ChunkUtil.indexBlock(31, a, b), (a, b) -> ChunkUtil.indexBlock(0, a, b)
-      );
-      this.propagateSide(
-         bitSetQueue, fromSectionsSides[i++], toSection, globalLight, (a, b) -> ChunkUtil.indexBlock(0, a, b), (a, b) -> ChunkUtil.indexBlock(31, a, b)
-      );
+      this.propagateSide(scratch, fromSectionsSides[i++], ChunkUtil.indexBlock(0, 0, 0), ChunkUtil.indexBlock(0, 31, 0), 1, 32);
+      this.propagateSide(scratch, fromSectionsSides[i++], ChunkUtil.indexBlock(0, 31, 0), ChunkUtil.indexBlock(0, 0, 0), 1, 32);
+      this.propagateSide(scratch, fromSectionsSides[i++], ChunkUtil.indexBlock(0, 0, 31), ChunkUtil.indexBlock(0, 0, 0), 1, 1024);
+      this.propagateSide(scratch, fromSectionsSides[i++], ChunkUtil.indexBlock(0, 0, 0), ChunkUtil.indexBlock(0, 0, 31), 1, 1024);
+      this.propagateSide(scratch, fromSectionsSides[i++], ChunkUtil.indexBlock(31, 0, 0), ChunkUtil.indexBlock(0, 0, 0), 1024, 32);
+      this.propagateSide(scratch, fromSectionsSides[i++], ChunkUtil.indexBlock(0, 0, 0), ChunkUtil.indexBlock(31, 0, 0), 1024, 32);
    }
 
    private void propagateSide(
-      @Nonnull BitSet bitSetQueue,
-      @Nullable BlockSection fromSection,
-      @Nonnull BlockSection toSection,
-      @Nonnull ChunkLightDataBuilder toLight,
-      @Nonnull IntBinaryOperator fromIndex,
-      @Nonnull IntBinaryOperator toIndex
+      @Nonnull FloodLightCalculation.Scratch scratch, @Nullable BlockSection fromSection, int fromOrigin, int toOrigin, int strideA, int strideB
    ) {
       if (fromSection != null) {
          ChunkLightData fromLight = fromSection.getLocalLight();
 
          for (int a = 0; a < 32; a++) {
             for (int b = 0; b < 32; b++) {
-               int fromBlockIndex = fromIndex.applyAsInt(a, b);
-               int toBlockIndex = toIndex.applyAsInt(a, b);
-               BlockType fromBlockType = BlockType.getAssetMap().getAsset(fromSection.get(fromBlockIndex));
-               Opacity fromOpacity = fromBlockType.getOpacity();
-               if (fromOpacity != Opacity.Solid) {
-                  short lightValue = fromLight.getLightRaw(fromBlockIndex);
-                  byte redLight = ChunkLightData.getLightValue(lightValue, 0);
-                  byte greenLight = ChunkLightData.getLightValue(lightValue, 1);
-                  byte blueLight = ChunkLightData.getLightValue(lightValue, 2);
-                  byte skyLight = ChunkLightData.getLightValue(lightValue, 3);
-                  if (redLight >= 2 || greenLight >= 2 || blueLight >= 2 || skyLight >= 2) {
-                     byte propagatedRedValue = (byte)(redLight - 1);
-                     byte propagatedGreenValue = (byte)(greenLight - 1);
-                     byte propagatedBlueValue = (byte)(blueLight - 1);
-                     byte propagatedSkyValue = (byte)(skyLight - 1);
-                     if (fromOpacity == Opacity.Semitransparent || fromOpacity == Opacity.Cutout) {
-                        propagatedRedValue--;
-                        propagatedGreenValue--;
-                        propagatedBlueValue--;
-                        propagatedSkyValue--;
-                     }
-
-                     if (propagatedRedValue >= 1 || propagatedGreenValue >= 1 || propagatedBlueValue >= 1 || propagatedSkyValue >= 1) {
-                        this.propagateLight(
-                           bitSetQueue, propagatedRedValue, propagatedGreenValue, propagatedBlueValue, propagatedSkyValue, toSection, toLight, toBlockIndex
-                        );
-                     }
-                  }
-               }
+               int offset = a * strideA + b * strideB;
+               this.propagateFrom(scratch, fromSection, fromLight, fromOrigin + offset, toOrigin + offset, 1);
             }
          }
       }
    }
 
-   public void propagateEdges(@Nonnull BlockSection toSection, @Nonnull ChunkLightDataBuilder globalLight, @Nonnull BitSet bitSetQueue) {
-      BlockSection[] fromSectionsEdges = this.fromSections[1];
+   private void propagateEdges(@Nonnull FloodLightCalculation.Scratch scratch) {
+      BlockSection[] fromSectionsEdges = scratch.fromSections[1];
       int i = 0;
-      this.propagateEdge(bitSetQueue, fromSectionsEdges[i++], toSection, globalLight, a -> ChunkUtil.indexBlock(a, 0, 31), a -> ChunkUtil.indexBlock(a, 31, 0));
-      this.propagateEdge(bitSetQueue, fromSectionsEdges[i++], toSection, globalLight, a -> ChunkUtil.indexBlock(a, 31, 31), a -> ChunkUtil.indexBlock(a, 0, 0));
-      this.propagateEdge(bitSetQueue, fromSectionsEdges[i++], toSection, globalLight, a -> ChunkUtil.indexBlock(a, 0, 0), a -> ChunkUtil.indexBlock(a, 31, 31));
-      this.propagateEdge(bitSetQueue, fromSectionsEdges[i++], toSection, globalLight, a -> ChunkUtil.indexBlock(a, 31, 0), a -> ChunkUtil.indexBlock(a, 0, 31));
-      this.propagateEdge(bitSetQueue, fromSectionsEdges[i++], toSection, globalLight, a -> ChunkUtil.indexBlock(31, 0, a), a -> ChunkUtil.indexBlock(0, 31, a));
-      this.propagateEdge(bitSetQueue, fromSectionsEdges[i++], toSection, globalLight, a -> ChunkUtil.indexBlock(31, 31, a), a -> ChunkUtil.indexBlock(0, 0, a));
-      this.propagateEdge(bitSetQueue, fromSectionsEdges[i++], toSection, globalLight, a -> ChunkUtil.indexBlock(0, 0, a), a -> ChunkUtil.indexBlock(31, 31, a));
-      this.propagateEdge(bitSetQueue, fromSectionsEdges[i++], toSection, globalLight, a -> ChunkUtil.indexBlock(0, 31, a), a -> ChunkUtil.indexBlock(31, 0, a));
-      this.propagateEdge(bitSetQueue, fromSectionsEdges[i++], toSection, globalLight, a -> ChunkUtil.indexBlock(31, a, 31), a -> ChunkUtil.indexBlock(0, a, 0));
-      this.propagateEdge(bitSetQueue, fromSectionsEdges[i++], toSection, globalLight, a -> ChunkUtil.indexBlock(0, a, 31), a -> ChunkUtil.indexBlock(31, a, 0));
-      this.propagateEdge(bitSetQueue, fromSectionsEdges[i++], toSection, globalLight, a -> ChunkUtil.indexBlock(31, a, 0), a -> ChunkUtil.indexBlock(0, a, 31));
-      this.propagateEdge(bitSetQueue, fromSectionsEdges[i++], toSection, globalLight, a -> ChunkUtil.indexBlock(0, a, 0), a -> ChunkUtil.indexBlock(31, a, 31));
+      this.propagateEdge(scratch, fromSectionsEdges[i++], ChunkUtil.indexBlock(0, 0, 31), ChunkUtil.indexBlock(0, 31, 0), 1);
+      this.propagateEdge(scratch, fromSectionsEdges[i++], ChunkUtil.indexBlock(0, 31, 31), ChunkUtil.indexBlock(0, 0, 0), 1);
+      this.propagateEdge(scratch, fromSectionsEdges[i++], ChunkUtil.indexBlock(0, 0, 0), ChunkUtil.indexBlock(0, 31, 31), 1);
+      this.propagateEdge(scratch, fromSectionsEdges[i++], ChunkUtil.indexBlock(0, 31, 0), ChunkUtil.indexBlock(0, 0, 31), 1);
+      this.propagateEdge(scratch, fromSectionsEdges[i++], ChunkUtil.indexBlock(31, 0, 0), ChunkUtil.indexBlock(0, 31, 0), 32);
+      this.propagateEdge(scratch, fromSectionsEdges[i++], ChunkUtil.indexBlock(31, 31, 0), ChunkUtil.indexBlock(0, 0, 0), 32);
+      this.propagateEdge(scratch, fromSectionsEdges[i++], ChunkUtil.indexBlock(0, 0, 0), ChunkUtil.indexBlock(31, 31, 0), 32);
+      this.propagateEdge(scratch, fromSectionsEdges[i++], ChunkUtil.indexBlock(0, 31, 0), ChunkUtil.indexBlock(31, 0, 0), 32);
+      this.propagateEdge(scratch, fromSectionsEdges[i++], ChunkUtil.indexBlock(31, 0, 31), ChunkUtil.indexBlock(0, 0, 0), 1024);
+      this.propagateEdge(scratch, fromSectionsEdges[i++], ChunkUtil.indexBlock(0, 0, 31), ChunkUtil.indexBlock(31, 0, 0), 1024);
+      this.propagateEdge(scratch, fromSectionsEdges[i++], ChunkUtil.indexBlock(31, 0, 0), ChunkUtil.indexBlock(0, 0, 31), 1024);
+      this.propagateEdge(scratch, fromSectionsEdges[i++], ChunkUtil.indexBlock(0, 0, 0), ChunkUtil.indexBlock(31, 0, 31), 1024);
    }
 
-   private void propagateEdge(
-      @Nonnull BitSet bitSetQueue,
-      @Nullable BlockSection fromSection,
-      @Nonnull BlockSection toSection,
-      @Nonnull ChunkLightDataBuilder toLight,
-      @Nonnull Int2IntFunction fromIndex,
-      @Nonnull Int2IntFunction toIndex
-   ) {
+   private void propagateEdge(@Nonnull FloodLightCalculation.Scratch scratch, @Nullable BlockSection fromSection, int fromOrigin, int toOrigin, int stride) {
       if (fromSection != null) {
          ChunkLightData fromLight = fromSection.getLocalLight();
 
          for (int a = 0; a < 32; a++) {
-            int fromBlockIndex = fromIndex.applyAsInt(a);
-            int toBlockIndex = toIndex.applyAsInt(a);
-            BlockType fromBlockType = BlockType.getAssetMap().getAsset(fromSection.get(fromBlockIndex));
-            Opacity fromOpacity = fromBlockType.getOpacity();
-            if (fromOpacity != Opacity.Solid) {
-               short lightValue = fromLight.getLightRaw(fromBlockIndex);
-               byte redLight = ChunkLightData.getLightValue(lightValue, 0);
-               byte greenLight = ChunkLightData.getLightValue(lightValue, 1);
-               byte blueLight = ChunkLightData.getLightValue(lightValue, 2);
-               byte skyLight = ChunkLightData.getLightValue(lightValue, 3);
-               if (redLight >= 3 || greenLight >= 3 || blueLight >= 3 || skyLight >= 3) {
-                  byte propagatedRedValue = (byte)(redLight - 2);
-                  byte propagatedGreenValue = (byte)(greenLight - 2);
-                  byte propagatedBlueValue = (byte)(blueLight - 2);
-                  byte propagatedSkyValue = (byte)(skyLight - 2);
-                  if (fromOpacity == Opacity.Semitransparent || fromOpacity == Opacity.Cutout) {
-                     propagatedRedValue--;
-                     propagatedGreenValue--;
-                     propagatedBlueValue--;
-                     propagatedSkyValue--;
-                  }
-
-                  if (propagatedRedValue >= 1 || propagatedGreenValue >= 1 || propagatedBlueValue >= 1 || propagatedSkyValue >= 1) {
-                     this.propagateLight(
-                        bitSetQueue, propagatedRedValue, propagatedGreenValue, propagatedBlueValue, propagatedSkyValue, toSection, toLight, toBlockIndex
-                     );
-                  }
-               }
-            }
+            int offset = a * stride;
+            this.propagateFrom(scratch, fromSection, fromLight, fromOrigin + offset, toOrigin + offset, 2);
          }
       }
    }
 
-   public void propagateCorners(@Nonnull BlockSection toSection, @Nonnull ChunkLightDataBuilder globalLight, @Nonnull BitSet bitSetQueue) {
-      BlockSection[] fromSectionsCorners = this.fromSections[2];
+   private void propagateCorners(@Nonnull FloodLightCalculation.Scratch scratch) {
+      BlockSection[] fromSectionsCorners = scratch.fromSections[2];
       int i = 0;
-      this.propagateCorner(bitSetQueue, fromSectionsCorners[i++], toSection, globalLight, ChunkUtil.indexBlock(31, 0, 31), ChunkUtil.indexBlock(0, 31, 0));
-      this.propagateCorner(bitSetQueue, fromSectionsCorners[i++], toSection, globalLight, ChunkUtil.indexBlock(0, 0, 31), ChunkUtil.indexBlock(31, 31, 0));
-      this.propagateCorner(bitSetQueue, fromSectionsCorners[i++], toSection, globalLight, ChunkUtil.indexBlock(31, 31, 31), ChunkUtil.indexBlock(0, 0, 0));
-      this.propagateCorner(bitSetQueue, fromSectionsCorners[i++], toSection, globalLight, ChunkUtil.indexBlock(0, 31, 31), ChunkUtil.indexBlock(31, 0, 0));
-      this.propagateCorner(bitSetQueue, fromSectionsCorners[i++], toSection, globalLight, ChunkUtil.indexBlock(31, 0, 0), ChunkUtil.indexBlock(0, 31, 31));
-      this.propagateCorner(bitSetQueue, fromSectionsCorners[i++], toSection, globalLight, ChunkUtil.indexBlock(0, 0, 0), ChunkUtil.indexBlock(31, 31, 31));
-      this.propagateCorner(bitSetQueue, fromSectionsCorners[i++], toSection, globalLight, ChunkUtil.indexBlock(31, 31, 0), ChunkUtil.indexBlock(0, 0, 31));
-      this.propagateCorner(bitSetQueue, fromSectionsCorners[i++], toSection, globalLight, ChunkUtil.indexBlock(0, 31, 0), ChunkUtil.indexBlock(31, 0, 31));
+      this.propagateCorner(scratch, fromSectionsCorners[i++], ChunkUtil.indexBlock(31, 0, 31), ChunkUtil.indexBlock(0, 31, 0));
+      this.propagateCorner(scratch, fromSectionsCorners[i++], ChunkUtil.indexBlock(0, 0, 31), ChunkUtil.indexBlock(31, 31, 0));
+      this.propagateCorner(scratch, fromSectionsCorners[i++], ChunkUtil.indexBlock(31, 31, 31), ChunkUtil.indexBlock(0, 0, 0));
+      this.propagateCorner(scratch, fromSectionsCorners[i++], ChunkUtil.indexBlock(0, 31, 31), ChunkUtil.indexBlock(31, 0, 0));
+      this.propagateCorner(scratch, fromSectionsCorners[i++], ChunkUtil.indexBlock(31, 0, 0), ChunkUtil.indexBlock(0, 31, 31));
+      this.propagateCorner(scratch, fromSectionsCorners[i++], ChunkUtil.indexBlock(0, 0, 0), ChunkUtil.indexBlock(31, 31, 31));
+      this.propagateCorner(scratch, fromSectionsCorners[i++], ChunkUtil.indexBlock(31, 31, 0), ChunkUtil.indexBlock(0, 0, 31));
+      this.propagateCorner(scratch, fromSectionsCorners[i++], ChunkUtil.indexBlock(0, 31, 0), ChunkUtil.indexBlock(31, 0, 31));
    }
 
-   private void propagateCorner(
-      @Nonnull BitSet bitSetQueue,
-      @Nullable BlockSection fromSection,
-      @Nonnull BlockSection toSection,
-      @Nonnull ChunkLightDataBuilder toLight,
+   private void propagateCorner(@Nonnull FloodLightCalculation.Scratch scratch, @Nullable BlockSection fromSection, int fromBlockIndex, int toBlockIndex) {
+      if (fromSection != null) {
+         this.propagateFrom(scratch, fromSection, fromSection.getLocalLight(), fromBlockIndex, toBlockIndex, 3);
+      }
+   }
+
+   private void propagateFrom(
+      @Nonnull FloodLightCalculation.Scratch scratch,
+      @Nonnull BlockSection fromSection,
+      @Nonnull ChunkLightData fromLight,
       int fromBlockIndex,
-      int toBlockIndex
+      int toBlockIndex,
+      int distance
    ) {
-      if (fromSection != null) {
-         ChunkLightData fromLight = fromSection.getLocalLight();
-         BlockType fromBlockType = BlockType.getAssetMap().getAsset(fromSection.get(fromBlockIndex));
-         Opacity fromOpacity = fromBlockType.getOpacity();
-         if (fromOpacity != Opacity.Solid) {
-            short lightValue = fromLight.getLightRaw(fromBlockIndex);
-            byte redLight = ChunkLightData.getLightValue(lightValue, 0);
-            byte greenLight = ChunkLightData.getLightValue(lightValue, 1);
-            byte blueLight = ChunkLightData.getLightValue(lightValue, 2);
-            byte skyLight = ChunkLightData.getLightValue(lightValue, 3);
-            if (redLight >= 4 || greenLight >= 4 || blueLight >= 4 || skyLight >= 4) {
-               byte propagatedRedValue = (byte)(redLight - 3);
-               byte propagatedGreenValue = (byte)(greenLight - 3);
-               byte propagatedBlueValue = (byte)(blueLight - 3);
-               byte propagatedSkyValue = (byte)(skyLight - 3);
-               if (fromOpacity == Opacity.Semitransparent || fromOpacity == Opacity.Cutout) {
-                  propagatedRedValue--;
-                  propagatedGreenValue--;
-                  propagatedBlueValue--;
-                  propagatedSkyValue--;
-               }
+      BlockType fromBlockType = BlockType.getAssetMap().getAsset(fromSection.get(fromBlockIndex));
+      Opacity fromOpacity = fromBlockType.getOpacity();
+      if (fromOpacity != Opacity.Solid) {
+         short lightValue = fromLight.getLightRaw(fromBlockIndex);
+         byte redLight = ChunkLightData.getLightValue(lightValue, 0);
+         byte greenLight = ChunkLightData.getLightValue(lightValue, 1);
+         byte blueLight = ChunkLightData.getLightValue(lightValue, 2);
+         byte skyLight = ChunkLightData.getLightValue(lightValue, 3);
+         if (redLight > distance || greenLight > distance || blueLight > distance || skyLight > distance) {
+            byte propagatedRedValue = (byte)(redLight - distance);
+            byte propagatedGreenValue = (byte)(greenLight - distance);
+            byte propagatedBlueValue = (byte)(blueLight - distance);
+            byte propagatedSkyValue = (byte)(skyLight - distance);
+            if (fromOpacity == Opacity.Semitransparent || fromOpacity == Opacity.Cutout) {
+               propagatedRedValue--;
+               propagatedGreenValue--;
+               propagatedBlueValue--;
+               propagatedSkyValue--;
+            }
 
-               if (propagatedRedValue >= 1 || propagatedGreenValue >= 1 || propagatedBlueValue >= 1 || propagatedSkyValue >= 1) {
-                  this.propagateLight(
-                     bitSetQueue, propagatedRedValue, propagatedGreenValue, propagatedBlueValue, propagatedSkyValue, toSection, toLight, toBlockIndex
-                  );
-               }
+            if (propagatedRedValue >= 1 || propagatedGreenValue >= 1 || propagatedBlueValue >= 1 || propagatedSkyValue >= 1) {
+               propagateLight(scratch, propagatedRedValue, propagatedGreenValue, propagatedBlueValue, propagatedSkyValue, toBlockIndex);
             }
          }
       }
    }
 
-   private void propagateLight(
-      @Nonnull BitSet bitSetQueue,
+   private static void propagateLight(
+      @Nonnull FloodLightCalculation.Scratch scratch,
       byte propagatedRedValue,
       byte propagatedGreenValue,
       byte propagatedBlueValue,
       byte propagatedSkyValue,
-      @Nonnull BlockSection toSection,
-      @Nonnull ChunkLightDataBuilder toLight,
       int toBlockIndex
    ) {
-      BlockType toBlockType = BlockType.getAssetMap().getAsset(toSection.get(toBlockIndex));
-      Opacity toOpacity = toBlockType.getOpacity();
+      Opacity toOpacity = scratch.opacities[toBlockIndex];
       if (toOpacity == Opacity.Cutout) {
          propagatedRedValue--;
          propagatedGreenValue--;
@@ -842,7 +779,7 @@ public class FloodLightCalculation implements LightCalculation {
       }
 
       if (propagatedRedValue >= 1 || propagatedGreenValue >= 1 || propagatedBlueValue >= 1 || propagatedSkyValue >= 1) {
-         short oldLightValue = toLight.getLightRaw(toBlockIndex);
+         short oldLightValue = scratch.light[toBlockIndex];
          byte neighbourRedLight = ChunkLightData.getLightValue(oldLightValue, 0);
          byte neighbourGreenLight = ChunkLightData.getLightValue(oldLightValue, 1);
          byte neighbourBlueLight = ChunkLightData.getLightValue(oldLightValue, 2);
@@ -867,10 +804,50 @@ public class FloodLightCalculation implements LightCalculation {
          newLightValue = (short)(newLightValue | (neighbourGreenLight & 15) << 4);
          newLightValue = (short)(newLightValue | (neighbourBlueLight & 15) << 8);
          newLightValue = (short)(newLightValue | (neighbourSkyLight & 15) << 12);
-         toLight.setLightRaw(toBlockIndex, newLightValue);
+         scratch.light[toBlockIndex] = newLightValue;
          if (newLightValue != oldLightValue && (propagatedRedValue > 1 || propagatedGreenValue > 1 || propagatedBlueValue > 1 || propagatedSkyValue > 1)) {
-            bitSetQueue.set(toBlockIndex);
+            scratch.enqueue(toBlockIndex);
          }
       }
    }
+
+   protected static class Scratch {
+      protected final short[] light = new short[32768];
+      protected final Opacity[] opacities = new Opacity[32768];
+      protected final byte[] columnLight = new byte[1024];
+      protected final int[] queue = new int[32768];
+      protected final long[] queued = new long[512];
+      protected final BlockSection[][] fromSections = new BlockSection[][]{
+         new BlockSection[Vector3i.BLOCK_SIDES.length], new BlockSection[Vector3i.BLOCK_EDGES.length], new BlockSection[Vector3i.BLOCK_CORNERS.length]
+      };
+      protected int queueHead;
+      protected int queueSize;
+
+      protected void clearQueue() {
+         this.queueHead = 0;
+         this.queueSize = 0;
+         Arrays.fill(this.queued, 0L);
+      }
+
+      protected boolean isQueueEmpty() {
+         return this.queueSize == 0;
+      }
+
+      protected void enqueue(int blockIndex) {
+         long bit = 1L << blockIndex;
+         int word = blockIndex >> 6;
+         if ((this.queued[word] & bit) == 0L) {
+            this.queued[word] |= bit;
+            this.queue[this.queueHead + this.queueSize++ & 32767] = blockIndex;
+         }
+      }
+
+      protected int dequeue() {
+         int blockIndex = this.queue[this.queueHead];
+         this.queueHead = this.queueHead + 1 & 32767;
+         this.queueSize--;
+         this.queued[blockIndex >> 6] &= ~(1L << blockIndex);
+         return blockIndex;
+      }
+   }
 }
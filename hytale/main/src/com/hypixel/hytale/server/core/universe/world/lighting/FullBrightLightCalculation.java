@@ -63,6 +63,11 @@ public class FullBrightLightCalculation implements LightCalculation {
       return handled;
    }
 
+   @Override
+   public boolean isConcurrent() {
+      return this.delegate.isConcurrent();
+   }
+
    public void setFullBright(@Nonnull WorldChunk worldChunk, int chunkY) {
       BlockSection section = worldChunk.getBlockChunk().getSectionAtIndex(chunkY);
       ChunkLightDataBuilder light = new ChunkLightDataBuilder(section.getGlobalChangeCounter());
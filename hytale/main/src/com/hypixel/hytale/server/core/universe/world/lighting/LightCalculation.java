@@ -14,4 +14,8 @@ public interface LightCalculation {
    boolean invalidateLightAtBlock(@Nonnull WorldChunk var1, int var2, int var3, int var4, @Nonnull BlockType var5, int var6, int var7);
 
    boolean invalidateLightInChunkSections(@Nonnull WorldChunk var1, int var2, int var3);
+
+   default boolean isConcurrent() {
+      return false;
+   }
 }
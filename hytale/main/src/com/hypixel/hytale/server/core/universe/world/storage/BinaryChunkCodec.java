@@ -0,0 +1,283 @@
+package com.hypixel.hytale.server.core.universe.world.storage;
+
+import com.hypixel.hytale.component.Archetype;
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Holder;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.universe.world.chunk.BlockChunk;
+import com.hypixel.hytale.server.core.universe.world.chunk.BlockComponentChunk;
+import com.hypixel.hytale.server.core.universe.world.chunk.ChunkColumn;
+import com.hypixel.hytale.server.core.universe.world.chunk.environment.EnvironmentChunk;
+import com.hypixel.hytale.server.core.universe.world.chunk.section.BlockSection;
+import com.hypixel.hytale.server.core.universe.world.chunk.section.FluidSection;
+import com.hypixel.hytale.server.core.util.BsonUtil;
+import com.hypixel.hytale.server.core.util.io.ByteBufUtil;
+import com.hypixel.hytale.sneakythrow.SneakyThrow;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import java.nio.ByteBuffer;
+import java.util.function.IntFunction;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+public final class BinaryChunkCodec {
+   public static final int MAGIC = 1212369919;
+   public static final int VERSION = 1;
+   public static final byte END = 0;
+   public static final byte BLOCK_CHUNK = 1;
+   public static final byte ENVIRONMENT_CHUNK = 2;
+   public static final byte CHUNK_COLUMN = 3;
+   public static final byte BLOCK_SECTION = 4;
+   public static final byte FLUID_SECTION = 5;
+   public static final byte EXTERNAL_SECTIONS = 6;
+   public static final int EXTERNAL_SLOT_COUNT = 16;
+   public static final int BLOCK_COMPONENTS_SLOT = 15;
+
+   private BinaryChunkCodec() {
+   }
+
+   public static boolean isBinary(@Nonnull ByteBuffer buffer) {
+      return buffer.remaining() >= 5 && buffer.getInt(buffer.position()) == MAGIC;
+   }
+
+   public static boolean hasExternalSections(@Nonnull ByteBuffer buffer) {
+      ByteBuf buf = Unpooled.wrappedBuffer(buffer);
+      buf.skipBytes(5);
+
+      byte id;
+      while ((id = buf.readByte()) != END) {
+         buf.skipBytes(2);
+         int length = buf.readInt();
+         if (id == EXTERNAL_SECTIONS) {
+            return true;
+         }
+
+         buf.skipBytes(length);
+      }
+
+      return false;
+   }
+
+   @Nonnull
+   public static ByteBuffer encode(@Nonnull Holder<ChunkStore> holder) {
+      return encode(holder, false);
+   }
+
+   @Nonnull
+   public static ByteBuffer encode(@Nonnull Holder<ChunkStore> holder, boolean externalSections) {
+      ByteBuf buf = ByteBufAllocator.DEFAULT.buffer();
+
+      try {
+         buf.writeInt(MAGIC);
+         buf.writeByte(VERSION);
+         writeHolder(buf, holder, externalSections);
+         return ByteBuffer.wrap(ByteBufUtil.getBytesRelease(buf));
+      } catch (Throwable var3) {
+         buf.release();
+         throw SneakyThrow.sneakyThrow(var3);
+      }
+   }
+
+   @Nonnull
+   public static Holder<ChunkStore> decode(@Nonnull ByteBuffer buffer) {
+      return decode(buffer, null);
+   }
+
+   @Nonnull
+   public static Holder<ChunkStore> decode(@Nonnull ByteBuffer buffer, @Nullable IntFunction<ByteBuffer> externalReader) {
+      ByteBuf buf = Unpooled.wrappedBuffer(buffer);
+      if (buf.readInt() != MAGIC) {
+         throw new IllegalArgumentException("Buffer doesn't contain a binary chunk!");
+      } else {
+         int version = buf.readUnsignedByte();
+         if (version > VERSION) {
+            throw new IllegalArgumentException("Unsupported binary chunk version " + version + ", expected at most " + VERSION);
+         } else {
+            return readHolder(buf, externalReader);
+         }
+      }
+   }
+
+   private static void writeHolder(@Nonnull ByteBuf buf, @Nonnull Holder<ChunkStore> holder, boolean externalSections) {
+      Holder<ChunkStore> remaining = ChunkStore.REGISTRY.newHolder();
+      Archetype<ChunkStore> archetype = holder.getArchetype();
+
+      for (int i = archetype.getMinIndex(); i < archetype.length(); i++) {
+         ComponentType componentType = archetype.get(i);
+         if (componentType != null) {
+            Component<ChunkStore> component = holder.getComponent(componentType);
+            if (component instanceof BlockChunk blockChunk) {
+               int start = beginBlock(buf, BLOCK_CHUNK, BlockChunk.VERSION);
+               blockChunk.serializeData(buf);
+               endBlock(buf, start);
+            } else if (component instanceof EnvironmentChunk environmentChunk) {
+               int start = beginBlock(buf, ENVIRONMENT_CHUNK, 0);
+               environmentChunk.serializeData(buf);
+               endBlock(buf, start);
+            } else if (component instanceof BlockSection blockSection) {
+               int start = beginBlock(buf, BLOCK_SECTION, BlockSection.VERSION);
+               blockSection.serialize(BlockType.KEY_SERIALIZER, buf);
+               endBlock(buf, start);
+            } else if (component instanceof FluidSection fluidSection) {
+               int start = beginBlock(buf, FLUID_SECTION, FluidSection.VERSION);
+               fluidSection.serializeData(buf);
+               endBlock(buf, start);
+            } else if (externalSections && component instanceof ChunkColumn chunkColumn) {
+               int start = beginBlock(buf, EXTERNAL_SECTIONS, 0);
+               Holder<ChunkStore>[] sectionHolders = chunkColumn.getSectionHolders();
+               buf.writeInt(Math.max(sectionHolders != null ? sectionHolders.length : 0, chunkColumn.getSections().length));
+               endBlock(buf, start);
+            } else if (externalSections && component instanceof BlockComponentChunk) {
+               continue;
+            } else if (component instanceof ChunkColumn chunkColumn) {
+               int start = beginBlock(buf, CHUNK_COLUMN, 0);
+               Holder<ChunkStore>[] sectionHolders = chunkColumn.copySerializableSectionHolders();
+               buf.writeInt(sectionHolders.length);
+
+               for (Holder<ChunkStore> sectionHolder : sectionHolders) {
+                  buf.writeBoolean(sectionHolder != null);
+                  if (sectionHolder != null) {
+                     writeHolder(buf, sectionHolder, false);
+                  }
+               }
+
+               endBlock(buf, start);
+            } else if (component != null) {
+               remaining.addComponent(componentType, component);
+            }
+         }
+      }
+
+      buf.writeByte(END);
+      boolean hasRemaining = !remaining.getArchetype().isEmpty();
+      buf.writeBoolean(hasRemaining);
+      if (hasRemaining) {
+         BsonUtil.writeToBinaryStream(buf, ChunkStore.REGISTRY.serialize(remaining));
+      }
+   }
+
+   @Nonnull
+   private static Holder<ChunkStore> readHolder(@Nonnull ByteBuf buf, @Nullable IntFunction<ByteBuffer> externalReader) {
+      BlockChunk blockChunk = null;
+      BlockComponentChunk blockComponentChunk = null;
+      EnvironmentChunk environmentChunk = null;
+      ChunkColumn chunkColumn = null;
+      BlockSection blockSection = null;
+      FluidSection fluidSection = null;
+
+      while (true) {
+         byte id = buf.readByte();
+         if (id == END) {
+            Holder<ChunkStore> holder = null;
+            if (buf.readBoolean()) {
+               holder = ChunkStore.REGISTRY.deserialize(BsonUtil.readFromBinaryStream(buf));
+            }
+
+            if (holder == null) {
+               holder = ChunkStore.REGISTRY.newHolder();
+            }
+
+            putComponent(holder, BlockChunk.getComponentType(), blockChunk);
+            putComponent(holder, EnvironmentChunk.getComponentType(), environmentChunk);
+            putComponent(holder, BlockComponentChunk.getComponentType(), blockComponentChunk);
+            putComponent(holder, ChunkColumn.getComponentType(), chunkColumn);
+            putComponent(holder, BlockSection.getComponentType(), blockSection);
+            putComponent(holder, FluidSection.getComponentType(), fluidSection);
+            return holder;
+         }
+
+         int version = buf.readUnsignedShort();
+         int length = buf.readInt();
+         ByteBuf data = buf.readSlice(length);
+         switch (id) {
+            case BLOCK_CHUNK:
+               blockChunk = new BlockChunk();
+               blockChunk.deserializeData(data, version);
+               break;
+            case ENVIRONMENT_CHUNK:
+               environmentChunk = new EnvironmentChunk();
+               environmentChunk.deserializeData(data);
+               break;
+            case CHUNK_COLUMN:
+               Holder<ChunkStore>[] sectionHolders = new Holder[data.readInt()];
+
+               for (int i = 0; i < sectionHolders.length; i++) {
+                  if (data.readBoolean()) {
+                     sectionHolders[i] = readHolder(data, null);
+                  }
+               }
+
+               chunkColumn = new ChunkColumn(sectionHolders);
+               break;
+            case EXTERNAL_SECTIONS:
+               if (externalReader == null) {
+                  throw new IllegalArgumentException("Binary chunk has external sections but no reader was provided!");
+               }
+
+               Holder<ChunkStore>[] externalHolders = new Holder[data.readInt()];
+
+               for (int i = 0; i < externalHolders.length; i++) {
+                  ByteBuffer sectionBuffer = externalReader.apply(i);
+                  if (sectionBuffer == null) {
+                     throw new IllegalArgumentException("Binary chunk is missing external section " + i + " of " + externalHolders.length + "!");
+                  }
+
+                  externalHolders[i] = decode(sectionBuffer);
+                  consumeNeedsSaving(externalHolders[i]);
+               }
+
+               chunkColumn = new ChunkColumn(externalHolders);
+               ByteBuffer blockComponentBuffer = externalReader.apply(BLOCK_COMPONENTS_SLOT);
+               blockComponentChunk = blockComponentBuffer != null ? decode(blockComponentBuffer).getComponent(BlockComponentChunk.getComponentType()) : null;
+               if (blockComponentChunk == null) {
+                  blockComponentChunk = new BlockComponentChunk();
+               }
+               break;
+            case BLOCK_SECTION:
+               blockSection = new BlockSection();
+               blockSection.deserialize(BlockType.KEY_DESERIALIZER, data, version);
+               break;
+            case FLUID_SECTION:
+               fluidSection = new FluidSection();
+               fluidSection.deserializeData(data, version);
+               break;
+            default:
+               throw new IllegalArgumentException("Unknown binary chunk block " + id);
+         }
+      }
+   }
+
+   private static void consumeNeedsSaving(@Nonnull Holder<ChunkStore> sectionHolder) {
+      BlockSection blockSection = sectionHolder.getComponent(BlockSection.getComponentType());
+      if (blockSection != null) {
+         blockSection.consumeNeedsSaving();
+      }
+
+      FluidSection fluidSection = sectionHolder.getComponent(FluidSection.getComponentType());
+      if (fluidSection != null) {
+         fluidSection.consumeNeedsSaving();
+      }
+   }
+
+   private static <T extends Component<ChunkStore>> void putComponent(
+      @Nonnull Holder<ChunkStore> holder, @Nonnull ComponentType<ChunkStore, T> componentType, @Nullable T component
+   ) {
+      if (component != null) {
+         holder.putComponent(componentType, component);
+      }
+   }
+
+   private static int beginBlock(@Nonnull ByteBuf buf, byte id, int version) {
+      buf.writeByte(id);
+      buf.writeShort(version);
+      int start = buf.writerIndex();
+      buf.writeInt(0);
+      return start;
+   }
+
+   private static void endBlock(@Nonnull ByteBuf buf, int start) {
+      buf.setInt(start, buf.writerIndex() - start - 4);
+   }
+}
@@ -33,8 +33,7 @@ public abstract class BufferChunkLoader implements IChunkLoader {
          if (buffer == null) {
             return null;
          } else {
-            BsonDocument bsonDocument = BsonUtil.readFromBuffer(buffer);
-            Holder<ChunkStore> holder = ChunkStore.REGISTRY.deserialize(bsonDocument);
+            Holder<ChunkStore> holder = this.deserializeHolder(x, z, buffer);
             WorldChunk worldChunkComponent = holder.getComponent(WorldChunk.getComponentType());
 
             assert worldChunkComponent != null;
@@ -44,4 +43,14 @@ public abstract class BufferChunkLoader implements IChunkLoader {
          }
       });
    }
+
+   @Nonnull
+   protected Holder<ChunkStore> deserializeHolder(int x, int z, @Nonnull ByteBuffer buffer) {
+      if (BinaryChunkCodec.isBinary(buffer)) {
+         return BinaryChunkCodec.decode(buffer);
+      } else {
+         BsonDocument bsonDocument = BsonUtil.readFromBuffer(buffer);
+         return ChunkStore.REGISTRY.deserialize(bsonDocument);
+      }
+   }
 }
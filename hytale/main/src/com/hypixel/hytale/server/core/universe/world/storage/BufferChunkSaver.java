@@ -32,11 +32,16 @@ public abstract class BufferChunkSaver implements IChunkSaver {
    @Nonnull
    @Override
    public CompletableFuture<Void> saveHolder(int x, int z, @Nonnull Holder<ChunkStore> holder) {
-      BsonDocument document = ChunkStore.REGISTRY.serialize(holder);
-      ByteBuffer buffer = ByteBuffer.wrap(BsonUtil.writeToBytes(document));
+      ByteBuffer buffer = this.serializeHolder(holder);
       return this.saveBuffer(x, z, buffer);
    }
 
+   @Nonnull
+   protected ByteBuffer serializeHolder(@Nonnull Holder<ChunkStore> holder) {
+      BsonDocument document = ChunkStore.REGISTRY.serialize(holder);
+      return ByteBuffer.wrap(BsonUtil.writeToBytes(document));
+   }
+
    @Nonnull
    @Override
    public CompletableFuture<Void> removeHolder(int x, int z) {
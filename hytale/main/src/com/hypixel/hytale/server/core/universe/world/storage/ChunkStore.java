@@ -27,6 +27,7 @@ import com.hypixel.hytale.metrics.MetricProvider;
 import com.hypixel.hytale.metrics.MetricsRegistry;
 import com.hypixel.hytale.protocol.Packet;
 import com.hypixel.hytale.server.core.HytaleServer;
+import com.hypixel.hytale.server.core.modules.entity.player.ChunkTracker;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.WorldProvider;
@@ -50,6 +51,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongPredicate;
 import java.util.logging.Level;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -497,15 +499,15 @@ public class ChunkStore implements WorldProvider {
                if ((isNew || (chunkState.flags & 2) != 0) && (flags & 2) == 0) {
                   int seed = (int)this.world.getWorldConfig().getSeed();
                   if (chunkState.future == null) {
+                     LongPredicate stillNeeded = (flags & 16) != 0 ? this::isChunkStillNeeded : null;
                      long readStamp = this.generatorLock.readLock();
 
                      CompletableFuture<GeneratedChunk> future;
                      try {
                         if (this.generator == null) {
-                           future = this.generatorLoaded
-                              .thenCompose(aVoid -> this.generator.generate(seed, index, x, z, (flags & 16) != 0 ? this::isChunkStillNeeded : null));
+                           future = this.generatorLoaded.thenCompose(aVoid -> this.generator.generate(seed, index, x, z, stillNeeded, this::getGenerationPriority));
                         } else {
-                           future = this.generator.generate(seed, index, x, z, (flags & 16) != 0 ? this::isChunkStillNeeded : null);
+                           future = this.generator.generate(seed, index, x, z, stillNeeded, this::getGenerationPriority);
                         }
                      } finally {
                         this.generatorLock.unlockRead(readStamp);
@@ -534,9 +536,10 @@ public class ChunkStore implements WorldProvider {
                            CompletableFuture<GeneratedChunk> future;
                            try {
                               if (this.generator == null) {
-                                 futurex = this.generatorLoaded.thenCompose(aVoid -> this.generator.generate(seed, index, x, z, null));
+                                 futurex = this.generatorLoaded
+                                    .thenCompose(aVoid -> this.generator.generate(seed, index, x, z, null, this::getGenerationPriority));
                               } else {
-                                 futurex = this.generator.generate(seed, index, x, z, null);
+                                 futurex = this.generator.generate(seed, index, x, z, null, this::getGenerationPriority);
                               }
                            } finally {
                               this.generatorLock.unlockRead(readStampx);
@@ -590,7 +593,8 @@ public class ChunkStore implements WorldProvider {
 
    private boolean isChunkStillNeeded(long index) {
       for (PlayerRef playerRef : this.world.getPlayerRefs()) {
-         if (playerRef.getChunkTracker().shouldBeVisible(index)) {
+         ChunkTracker chunkTracker = playerRef.getChunkTracker();
+         if (chunkTracker.shouldBeVisible(index) || chunkTracker.isPrefetching(index)) {
             return true;
          }
       }
@@ -598,6 +602,16 @@ public class ChunkStore implements WorldProvider {
       return false;
    }
 
+   private int getGenerationPriority(long index) {
+      int priority = Integer.MAX_VALUE;
+
+      for (PlayerRef playerRef : this.world.getPlayerRefs()) {
+         priority = Math.min(priority, playerRef.getChunkTracker().getLoadPriority(index));
+      }
+
+      return priority;
+   }
+
    public boolean isChunkOnBackoff(long index, long maxFailureBackoffNanos) {
       ChunkStore.ChunkLoadState chunkState = this.chunks.get(index);
       if (chunkState == null) {
@@ -11,6 +11,15 @@ public interface IChunkSaver extends Closeable {
    @Nonnull
    CompletableFuture<Void> saveHolder(int var1, int var2, @Nonnull Holder<ChunkStore> var3);
 
+   default boolean supportsPartialSaves() {
+      return false;
+   }
+
+   @Nonnull
+   default CompletableFuture<Void> savePartialHolder(int x, int z, @Nonnull Holder<ChunkStore> holder) {
+      return CompletableFuture.failedFuture(new UnsupportedOperationException("Partial chunk saves are not supported by " + this.getClass().getSimpleName()));
+   }
+
    @Nonnull
    CompletableFuture<Void> removeHolder(int var1, int var2);
 
@@ -1,7 +1,9 @@
 package com.hypixel.hytale.server.core.universe.world.storage.component;
 
+import com.hypixel.hytale.component.Archetype;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Component;
 import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.component.Holder;
 import com.hypixel.hytale.component.Ref;
@@ -18,11 +20,17 @@ import com.hypixel.hytale.component.system.tick.TickingSystem;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.server.core.HytaleServer;
 import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.BlockComponentChunk;
+import com.hypixel.hytale.server.core.universe.world.chunk.ChunkColumn;
 import com.hypixel.hytale.server.core.universe.world.chunk.ChunkFlag;
 import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+import com.hypixel.hytale.server.core.universe.world.chunk.section.BlockSection;
+import com.hypixel.hytale.server.core.universe.world.chunk.section.ChunkSection;
+import com.hypixel.hytale.server.core.universe.world.chunk.section.FluidSection;
 import com.hypixel.hytale.server.core.universe.world.events.ecs.ChunkSaveEvent;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import com.hypixel.hytale.server.core.universe.world.storage.IChunkSaver;
+import com.hypixel.hytale.server.core.util.io.StorageExecutor;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import java.util.Deque;
 import java.util.List;
@@ -137,6 +145,97 @@ public class ChunkSavingSystems {
       }
    }
 
+   @Nonnull
+   public static Holder<ChunkStore> copyChangedSerializableEntity(@Nonnull Ref<ChunkStore> reference, @Nonnull Store<ChunkStore> store) {
+      Archetype<ChunkStore> archetype = store.getArchetype(reference).getSerializableArchetype(ChunkStore.REGISTRY.getData());
+      Holder<ChunkStore> holder = ChunkStore.REGISTRY.newHolder();
+
+      for (int i = archetype.getMinIndex(); i < archetype.length(); i++) {
+         ComponentType componentType = archetype.get(i);
+         if (componentType != null) {
+            Component<ChunkStore> component = store.getComponent(reference, componentType);
+            if (component instanceof ChunkColumn chunkColumn) {
+               holder.addComponent(componentType, new ChunkColumn(copyChangedSectionHolders(chunkColumn, store)));
+            } else if (!(component instanceof BlockComponentChunk blockComponentChunk) || blockComponentChunk.consumeNeedsSaving()) {
+               holder.addComponent(componentType, component.cloneSerializable());
+            }
+         }
+      }
+
+      return holder;
+   }
+
+   @Nonnull
+   private static Holder<ChunkStore>[] copyChangedSectionHolders(@Nonnull ChunkColumn chunkColumn, @Nonnull Store<ChunkStore> store) {
+      Ref<ChunkStore>[] sections = chunkColumn.getSections();
+      Holder<ChunkStore>[] sectionHolders = chunkColumn.getSectionHolders();
+      int length = sections.length;
+      if (sectionHolders != null) {
+         length = Math.max(sectionHolders.length, sections.length);
+      }
+
+      Holder<ChunkStore>[] array = new Holder[length];
+      if (sectionHolders != null) {
+         for (int i = 0; i < sectionHolders.length; i++) {
+            Holder<ChunkStore> sectionHolder = sectionHolders[i];
+            if (sectionHolder != null) {
+               array[i] = sectionHolder.clone();
+            }
+         }
+      }
+
+      for (int ix = 0; ix < sections.length; ix++) {
+         Ref<ChunkStore> section = sections[ix];
+         if (section == null) {
+            break;
+         }
+
+         array[ix] = consumeSectionNeedsSaving(section, store) ? store.copySerializableEntity(section) : null;
+      }
+
+      return array;
+   }
+
+   private static boolean consumeSectionNeedsSaving(@Nonnull Ref<ChunkStore> section, @Nonnull Store<ChunkStore> store) {
+      Archetype<ChunkStore> archetype = store.getArchetype(section).getSerializableArchetype(ChunkStore.REGISTRY.getData());
+      boolean needsSaving = false;
+
+      for (int i = archetype.getMinIndex(); i < archetype.length(); i++) {
+         ComponentType componentType = archetype.get(i);
+         if (componentType != null) {
+            Component<ChunkStore> component = store.getComponent(section, componentType);
+            if (component instanceof BlockSection blockSection) {
+               needsSaving |= blockSection.consumeNeedsSaving();
+            } else if (component instanceof FluidSection fluidSection) {
+               needsSaving |= fluidSection.consumeNeedsSaving();
+            } else if (!(component instanceof ChunkSection)) {
+               needsSaving = true;
+            }
+         }
+      }
+
+      return needsSaving;
+   }
+
+   private static void markSectionsNeedSaving(@Nonnull Ref<ChunkStore> reference, @Nonnull Store<ChunkStore> store) {
+      ChunkColumn chunkColumn = store.getComponent(reference, ChunkColumn.getComponentType());
+      if (chunkColumn != null) {
+         for (Ref<ChunkStore> section : chunkColumn.getSections()) {
+            if (section != null && section.isValid()) {
+               BlockSection blockSection = store.getComponent(section, BlockSection.getComponentType());
+               if (blockSection != null) {
+                  blockSection.markNeedsSaving();
+               }
+
+               FluidSection fluidSection = store.getComponent(section, FluidSection.getComponentType());
+               if (fluidSection != null) {
+                  fluidSection.markNeedsSaving();
+               }
+            }
+         }
+      }
+   }
+
    public static class Data implements Resource<ChunkStore> {
       public static final float QUEUE_UPDATE_INTERVAL = 0.5F;
       @Nonnull
@@ -222,7 +321,7 @@ public class ChunkSavingSystems {
 
             World world = store.getExternalData().getWorld();
             IChunkSaver saver = store.getExternalData().getSaver();
-            int parallelSaves = ForkJoinPool.commonPool().getParallelism();
+            int parallelSaves = Math.min(ForkJoinPool.commonPool().getParallelism(), StorageExecutor.WRITE.getAvailableCapacity());
 
             for (int i = 0; i < parallelSaves; i++) {
                Ref<ChunkStore> reference = data.poll();
@@ -237,23 +336,37 @@ public class ChunkSavingSystems {
 
                WorldChunk chunk = store.getComponent(reference, ChunkSavingSystems.WORLD_CHUNK_COMPONENT_TYPE);
                chunk.setSaving(true);
-               Holder<ChunkStore> holder = store.copySerializableEntity(reference);
+               boolean partial = saver.supportsPartialSaves();
+               Holder<ChunkStore> holder = partial
+                  ? ChunkSavingSystems.copyChangedSerializableEntity(reference, store)
+                  : store.copySerializableEntity(reference);
                data.toSaveTotal.getAndIncrement();
                data.chunkSavingFutures
                   .add(
-                     CompletableFuture.<CompletableFuture<Void>>supplyAsync(() -> saver.saveHolder(chunk.getX(), chunk.getZ(), holder))
+                     CompletableFuture.<CompletableFuture<Void>>supplyAsync(
+                           () -> partial ? saver.savePartialHolder(chunk.getX(), chunk.getZ(), holder) : saver.saveHolder(chunk.getX(), chunk.getZ(), holder)
+                        )
                         .thenCompose(Function.identity())
                         .whenCompleteAsync(
                            (aVoid, throwable) -> {
+                              BlockComponentChunk blockComponentChunk = chunk.getBlockComponentChunk();
+                              boolean blockComponentsChanged = partial && blockComponentChunk.getNeedsSaving();
+                              chunk.consumeNeedsSaving();
                               if (throwable != null) {
                                  ((HytaleLogger.Api)ChunkSavingSystems.LOGGER.at(Level.SEVERE).withCause(throwable))
                                     .log("Failed to save chunk (%d, %d):", chunk.getX(), chunk.getZ());
+                                 if (partial && reference.isValid()) {
+                                    ChunkSavingSystems.markSectionsNeedSaving(reference, store);
+                                    blockComponentChunk.markNeedsSaving();
+                                 }
                               } else {
                                  chunk.setFlag(ChunkFlag.ON_DISK, true);
                                  ChunkSavingSystems.LOGGER.at(Level.FINEST).log("Finished saving chunk (%d, %d)", chunk.getX(), chunk.getZ());
+                                 if (blockComponentsChanged) {
+                                    blockComponentChunk.markNeedsSaving();
+                                 }
                               }
 
-                              chunk.consumeNeedsSaving();
                               chunk.setSaving(false);
                            },
                            world
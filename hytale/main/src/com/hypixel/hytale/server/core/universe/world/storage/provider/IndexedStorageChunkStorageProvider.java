@@ -5,30 +5,40 @@ import com.hypixel.hytale.codec.Codec;
 import com.hypixel.hytale.codec.KeyedCodec;
 import com.hypixel.hytale.codec.builder.BuilderCodec;
 import com.hypixel.hytale.codec.codecs.array.ArrayCodec;
+import com.hypixel.hytale.component.Holder;
 import com.hypixel.hytale.component.Resource;
 import com.hypixel.hytale.component.ResourceType;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.SystemGroup;
 import com.hypixel.hytale.component.system.StoreSystem;
+import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.math.util.ChunkUtil;
 import com.hypixel.hytale.metrics.MetricProvider;
 import com.hypixel.hytale.metrics.MetricResults;
 import com.hypixel.hytale.metrics.MetricsRegistry;
+import com.hypixel.hytale.server.core.HytaleServer;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.BlockComponentChunk;
+import com.hypixel.hytale.server.core.universe.world.chunk.ChunkColumn;
+import com.hypixel.hytale.server.core.universe.world.storage.BinaryChunkCodec;
 import com.hypixel.hytale.server.core.universe.world.storage.BufferChunkLoader;
 import com.hypixel.hytale.server.core.universe.world.storage.BufferChunkSaver;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import com.hypixel.hytale.server.core.universe.world.storage.IChunkLoader;
 import com.hypixel.hytale.server.core.universe.world.storage.IChunkSaver;
+import com.hypixel.hytale.server.core.util.io.StorageExecutor;
 import com.hypixel.hytale.sneakythrow.SneakyThrow;
 import com.hypixel.hytale.storage.IndexedStorageFile;
+import com.hypixel.hytale.storage.ZstdDictionary;
+import com.hypixel.hytale.storage.ZstdDictionaryStore;
 import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntListIterator;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
 import it.unimi.dsi.fastutil.longs.LongSets;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap.Entry;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -37,8 +47,15 @@ import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -57,19 +74,120 @@ public class IndexedStorageChunkStorageProvider implements IChunkStorageProvider
          "Controls whether the indexed storage flushes during writes.\nRecommended to be enabled to prevent corruption of chunks during unclean shutdowns."
       )
       .add()
+      .<Boolean>appendInherited(
+         new KeyedCodec<>("BinaryFormat", Codec.BOOLEAN), (o, i) -> o.binaryFormat = i, o -> o.binaryFormat, (o, p) -> o.binaryFormat = p.binaryFormat
+      )
+      .documentation(
+         "Controls whether chunks are written in the binary chunk format instead of BSON.\nChunks in either format are always readable, so existing worlds migrate as their chunks are saved."
+      )
+      .add()
+      .<Integer>appendInherited(
+         new KeyedCodec<>("GroupCommitMillis", Codec.INTEGER),
+         (o, i) -> o.groupCommitMillis = i,
+         o -> o.groupCommitMillis,
+         (o, p) -> o.groupCommitMillis = p.groupCommitMillis
+      )
+      .documentation(
+         "Batches region file writes for up to this many milliseconds and makes the whole batch durable with a single flush.\nSet to 0 to disable group commit and use FlushOnWrite instead."
+      )
+      .add()
+      .<Integer>appendInherited(
+         new KeyedCodec<>("GroupCommitBytes", Codec.INTEGER),
+         (o, i) -> o.groupCommitBytes = i,
+         o -> o.groupCommitBytes,
+         (o, p) -> o.groupCommitBytes = p.groupCommitBytes
+      )
+      .documentation("Commits a group early once this many compressed bytes are waiting in a region file.")
+      .add()
+      .<Boolean>appendInherited(new KeyedCodec<>("IntentLog", Codec.BOOLEAN), (o, i) -> o.intentLog = i, o -> o.intentLog, (o, p) -> o.intentLog = p.intentLog)
+      .documentation("Controls whether group commits write a small per-region intent log so that index updates are applied atomically after a crash.")
+      .add()
+      .<Double>appendInherited(
+         new KeyedCodec<>("CompactionThreshold", Codec.DOUBLE),
+         (o, i) -> o.compactionThreshold = i,
+         o -> o.compactionThreshold,
+         (o, p) -> o.compactionThreshold = p.compactionThreshold
+      )
+      .documentation(
+         "Region files whose ratio of free to allocated segments is at least this value are compacted in the background while the server is running.\nSet to 0 to disable online compaction."
+      )
+      .add()
+      .<Integer>appendInherited(
+         new KeyedCodec<>("CompactionMaxBlobs", Codec.INTEGER),
+         (o, i) -> o.compactionMaxBlobs = i,
+         o -> o.compactionMaxBlobs,
+         (o, p) -> o.compactionMaxBlobs = p.compactionMaxBlobs
+      )
+      .documentation("The maximum number of chunks relocated per region file in each background compaction pass.")
+      .add()
+      .<Boolean>appendInherited(
+         new KeyedCodec<>("CompressionDictionary", Codec.BOOLEAN),
+         (o, i) -> o.compressionDictionary = i,
+         o -> o.compressionDictionary,
+         (o, p) -> o.compressionDictionary = p.compressionDictionary
+      )
+      .documentation(
+         "Controls whether chunks are compressed with a zstd dictionary trained from this world's existing chunks.\nChunks written with a dictionary can only be read while the world's dictionaries folder is kept."
+      )
+      .add()
+      .<Integer>appendInherited(
+         new KeyedCodec<>("DictionarySize", Codec.INTEGER),
+         (o, i) -> o.dictionarySize = i,
+         o -> o.dictionarySize,
+         (o, p) -> o.dictionarySize = p.dictionarySize
+      )
+      .documentation("The size in bytes of a trained compression dictionary.")
+      .add()
+      .<Integer>appendInherited(
+         new KeyedCodec<>("MaxOpenFiles", Codec.INTEGER), (o, i) -> o.maxOpenFiles = i, o -> o.maxOpenFiles, (o, p) -> o.maxOpenFiles = p.maxOpenFiles
+      )
+      .documentation("The maximum number of region files kept open at once. The least recently used idle files are closed once this is exceeded.")
+      .add()
+      .<Integer>appendInherited(
+         new KeyedCodec<>("IdleTimeoutSeconds", Codec.INTEGER),
+         (o, i) -> o.idleTimeoutSeconds = i,
+         o -> o.idleTimeoutSeconds,
+         (o, p) -> o.idleTimeoutSeconds = p.idleTimeoutSeconds
+      )
+      .documentation("Region files that have not been used for this many seconds are closed. Set to 0 to keep idle files open.")
+      .add()
       .build();
    private boolean flushOnWrite = false;
+   private boolean binaryFormat = true;
+   private int groupCommitMillis = 0;
+   private int groupCommitBytes = 4194304;
+   private boolean intentLog = true;
+   private double compactionThreshold = 0.25;
+   private int compactionMaxBlobs = 64;
+   private boolean compressionDictionary = false;
+   private int dictionarySize = 112640;
+   private int maxOpenFiles = 512;
+   private int idleTimeoutSeconds = 300;
 
    @Nonnull
    @Override
    public IChunkLoader getLoader(@Nonnull Store<ChunkStore> store) {
-      return new IndexedStorageChunkStorageProvider.IndexedStorageChunkLoader(store, this.flushOnWrite);
+      store.getResource(IndexedStorageChunkStorageProvider.IndexedStorageCache.getResourceType())
+         .setGroupCommit(this.groupCommitMillis, this.groupCommitBytes, this.intentLog);
+      store.getResource(IndexedStorageChunkStorageProvider.IndexedStorageCache.getResourceType())
+         .setCompaction(this.compactionThreshold, this.compactionMaxBlobs);
+      store.getResource(IndexedStorageChunkStorageProvider.IndexedStorageCache.getResourceType())
+         .setCompressionDictionary(this.compressionDictionary, this.dictionarySize);
+      store.getResource(IndexedStorageChunkStorageProvider.IndexedStorageCache.getResourceType()).setFileLimits(this.maxOpenFiles, this.idleTimeoutSeconds);
+      return new IndexedStorageChunkStorageProvider.IndexedStorageChunkLoader(store, this.flushOnWrite, this.binaryFormat);
    }
 
    @Nonnull
    @Override
    public IChunkSaver getSaver(@Nonnull Store<ChunkStore> store) {
-      return new IndexedStorageChunkStorageProvider.IndexedStorageChunkSaver(store, this.flushOnWrite);
+      store.getResource(IndexedStorageChunkStorageProvider.IndexedStorageCache.getResourceType())
+         .setGroupCommit(this.groupCommitMillis, this.groupCommitBytes, this.intentLog);
+      store.getResource(IndexedStorageChunkStorageProvider.IndexedStorageCache.getResourceType())
+         .setCompaction(this.compactionThreshold, this.compactionMaxBlobs);
+      store.getResource(IndexedStorageChunkStorageProvider.IndexedStorageCache.getResourceType())
+         .setCompressionDictionary(this.compressionDictionary, this.dictionarySize);
+      store.getResource(IndexedStorageChunkStorageProvider.IndexedStorageCache.getResourceType()).setFileLimits(this.maxOpenFiles, this.idleTimeoutSeconds);
+      return new IndexedStorageChunkStorageProvider.IndexedStorageChunkSaver(store, this.flushOnWrite, this.binaryFormat);
    }
 
    @Nonnull
@@ -83,6 +201,11 @@ public class IndexedStorageChunkStorageProvider implements IChunkStorageProvider
       return regionX + "." + regionZ + ".region.bin";
    }
 
+   @Nonnull
+   private static String toSectionsFileName(int regionX, int regionZ) {
+      return regionX + "." + regionZ + ".sections.bin";
+   }
+
    private static long fromFileName(@Nonnull String fileName) {
       String[] split = fileName.split("\\.");
       if (split.length != 4) {
@@ -99,22 +222,47 @@ public class IndexedStorageChunkStorageProvider implements IChunkStorageProvider
    }
 
    public static class IndexedStorageCache implements Closeable, MetricProvider, Resource<ChunkStore> {
+      private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+      public static final long MAINTENANCE_INTERVAL_SECONDS = 60L;
+      public static final int DICTIONARY_SAMPLE_COUNT = 1024;
+      public static final int DICTIONARY_SAMPLES_PER_FILE = 64;
       @Nonnull
       public static final MetricsRegistry<IndexedStorageChunkStorageProvider.IndexedStorageCache> METRICS_REGISTRY = new MetricsRegistry<IndexedStorageChunkStorageProvider.IndexedStorageCache>()
          .register(
             "Files",
-            cache -> cache.cache
-               .long2ObjectEntrySet()
-               .stream()
-               .map(IndexedStorageChunkStorageProvider.IndexedStorageCache.CacheEntryMetricData::new)
-               .toArray(IndexedStorageChunkStorageProvider.IndexedStorageCache.CacheEntryMetricData[]::new),
+            IndexedStorageChunkStorageProvider.IndexedStorageCache::getFileMetricData,
             new ArrayCodec<>(
                IndexedStorageChunkStorageProvider.IndexedStorageCache.CacheEntryMetricData.CODEC,
                IndexedStorageChunkStorageProvider.IndexedStorageCache.CacheEntryMetricData[]::new
             )
-         );
+         )
+         .register("OpenFiles", IndexedStorageChunkStorageProvider.IndexedStorageCache::getOpenFileCount, Codec.INTEGER)
+         .register("Hits", cache -> cache.hits.sum(), Codec.LONG)
+         .register("Misses", cache -> cache.misses.sum(), Codec.LONG)
+         .register("HitRate", IndexedStorageChunkStorageProvider.IndexedStorageCache::getHitRate, Codec.DOUBLE)
+         .register("Evictions", cache -> cache.evictions.sum(), Codec.LONG);
       private final Long2ObjectConcurrentHashMap<IndexedStorageFile> cache = new Long2ObjectConcurrentHashMap<>(true, ChunkUtil.NOT_FOUND);
+      private final Long2ObjectConcurrentHashMap<IndexedStorageFile> sectionsCache = new Long2ObjectConcurrentHashMap<>(true, ChunkUtil.NOT_FOUND);
       private Path path;
+      private int groupCommitMillis;
+      private int groupCommitBytes;
+      private boolean intentLog;
+      private double compactionThreshold;
+      private int compactionMaxBlobs;
+      @Nullable
+      private ScheduledFuture<?> maintenanceTask;
+      @Nullable
+      private ZstdDictionaryStore dictionaries;
+      private boolean compressionDictionary;
+      private int dictionarySize;
+      private int maxOpenFiles = Integer.MAX_VALUE;
+      private long idleTimeoutNanos;
+      @Nonnull
+      private final LongAdder hits = new LongAdder();
+      @Nonnull
+      private final LongAdder misses = new LongAdder();
+      @Nonnull
+      private final LongAdder evictions = new LongAdder();
 
       public static ResourceType<ChunkStore, IndexedStorageChunkStorageProvider.IndexedStorageCache> getResourceType() {
          return Universe.get().getIndexedStorageCacheResourceType();
@@ -125,14 +273,92 @@ public class IndexedStorageChunkStorageProvider implements IChunkStorageProvider
          return this.cache;
       }
 
+      public void setGroupCommit(int groupCommitMillis, int groupCommitBytes, boolean intentLog) {
+         this.groupCommitMillis = groupCommitMillis;
+         this.groupCommitBytes = groupCommitBytes;
+         this.intentLog = intentLog;
+      }
+
+      public void setCompaction(double compactionThreshold, int compactionMaxBlobs) {
+         this.compactionThreshold = compactionThreshold;
+         this.compactionMaxBlobs = compactionMaxBlobs;
+      }
+
+      public void setCompressionDictionary(boolean compressionDictionary, int dictionarySize) {
+         this.compressionDictionary = compressionDictionary;
+         this.dictionarySize = dictionarySize;
+         if (this.dictionaries != null) {
+            this.dictionaries.setCompressWrites(compressionDictionary);
+         }
+      }
+
+      public void setFileLimits(int maxOpenFiles, int idleTimeoutSeconds) {
+         this.maxOpenFiles = maxOpenFiles > 0 ? maxOpenFiles : Integer.MAX_VALUE;
+         this.idleTimeoutNanos = TimeUnit.SECONDS.toNanos(Math.max(0, idleTimeoutSeconds));
+      }
+
+      public int getOpenFileCount() {
+         return this.cache.size() + this.sectionsCache.size();
+      }
+
+      @Nonnull
+      private IndexedStorageChunkStorageProvider.IndexedStorageCache.CacheEntryMetricData[] getFileMetricData() {
+         ObjectArrayList<IndexedStorageChunkStorageProvider.IndexedStorageCache.CacheEntryMetricData> files = new ObjectArrayList<>(this.cache.size());
+
+         for (Entry<IndexedStorageFile> entry : this.cache.long2ObjectEntrySet()) {
+            IndexedStorageFile file = (IndexedStorageFile)entry.getValue();
+            if (file.acquire(false)) {
+               try {
+                  files.add(new IndexedStorageChunkStorageProvider.IndexedStorageCache.CacheEntryMetricData(entry.getLongKey(), file));
+               } finally {
+                  file.release();
+               }
+            }
+         }
+
+         return files.toArray(IndexedStorageChunkStorageProvider.IndexedStorageCache.CacheEntryMetricData[]::new);
+      }
+
+      public double getHitRate() {
+         long hits = this.hits.sum();
+         long total = hits + this.misses.sum();
+         return total == 0L ? 0.0 : (double)hits / total;
+      }
+
+      @Nullable
+      public ZstdDictionaryStore getDictionaries() {
+         return this.dictionaries;
+      }
+
+      private void configure(@Nonnull IndexedStorageFile file, boolean flushOnWrite) throws IOException {
+         file.setDictionaries(this.dictionaries);
+         file.setFlushOnWrite(flushOnWrite && this.groupCommitMillis <= 0);
+         file.setGroupCommit(this.groupCommitMillis, this.groupCommitBytes, this.intentLog);
+      }
+
       @Override
       public void close() throws IOException {
-         IOException exception = null;
-         Iterator<IndexedStorageFile> iterator = this.cache.values().iterator();
+         this.stopMaintenance();
+         IOException exception = close(this.cache, null);
+         exception = close(this.sectionsCache, exception);
+         if (this.dictionaries != null) {
+            this.dictionaries.close();
+         }
+
+         if (exception != null) {
+            throw exception;
+         }
+      }
+
+      @Nullable
+      private static IOException close(@Nonnull Long2ObjectConcurrentHashMap<IndexedStorageFile> cache, @Nullable IOException exception) {
+         Iterator<IndexedStorageFile> iterator = cache.values().iterator();
 
          while (iterator.hasNext()) {
             try {
-               iterator.next().close();
+               IndexedStorageFile file = iterator.next();
+               file.retire();
+               file.close();
                iterator.remove();
             } catch (Exception var4) {
                if (exception == null) {
@@ -143,21 +369,107 @@ public class IndexedStorageChunkStorageProvider implements IChunkStorageProvider
             }
          }
 
-         if (exception != null) {
-            throw exception;
+         return exception;
+      }
+
+      @Nullable
+      private IndexedStorageFile acquire(
+         @Nonnull Long2ObjectConcurrentHashMap<IndexedStorageFile> cache,
+         long key,
+         @Nonnull Long2ObjectConcurrentHashMap.LongFunction<IndexedStorageFile> open
+      ) {
+         int attempts = 0;
+
+         while (true) {
+            IndexedStorageFile file = cache.get(key);
+            boolean opened = file == null;
+            if (opened) {
+               this.misses.increment();
+               file = cache.computeIfAbsent(key, open);
+               if (file == null) {
+                  return null;
+               }
+            } else {
+               this.hits.increment();
+            }
+
+            if (file.acquire()) {
+               if (opened) {
+                  this.evict(this.getOpenFileCount() - this.maxOpenFiles, 0L);
+               }
+
+               return file;
+            }
+
+            if (attempts++ < 64) {
+               Thread.onSpinWait();
+            } else {
+               LockSupport.parkNanos(50000L);
+            }
+         }
+      }
+
+      public int evict(int count, long idleNanos) {
+         if (count <= 0) {
+            return 0;
+         } else {
+            long now = System.nanoTime();
+            ObjectArrayList<IndexedStorageChunkStorageProvider.IndexedStorageCache.EvictionCandidate> candidates = new ObjectArrayList<>();
+            collectEvictionCandidates(this.cache, now, idleNanos, candidates);
+            collectEvictionCandidates(this.sectionsCache, now, idleNanos, candidates);
+            candidates.sort(Comparator.comparingLong(IndexedStorageChunkStorageProvider.IndexedStorageCache.EvictionCandidate::lastAccessNanos));
+            int evicted = 0;
+
+            for (int i = 0; i < candidates.size() && evicted < count; i++) {
+               IndexedStorageChunkStorageProvider.IndexedStorageCache.EvictionCandidate candidate = candidates.get(i);
+               IndexedStorageFile file = candidate.file();
+               if (file.tryRetire()) {
+                  try {
+                     file.close();
+                  } catch (Exception var14) {
+                     ((HytaleLogger.Api)LOGGER.at(Level.SEVERE).withCause(var14)).log("Failed to close evicted region file %s", file.getPath());
+                  } finally {
+                     candidate.cache().remove(candidate.key(), file);
+                  }
+
+                  this.evictions.increment();
+                  evicted++;
+               }
+            }
+
+            return evicted;
+         }
+      }
+
+      public int evictIdle() {
+         return this.idleTimeoutNanos > 0L ? this.evict(Integer.MAX_VALUE, this.idleTimeoutNanos) : 0;
+      }
+
+      private static void collectEvictionCandidates(
+         @Nonnull Long2ObjectConcurrentHashMap<IndexedStorageFile> cache,
+         long now,
+         long idleNanos,
+         @Nonnull List<IndexedStorageChunkStorageProvider.IndexedStorageCache.EvictionCandidate> candidates
+      ) {
+         for (Entry<IndexedStorageFile> entry : cache.long2ObjectEntrySet()) {
+            IndexedStorageFile file = (IndexedStorageFile)entry.getValue();
+            long lastAccessNanos = file.getLastAccessNanos();
+            if (file.getLeaseCount() == 0 && !file.isRetired() && now - lastAccessNanos >= idleNanos) {
+               candidates.add(new IndexedStorageChunkStorageProvider.IndexedStorageCache.EvictionCandidate(cache, entry.getLongKey(), file, lastAccessNanos));
+            }
          }
       }
 
       @Nullable
-      public IndexedStorageFile getOrTryOpen(int regionX, int regionZ, boolean flushOnWrite) {
-         return this.cache.computeIfAbsent(ChunkUtil.indexChunk(regionX, regionZ), k -> {
+      public IndexedStorageFile acquire(int regionX, int regionZ, boolean flushOnWrite) {
+         return this.acquire(this.cache, ChunkUtil.indexChunk(regionX, regionZ), k -> {
             Path regionFile = this.path.resolve(IndexedStorageChunkStorageProvider.toFileName(regionX, regionZ));
             if (!Files.exists(regionFile)) {
                return null;
             } else {
                try {
                   IndexedStorageFile open = IndexedStorageFile.open(regionFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
-                  open.setFlushOnWrite(flushOnWrite);
+                  this.configure(open, flushOnWrite);
                   return open;
                } catch (FileNotFoundException var8) {
                   return null;
@@ -169,8 +481,8 @@ public class IndexedStorageChunkStorageProvider implements IChunkStorageProvider
       }
 
       @Nonnull
-      public IndexedStorageFile getOrCreate(int regionX, int regionZ, boolean flushOnWrite) {
-         return this.cache.computeIfAbsent(ChunkUtil.indexChunk(regionX, regionZ), k -> {
+      public IndexedStorageFile acquireOrCreate(int regionX, int regionZ, boolean flushOnWrite) {
+         return this.acquire(this.cache, ChunkUtil.indexChunk(regionX, regionZ), k -> {
             try {
                if (!Files.exists(this.path)) {
                   try {
@@ -181,7 +493,55 @@ public class IndexedStorageChunkStorageProvider implements IChunkStorageProvider
 
                Path regionFile = this.path.resolve(IndexedStorageChunkStorageProvider.toFileName(regionX, regionZ));
                IndexedStorageFile open = IndexedStorageFile.open(regionFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
-               open.setFlushOnWrite(flushOnWrite);
+               this.configure(open, flushOnWrite);
+               return open;
+            } catch (IOException var9) {
+               throw SneakyThrow.sneakyThrow(var9);
+            }
+         });
+      }
+
+      @Nullable
+      public IndexedStorageFile acquireSections(int regionX, int regionZ, boolean flushOnWrite) {
+         return this.acquire(this.sectionsCache, ChunkUtil.indexChunk(regionX, regionZ), k -> {
+            Path sectionsFile = this.path.resolve(IndexedStorageChunkStorageProvider.toSectionsFileName(regionX, regionZ));
+            if (!Files.exists(sectionsFile)) {
+               return null;
+            } else {
+               try {
+                  IndexedStorageFile open = IndexedStorageFile.open(sectionsFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                  this.configure(open, flushOnWrite);
+                  return open;
+               } catch (FileNotFoundException var8) {
+                  return null;
+               } catch (IOException var9) {
+                  throw SneakyThrow.sneakyThrow(var9);
+               }
+            }
+         });
+      }
+
+      @Nonnull
+      public IndexedStorageFile acquireOrCreateSections(int regionX, int regionZ, boolean flushOnWrite) {
+         return this.acquire(this.sectionsCache, ChunkUtil.indexChunk(regionX, regionZ), k -> {
+            try {
+               if (!Files.exists(this.path)) {
+                  try {
+                     Files.createDirectory(this.path);
+                  } catch (FileAlreadyExistsException var8) {
+                  }
+               }
+
+               Path sectionsFile = this.path.resolve(IndexedStorageChunkStorageProvider.toSectionsFileName(regionX, regionZ));
+               IndexedStorageFile open = IndexedStorageFile.open(
+                  sectionsFile,
+                  IndexedStorageFile.DEFAULT_BLOB_COUNT * BinaryChunkCodec.EXTERNAL_SLOT_COUNT,
+                  IndexedStorageFile.DEFAULT_SEGMENT_SIZE,
+                  StandardOpenOption.CREATE,
+                  StandardOpenOption.READ,
+                  StandardOpenOption.WRITE
+               );
+               this.configure(open, flushOnWrite);
                return open;
             } catch (IOException var9) {
                throw SneakyThrow.sneakyThrow(var9);
@@ -208,9 +568,15 @@ public class IndexedStorageChunkStorageProvider implements IChunkStorageProvider
 
                      int regionX = ChunkUtil.xOfChunkIndex(regionIndex);
                      int regionZ = ChunkUtil.zOfChunkIndex(regionIndex);
-                     IndexedStorageFile regionFile = this.getOrTryOpen(regionX, regionZ, true);
+                     IndexedStorageFile regionFile = this.acquire(regionX, regionZ, true);
                      if (regionFile != null) {
-                        IntList blobIndexes = regionFile.keys();
+                        IntList blobIndexes;
+                        try {
+                           blobIndexes = regionFile.keys();
+                        } finally {
+                           regionFile.release();
+                        }
+
                         IntListIterator iterator = blobIndexes.iterator();
 
                         while (iterator.hasNext()) {
@@ -231,22 +597,120 @@ public class IndexedStorageChunkStorageProvider implements IChunkStorageProvider
       }
 
       public void flush() throws IOException {
-         IOException exception = null;
+         IOException exception = flush(this.cache, null);
+         exception = flush(this.sectionsCache, exception);
+         if (exception != null) {
+            throw exception;
+         }
+      }
 
-         for (IndexedStorageFile indexedStorageFile : this.cache.values()) {
-            try {
-               indexedStorageFile.force(false);
-            } catch (Exception var5) {
-               if (exception == null) {
-                  exception = new IOException("Failed to close one or more loaders!");
+      @Nullable
+      private static IOException flush(@Nonnull Long2ObjectConcurrentHashMap<IndexedStorageFile> cache, @Nullable IOException exception) {
+         for (IndexedStorageFile indexedStorageFile : cache.values()) {
+            if (indexedStorageFile.acquire()) {
+               try {
+                  indexedStorageFile.force(false);
+               } catch (Exception var5) {
+                  if (exception == null) {
+                     exception = new IOException("Failed to close one or more loaders!");
+                  }
+
+                  exception.addSuppressed(var5);
+               } finally {
+                  indexedStorageFile.release();
+               }
+            }
+         }
+
+         return exception;
+      }
+
+      public void startMaintenance() {
+         if (this.maintenanceTask == null) {
+            this.maintenanceTask = HytaleServer.SCHEDULED_EXECUTOR.scheduleWithFixedDelay(() -> {
+               StorageExecutor.WRITE.execute(this::evictIdle);
+               if (!StorageExecutor.WRITE.isBackedUp()) {
+                  if (this.dictionaries != null && this.dictionaries.needsTraining()) {
+                     StorageExecutor.WRITE.execute(this::trainDictionary);
+                  }
+
+                  if (this.compactionThreshold > 0.0) {
+                     StorageExecutor.WRITE.execute(this::compact);
+                  }
                }
+            }, MAINTENANCE_INTERVAL_SECONDS, MAINTENANCE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+         }
+      }
+
+      public void stopMaintenance() {
+         if (this.maintenanceTask != null) {
+            this.maintenanceTask.cancel(false);
+            this.maintenanceTask = null;
+         }
+      }
 
-               exception.addSuppressed(var5);
+      public void compact() {
+         this.compact(this.cache);
+         this.compact(this.sectionsCache);
+      }
+
+      private void compact(@Nonnull Long2ObjectConcurrentHashMap<IndexedStorageFile> cache) {
+         for (IndexedStorageFile indexedStorageFile : cache.values()) {
+            if (indexedStorageFile.acquire()) {
+               try {
+                  if (indexedStorageFile.fragmentationRatio() >= this.compactionThreshold) {
+                     long before = indexedStorageFile.size();
+                     int relocated = indexedStorageFile.compact(this.compactionMaxBlobs);
+                     LOGGER.at(Level.FINE)
+                        .log("Compacted %s, relocated %s blobs and shrunk it from %s to %s bytes", indexedStorageFile.getPath(), relocated, before, indexedStorageFile.size());
+                  }
+               } catch (Exception var7) {
+                  ((HytaleLogger.Api)LOGGER.at(Level.SEVERE).withCause(var7)).log("Failed to compact %s", indexedStorageFile.getPath());
+               } finally {
+                  indexedStorageFile.release();
+               }
             }
          }
+      }
 
-         if (exception != null) {
-            throw exception;
+      public void trainDictionary() {
+         ZstdDictionaryStore dictionaries = this.dictionaries;
+         if (dictionaries != null && dictionaries.needsTraining()) {
+            ObjectArrayList<byte[]> samples = new ObjectArrayList<>();
+            collectSamples(this.cache, samples);
+            collectSamples(this.sectionsCache, samples);
+            if (samples.size() >= ZstdDictionary.MIN_SAMPLES) {
+               try {
+                  dictionaries.add(ZstdDictionary.train(samples, this.dictionarySize));
+               } catch (Exception var4) {
+                  ((HytaleLogger.Api)LOGGER.at(Level.SEVERE).withCause(var4)).log("Failed to train zstd dictionary for %s", this.path);
+               }
+            }
+         }
+      }
+
+      private static void collectSamples(@Nonnull Long2ObjectConcurrentHashMap<IndexedStorageFile> cache, @Nonnull List<byte[]> samples) {
+         for (IndexedStorageFile indexedStorageFile : cache.values()) {
+            if (indexedStorageFile.acquire()) {
+               try {
+                  IntList blobIndexes = indexedStorageFile.keys();
+
+                  for (int i = 0; i < blobIndexes.size() && i < DICTIONARY_SAMPLES_PER_FILE && samples.size() < DICTIONARY_SAMPLE_COUNT; i++) {
+                     try {
+                        ByteBuffer blob = indexedStorageFile.readBlob(blobIndexes.getInt(i));
+                        if (blob != null) {
+                           byte[] bytes = new byte[blob.remaining()];
+                           blob.get(bytes);
+                           samples.add(bytes);
+                        }
+                     } catch (IOException var10) {
+                        ((HytaleLogger.Api)LOGGER.at(Level.WARNING).withCause(var10)).log("Failed to read dictionary sample from %s", indexedStorageFile.getPath());
+                     }
+                  }
+               } finally {
+                  indexedStorageFile.release();
+               }
+            }
          }
       }
 
@@ -262,6 +726,11 @@ public class IndexedStorageChunkStorageProvider implements IChunkStorageProvider
          return new IndexedStorageChunkStorageProvider.IndexedStorageCache();
       }
 
+      private record EvictionCandidate(
+         @Nonnull Long2ObjectConcurrentHashMap<IndexedStorageFile> cache, long key, @Nonnull IndexedStorageFile file, long lastAccessNanos
+      ) {
+      }
+
       private static class CacheEntryMetricData {
          @Nonnull
          private static final Codec<IndexedStorageChunkStorageProvider.IndexedStorageCache.CacheEntryMetricData> CODEC = BuilderCodec.builder(
@@ -270,18 +739,18 @@ public class IndexedStorageChunkStorageProvider implements IChunkStorageProvider
             )
             .append(new KeyedCodec<>("Key", Codec.LONG), (entry, o) -> entry.key = o, entry -> entry.key)
             .add()
-            .append(new KeyedCodec<>("File", IndexedStorageFile.METRICS_REGISTRY), (entry, o) -> entry.value = o, entry -> entry.value)
+            .append(new KeyedCodec<>("File", MetricResults.CODEC), (entry, o) -> entry.value = o, entry -> entry.value)
             .add()
             .build();
          private long key;
-         private IndexedStorageFile value;
+         private MetricResults value;
 
          public CacheEntryMetricData() {
          }
 
-         public CacheEntryMetricData(@Nonnull Entry<IndexedStorageFile> entry) {
-            this.key = entry.getLongKey();
-            this.value = (IndexedStorageFile)entry.getValue();
+         public CacheEntryMetricData(long key, @Nonnull IndexedStorageFile file) {
+            this.key = key;
+            this.value = IndexedStorageFile.METRICS_REGISTRY.toMetricResults(file);
          }
       }
    }
@@ -296,20 +765,40 @@ public class IndexedStorageChunkStorageProvider implements IChunkStorageProvider
       @Override
       public void onSystemAddedToStore(@Nonnull Store<ChunkStore> store) {
          World world = store.getExternalData().getWorld();
-         store.getResource(IndexedStorageChunkStorageProvider.IndexedStorageCache.getResourceType()).path = world.getSavePath().resolve("chunks");
+         IndexedStorageChunkStorageProvider.IndexedStorageCache cache = store.getResource(
+            IndexedStorageChunkStorageProvider.IndexedStorageCache.getResourceType()
+         );
+         cache.path = world.getSavePath().resolve("chunks");
+         cache.dictionaries = new ZstdDictionaryStore(cache.path.resolve("dictionaries"));
+         cache.dictionaries.setCompressWrites(cache.compressionDictionary);
+
+         try {
+            cache.dictionaries.load();
+         } catch (IOException var4) {
+            throw SneakyThrow.sneakyThrow(var4);
+         }
+
+         cache.startMaintenance();
       }
 
       @Override
       public void onSystemRemovedFromStore(@Nonnull Store<ChunkStore> store) {
+         store.getResource(IndexedStorageChunkStorageProvider.IndexedStorageCache.getResourceType()).stopMaintenance();
       }
    }
 
    public static class IndexedStorageChunkLoader extends BufferChunkLoader implements MetricProvider {
       private final boolean flushOnWrite;
+      private final boolean binaryFormat;
 
       public IndexedStorageChunkLoader(@Nonnull Store<ChunkStore> store, boolean flushOnWrite) {
+         this(store, flushOnWrite, false);
+      }
+
+      public IndexedStorageChunkLoader(@Nonnull Store<ChunkStore> store, boolean flushOnWrite, boolean binaryFormat) {
          super(store);
          this.flushOnWrite = flushOnWrite;
+         this.binaryFormat = binaryFormat;
       }
 
       @Override
@@ -328,9 +817,60 @@ public class IndexedStorageChunkStorageProvider implements IChunkStorageProvider
          IndexedStorageChunkStorageProvider.IndexedStorageCache indexedStorageCache = this.getStore()
             .getResource(IndexedStorageChunkStorageProvider.IndexedStorageCache.getResourceType());
          return CompletableFuture.supplyAsync(SneakyThrow.sneakySupplier(() -> {
-            IndexedStorageFile chunks = indexedStorageCache.getOrTryOpen(regionX, regionZ, this.flushOnWrite);
-            return chunks == null ? null : chunks.readBlob(index);
-         }));
+            IndexedStorageFile chunks = indexedStorageCache.acquire(regionX, regionZ, this.flushOnWrite);
+            if (chunks == null) {
+               return null;
+            } else {
+               ByteBuffer var8;
+               try {
+                  var8 = chunks.readBlob(index);
+               } finally {
+                  chunks.release();
+               }
+
+               return var8;
+            }
+         }), StorageExecutor.READ);
+      }
+
+      @Nonnull
+      @Override
+      protected Holder<ChunkStore> deserializeHolder(int x, int z, @Nonnull ByteBuffer buffer) {
+         if (BinaryChunkCodec.isBinary(buffer) && BinaryChunkCodec.hasExternalSections(buffer)) {
+            int regionX = x >> 5;
+            int regionZ = z >> 5;
+            int baseIndex = ChunkUtil.indexColumn(x & 31, z & 31) * BinaryChunkCodec.EXTERNAL_SLOT_COUNT;
+            IndexedStorageFile sections = this.getStore()
+               .getResource(IndexedStorageChunkStorageProvider.IndexedStorageCache.getResourceType())
+               .acquireSections(regionX, regionZ, this.flushOnWrite);
+
+            Holder var8;
+            try {
+               var8 = BinaryChunkCodec.decode(buffer, slot -> {
+                  try {
+                     return sections == null ? null : sections.readBlob(baseIndex + slot);
+                  } catch (IOException var7) {
+                     throw SneakyThrow.sneakyThrow(var7);
+                  }
+               });
+            } finally {
+               if (sections != null) {
+                  sections.release();
+               }
+            }
+
+            return var8;
+         } else {
+            Holder<ChunkStore> holder = super.deserializeHolder(x, z, buffer);
+            if (this.binaryFormat) {
+               BlockComponentChunk blockComponentChunk = holder.getComponent(BlockComponentChunk.getComponentType());
+               if (blockComponentChunk != null) {
+                  blockComponentChunk.markNeedsSaving();
+               }
+            }
+
+            return holder;
+         }
       }
 
       @Nonnull
@@ -350,10 +890,88 @@ public class IndexedStorageChunkStorageProvider implements IChunkStorageProvider
 
    public static class IndexedStorageChunkSaver extends BufferChunkSaver implements MetricProvider {
       private final boolean flushOnWrite;
+      private final boolean binaryFormat;
 
       protected IndexedStorageChunkSaver(@Nonnull Store<ChunkStore> store, boolean flushOnWrite) {
+         this(store, flushOnWrite, false);
+      }
+
+      protected IndexedStorageChunkSaver(@Nonnull Store<ChunkStore> store, boolean flushOnWrite, boolean binaryFormat) {
          super(store);
          this.flushOnWrite = flushOnWrite;
+         this.binaryFormat = binaryFormat;
+      }
+
+      @Override
+      public boolean supportsPartialSaves() {
+         return this.binaryFormat;
+      }
+
+      @Nonnull
+      @Override
+      public CompletableFuture<Void> saveHolder(int x, int z, @Nonnull Holder<ChunkStore> holder) {
+         return this.binaryFormat ? this.saveSplitHolder(x, z, holder, false) : super.saveHolder(x, z, holder);
+      }
+
+      @Nonnull
+      @Override
+      public CompletableFuture<Void> savePartialHolder(int x, int z, @Nonnull Holder<ChunkStore> holder) {
+         return this.binaryFormat ? this.saveSplitHolder(x, z, holder, true) : super.savePartialHolder(x, z, holder);
+      }
+
+      @Nonnull
+      private CompletableFuture<Void> saveSplitHolder(int x, int z, @Nonnull Holder<ChunkStore> holder, boolean partial) {
+         ChunkColumn chunkColumn = holder.getComponent(ChunkColumn.getComponentType());
+         Holder<ChunkStore>[] sectionHolders = chunkColumn != null ? chunkColumn.copySerializableSectionHolders() : new Holder[0];
+         if (sectionHolders.length > BinaryChunkCodec.BLOCK_COMPONENTS_SLOT) {
+            throw new IllegalArgumentException("Chunk column has too many sections to store externally: " + sectionHolders.length);
+         } else {
+            ByteBuffer[] sectionBuffers = new ByteBuffer[BinaryChunkCodec.EXTERNAL_SLOT_COUNT];
+
+            for (int i = 0; i < sectionHolders.length; i++) {
+               if (sectionHolders[i] != null) {
+                  sectionBuffers[i] = BinaryChunkCodec.encode(sectionHolders[i]);
+               }
+            }
+
+            BlockComponentChunk blockComponentChunk = holder.getComponent(BlockComponentChunk.getComponentType());
+            if (blockComponentChunk != null) {
+               Holder<ChunkStore> blockComponentHolder = ChunkStore.REGISTRY.newHolder();
+               blockComponentHolder.addComponent(BlockComponentChunk.getComponentType(), blockComponentChunk);
+               sectionBuffers[BinaryChunkCodec.BLOCK_COMPONENTS_SLOT] = BinaryChunkCodec.encode(blockComponentHolder);
+            }
+
+            ByteBuffer buffer = BinaryChunkCodec.encode(holder, true);
+            int regionX = x >> 5;
+            int regionZ = z >> 5;
+            int index = ChunkUtil.indexColumn(x & 31, z & 31);
+            IndexedStorageChunkStorageProvider.IndexedStorageCache indexedStorageCache = this.getStore()
+               .getResource(IndexedStorageChunkStorageProvider.IndexedStorageCache.getResourceType());
+            return CompletableFuture.runAsync(SneakyThrow.sneakyRunnable(() -> {
+               IndexedStorageFile sections = indexedStorageCache.acquireOrCreateSections(regionX, regionZ, this.flushOnWrite);
+               int baseIndex = index * BinaryChunkCodec.EXTERNAL_SLOT_COUNT;
+
+               try {
+                  for (int i = 0; i < sectionBuffers.length; i++) {
+                     if (sectionBuffers[i] != null) {
+                        sections.writeBlob(baseIndex + i, sectionBuffers[i]);
+                     } else if (!partial) {
+                        sections.removeBlob(baseIndex + i);
+                     }
+                  }
+               } finally {
+                  sections.release();
+               }
+
+               IndexedStorageFile chunks = indexedStorageCache.acquireOrCreate(regionX, regionZ, this.flushOnWrite);
+
+               try {
+                  chunks.writeBlob(index, buffer);
+               } finally {
+                  chunks.release();
+               }
+            }), StorageExecutor.WRITE);
+         }
       }
 
       @Override
@@ -374,9 +992,14 @@ public class IndexedStorageChunkStorageProvider implements IChunkStorageProvider
          IndexedStorageChunkStorageProvider.IndexedStorageCache indexedStorageCache = this.getStore()
             .getResource(IndexedStorageChunkStorageProvider.IndexedStorageCache.getResourceType());
          return CompletableFuture.runAsync(SneakyThrow.sneakyRunnable(() -> {
-            IndexedStorageFile chunks = indexedStorageCache.getOrCreate(regionX, regionZ, this.flushOnWrite);
-            chunks.writeBlob(index, buffer);
-         }));
+            IndexedStorageFile chunks = indexedStorageCache.acquireOrCreate(regionX, regionZ, this.flushOnWrite);
+
+            try {
+               chunks.writeBlob(index, buffer);
+            } finally {
+               chunks.release();
+            }
+         }), StorageExecutor.WRITE);
       }
 
       @Nonnull
@@ -390,11 +1013,28 @@ public class IndexedStorageChunkStorageProvider implements IChunkStorageProvider
          IndexedStorageChunkStorageProvider.IndexedStorageCache indexedStorageCache = this.getStore()
             .getResource(IndexedStorageChunkStorageProvider.IndexedStorageCache.getResourceType());
          return CompletableFuture.runAsync(SneakyThrow.sneakyRunnable(() -> {
-            IndexedStorageFile chunks = indexedStorageCache.getOrTryOpen(regionX, regionZ, this.flushOnWrite);
+            IndexedStorageFile chunks = indexedStorageCache.acquire(regionX, regionZ, this.flushOnWrite);
             if (chunks != null) {
-               chunks.removeBlob(index);
+               try {
+                  chunks.removeBlob(index);
+               } finally {
+                  chunks.release();
+               }
+            }
+
+            IndexedStorageFile sections = indexedStorageCache.acquireSections(regionX, regionZ, this.flushOnWrite);
+            if (sections != null) {
+               int baseIndex = index * BinaryChunkCodec.EXTERNAL_SLOT_COUNT;
+
+               try {
+                  for (int i = 0; i < BinaryChunkCodec.EXTERNAL_SLOT_COUNT; i++) {
+                     sections.removeBlob(baseIndex + i);
+                  }
+               } finally {
+                  sections.release();
+               }
             }
-         }));
+         }), StorageExecutor.WRITE);
       }
 
       @Nonnull
@@ -0,0 +1,207 @@
+package com.hypixel.hytale.server.core.universe.world.worldgen;
+
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.metrics.MetricProvider;
+import com.hypixel.hytale.metrics.MetricResults;
+import com.hypixel.hytale.metrics.MetricsRegistry;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongPredicate;
+import java.util.function.LongToIntFunction;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+public class ChunkGenerationQueue implements MetricProvider {
+   public static final MetricsRegistry<ChunkGenerationQueue> METRICS_REGISTRY = new MetricsRegistry<ChunkGenerationQueue>()
+      .register("QueueLength", ChunkGenerationQueue::getQueueLength, Codec.INTEGER)
+      .register("NearQueueLength", queue -> queue.getQueueLength(0), Codec.INTEGER)
+      .register("HotQueueLength", queue -> queue.getQueueLength(1), Codec.INTEGER)
+      .register("VisibleQueueLength", queue -> queue.getQueueLength(2), Codec.INTEGER)
+      .register("BackgroundQueueLength", queue -> queue.getQueueLength(3), Codec.INTEGER)
+      .register("Submitted", queue -> queue.submitted.sum(), Codec.LONG)
+      .register("Dropped", queue -> queue.dropped.sum(), Codec.LONG)
+      .register("Completed", queue -> queue.completed.sum(), Codec.LONG);
+   public static final long REPRIORITIZE_INTERVAL_NANOS = 500000000L;
+   public static final int NO_PRIORITY = Integer.MAX_VALUE;
+   private static final int[] PRIORITY_BUCKETS = new int[]{4, 64, 1024, Integer.MAX_VALUE};
+   @Nonnull
+   private final Executor executor;
+   private final PriorityQueue<ChunkGenerationQueue.QueueEntry<?>> queue = new PriorityQueue<>();
+   private final List<ChunkGenerationQueue.QueueEntry<?>> reprioritized = new ObjectArrayList();
+   private final LongAdder submitted = new LongAdder();
+   private final LongAdder dropped = new LongAdder();
+   private final LongAdder completed = new LongAdder();
+   private long lastPrioritizeNanos;
+   private long sequence;
+
+   public ChunkGenerationQueue(@Nonnull Executor executor) {
+      this.executor = executor;
+   }
+
+   @Nonnull
+   public <T> CompletableFuture<T> submit(
+      long index, @Nullable LongPredicate stillNeeded, @Nullable LongToIntFunction priority, @Nonnull Supplier<T> supplier
+   ) {
+      ChunkGenerationQueue.QueueEntry<T> entry;
+      synchronized (this.queue) {
+         entry = new ChunkGenerationQueue.QueueEntry<>(index, stillNeeded, priority, supplier, this.sequence++);
+         entry.priority = entry.getPriority();
+         this.queue.add(entry);
+      }
+
+      this.submitted.increment();
+
+      try {
+         this.executor.execute(this::runNext);
+      } catch (RejectedExecutionException var9) {
+         synchronized (this.queue) {
+            this.queue.remove(entry);
+         }
+
+         throw var9;
+      }
+
+      return entry.future;
+   }
+
+   private void runNext() {
+      ChunkGenerationQueue.QueueEntry<?> entry = this.poll();
+      if (entry != null) {
+         entry.run();
+         this.completed.increment();
+      }
+   }
+
+   @Nullable
+   private ChunkGenerationQueue.QueueEntry<?> poll() {
+      synchronized (this.queue) {
+         long now = System.nanoTime();
+         if (now - this.lastPrioritizeNanos >= REPRIORITIZE_INTERVAL_NANOS) {
+            this.lastPrioritizeNanos = now;
+            this.reprioritize();
+         }
+
+         while (!this.queue.isEmpty()) {
+            ChunkGenerationQueue.QueueEntry<?> entry = this.queue.poll();
+            if (entry.isStillNeeded()) {
+               return entry;
+            }
+
+            entry.future.complete(null);
+            this.dropped.increment();
+         }
+
+         return null;
+      }
+   }
+
+   private void reprioritize() {
+      if (!this.queue.isEmpty()) {
+         for (ChunkGenerationQueue.QueueEntry<?> entry : this.queue) {
+            if (entry.isStillNeeded()) {
+               entry.priority = entry.getPriority();
+               this.reprioritized.add(entry);
+            } else {
+               entry.future.complete(null);
+               this.dropped.increment();
+            }
+         }
+
+         this.queue.clear();
+         this.queue.addAll(this.reprioritized);
+         this.reprioritized.clear();
+      }
+   }
+
+   public int getQueueLength() {
+      synchronized (this.queue) {
+         return this.queue.size();
+      }
+   }
+
+   public int getQueueLength(int bucket) {
+      int min = bucket == 0 ? Integer.MIN_VALUE : PRIORITY_BUCKETS[bucket - 1];
+      int max = PRIORITY_BUCKETS[bucket];
+      int count = 0;
+      synchronized (this.queue) {
+         for (ChunkGenerationQueue.QueueEntry<?> entry : this.queue) {
+            if (entry.priority >= min && (entry.priority < max || max == Integer.MAX_VALUE)) {
+               count++;
+            }
+         }
+
+         return count;
+      }
+   }
+
+   @Nonnull
+   @Override
+   public MetricResults toMetricResults() {
+      return METRICS_REGISTRY.toMetricResults(this);
+   }
+
+   @Nonnull
+   @Override
+   public String toString() {
+      return "ChunkGenerationQueue{queueLength="
+         + this.getQueueLength()
+         + ", submitted="
+         + this.submitted.sum()
+         + ", dropped="
+         + this.dropped.sum()
+         + ", completed="
+         + this.completed.sum()
+         + "}";
+   }
+
+   private static class QueueEntry<T> implements Comparable<ChunkGenerationQueue.QueueEntry<?>> {
+      private final long index;
+      @Nullable
+      private final LongPredicate stillNeeded;
+      @Nullable
+      private final LongToIntFunction priorityFunction;
+      @Nonnull
+      private final Supplier<T> supplier;
+      private final long sequence;
+      @Nonnull
+      private final CompletableFuture<T> future = new CompletableFuture<>();
+      private int priority;
+
+      private QueueEntry(
+         long index, @Nullable LongPredicate stillNeeded, @Nullable LongToIntFunction priorityFunction, @Nonnull Supplier<T> supplier, long sequence
+      ) {
+         this.index = index;
+         this.stillNeeded = stillNeeded;
+         this.priorityFunction = priorityFunction;
+         this.supplier = supplier;
+         this.sequence = sequence;
+      }
+
+      private boolean isStillNeeded() {
+         return this.stillNeeded == null || this.stillNeeded.test(this.index);
+      }
+
+      private int getPriority() {
+         return this.priorityFunction == null ? NO_PRIORITY : this.priorityFunction.applyAsInt(this.index);
+      }
+
+      private void run() {
+         try {
+            this.future.complete(this.supplier.get());
+         } catch (Throwable var2) {
+            this.future.completeExceptionally(var2);
+         }
+      }
+
+      public int compareTo(@Nonnull ChunkGenerationQueue.QueueEntry<?> o) {
+         int compare = Integer.compare(this.priority, o.priority);
+         return compare != 0 ? compare : Long.compare(this.sequence, o.sequence);
+      }
+   }
+}
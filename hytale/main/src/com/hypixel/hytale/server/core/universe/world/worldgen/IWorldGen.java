@@ -6,6 +6,7 @@ import com.hypixel.hytale.server.core.universe.world.spawn.ISpawnProvider;
 import com.hypixel.hytale.server.core.universe.world.spawn.IndividualSpawnProvider;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.LongPredicate;
+import java.util.function.LongToIntFunction;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -15,6 +16,12 @@ public interface IWorldGen {
 
    CompletableFuture<GeneratedChunk> generate(int var1, long var2, int var4, int var5, LongPredicate var6);
 
+   default CompletableFuture<GeneratedChunk> generate(
+      int seed, long index, int x, int z, @Nullable LongPredicate stillNeeded, @Nullable LongToIntFunction priority
+   ) {
+      return this.generate(seed, index, x, z, stillNeeded);
+   }
+
    @Deprecated
    Transform[] getSpawnPoints(int var1);
 
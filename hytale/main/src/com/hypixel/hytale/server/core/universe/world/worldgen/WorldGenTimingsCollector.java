@@ -6,6 +6,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicLongArray;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class WorldGenTimingsCollector {
    public static final MetricsRegistry<WorldGenTimingsCollector> METRICS_REGISTRY = new MetricsRegistry<WorldGenTimingsCollector>()
@@ -17,7 +18,8 @@ public class WorldGenTimingsCollector {
       .register("CaveTime", worldGenTimingsCollector -> worldGenTimingsCollector.caveGeneration(), Codec.DOUBLE)
       .register("PrefabTime", worldGenTimingsCollector -> worldGenTimingsCollector.prefabGeneration(), Codec.DOUBLE)
       .register("QueueLength", WorldGenTimingsCollector::getQueueLength, Codec.INTEGER)
-      .register("GeneratingCount", WorldGenTimingsCollector::getGeneratingCount, Codec.INTEGER);
+      .register("GeneratingCount", WorldGenTimingsCollector::getGeneratingCount, Codec.INTEGER)
+      .register("GenerationQueue", WorldGenTimingsCollector::getGenerationQueue);
    private static final double NANOS_TO_SECONDS = 1.0E-9;
    private static final int WARMUP = 100;
    private static final double WARMUP_VALUE = Double.NEGATIVE_INFINITY;
@@ -31,9 +33,21 @@ public class WorldGenTimingsCollector {
    private final AtomicLongArray times = new AtomicLongArray(6);
    private final AtomicLongArray counts = new AtomicLongArray(6);
    private final ThreadPoolExecutor threadPoolExecutor;
+   @Nullable
+   private final ChunkGenerationQueue generationQueue;
 
    public WorldGenTimingsCollector(ThreadPoolExecutor threadPoolExecutor) {
+      this(threadPoolExecutor, null);
+   }
+
+   public WorldGenTimingsCollector(ThreadPoolExecutor threadPoolExecutor, @Nullable ChunkGenerationQueue generationQueue) {
       this.threadPoolExecutor = threadPoolExecutor;
+      this.generationQueue = generationQueue;
+   }
+
+   @Nullable
+   public ChunkGenerationQueue getGenerationQueue() {
+      return this.generationQueue;
    }
 
    public double reportChunk(long nanos) {
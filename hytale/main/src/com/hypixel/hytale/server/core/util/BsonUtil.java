@@ -9,6 +9,7 @@ import com.hypixel.hytale.common.util.ExceptionUtil;
 import com.hypixel.hytale.common.util.PathUtil;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.server.core.util.io.ByteBufUtil;
+import com.hypixel.hytale.server.core.util.io.StorageExecutor;
 import com.hypixel.hytale.sneakythrow.SneakyThrow;
 import io.netty.buffer.ByteBuf;
 import java.io.BufferedWriter;
@@ -116,7 +117,7 @@ public class BsonUtil {
          }
 
          bob.close();
-         return CompletableFuture.runAsync(SneakyThrow.sneakyRunnable(() -> Files.write(file, bytes)));
+         return CompletableFuture.runAsync(SneakyThrow.sneakyRunnable(() -> Files.write(file, bytes)), StorageExecutor.WRITE);
       } catch (IOException var8) {
          return CompletableFuture.failedFuture(var8);
       }
@@ -141,7 +142,7 @@ public class BsonUtil {
          }
 
          String json = toJson(document);
-         return CompletableFuture.runAsync(SneakyThrow.sneakyRunnable(() -> Files.writeString(file, json)));
+         return CompletableFuture.runAsync(SneakyThrow.sneakyRunnable(() -> Files.writeString(file, json)), StorageExecutor.WRITE);
       } catch (IOException var5) {
          return CompletableFuture.failedFuture(var5);
       }
@@ -169,7 +170,7 @@ public class BsonUtil {
          LOGGER.at(Level.WARNING).log("Error loading file %s, file was found to be entirely empty", file);
          return backup ? readDocumentBak(file) : CompletableFuture.completedFuture(null);
       } else {
-         CompletableFuture<BsonDocument> future = CompletableFuture.supplyAsync(SneakyThrow.sneakySupplier(() -> Files.readString(file)))
+         CompletableFuture<BsonDocument> future = CompletableFuture.supplyAsync(SneakyThrow.sneakySupplier(() -> Files.readString(file)), StorageExecutor.READ)
             .thenApply(BsonDocument::parse);
          return backup ? future.exceptionallyCompose(t -> readDocumentBak(file)) : future;
       }
@@ -215,7 +216,7 @@ public class BsonUtil {
          return CompletableFuture.completedFuture(null);
       } else {
          LOGGER.at(Level.WARNING).log("Loading %s backup file for %s!", file, fileOrig);
-         return CompletableFuture.supplyAsync(SneakyThrow.sneakySupplier(() -> Files.readString(file))).thenApply(BsonDocument::parse);
+         return CompletableFuture.supplyAsync(SneakyThrow.sneakySupplier(() -> Files.readString(file)), StorageExecutor.READ).thenApply(BsonDocument::parse);
       }
    }
 
@@ -660,20 +660,28 @@ public class DumpUtil {
                         long key = entry.getLongKey();
                         writer.println("\t\t" + ChunkUtil.xOfChunkIndex(key) + ", " + ChunkUtil.zOfChunkIndex(key));
                         IndexedStorageFile storageFile = (IndexedStorageFile)entry.getValue();
+                        if (!storageFile.acquire(false)) {
+                           writer.println("\t\t- Closed");
+                           continue;
+                        }
 
                         try {
-                           writer.println("\t\t- Size: " + FormatUtil.bytesToString(storageFile.size()));
-                        } catch (IOException var40) {
-                           writer.println("\t\t- Size: ERROR: " + var40.getMessage());
-                        }
+                           try {
+                              writer.println("\t\t- Size: " + FormatUtil.bytesToString(storageFile.size()));
+                           } catch (IOException var40) {
+                              writer.println("\t\t- Size: ERROR: " + var40.getMessage());
+                           }
 
-                        writer.println("\t\t- Blob Count: " + storageFile.keys().size());
-                        int segmentSize = storageFile.segmentSize();
-                        int segmentCount = storageFile.segmentCount();
-                        writer.println("\t\t- Segment Size: " + segmentSize);
-                        writer.println("\t\t- Segment Count: " + segmentCount);
-                        writer.println("\t\t- Segment Used %: " + (double)(segmentCount * 100) / segmentSize + "%");
-                        writer.println("\t\t- " + storageFile);
+                           writer.println("\t\t- Blob Count: " + storageFile.keys().size());
+                           int segmentSize = storageFile.segmentSize();
+                           int segmentCount = storageFile.segmentCount();
+                           writer.println("\t\t- Segment Size: " + segmentSize);
+                           writer.println("\t\t- Segment Count: " + segmentCount);
+                           writer.println("\t\t- Segment Used %: " + (double)(segmentCount * 100) / segmentSize + "%");
+                           writer.println("\t\t- " + storageFile);
+                        } finally {
+                           storageFile.release();
+                        }
                      }
                   }
                }
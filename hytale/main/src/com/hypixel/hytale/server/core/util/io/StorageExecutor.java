@@ -0,0 +1,120 @@
+package com.hypixel.hytale.server.core.util.io;
+
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.metrics.MetricProvider;
+import com.hypixel.hytale.metrics.MetricResults;
+import com.hypixel.hytale.metrics.MetricsRegistry;
+import com.hypixel.hytale.server.core.util.concurrent.ThreadUtil;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+
+public class StorageExecutor implements Executor, MetricProvider {
+   public static final int READ_THREADS = Integer.getInteger("hytale.storage.readThreads", Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+   public static final int WRITE_THREADS = Integer.getInteger("hytale.storage.writeThreads", 2);
+   public static final int BACKPRESSURE_QUEUE_DEPTH = Integer.getInteger("hytale.storage.backpressureQueueDepth", 256);
+   @Nonnull
+   public static final MetricsRegistry<StorageExecutor> METRICS_REGISTRY = new MetricsRegistry<StorageExecutor>()
+      .register("Threads", StorageExecutor::getThreads, Codec.INTEGER)
+      .register("ActiveThreads", StorageExecutor::getActiveThreads, Codec.INTEGER)
+      .register("QueueDepth", StorageExecutor::getQueueDepth, Codec.INTEGER)
+      .register("BackedUp", StorageExecutor::isBackedUp, Codec.BOOLEAN)
+      .register("Completed", StorageExecutor::getCompleted, Codec.LONG)
+      .register("AverageQueueNanos", StorageExecutor::getAverageQueueNanos, Codec.LONG)
+      .register("AverageRunNanos", StorageExecutor::getAverageRunNanos, Codec.LONG)
+      .register("MaxRunNanos", StorageExecutor::getMaxRunNanos, Codec.LONG);
+   @Nonnull
+   public static final StorageExecutor READ = new StorageExecutor("Storage Read", READ_THREADS, BACKPRESSURE_QUEUE_DEPTH);
+   @Nonnull
+   public static final StorageExecutor WRITE = new StorageExecutor("Storage Write", WRITE_THREADS, BACKPRESSURE_QUEUE_DEPTH);
+   @Nonnull
+   public static final MetricsRegistry<Void> LANES_METRICS_REGISTRY = new MetricsRegistry<Void>()
+      .register("Read", v -> READ, METRICS_REGISTRY)
+      .register("Write", v -> WRITE, METRICS_REGISTRY);
+   @Nonnull
+   private final ThreadPoolExecutor executor;
+   private final int threads;
+   private final int backpressureQueueDepth;
+   @Nonnull
+   private final LongAdder completed = new LongAdder();
+   @Nonnull
+   private final LongAdder queueNanos = new LongAdder();
+   @Nonnull
+   private final LongAdder runNanos = new LongAdder();
+   @Nonnull
+   private final AtomicLong maxRunNanos = new AtomicLong();
+
+   public StorageExecutor(@Nonnull String name, int threads, int backpressureQueueDepth) {
+      this.threads = threads;
+      this.backpressureQueueDepth = backpressureQueueDepth;
+      this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), ThreadUtil.daemonCounted(name + " - %d"));
+      this.executor.allowCoreThreadTimeOut(true);
+   }
+
+   @Override
+   public void execute(@Nonnull Runnable command) {
+      long queuedAt = System.nanoTime();
+      this.executor.execute(() -> {
+         long startedAt = System.nanoTime();
+
+         try {
+            command.run();
+         } finally {
+            long finishedAt = System.nanoTime();
+            long runTime = finishedAt - startedAt;
+            this.queueNanos.add(startedAt - queuedAt);
+            this.runNanos.add(runTime);
+            this.maxRunNanos.accumulateAndGet(runTime, Math::max);
+            this.completed.increment();
+         }
+      });
+   }
+
+   public int getThreads() {
+      return this.threads;
+   }
+
+   public int getActiveThreads() {
+      return this.executor.getActiveCount();
+   }
+
+   public int getQueueDepth() {
+      return this.executor.getQueue().size();
+   }
+
+   public boolean isBackedUp() {
+      return this.getQueueDepth() >= this.backpressureQueueDepth;
+   }
+
+   public int getAvailableCapacity() {
+      return Math.max(0, this.backpressureQueueDepth - this.getQueueDepth());
+   }
+
+   public long getCompleted() {
+      return this.completed.sum();
+   }
+
+   public long getAverageQueueNanos() {
+      long completed = this.completed.sum();
+      return completed == 0L ? 0L : this.queueNanos.sum() / completed;
+   }
+
+   public long getAverageRunNanos() {
+      long completed = this.completed.sum();
+      return completed == 0L ? 0L : this.runNanos.sum() / completed;
+   }
+
+   public long getMaxRunNanos() {
+      return this.maxRunNanos.get();
+   }
+
+   @Nonnull
+   @Override
+   public MetricResults toMetricResults() {
+      return METRICS_REGISTRY.toMetricResults(this);
+   }
+}
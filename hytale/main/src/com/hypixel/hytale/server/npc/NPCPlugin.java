@@ -28,7 +28,7 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.dependency.Dependency;
 import com.hypixel.hytale.component.dependency.Order;
 import com.hypixel.hytale.component.dependency.SystemDependency;
-import com.hypixel.hytale.component.spatial.KDTree;
+import com.hypixel.hytale.component.spatial.SpatialHashGrid;
 import com.hypixel.hytale.component.spatial.SpatialResource;
 import com.hypixel.hytale.event.EventRegistry;
 import com.hypixel.hytale.function.consumer.TriConsumer;
@@ -268,6 +268,8 @@ import com.hypixel.hytale.server.npc.movement.controllers.builders.BuilderMotion
 import com.hypixel.hytale.server.npc.movement.controllers.builders.BuilderMotionControllerMap;
 import com.hypixel.hytale.server.npc.movement.controllers.builders.BuilderMotionControllerWalk;
 import com.hypixel.hytale.server.npc.navigation.AStarNodePoolProviderSimple;
+import com.hypixel.hytale.server.npc.navigation.PathfindingBudget;
+import com.hypixel.hytale.server.npc.navigation.ProbeMoveCache;
 import com.hypixel.hytale.server.npc.path.builders.BuilderRelativeWaypointDefinition;
 import com.hypixel.hytale.server.npc.path.builders.BuilderTransientPathDefinition;
 import com.hypixel.hytale.server.npc.role.Role;
@@ -373,6 +375,8 @@ public class NPCPlugin extends JavaPlugin {
    private ResourceType<EntityStore, NewSpawnStartTickingSystem.QueueResource> newSpawnStartTickingQueueResourceType;
    private ResourceType<EntityStore, SortBufferProviderResource> sortBufferProviderResourceResourceType;
    private ResourceType<EntityStore, AStarNodePoolProviderSimple> aStarNodePoolProviderSimpleResourceType;
+   private ResourceType<EntityStore, PathfindingBudget> pathfindingBudgetResourceType;
+   private ResourceType<EntityStore, ProbeMoveCache> probeMoveCacheResourceType;
    private ResourceType<EntityStore, SpatialResource<Ref<EntityStore>, EntityStore>> npcSpatialResource;
    private ComponentType<EntityStore, CombatViewSystems.CombatData> combatDataComponentType;
    private ComponentType<EntityStore, NPCRunTestsCommand.NPCTestData> npcTestDataComponentType;
@@ -501,7 +505,9 @@ public class NPCPlugin extends JavaPlugin {
       );
       this.sortBufferProviderResourceResourceType = entityStoreRegistry.registerResource(SortBufferProviderResource.class, SortBufferProviderResource::new);
       this.aStarNodePoolProviderSimpleResourceType = entityStoreRegistry.registerResource(AStarNodePoolProviderSimple.class, AStarNodePoolProviderSimple::new);
-      this.npcSpatialResource = entityStoreRegistry.registerSpatialResource(() -> new KDTree<>(Ref::isValid));
+      this.pathfindingBudgetResourceType = entityStoreRegistry.registerResource(PathfindingBudget.class, PathfindingBudget::new);
+      this.probeMoveCacheResourceType = entityStoreRegistry.registerResource(ProbeMoveCache.class, ProbeMoveCache::new);
+      this.npcSpatialResource = entityStoreRegistry.registerSpatialResource(() -> new SpatialHashGrid<>(Ref::isValid));
       this.combatDataComponentType = entityStoreRegistry.registerComponent(CombatViewSystems.CombatData.class, CombatViewSystems.CombatData::new);
       this.npcTestDataComponentType = entityStoreRegistry.registerComponent(NPCRunTestsCommand.NPCTestData.class, NPCRunTestsCommand.NPCTestData::new);
       this.beaconSupportComponentType = entityStoreRegistry.registerComponent(BeaconSupport.class, BeaconSupport::new);
@@ -543,6 +549,7 @@ public class NPCPlugin extends JavaPlugin {
       entityStoreRegistry.registerSystem(new NPCSystems.AddedFromWorldGenSystem());
       entityStoreRegistry.registerSystem(new NPCSystems.AddSpawnEntityEffectSystem(npcComponentType));
       entityStoreRegistry.registerSystem(new RoleSystems.BehaviourTickSystem(npcComponentType, this.stepComponentType));
+      entityStoreRegistry.registerSystem(new RoleSystems.TickThrottleSystem(npcComponentType));
       entityStoreRegistry.registerSystem(new RoleSystems.PreBehaviourSupportTickSystem(npcComponentType));
       entityStoreRegistry.registerSystem(new StateEvaluatorSystem(this.stateEvaluatorComponentType, npcComponentType));
       entityStoreRegistry.registerSystem(new PositionCacheSystems.UpdateSystem(npcComponentType, this.npcSpatialResource));
@@ -641,6 +648,14 @@ public class NPCPlugin extends JavaPlugin {
       return this.aStarNodePoolProviderSimpleResourceType;
    }
 
+   public ResourceType<EntityStore, PathfindingBudget> getPathfindingBudgetResourceType() {
+      return this.pathfindingBudgetResourceType;
+   }
+
+   public ResourceType<EntityStore, ProbeMoveCache> getProbeMoveCacheResourceType() {
+      return this.probeMoveCacheResourceType;
+   }
+
    public ResourceType<EntityStore, SpatialResource<Ref<EntityStore>, EntityStore>> getNpcSpatialResource() {
       return this.npcSpatialResource;
    }
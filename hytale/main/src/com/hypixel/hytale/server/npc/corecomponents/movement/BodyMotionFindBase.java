@@ -25,6 +25,7 @@ import com.hypixel.hytale.server.npc.navigation.AStarNode;
 import com.hypixel.hytale.server.npc.navigation.AStarNodePoolProvider;
 import com.hypixel.hytale.server.npc.navigation.AStarNodePoolProviderSimple;
 import com.hypixel.hytale.server.npc.navigation.PathFollower;
+import com.hypixel.hytale.server.npc.navigation.PathfindingBudget;
 import com.hypixel.hytale.server.npc.role.Role;
 import com.hypixel.hytale.server.npc.role.RoleDebugFlags;
 import com.hypixel.hytale.server.npc.sensorinfo.InfoProvider;
@@ -65,6 +66,7 @@ public abstract class BodyMotionFindBase<T extends AStarBase> extends BodyMotion
    protected final PathFollower pathFollower = new PathFollower();
    protected final ProbeMoveData probeMoveData = new ProbeMoveData();
    protected AStarNodePoolProvider sharedNodePoolProvider;
+   protected PathfindingBudget pathfindingBudget;
    protected int throttleCount;
    protected double throttleTime;
    protected double targetDeltaSquared;
@@ -128,6 +130,7 @@ public abstract class BodyMotionFindBase<T extends AStarBase> extends BodyMotion
 
       MotionController activeMotionController = role.getActiveMotionController();
       this.sharedNodePoolProvider = componentAccessor.getResource(AStarNodePoolProviderSimple.getResourceType());
+      this.pathfindingBudget = componentAccessor.getResource(PathfindingBudget.getResourceType());
       this.dbgDisplayString = role.getDebugSupport().getDebugFlags().contains(RoleDebugFlags.Pathfinder);
       this.setNavStateInit(activeMotionController);
       this.wasSteering = false;
@@ -409,7 +412,11 @@ public abstract class BodyMotionFindBase<T extends AStarBase> extends BodyMotion
    protected boolean continuePathFinder(
       @Nonnull Ref<EntityStore> ref, @Nonnull MotionController activeMotionController, @Nonnull ComponentAccessor<EntityStore> componentAccessor
    ) {
-      AStarBase.Progress progress = this.aStar.computePath(ref, activeMotionController, this.probeMoveData, this.nodesPerTick, componentAccessor);
+      long tick = componentAccessor.getExternalData().getWorld().getTick();
+      int nodesToProcess = this.pathfindingBudget.acquire(tick, this.nodesPerTick);
+      int iterations = this.aStar.getIterations();
+      AStarBase.Progress progress = this.aStar.computePath(ref, activeMotionController, this.probeMoveData, nodesToProcess, componentAccessor);
+      this.pathfindingBudget.release(tick, nodesToProcess - (this.aStar.getIterations() - iterations));
       if (progress == AStarBase.Progress.COMPUTING) {
          this.setNavStateComputing(activeMotionController);
          if (this.dbgOpens) {
@@ -113,6 +113,12 @@ public interface MotionController {
 
    boolean is2D();
 
+   boolean isProbeMoveCacheable();
+
+   int getProbeMoveRevision();
+
+   Box getCollisionBoundingBox();
+
    Vector3d getWorldNormal();
 
    Vector3d getWorldAntiNormal();
@@ -91,6 +91,7 @@ public abstract class MotionControllerBase implements MotionController {
    protected final Vector3d position = new Vector3d();
    protected final Box collisionBoundingBox = new Box();
    protected final CollisionResult collisionResult = new CollisionResult();
+   protected int probeMoveRevision;
    protected final Vector3d translation = new Vector3d();
    protected final Vector3d bisectValidPosition = new Vector3d();
    protected final Vector3d bisectInvalidPosition = new Vector3d();
@@ -181,6 +182,23 @@ public abstract class MotionControllerBase implements MotionController {
    public void updateModelParameters(Ref<EntityStore> ref, Model model, @Nonnull Box boundingBox, ComponentAccessor<EntityStore> componentAccessor) {
       Objects.requireNonNull(boundingBox, "updateModelParameters: MotionController needs a bounding box");
       this.collisionBoundingBox.assign(boundingBox);
+      this.probeMoveRevision++;
+   }
+
+   @Override
+   public boolean isProbeMoveCacheable() {
+      return false;
+   }
+
+   @Override
+   public int getProbeMoveRevision() {
+      return this.probeMoveRevision;
+   }
+
+   @Nonnull
+   @Override
+   public Box getCollisionBoundingBox() {
+      return this.collisionBoundingBox;
    }
 
    @Override
@@ -489,6 +489,11 @@ public class MotionControllerWalk extends MotionControllerBase {
       return true;
    }
 
+   @Override
+   public boolean isProbeMoveCacheable() {
+      return true;
+   }
+
    @Override
    public boolean canRestAtPlace() {
       return true;
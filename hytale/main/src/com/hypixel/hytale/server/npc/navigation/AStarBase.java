@@ -60,6 +60,7 @@ public class AStarBase {
    protected int[] normalDirections;
    protected AStarNodePool nodePool;
    protected final List<AStarNode> openNodes = new ObjectArrayList();
+   protected final ProbeMoveCache.Lookup probeMoveLookup = new ProbeMoveCache.Lookup();
    protected final Long2ObjectMap<AStarNode> visitedBlocks = new Long2ObjectOpenHashMap();
    protected int iterations;
    @Nullable
@@ -107,6 +108,11 @@ public class AStarBase {
       return this.openNodes;
    }
 
+   @Nonnull
+   public ProbeMoveCache.Lookup getProbeMoveLookup() {
+      return this.probeMoveLookup;
+   }
+
    public int getOpenCount() {
       return this.openNodes.size();
    }
@@ -272,6 +278,8 @@ public class AStarBase {
          this.nodePool = nodePoolProvider.getPool(searchDirectionCount);
       }
 
+      componentAccessor.getResource(ProbeMoveCache.getResourceType())
+         .beginSearch(this.probeMoveLookup, motionController, probeMoveData, this.searchDirections, componentAccessor);
       probeMoveData.setSaveSegments(false);
       this.tempPositionVector
          .assign(this.projectedX ? start.x : startBlockX + 0.5, this.projectedY ? start.y : startBlockY + 0.5, this.projectedZ ? start.z : startBlockZ + 0.5);
@@ -335,17 +343,17 @@ public class AStarBase {
       } else {
          probeMoveData.isAvoidingBlockDamage = this.isAvoidingBlockDamage;
          probeMoveData.isRelaxedMoveConstraints = this.isRelaxedMoveConstraints;
+         ProbeMoveCache probeMoveCache = componentAccessor.getResource(ProbeMoveCache.getResourceType());
 
          while (!this.openNodes.isEmpty() && nodesToProcess-- > 0) {
-            int idx = this.openNodes.size() - 1;
-            AStarNode node = this.openNodes.get(idx);
+            AStarNode node = this.openNodes.get(0);
             node.close();
             if (this.evaluator.isGoalReached(ref, this, node, motionController, componentAccessor)) {
                this.buildPath(node);
                return this.setProgress(AStarBase.Progress.ACCOMPLISHED);
             }
 
-            this.openNodes.remove(idx);
+            this.removeBestOpenNode();
             this.iterations++;
             if (node.getLength() < this.maxPathLength) {
                Vector3d nodePosition = node.getPosition();
@@ -356,12 +364,22 @@ public class AStarBase {
                for (int directionIndex = 0; directionIndex < searchDirectionCount; directionIndex++) {
                   if (successors[directionIndex] == null) {
                      double directionLength = this.searchDirectionDistances[directionIndex];
-                     probeMoveData.setPosition(nodePosition).setDirection(this.searchDirections[directionIndex]);
-                     double distance = motionController.probeMove(ref, probeMoveData, componentAccessor);
                      double halfThreshold = directionLength * 0.49999995;
+                     boolean cacheable = !nodePosition.equals(this.startPosition);
+                     double distance = cacheable ? probeMoveCache.get(this.probeMoveLookup, nodePosition, directionIndex, probeMoveData) : Double.NaN;
+                     if (Double.isNaN(distance)) {
+                        probeMoveData.setPosition(nodePosition).setDirection(this.searchDirections[directionIndex]);
+                        distance = motionController.probeMove(ref, probeMoveData, componentAccessor);
+                        if (!(distance < halfThreshold)) {
+                           probeMoveData.computePosition(directionLength * 0.5, probeMoveData.targetPosition);
+                        }
+
+                        if (cacheable) {
+                           probeMoveCache.put(this.probeMoveLookup, nodePosition, directionIndex, distance, probeMoveData);
+                        }
+                     }
+
                      if (!(distance < halfThreshold)) {
-                        double halfDistance = directionLength * 0.5;
-                        probeMoveData.computePosition(halfDistance, probeMoveData.targetPosition);
                         long halfPositionIndex = this.positionToIndex(probeMoveData.targetPosition);
                         if (halfPositionIndex != -1L) {
                            AStarNode otherNode = (AStarNode)this.visitedBlocks.get(halfPositionIndex);
@@ -565,15 +583,79 @@ public class AStarBase {
    }
 
    protected void addOpenNode(@Nonnull AStarNode node, long index) {
-      int predecessor = this.openNodes.size() - 1;
-      float totalCost = node.getTotalCost();
+      node.openIndex = this.openNodes.size();
+      this.openNodes.add(node);
+      this.siftUpOpenNode(node);
+      this.visitedBlocks.put(index, node);
+   }
 
-      while (predecessor >= 0 && this.openNodes.get(predecessor).getTotalCost() < totalCost) {
-         predecessor--;
+   @Nonnull
+   protected AStarNode removeBestOpenNode() {
+      AStarNode node = this.openNodes.get(0);
+      AStarNode last = this.openNodes.remove(this.openNodes.size() - 1);
+      node.openIndex = -1;
+      if (last != node) {
+         last.openIndex = 0;
+         this.siftDownOpenNode(last);
       }
 
-      this.openNodes.add(predecessor + 1, node);
-      this.visitedBlocks.put(index, node);
+      return node;
+   }
+
+   protected void decreaseOpenNodeCost(@Nonnull AStarNode node) {
+      if (node.openIndex >= 0) {
+         this.siftUpOpenNode(node);
+      }
+   }
+
+   private void siftUpOpenNode(@Nonnull AStarNode node) {
+      int index = node.openIndex;
+
+      while (index > 0) {
+         int parentIndex = index - 1 >> 1;
+         AStarNode parent = this.openNodes.get(parentIndex);
+         if (!isBetterOpenNode(node, parent)) {
+            break;
+         }
+
+         this.openNodes.set(index, parent);
+         parent.openIndex = index;
+         index = parentIndex;
+      }
+
+      this.openNodes.set(index, node);
+      node.openIndex = index;
+   }
+
+   private void siftDownOpenNode(@Nonnull AStarNode node) {
+      int size = this.openNodes.size();
+      int index = node.openIndex;
+
+      for (int childIndex = 2 * index + 1; childIndex < size; childIndex = 2 * index + 1) {
+         AStarNode child = this.openNodes.get(childIndex);
+         if (childIndex + 1 < size) {
+            AStarNode right = this.openNodes.get(childIndex + 1);
+            if (isBetterOpenNode(right, child)) {
+               child = right;
+               childIndex++;
+            }
+         }
+
+         if (!isBetterOpenNode(child, node)) {
+            break;
+         }
+
+         this.openNodes.set(index, child);
+         child.openIndex = index;
+         index = childIndex;
+      }
+
+      this.openNodes.set(index, node);
+      node.openIndex = index;
+   }
+
+   private static boolean isBetterOpenNode(@Nonnull AStarNode node, @Nonnull AStarNode other) {
+      return node.totalCost < other.totalCost || node.totalCost == other.totalCost && node.estimateToGoal < other.estimateToGoal;
    }
 
    protected void updateNode(@Nonnull AStarNode node, int directionIndex, @Nonnull AStarNode targetNode, @Nonnull MotionController motionController) {
@@ -611,7 +693,7 @@ public class AStarBase {
       float travelCostToNode = node.getTravelCost() + stepCost;
       float delta = travelCostToNode - targetNode.getTravelCost();
       if (delta < 0.0F) {
-         targetNode.adjustOptimalPath(node, delta, directionIndex);
+         targetNode.adjustOptimalPath(this, node, delta, directionIndex);
          node.setSuccessor(directionIndex, targetNode, this.inverseSearchDirections[directionIndex], stepCost);
       } else {
          node.successors[directionIndex] = AStarNode.ENTRY_NODE_TAG;
@@ -84,7 +84,7 @@ public class AStarDebugBase {
             start = path;
             finalPath = true;
          } else if (openCount > 0) {
-            start = openNodes.get(openCount - 1);
+            start = openNodes.get(0);
          }
       }
 
@@ -174,11 +174,10 @@ public class AStarDebugBase {
          }
       } else {
          List<AStarNode> openNodes = this.aStarBase.getOpenNodes();
-         int index = openCount;
          maxLength = 0;
 
-         while (--index >= 0) {
-            int pos = openCount - index;
+         for (int index = 0; index < openCount; index++) {
+            int pos = index + 1;
             if (pos > 51) {
                break;
             }
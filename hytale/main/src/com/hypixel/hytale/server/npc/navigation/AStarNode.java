@@ -23,6 +23,7 @@ public class AStarNode implements IWaypoint {
    protected int length;
    protected long positionIndex;
    protected boolean open;
+   protected int openIndex = -1;
 
    public AStarNode(int numDirections) {
       this.successors = new AStarNode[numDirections];
@@ -82,6 +83,10 @@ public class AStarNode implements IWaypoint {
       this.open = false;
    }
 
+   public int getOpenIndex() {
+      return this.openIndex;
+   }
+
    public boolean isOpen() {
       return this.open;
    }
@@ -121,6 +126,7 @@ public class AStarNode implements IWaypoint {
       this.position.assign(position);
       this.positionIndex = positionIndex;
       this.open = true;
+      this.openIndex = -1;
       this.estimateToGoal = estimateCost;
       this.travelCost = cost;
       this.totalCost = this.travelCost + this.estimateToGoal;
@@ -145,6 +151,7 @@ public class AStarNode implements IWaypoint {
       this.position.assign(position);
       this.positionIndex = positionIndex;
       this.open = true;
+      this.openIndex = -1;
       this.estimateToGoal = estimateCost;
       this.travelCost = travelCost;
       this.totalCost = this.travelCost + this.estimateToGoal;
@@ -162,6 +169,7 @@ public class AStarNode implements IWaypoint {
       this.position.assign(position);
       this.positionIndex = positionIndex;
       this.open = false;
+      this.openIndex = -1;
       this.estimateToGoal = Float.MAX_VALUE;
       this.travelCost = Float.MAX_VALUE;
       this.totalCost = Float.MAX_VALUE;
@@ -173,19 +181,22 @@ public class AStarNode implements IWaypoint {
       return this;
    }
 
-   public void adjustOptimalPath(AStarNode parentNode, float deltaCost, int direction) {
+   public void adjustOptimalPath(@Nonnull AStarBase aStarBase, AStarNode parentNode, float deltaCost, int direction) {
       this.predecessor = parentNode;
       this.predecessorDirection = direction;
       this.travelCost += deltaCost;
       this.totalCost = this.travelCost + this.estimateToGoal;
       this.length = this.predecessor.length + 1;
+      if (this.openIndex >= 0) {
+         aStarBase.decreaseOpenNodeCost(this);
+      }
 
       for (int successorDirection = 0; successorDirection < this.successors.length; successorDirection++) {
          AStarNode successor = this.successors[successorDirection];
          if (successor != null && !ENTRY_NODE_TAG.equals(successor)) {
             float delta = this.travelCost + this.stepCost[successorDirection] - successor.travelCost;
             if (delta < 0.0F) {
-               successor.adjustOptimalPath(this, deltaCost, successorDirection);
+               successor.adjustOptimalPath(aStarBase, this, deltaCost, successorDirection);
             }
          }
       }
@@ -212,6 +223,8 @@ public class AStarNode implements IWaypoint {
          + this.positionIndex
          + ", open="
          + this.open
+         + ", openIndex="
+         + this.openIndex
          + "}";
    }
 }
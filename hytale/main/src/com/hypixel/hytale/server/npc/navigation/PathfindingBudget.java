@@ -0,0 +1,79 @@
+package com.hypixel.hytale.server.npc.navigation;
+
+import com.hypixel.hytale.component.Resource;
+import com.hypixel.hytale.component.ResourceType;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.hytale.server.npc.NPCPlugin;
+import javax.annotation.Nonnull;
+
+public class PathfindingBudget implements Resource<EntityStore> {
+   public static final int DEFAULT_NODES_PER_TICK = 2000;
+   public static final int MIN_NODES_PER_SEARCH = 4;
+   protected int nodesPerTick = 2000;
+   protected long tick = Long.MIN_VALUE;
+   protected int remaining;
+   protected int searches;
+   protected int activeSearches;
+   protected int deferredSearches;
+
+   public static ResourceType<EntityStore, PathfindingBudget> getResourceType() {
+      return NPCPlugin.get().getPathfindingBudgetResourceType();
+   }
+
+   public int getNodesPerTick() {
+      return this.nodesPerTick;
+   }
+
+   public void setNodesPerTick(int nodesPerTick) {
+      this.nodesPerTick = Math.max(nodesPerTick, 1);
+   }
+
+   public int getRemaining() {
+      return this.remaining;
+   }
+
+   public int getActiveSearches() {
+      return this.activeSearches;
+   }
+
+   public int getDeferredSearches() {
+      return this.deferredSearches;
+   }
+
+   public int acquire(long tick, int requested) {
+      if (this.tick != tick) {
+         this.activeSearches = this.searches;
+         this.tick = tick;
+         this.remaining = this.nodesPerTick;
+         this.searches = 0;
+         this.deferredSearches = 0;
+      }
+
+      this.searches++;
+      int share = this.nodesPerTick / Math.max(this.activeSearches, 1);
+      int pending = Math.max(this.activeSearches - this.searches, 0);
+      int available = Math.max(this.remaining - pending * share, Math.min(share, this.remaining));
+      int granted = Math.min(requested, available);
+      if (granted < requested) {
+         this.deferredSearches++;
+         granted = Math.max(granted, Math.min(requested, 4));
+      }
+
+      this.remaining -= granted;
+      return granted;
+   }
+
+   public void release(long tick, int unused) {
+      if (this.tick == tick && unused > 0) {
+         this.remaining += unused;
+      }
+   }
+
+   @Nonnull
+   @Override
+   public Resource<EntityStore> clone() {
+      PathfindingBudget budget = new PathfindingBudget();
+      budget.nodesPerTick = this.nodesPerTick;
+      return budget;
+   }
+}
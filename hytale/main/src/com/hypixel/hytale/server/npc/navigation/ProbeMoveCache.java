@@ -0,0 +1,448 @@
+package com.hypixel.hytale.server.npc.navigation;
+
+import com.hypixel.hytale.component.ComponentAccessor;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Resource;
+import com.hypixel.hytale.component.ResourceType;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.shape.Box;
+import com.hypixel.hytale.math.util.MathUtil;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.section.BlockSection;
+import com.hypixel.hytale.server.core.universe.world.chunk.section.FluidSection;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.hytale.server.npc.NPCPlugin;
+import com.hypixel.hytale.server.npc.movement.controllers.MotionController;
+import com.hypixel.hytale.server.npc.movement.controllers.ProbeMoveData;
+import com.hypixel.hytale.server.npc.role.Role;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+public class ProbeMoveCache implements Resource<EntityStore> {
+   public static final int MAX_SECTIONS = 256;
+   public static final int MAX_VALUES = 524288;
+   public static final int MAX_POOLED_NODES = 256;
+   public static final int MAX_POOLED_SECTIONS = 32;
+   private final List<ProbeMoveCache.Profile> profiles = new ObjectArrayList();
+   private final List<ProbeMoveCache.Section> sectionPool = new ObjectArrayList();
+   private final List<ProbeMoveCache.Node> nodePool = new ObjectArrayList();
+   private final Vector3d lookupPosition = new Vector3d();
+   @Nullable
+   private World world;
+   @Nullable
+   private ProbeMoveCache.Section leastRecentlyUsed;
+   @Nullable
+   private ProbeMoveCache.Section mostRecentlyUsed;
+   private int sectionCount;
+   private int nodeCount;
+   private int valueCount;
+   private int searchId;
+
+   public static ResourceType<EntityStore, ProbeMoveCache> getResourceType() {
+      return NPCPlugin.get().getProbeMoveCacheResourceType();
+   }
+
+   public int getProfileCount() {
+      return this.profiles.size();
+   }
+
+   public int getSectionCount() {
+      return this.sectionCount;
+   }
+
+   public int getNodeCount() {
+      return this.nodeCount;
+   }
+
+   public int getValueCount() {
+      return this.valueCount;
+   }
+
+   public void beginSearch(
+      @Nonnull ProbeMoveCache.Lookup lookup,
+      @Nonnull MotionController motionController,
+      @Nonnull ProbeMoveData probeMoveData,
+      @Nonnull Vector3d[] searchDirections,
+      @Nonnull ComponentAccessor<EntityStore> componentAccessor
+   ) {
+      World world = componentAccessor.getExternalData().getWorld();
+      if (this.world != world) {
+         this.clear();
+         this.world = world;
+      }
+
+      lookup.profile = motionController.isProbeMoveCacheable() ? this.getProfile(motionController, probeMoveData, searchDirections) : null;
+      lookup.searchId = ++this.searchId;
+      lookup.currentSection = null;
+      lookup.currentNode = null;
+      lookup.hits = 0;
+      lookup.misses = 0;
+   }
+
+   public void clear() {
+      while (this.leastRecentlyUsed != null) {
+         this.evict(this.leastRecentlyUsed);
+      }
+
+      this.profiles.clear();
+      this.world = null;
+   }
+
+   public double get(@Nonnull ProbeMoveCache.Lookup lookup, @Nonnull Vector3d position, int directionIndex, @Nonnull ProbeMoveData probeMoveData) {
+      lookup.currentSection = null;
+      lookup.currentNode = null;
+      ProbeMoveCache.Profile profile = lookup.profile;
+      if (profile == null) {
+         return Double.NaN;
+      } else {
+         int blockX = MathUtil.floor(position.x);
+         int blockY = MathUtil.floor(position.y);
+         int blockZ = MathUtil.floor(position.z);
+         ProbeMoveCache.Section section = this.getSection(profile, lookup.searchId, blockX >> 5, blockY >> 5, blockZ >> 5);
+         lookup.currentSection = section;
+         this.lookupPosition.assign(position.x, position.y, position.z);
+         ProbeMoveCache.Node node = (ProbeMoveCache.Node)section.nodes.get(this.lookupPosition);
+         lookup.currentNode = node;
+         if (node != null && (node.filled & 1L << directionIndex) != 0L) {
+            int offset = directionIndex * 7;
+            double[] values = node.values;
+            probeMoveData.probePosition.assign(values[offset + 1], values[offset + 2], values[offset + 3]);
+            probeMoveData.targetPosition.assign(values[offset + 4], values[offset + 5], values[offset + 6]);
+            lookup.hits++;
+            return values[offset];
+         } else {
+            lookup.misses++;
+            return Double.NaN;
+         }
+      }
+   }
+
+   public void put(
+      @Nonnull ProbeMoveCache.Lookup lookup, @Nonnull Vector3d position, int directionIndex, double distance, @Nonnull ProbeMoveData probeMoveData
+   ) {
+      ProbeMoveCache.Section section = lookup.currentSection;
+      if (section != null && section.profile == lookup.profile) {
+         ProbeMoveCache.Node node = lookup.currentNode;
+         if (node == null) {
+            node = this.nodePool.isEmpty() ? new ProbeMoveCache.Node() : this.nodePool.removeLast();
+            node.init(position, section.profile.searchDirections.length * 7);
+            this.evictFor(section, node.values.length);
+            section.nodes.put(node.position, node);
+            lookup.currentNode = node;
+            this.nodeCount++;
+            this.valueCount += node.values.length;
+         }
+
+         int offset = directionIndex * 7;
+         double[] values = node.values;
+         Vector3d probePosition = probeMoveData.probePosition;
+         Vector3d targetPosition = probeMoveData.targetPosition;
+         values[offset] = distance;
+         values[offset + 1] = probePosition.x;
+         values[offset + 2] = probePosition.y;
+         values[offset + 3] = probePosition.z;
+         values[offset + 4] = targetPosition.x;
+         values[offset + 5] = targetPosition.y;
+         values[offset + 6] = targetPosition.z;
+         node.filled |= 1L << directionIndex;
+      }
+   }
+
+   @Nonnull
+   private ProbeMoveCache.Profile getProfile(
+      @Nonnull MotionController motionController, @Nonnull ProbeMoveData probeMoveData, @Nonnull Vector3d[] searchDirections
+   ) {
+      Role role = motionController.getRole();
+      int roleIndex = role != null ? role.getRoleIndex() : -1;
+      Box boundingBox = motionController.getCollisionBoundingBox();
+
+      for (ProbeMoveCache.Profile profile : this.profiles) {
+         if (profile.matches(motionController, roleIndex, boundingBox, probeMoveData, searchDirections)) {
+            return profile;
+         }
+      }
+
+      ProbeMoveCache.Profile profile = new ProbeMoveCache.Profile(motionController, roleIndex, boundingBox, probeMoveData, searchDirections);
+      this.profiles.add(profile);
+      return profile;
+   }
+
+   @Nonnull
+   private ProbeMoveCache.Section getSection(@Nonnull ProbeMoveCache.Profile profile, int searchId, int sectionX, int sectionY, int sectionZ) {
+      long key = indexSection(sectionX, sectionY, sectionZ);
+      ProbeMoveCache.Section section = (ProbeMoveCache.Section)profile.sections.get(key);
+      if (section == null) {
+         if (this.sectionCount >= 256 && this.leastRecentlyUsed != null) {
+            this.evict(this.leastRecentlyUsed);
+         }
+
+         if (profile.sections.isEmpty() && !this.profiles.contains(profile)) {
+            this.profiles.add(profile);
+         }
+
+         section = this.sectionPool.isEmpty() ? new ProbeMoveCache.Section() : this.sectionPool.removeLast();
+         section.init(profile, key, sectionX, sectionY, sectionZ);
+         this.readRevisions(section, section.revisions);
+         section.validatedSearchId = searchId;
+         profile.sections.put(key, section);
+         this.sectionCount++;
+      } else {
+         this.unlink(section);
+         if (section.validatedSearchId != searchId) {
+            section.validatedSearchId = searchId;
+            if (!this.readRevisions(section, section.revisions)) {
+               this.releaseNodes(section);
+            }
+         }
+      }
+
+      this.linkMostRecentlyUsed(section);
+      return section;
+   }
+
+   private void evictFor(@Nonnull ProbeMoveCache.Section keep, int valueCount) {
+      while (this.valueCount + valueCount > 524288) {
+         ProbeMoveCache.Section section = this.leastRecentlyUsed;
+         if (section == keep) {
+            section = section.next;
+         }
+
+         if (section != null) {
+            this.evict(section);
+         } else {
+            if (keep.nodes.isEmpty()) {
+               break;
+            }
+
+            this.releaseNodes(keep);
+         }
+      }
+   }
+
+   private void evict(@Nonnull ProbeMoveCache.Section section) {
+      this.unlink(section);
+      this.releaseNodes(section);
+      ProbeMoveCache.Profile profile = section.profile;
+      profile.sections.remove(section.key);
+      if (profile.sections.isEmpty()) {
+         this.profiles.remove(profile);
+      }
+
+      section.profile = null;
+      this.sectionCount--;
+      if (this.sectionPool.size() < 32) {
+         this.sectionPool.add(section);
+      }
+   }
+
+   private void linkMostRecentlyUsed(@Nonnull ProbeMoveCache.Section section) {
+      section.previous = this.mostRecentlyUsed;
+      section.next = null;
+      if (this.mostRecentlyUsed != null) {
+         this.mostRecentlyUsed.next = section;
+      } else {
+         this.leastRecentlyUsed = section;
+      }
+
+      this.mostRecentlyUsed = section;
+   }
+
+   private void unlink(@Nonnull ProbeMoveCache.Section section) {
+      if (section.previous != null) {
+         section.previous.next = section.next;
+      } else {
+         this.leastRecentlyUsed = section.next;
+      }
+
+      if (section.next != null) {
+         section.next.previous = section.previous;
+      } else {
+         this.mostRecentlyUsed = section.previous;
+      }
+
+      section.previous = null;
+      section.next = null;
+   }
+
+   private boolean readRevisions(@Nonnull ProbeMoveCache.Section section, @Nonnull long[] revisions) {
+      ChunkStore chunkStore = this.world.getChunkStore();
+      Store<ChunkStore> store = chunkStore.getStore();
+      boolean unchanged = true;
+      int index = 0;
+
+      for (int x = section.x - 1; x <= section.x + 1; x++) {
+         for (int z = section.z - 1; z <= section.z + 1; z++) {
+            for (int y = section.y - 1; y <= section.y + 1; y++) {
+               long revision = readRevision(chunkStore, store, x, y, z);
+               if (revisions[index] != revision) {
+                  revisions[index] = revision;
+                  unchanged = false;
+               }
+
+               index++;
+            }
+         }
+      }
+
+      return unchanged;
+   }
+
+   private void releaseNodes(@Nonnull ProbeMoveCache.Section section) {
+      if (!section.nodes.isEmpty()) {
+         ObjectIterator<ProbeMoveCache.Node> iterator = section.nodes.values().iterator();
+
+         while (iterator.hasNext()) {
+            ProbeMoveCache.Node node = (ProbeMoveCache.Node)iterator.next();
+            this.valueCount -= node.values.length;
+            if (this.nodePool.size() < 256) {
+               this.nodePool.add(node);
+            }
+         }
+
+         this.nodeCount -= section.nodes.size();
+         section.nodes.clear();
+      }
+   }
+
+   private static long readRevision(@Nonnull ChunkStore chunkStore, @Nonnull Store<ChunkStore> store, int x, int y, int z) {
+      if (y >= 0 && y < 10) {
+         Ref<ChunkStore> sectionRef = chunkStore.getChunkSectionReference(x, y, z);
+         if (sectionRef != null && sectionRef.isValid()) {
+            BlockSection blockSection = store.getComponent(sectionRef, BlockSection.getComponentType());
+            FluidSection fluidSection = store.getComponent(sectionRef, FluidSection.getComponentType());
+            long blockRevision = blockSection == null ? 0L : blockSection.getLocalChangeCounter() & 65535L;
+            long fluidRevision = fluidSection == null ? 0L : fluidSection.getChangeCounter() & 65535L;
+            return blockRevision | fluidRevision << 16;
+         } else {
+            return -1L;
+         }
+      } else {
+         return 0L;
+      }
+   }
+
+   private static long indexSection(int x, int y, int z) {
+      return ((long)x & 2097151L) << 42 | ((long)z & 2097151L) << 21 | (long)y & 2097151L;
+   }
+
+   @Nonnull
+   @Override
+   public Resource<EntityStore> clone() {
+      return new ProbeMoveCache();
+   }
+
+   public static class Lookup {
+      @Nullable
+      private ProbeMoveCache.Profile profile;
+      private int searchId;
+      private int hits;
+      private int misses;
+      @Nullable
+      private ProbeMoveCache.Section currentSection;
+      @Nullable
+      private ProbeMoveCache.Node currentNode;
+
+      public int getHits() {
+         return this.hits;
+      }
+
+      public int getMisses() {
+         return this.misses;
+      }
+   }
+
+   private static class Node {
+      private final Vector3d position = new Vector3d();
+      private double[] values;
+      private long filled;
+
+      public void init(@Nonnull Vector3d position, int valueCount) {
+         this.position.assign(position.x, position.y, position.z);
+         if (this.values == null || this.values.length < valueCount) {
+            this.values = new double[valueCount];
+         }
+
+         this.filled = 0L;
+      }
+   }
+
+   private static class Profile {
+      private final Long2ObjectMap<ProbeMoveCache.Section> sections = new Long2ObjectOpenHashMap();
+      @Nonnull
+      private final Class<?> motionControllerClass;
+      private final String motionControllerType;
+      private final int roleIndex;
+      private final Box boundingBox = new Box();
+      @Nonnull
+      private final Vector3d[] searchDirections;
+      private final boolean isAvoidingBlockDamage;
+      private final boolean isRelaxedMoveConstraints;
+
+      public Profile(
+         @Nonnull MotionController motionController,
+         int roleIndex,
+         @Nonnull Box boundingBox,
+         @Nonnull ProbeMoveData probeMoveData,
+         @Nonnull Vector3d[] searchDirections
+      ) {
+         this.motionControllerClass = motionController.getClass();
+         this.motionControllerType = motionController.getType();
+         this.roleIndex = roleIndex;
+         this.boundingBox.assign(boundingBox);
+         this.searchDirections = searchDirections;
+         this.isAvoidingBlockDamage = probeMoveData.isAvoidingBlockDamage;
+         this.isRelaxedMoveConstraints = probeMoveData.isRelaxedMoveConstraints;
+      }
+
+      public boolean matches(
+         @Nonnull MotionController motionController,
+         int roleIndex,
+         @Nonnull Box boundingBox,
+         @Nonnull ProbeMoveData probeMoveData,
+         @Nonnull Vector3d[] searchDirections
+      ) {
+         return this.motionControllerClass == motionController.getClass()
+            && this.roleIndex == roleIndex
+            && this.isAvoidingBlockDamage == probeMoveData.isAvoidingBlockDamage
+            && this.isRelaxedMoveConstraints == probeMoveData.isRelaxedMoveConstraints
+            && this.boundingBox.min.equals(boundingBox.min)
+            && this.boundingBox.max.equals(boundingBox.max)
+            && (this.searchDirections == searchDirections || Arrays.equals(this.searchDirections, searchDirections))
+            && (this.motionControllerType == null ? motionController.getType() == null : this.motionControllerType.equals(motionController.getType()));
+      }
+   }
+
+   private static class Section {
+      private final Object2ObjectMap<Vector3d, ProbeMoveCache.Node> nodes = new Object2ObjectOpenHashMap();
+      private final long[] revisions = new long[27];
+      @Nullable
+      private ProbeMoveCache.Profile profile;
+      @Nullable
+      private ProbeMoveCache.Section previous;
+      @Nullable
+      private ProbeMoveCache.Section next;
+      private long key;
+      private int x;
+      private int y;
+      private int z;
+      private int validatedSearchId;
+
+      public void init(@Nonnull ProbeMoveCache.Profile profile, long key, int x, int y, int z) {
+         this.profile = profile;
+         this.key = key;
+         this.x = x;
+         this.y = y;
+         this.z = z;
+      }
+   }
+}
@@ -40,6 +40,7 @@ import com.hypixel.hytale.server.npc.role.support.MarkedEntitySupport;
 import com.hypixel.hytale.server.npc.role.support.PositionCache;
 import com.hypixel.hytale.server.npc.role.support.RoleStats;
 import com.hypixel.hytale.server.npc.role.support.StateSupport;
+import com.hypixel.hytale.server.npc.role.support.TickThrottleSupport;
 import com.hypixel.hytale.server.npc.role.support.WorldSupport;
 import com.hypixel.hytale.server.npc.statetransition.StateTransitionController;
 import com.hypixel.hytale.server.npc.util.ComponentInfo;
@@ -76,6 +77,8 @@ public class Role implements IAnnotatedComponentCollection {
    protected final PositionCache positionCache;
    @Nonnull
    protected final DebugSupport debugSupport;
+   @Nonnull
+   protected final TickThrottleSupport tickThrottleSupport;
    protected final int initialMaxHealth;
    protected final double collisionProbeDistance;
    protected final double collisionRadius;
@@ -180,6 +183,7 @@ public class Role implements IAnnotatedComponentCollection {
       this.entitySupport = new EntitySupport(npcComponent, builder);
       this.positionCache = new PositionCache(this);
       this.debugSupport = new DebugSupport(npcComponent, builder);
+      this.tickThrottleSupport = new TickThrottleSupport(builder);
       this.initialMaxHealth = builder.getMaxHealth(builderSupport);
       this.nameTranslationKey = builder.getNameTranslationKey(builderSupport);
       this.appearance = builder.getAppearance(builderSupport);
@@ -496,6 +500,11 @@ public class Role implements IAnnotatedComponentCollection {
       return this.debugSupport;
    }
 
+   @Nonnull
+   public TickThrottleSupport getTickThrottleSupport() {
+      return this.tickThrottleSupport;
+   }
+
    public boolean isRoleChangeRequested() {
       return this.roleChangeRequested;
    }
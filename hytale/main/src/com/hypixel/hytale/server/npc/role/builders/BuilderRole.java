@@ -103,6 +103,7 @@ public class BuilderRole extends SpawnableWithModelBuilder<Role> implements Spaw
    protected double separationFarRadiusTarget;
    protected final BooleanHolder applySeparation = new BooleanHolder();
    protected boolean stayInEnvironment;
+   protected boolean throttleTicks;
    protected String allowedEnvironments;
    protected final StringArrayHolder flockSpawnTypes = new StringArrayHolder();
    protected final BooleanHolder flockSpawnTypeRandom = new BooleanHolder();
@@ -475,6 +476,15 @@ public class BuilderRole extends SpawnableWithModelBuilder<Role> implements Spaw
       );
       this.getBoolean(data, "ApplyAvoidance", b -> this.applyAvoidance = b, false, BuilderDescriptorState.Experimental, "Apply avoidance steering force", null);
       this.getBoolean(data, "ApplySeparation", this.applySeparation, false, BuilderDescriptorState.Experimental, "Apply separation steering force", null);
+      this.getBoolean(
+         data,
+         "ThrottleTicks",
+         b -> this.throttleTicks = b,
+         true,
+         BuilderDescriptorState.Experimental,
+         "Reduce the AI tick rate when no player is close by",
+         "Disable for bosses and scripted NPCs that must react at full rate regardless of player distance"
+      );
       this.getEnum(
          data,
          "AvoidanceMode",
@@ -1075,6 +1085,10 @@ public class BuilderRole extends SpawnableWithModelBuilder<Role> implements Spaw
       return this.applySeparation.get(support.getExecutionContext());
    }
 
+   public boolean isThrottlingTicks() {
+      return this.throttleTicks;
+   }
+
    public boolean isStayingInEnvironment() {
       return this.stayInEnvironment;
    }
@@ -0,0 +1,90 @@
+package com.hypixel.hytale.server.npc.role.support;
+
+import com.hypixel.hytale.server.npc.role.builders.BuilderRole;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.annotation.Nonnull;
+
+public class TickThrottleSupport {
+   public static final double FULL_RATE_DISTANCE = 32.0;
+   public static final double HALF_RATE_DISTANCE = 64.0;
+   public static final double QUARTER_RATE_DISTANCE = 128.0;
+   protected final boolean enabled;
+   protected final int phase;
+   @Nonnull
+   protected TickThrottleSupport.Rate rate = TickThrottleSupport.Rate.Full;
+   protected boolean active;
+   protected boolean due = true;
+   protected float accumulatedTime;
+   protected float tickLength;
+
+   public TickThrottleSupport(@Nonnull BuilderRole builder) {
+      this.enabled = builder.isThrottlingTicks();
+      this.phase = ThreadLocalRandom.current().nextInt(65536);
+   }
+
+   public boolean isEnabled() {
+      return this.enabled;
+   }
+
+   @Nonnull
+   public TickThrottleSupport.Rate getRate() {
+      return this.rate;
+   }
+
+   public boolean isDue() {
+      return this.due;
+   }
+
+   public float getTickLength(float dt) {
+      return this.active ? this.tickLength : dt;
+   }
+
+   public void update(long tick, float dt, @Nonnull TickThrottleSupport.Rate rate) {
+      boolean speedUp = rate.interval < this.rate.interval;
+      this.active = true;
+      this.rate = rate;
+      this.accumulatedTime += dt;
+      if (!speedUp && rate.interval != 1 && (tick + this.phase) % rate.interval != 0L) {
+         this.due = false;
+      } else {
+         this.due = true;
+         this.tickLength = this.accumulatedTime;
+         this.accumulatedTime = 0.0F;
+      }
+   }
+
+   public void reset() {
+      this.active = false;
+      this.due = true;
+      this.rate = TickThrottleSupport.Rate.Full;
+      this.accumulatedTime = 0.0F;
+   }
+
+   @Nonnull
+   public TickThrottleSupport.Rate getRate(double playerDistanceSquared, boolean tracked) {
+      if (!this.enabled || playerDistanceSquared <= 1024.0) {
+         return TickThrottleSupport.Rate.Full;
+      } else if (tracked) {
+         return playerDistanceSquared <= 4096.0 ? TickThrottleSupport.Rate.Half : TickThrottleSupport.Rate.Quarter;
+      } else {
+         return playerDistanceSquared <= 16384.0 ? TickThrottleSupport.Rate.Quarter : TickThrottleSupport.Rate.Idle;
+      }
+   }
+
+   public static enum Rate {
+      Full(1),
+      Half(2),
+      Quarter(4),
+      Idle(20);
+
+      private final int interval;
+
+      private Rate(int interval) {
+         this.interval = interval;
+      }
+
+      public int getInterval() {
+         return this.interval;
+      }
+   }
+}
@@ -77,6 +77,10 @@ public class AvoidanceSystem extends SteppableTickingSystem {
       assert npcComponent != null;
 
       Role role = npcComponent.getRole();
+      if (!role.getTickThrottleSupport().isDue()) {
+         return;
+      }
+
       if (role.isAvoidingEntities() || role.isApplySeparation()) {
          Ref<EntityStore> target = role.getMarkedEntitySupport().getTargetReferenceToIgnoreForAvoidance();
          if (target != null && target.isValid()) {
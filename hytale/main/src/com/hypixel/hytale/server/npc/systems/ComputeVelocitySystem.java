@@ -1,21 +1,27 @@
 package com.hypixel.hytale.server.npc.systems;
 
+import com.hypixel.hytale.component.Archetype;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.ReadWriteQuery;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.dependency.Dependency;
 import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.query.ReadWriteArchetypeQuery;
 import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.component.system.tick.ParallelSchedulableSystem;
 import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.entity.Frozen;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.server.core.modules.physics.component.Velocity;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.hytale.server.npc.components.StepComponent;
 import com.hypixel.hytale.server.npc.entities.NPCEntity;
 import java.util.Set;
 import javax.annotation.Nonnull;
 
-public class ComputeVelocitySystem extends SteppableTickingSystem {
+public class ComputeVelocitySystem extends SteppableTickingSystem implements ParallelSchedulableSystem<EntityStore> {
    @Nonnull
    private final ComponentType<EntityStore, NPCEntity> npcEntityComponentType;
    @Nonnull
@@ -26,6 +32,8 @@ public class ComputeVelocitySystem extends SteppableTickingSystem {
    private final Set<Dependency<EntityStore>> dependencies;
    @Nonnull
    private final Query<EntityStore> query;
+   @Nonnull
+   private final ReadWriteArchetypeQuery<EntityStore> accessQuery;
 
    public ComputeVelocitySystem(
       @Nonnull ComponentType<EntityStore, NPCEntity> npcEntityComponentType,
@@ -36,6 +44,10 @@ public class ComputeVelocitySystem extends SteppableTickingSystem {
       this.velocityComponentType = velocityComponentType;
       this.dependencies = dependencies;
       this.query = Query.and(npcEntityComponentType, this.transformComponentType, velocityComponentType);
+      this.accessQuery = new ReadWriteQuery<>(
+         Archetype.of(npcEntityComponentType, this.transformComponentType, Frozen.getComponentType(), StepComponent.getComponentType()),
+         Archetype.of(velocityComponentType)
+      );
    }
 
    @Nonnull
@@ -46,7 +58,7 @@ public class ComputeVelocitySystem extends SteppableTickingSystem {
 
    @Override
    public boolean isParallel(int archetypeChunkSize, int taskCount) {
-      return EntityTickingSystem.maybeUseParallel(archetypeChunkSize, taskCount);
+      return EntityTickingSystem.useCalibratedParallel(archetypeChunkSize, taskCount);
    }
 
    @Override
@@ -82,4 +94,10 @@ public class ComputeVelocitySystem extends SteppableTickingSystem {
    public Query<EntityStore> getQuery() {
       return this.query;
    }
+
+   @Nonnull
+   @Override
+   public ReadWriteArchetypeQuery<EntityStore> getAccessQuery() {
+      return this.accessQuery;
+   }
 }
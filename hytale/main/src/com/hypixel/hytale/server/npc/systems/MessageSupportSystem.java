@@ -1,13 +1,19 @@
 package com.hypixel.hytale.server.npc.systems;
 
+import com.hypixel.hytale.component.Archetype;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.ReadWriteQuery;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.dependency.Dependency;
 import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.query.ReadWriteArchetypeQuery;
 import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.component.system.tick.ParallelSchedulableSystem;
+import com.hypixel.hytale.server.core.entity.Frozen;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.hytale.server.npc.components.StepComponent;
 import com.hypixel.hytale.server.npc.components.messaging.BeaconSupport;
 import com.hypixel.hytale.server.npc.components.messaging.MessageSupport;
 import com.hypixel.hytale.server.npc.components.messaging.NPCBlockEventSupport;
@@ -18,15 +24,20 @@ import com.hypixel.hytale.server.npc.components.messaging.PlayerEntityEventSuppo
 import java.util.Set;
 import javax.annotation.Nonnull;
 
-public abstract class MessageSupportSystem<T extends MessageSupport> extends SteppableTickingSystem {
+public abstract class MessageSupportSystem<T extends MessageSupport> extends SteppableTickingSystem implements ParallelSchedulableSystem<EntityStore> {
    @Nonnull
    private final ComponentType<EntityStore, T> messageSupportComponentType;
    @Nonnull
    private final Set<Dependency<EntityStore>> dependencies;
+   @Nonnull
+   private final ReadWriteArchetypeQuery<EntityStore> accessQuery;
 
    public MessageSupportSystem(@Nonnull ComponentType<EntityStore, T> messageSupportComponentType, @Nonnull Set<Dependency<EntityStore>> dependencies) {
       this.messageSupportComponentType = messageSupportComponentType;
       this.dependencies = dependencies;
+      this.accessQuery = new ReadWriteQuery<>(
+         Archetype.of(Frozen.getComponentType(), StepComponent.getComponentType()), Archetype.of(messageSupportComponentType)
+      );
    }
 
    @Nonnull
@@ -37,7 +48,7 @@ public abstract class MessageSupportSystem<T extends MessageSupport> extends Ste
 
    @Override
    public boolean isParallel(int archetypeChunkSize, int taskCount) {
-      return EntityTickingSystem.maybeUseParallel(archetypeChunkSize, taskCount);
+      return EntityTickingSystem.useCalibratedParallel(archetypeChunkSize, taskCount);
    }
 
    @Override
@@ -68,6 +79,12 @@ public abstract class MessageSupportSystem<T extends MessageSupport> extends Ste
       return this.messageSupportComponentType;
    }
 
+   @Nonnull
+   @Override
+   public ReadWriteArchetypeQuery<EntityStore> getAccessQuery() {
+      return this.accessQuery;
+   }
+
    public static class BeaconSystem extends MessageSupportSystem<BeaconSupport> {
       public BeaconSystem(@Nonnull ComponentType<EntityStore, BeaconSupport> componentType, @Nonnull Set<Dependency<EntityStore>> dependencies) {
          super(componentType, dependencies);
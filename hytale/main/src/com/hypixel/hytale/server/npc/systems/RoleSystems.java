@@ -7,18 +7,22 @@ import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.component.Holder;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.RemoveReason;
+import com.hypixel.hytale.component.ResourceType;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.dependency.Dependency;
 import com.hypixel.hytale.component.dependency.Order;
 import com.hypixel.hytale.component.dependency.SystemDependency;
 import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.spatial.SpatialResource;
 import com.hypixel.hytale.component.system.HolderSystem;
 import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
 import com.hypixel.hytale.component.system.tick.TickingSystem;
 import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.protocol.GameMode;
 import com.hypixel.hytale.server.core.entity.Frozen;
 import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.modules.entity.EntityModule;
 import com.hypixel.hytale.server.core.modules.entity.component.BoundingBox;
 import com.hypixel.hytale.server.core.modules.entity.component.ModelComponent;
 import com.hypixel.hytale.server.core.modules.entity.component.NewSpawnComponent;
@@ -26,7 +30,9 @@ import com.hypixel.hytale.server.core.modules.entity.component.TransformComponen
 import com.hypixel.hytale.server.core.modules.entity.damage.DeathComponent;
 import com.hypixel.hytale.server.core.modules.entity.player.PlayerSettings;
 import com.hypixel.hytale.server.core.modules.entity.system.ModelSystems;
+import com.hypixel.hytale.server.core.modules.entity.system.PlayerSpatialSystem;
 import com.hypixel.hytale.server.core.modules.entity.system.TransformSystems;
+import com.hypixel.hytale.server.core.modules.entity.tracker.EntityTrackerSystems;
 import com.hypixel.hytale.server.core.modules.interaction.InteractionModule;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
@@ -38,6 +44,7 @@ import com.hypixel.hytale.server.npc.role.Role;
 import com.hypixel.hytale.server.npc.role.RoleDebugDisplay;
 import com.hypixel.hytale.server.npc.role.support.EntitySupport;
 import com.hypixel.hytale.server.npc.role.support.MarkedEntitySupport;
+import com.hypixel.hytale.server.npc.role.support.TickThrottleSupport;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -79,9 +86,18 @@ public class RoleSystems {
 
          for (Ref<EntityStore> entityReference : entities) {
             if (entityReference.isValid() && store.getComponent(entityReference, this.newSpawnComponentType) == null) {
+               NPCEntity npcComponent = store.getComponent(entityReference, this.npcComponentType);
+
+               assert npcComponent != null;
+
                float tickLength;
                if (store.getComponent(entityReference, this.frozenComponentType) == null && !isAllNpcFrozen) {
-                  tickLength = dt;
+                  TickThrottleSupport tickThrottleSupport = npcComponent.getRole().getTickThrottleSupport();
+                  if (!tickThrottleSupport.isDue()) {
+                     continue;
+                  }
+
+                  tickLength = tickThrottleSupport.getTickLength(dt);
                } else {
                   StepComponent stepComponent = store.getComponent(entityReference, this.stepComponentType);
                   if (stepComponent == null) {
@@ -91,10 +107,6 @@ public class RoleSystems {
                   tickLength = stepComponent.getTickLength();
                }
 
-               NPCEntity npcComponent = store.getComponent(entityReference, this.npcComponentType);
-
-               assert npcComponent != null;
-
                try {
                   Role role = npcComponent.getRole();
                   boolean benchmarking = NPCPlugin.get().isBenchmarkingRole();
@@ -116,6 +128,98 @@ public class RoleSystems {
       }
    }
 
+   public static class TickThrottleSystem extends EntityTickingSystem<EntityStore> {
+      @Nonnull
+      private final ComponentType<EntityStore, NPCEntity> npcComponentType;
+      @Nonnull
+      private final ComponentType<EntityStore, TransformComponent> transformComponentType;
+      @Nonnull
+      private final ComponentType<EntityStore, EntityTrackerSystems.Visible> visibleComponentType;
+      @Nonnull
+      private final ComponentType<EntityStore, Frozen> frozenComponentType;
+      @Nonnull
+      private final ResourceType<EntityStore, SpatialResource<Ref<EntityStore>, EntityStore>> playerSpatialResource;
+      @Nonnull
+      private final Query<EntityStore> query;
+      @Nonnull
+      private final Set<Dependency<EntityStore>> dependencies = Set.of(
+         new SystemDependency<>(Order.AFTER, PlayerSpatialSystem.class), new SystemDependency<>(Order.BEFORE, RoleSystems.PreBehaviourSupportTickSystem.class)
+      );
+
+      public TickThrottleSystem(@Nonnull ComponentType<EntityStore, NPCEntity> npcComponentType) {
+         this.npcComponentType = npcComponentType;
+         this.transformComponentType = TransformComponent.getComponentType();
+         this.visibleComponentType = EntityTrackerSystems.Visible.getComponentType();
+         this.frozenComponentType = Frozen.getComponentType();
+         this.playerSpatialResource = EntityModule.get().getPlayerSpatialResourceType();
+         this.query = Query.and(npcComponentType, this.transformComponentType);
+      }
+
+      @Nonnull
+      @Override
+      public Set<Dependency<EntityStore>> getDependencies() {
+         return this.dependencies;
+      }
+
+      @Override
+      public boolean isParallel(int archetypeChunkSize, int taskCount) {
+         return EntityTickingSystem.maybeUseParallel(archetypeChunkSize, taskCount);
+      }
+
+      @Nonnull
+      @Override
+      public Query<EntityStore> getQuery() {
+         return this.query;
+      }
+
+      @Override
+      public void tick(
+         float dt,
+         int index,
+         @Nonnull ArchetypeChunk<EntityStore> archetypeChunk,
+         @Nonnull Store<EntityStore> store,
+         @Nonnull CommandBuffer<EntityStore> commandBuffer
+      ) {
+         NPCEntity npcComponent = archetypeChunk.getComponent(index, this.npcComponentType);
+
+         assert npcComponent != null;
+
+         Role role = npcComponent.getRole();
+         if (role != null) {
+            TickThrottleSupport tickThrottleSupport = role.getTickThrottleSupport();
+            World world = store.getExternalData().getWorld();
+            if (archetypeChunk.getComponent(index, this.frozenComponentType) == null && !world.getWorldConfig().isAllNPCFrozen()) {
+               TickThrottleSupport.Rate rate;
+               if (!tickThrottleSupport.isEnabled()) {
+                  rate = TickThrottleSupport.Rate.Full;
+               } else {
+                  TransformComponent transformComponent = archetypeChunk.getComponent(index, this.transformComponentType);
+
+                  assert transformComponent != null;
+
+                  Vector3d position = transformComponent.getPosition();
+                  double playerDistanceSquared = Double.MAX_VALUE;
+                  Ref<EntityStore> playerRef = store.getResource(this.playerSpatialResource).getSpatialStructure().closest(position);
+                  if (playerRef != null && playerRef.isValid()) {
+                     TransformComponent playerTransformComponent = commandBuffer.getComponent(playerRef, this.transformComponentType);
+                     if (playerTransformComponent != null) {
+                        playerDistanceSquared = playerTransformComponent.getPosition().distanceSquaredTo(position);
+                     }
+                  }
+
+                  EntityTrackerSystems.Visible visibleComponent = archetypeChunk.getComponent(index, this.visibleComponentType);
+                  boolean tracked = visibleComponent != null && (!visibleComponent.visibleTo.isEmpty() || !visibleComponent.previousVisibleTo.isEmpty());
+                  rate = tickThrottleSupport.getRate(playerDistanceSquared, tracked);
+               }
+
+               tickThrottleSupport.update(world.getTick(), dt, rate);
+            } else {
+               tickThrottleSupport.reset();
+            }
+         }
+      }
+   }
+
    public static class PostBehaviourSupportTickSystem extends SteppableTickingSystem {
       @Nonnull
       private final ComponentType<EntityStore, NPCEntity> npcComponentType;
@@ -165,19 +269,23 @@ public class RoleSystems {
 
          Ref<EntityStore> ref = archetypeChunk.getReferenceTo(index);
          Role role = npcComponent.getRole();
-         MotionController activeMotionController = role.getActiveMotionController();
-         activeMotionController.clearOverrides();
-         activeMotionController.constrainRotations(role, archetypeChunk.getComponent(index, this.transformComponentType));
-         role.getCombatSupport().tick(dt);
-         role.getWorldSupport().tick(dt);
-         EntitySupport entitySupport = role.getEntitySupport();
-         entitySupport.tick(dt);
-         entitySupport.handleNominatedDisplayName(ref, commandBuffer);
-         role.getStateSupport().update(commandBuffer);
-         npcComponent.clearDamageData();
-         role.getMarkedEntitySupport().setTargetSlotToIgnoreForAvoidance(Integer.MIN_VALUE);
-         role.setReachedTerminalAction(false);
-         role.getPositionCache().clear(dt);
+         TickThrottleSupport tickThrottleSupport = role.getTickThrottleSupport();
+         if (tickThrottleSupport.isDue()) {
+            float tickLength = tickThrottleSupport.getTickLength(dt);
+            MotionController activeMotionController = role.getActiveMotionController();
+            activeMotionController.clearOverrides();
+            activeMotionController.constrainRotations(role, archetypeChunk.getComponent(index, this.transformComponentType));
+            role.getCombatSupport().tick(tickLength);
+            role.getWorldSupport().tick(tickLength);
+            EntitySupport entitySupport = role.getEntitySupport();
+            entitySupport.tick(tickLength);
+            entitySupport.handleNominatedDisplayName(ref, commandBuffer);
+            role.getStateSupport().update(commandBuffer);
+            npcComponent.clearDamageData();
+            role.getMarkedEntitySupport().setTargetSlotToIgnoreForAvoidance(Integer.MIN_VALUE);
+            role.setReachedTerminalAction(false);
+            role.getPositionCache().clear(tickLength);
+         }
       }
    }
 
@@ -228,6 +336,10 @@ public class RoleSystems {
          assert npcComponent != null;
 
          Role role = npcComponent.getRole();
+         if (!role.getTickThrottleSupport().isDue()) {
+            return;
+         }
+
          MarkedEntitySupport markedEntitySupport = role.getMarkedEntitySupport();
          Ref<EntityStore>[] entityTargets = markedEntitySupport.getEntityTargets();
 
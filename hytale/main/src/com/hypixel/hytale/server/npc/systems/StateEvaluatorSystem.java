@@ -83,14 +83,14 @@ public class StateEvaluatorSystem extends EntityTickingSystem<EntityStore> {
       assert uuidComponent != null;
 
       Role role = npcComponent.getRole();
-      if (role != null) {
+      if (role != null && role.getTickThrottleSupport().isDue()) {
          StateSupport stateSupport = role.getStateSupport();
          if (!stateSupport.isRunningTransitionActions()) {
             StateEvaluator stateEvaluator = archetypeChunk.getComponent(index, this.stateEvaluatorComponent);
 
             assert stateEvaluator != null;
 
-            if (stateEvaluator.isActive() && stateEvaluator.shouldExecute(dt)) {
+            if (stateEvaluator.isActive() && stateEvaluator.shouldExecute(role.getTickThrottleSupport().getTickLength(dt))) {
                HytaleLogger.Api logContext = LOGGER.at(Level.FINE);
                if (logContext.isEnabled()) {
                   logContext.log("%s with uuid %s: Beginning state evaluation", npcComponent.getRoleName(), uuidComponent.getUuid());
@@ -1,27 +1,36 @@
 package com.hypixel.hytale.server.npc.systems;
 
 import com.hypixel.hytale.common.thread.ticking.Tickable;
+import com.hypixel.hytale.component.Archetype;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.ReadWriteQuery;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.dependency.Dependency;
 import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.query.ReadWriteArchetypeQuery;
 import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.component.system.tick.ParallelSchedulableSystem;
+import com.hypixel.hytale.server.core.entity.Frozen;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.hytale.server.npc.components.StepComponent;
 import com.hypixel.hytale.server.npc.components.Timers;
 import java.util.Set;
 import javax.annotation.Nonnull;
 
-public class TimerSystem extends SteppableTickingSystem {
+public class TimerSystem extends SteppableTickingSystem implements ParallelSchedulableSystem<EntityStore> {
    @Nonnull
    private final ComponentType<EntityStore, Timers> timersComponentType;
    @Nonnull
    private final Set<Dependency<EntityStore>> dependencies;
+   @Nonnull
+   private final ReadWriteArchetypeQuery<EntityStore> accessQuery;
 
    public TimerSystem(@Nonnull ComponentType<EntityStore, Timers> timersComponentType, @Nonnull Set<Dependency<EntityStore>> dependencies) {
       this.timersComponentType = timersComponentType;
       this.dependencies = dependencies;
+      this.accessQuery = new ReadWriteQuery<>(Archetype.of(Frozen.getComponentType(), StepComponent.getComponentType()), Archetype.of(timersComponentType));
    }
 
    @Nonnull
@@ -32,7 +41,7 @@ public class TimerSystem extends SteppableTickingSystem {
 
    @Override
    public boolean isParallel(int archetypeChunkSize, int taskCount) {
-      return EntityTickingSystem.maybeUseParallel(archetypeChunkSize, taskCount);
+      return EntityTickingSystem.useCalibratedParallel(archetypeChunkSize, taskCount);
    }
 
    @Nonnull
@@ -41,6 +50,12 @@ public class TimerSystem extends SteppableTickingSystem {
       return this.timersComponentType;
    }
 
+   @Nonnull
+   @Override
+   public ReadWriteArchetypeQuery<EntityStore> getAccessQuery() {
+      return this.accessQuery;
+   }
+
    @Override
    public void steppedTick(
       float dt,
@@ -13,6 +13,7 @@ import com.hypixel.hytale.metrics.MetricResults;
 import com.hypixel.hytale.procedurallib.condition.IHeightThresholdInterpreter;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import com.hypixel.hytale.server.core.universe.world.worldgen.ChunkGenerationQueue;
 import com.hypixel.hytale.server.core.universe.world.worldgen.GeneratedBlockChunk;
 import com.hypixel.hytale.server.core.universe.world.worldgen.GeneratedBlockStateChunk;
 import com.hypixel.hytale.server.core.universe.world.worldgen.GeneratedChunk;
@@ -58,6 +59,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.LongPredicate;
+import java.util.function.LongToIntFunction;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import javax.annotation.Nonnull;
@@ -70,6 +72,8 @@ public class ChunkGenerator implements IBenchmarkableWorldGen, ValidatableWorldG
    @Nonnull
    private final ThreadPoolExecutor executor;
    @Nonnull
+   private final ChunkGenerationQueue generationQueue;
+   @Nonnull
    private final WorldGenTimingsCollector timings;
    private final ZonePatternProvider zonePatternProvider;
    private final ZonePatternGeneratorCache zonePatternGeneratorCache;
@@ -99,7 +103,8 @@ public class ChunkGenerator implements IBenchmarkableWorldGen, ValidatableWorldG
          this::onExecutorShutdown
       );
       this.executor.allowCoreThreadTimeOut(true);
-      this.timings = new WorldGenTimingsCollector(this.executor);
+      this.generationQueue = new ChunkGenerationQueue(this.executor);
+      this.timings = new WorldGenTimingsCollector(this.executor, this.generationQueue);
       this.zonePatternProvider = zonePatternProvider;
       this.zonePatternGeneratorCache = new ZonePatternGeneratorCache(zonePatternProvider);
       this.generatorCache = new ChunkGeneratorCache(
@@ -209,7 +214,15 @@ public class ChunkGenerator implements IBenchmarkableWorldGen, ValidatableWorldG
    @Nonnull
    @Override
    public CompletableFuture<GeneratedChunk> generate(int seed, long index, int x, int z, @Nullable LongPredicate stillNeeded) {
-      return CompletableFuture.<GeneratedChunk>supplyAsync(() -> {
+      return this.generate(seed, index, x, z, stillNeeded, null);
+   }
+
+   @Nonnull
+   @Override
+   public CompletableFuture<GeneratedChunk> generate(
+      int seed, long index, int x, int z, @Nullable LongPredicate stillNeeded, @Nullable LongToIntFunction priority
+   ) {
+      return this.generationQueue.<GeneratedChunk>submit(index, stillNeeded, priority, () -> {
          if (stillNeeded != null && !stillNeeded.test(index)) {
             return null;
          } else {
@@ -232,7 +245,7 @@ public class ChunkGenerator implements IBenchmarkableWorldGen, ValidatableWorldG
 
             return generatedChunk;
          }
-      }, this.executor).exceptionally(t -> {
+      }).exceptionally(t -> {
          throw new SkipSentryException(t);
       });
    }
@@ -2,10 +2,14 @@ package com.hypixel.hytale.storage;
 
 import com.github.luben.zstd.Zstd;
 import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.metrics.MetricsRegistry;
 import com.hypixel.hytale.unsafe.UnsafeUtil;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -24,11 +28,20 @@ import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.StampedLock;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 public class IndexedStorageFile implements Closeable {
+   private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
    public static final StampedLock[] EMPTY_STAMPED_LOCKS = new StampedLock[0];
    public static final MetricsRegistry<IndexedStorageFile> METRICS_REGISTRY = new MetricsRegistry<IndexedStorageFile>()
       .register("Size", file -> {
@@ -39,10 +52,15 @@ public class IndexedStorageFile implements Closeable {
          }
       }, Codec.LONG)
       .register("CompressionLevel", file -> file.getCompressionLevel(), Codec.INTEGER)
+      .register("DictionaryId", file -> file.getDictionaryId(), Codec.INTEGER)
       .register("BlobCount", file -> file.getBlobCount(), Codec.INTEGER)
       .register("UsedBlobCount", file -> file.keys().size(), Codec.INTEGER)
       .register("SegmentSize", file -> file.segmentSize(), Codec.INTEGER)
-      .register("SegmentCount", file -> file.segmentCount(), Codec.INTEGER);
+      .register("SegmentCount", file -> file.segmentCount(), Codec.INTEGER)
+      .register("PendingBlobCount", file -> file.pendingCount(), Codec.INTEGER)
+      .register("FreeSegmentCount", file -> file.freeSegmentCount(), Codec.INTEGER)
+      .register("FreeExtentCount", file -> file.freeExtentCount(), Codec.INTEGER)
+      .register("FragmentationRatio", file -> file.fragmentationRatio(), Codec.DOUBLE);
    public static final String MAGIC_STRING = "HytaleIndexedStorage";
    public static final int VERSION = 1;
    public static final int DEFAULT_BLOB_COUNT = 1024;
@@ -66,20 +84,40 @@ public class IndexedStorageFile implements Closeable {
    static final byte[] MAGIC_BYTES = "HytaleIndexedStorage".getBytes(StandardCharsets.UTF_8);
    private static final ByteBuffer MAGIC_BUFFER = ByteBuffer.wrap(MAGIC_BYTES);
    private static final ThreadLocal<ByteBuffer> CACHED_TEMP_BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(HEADER_LENGTH));
+   private static final ScheduledExecutorService GROUP_COMMIT_EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "IndexedStorageFile Group Commit");
+      t.setDaemon(true);
+      return t;
+   });
    @Nonnull
    private final Path path;
    private final FileChannel fileChannel;
    private boolean flushOnWrite = false;
    private int compressionLevel = 3;
+   @Nullable
+   private volatile ZstdDictionaryStore dictionaries;
    private int version;
    private int blobCount;
    private int segmentSize;
    private StampedLock[] indexLocks;
    private MappedByteBuffer mappedBlobIndexes;
-   private final StampedLock segmentLocksLock = new StampedLock();
-   private StampedLock[] segmentLocks = EMPTY_STAMPED_LOCKS;
    private final StampedLock usedSegmentsLock = new StampedLock();
    private final BitSet usedSegments = new BitSet();
+   private final SegmentAllocator segmentAllocator = new SegmentAllocator();
+   private long groupCommitWindowNanos;
+   private int groupCommitMaxBytes;
+   private boolean intentLog;
+   private final ReentrantLock commitLock = new ReentrantLock();
+   private final StampedLock pendingLock = new StampedLock();
+   private Int2IntOpenHashMap pendingIndexes = new Int2IntOpenHashMap();
+   private IntArrayList pendingFrees = new IntArrayList();
+   @Nullable
+   private Int2IntOpenHashMap committingIndexes;
+   private long pendingBytes;
+   @Nullable
+   private ScheduledFuture<?> scheduledCommit;
+   private final AtomicInteger leases = new AtomicInteger();
+   private volatile long lastAccessNanos = System.nanoTime();
 
    @Nonnull
    private static ByteBuffer getTempBuffer(int length) {
@@ -130,6 +168,7 @@ public class IndexedStorageFile implements Closeable {
             if (storageFile.version == 0) {
                storageFile = migrateV0(path, blobCount, segmentSize, options, attrs, storageFile);
             } else {
+               storageFile.replayIntentLog();
                storageFile.readUsedSegments();
             }
          }
@@ -195,6 +234,92 @@ public class IndexedStorageFile implements Closeable {
       this.compressionLevel = compressionLevel;
    }
 
+   @Nullable
+   public ZstdDictionaryStore getDictionaries() {
+      return this.dictionaries;
+   }
+
+   public void setDictionaries(@Nullable ZstdDictionaryStore dictionaries) {
+      this.dictionaries = dictionaries;
+   }
+
+   public int getDictionaryId() {
+      ZstdDictionaryStore dictionaries = this.dictionaries;
+      ZstdDictionary dictionary = dictionaries != null ? dictionaries.getActive() : null;
+      return dictionary != null ? dictionary.getId() : 0;
+   }
+
+   public void setGroupCommit(long windowMillis, int maxBytes, boolean intentLog) throws IOException {
+      if (windowMillis <= 0L && this.isGroupCommit()) {
+         this.commit();
+      }
+
+      this.groupCommitWindowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, windowMillis));
+      this.groupCommitMaxBytes = maxBytes;
+      this.intentLog = intentLog;
+   }
+
+   public boolean isGroupCommit() {
+      return this.groupCommitWindowNanos > 0L;
+   }
+
+   @Nonnull
+   public Path getIntentLogPath() {
+      return this.path.resolveSibling(this.path.getFileName() + ".journal");
+   }
+
+   public boolean acquire() {
+      return this.acquire(true);
+   }
+
+   public boolean acquire(boolean access) {
+      int leases;
+      do {
+         leases = this.leases.get();
+         if (leases < 0) {
+            return false;
+         }
+      } while (!this.leases.compareAndSet(leases, leases + 1));
+
+      if (access) {
+         this.lastAccessNanos = System.nanoTime();
+      }
+
+      return true;
+   }
+
+   public void release() {
+      if (this.leases.decrementAndGet() < 0) {
+         throw new IllegalStateException("IndexedStorageFile was released more often than it was acquired: " + this.path);
+      }
+   }
+
+   public boolean tryRetire() {
+      return this.leases.compareAndSet(0, -1);
+   }
+
+   public void retire() {
+      while (!this.tryRetire()) {
+         if (this.isRetired()) {
+            return;
+         }
+
+         Thread.onSpinWait();
+      }
+   }
+
+   public boolean isRetired() {
+      return this.leases.get() < 0;
+   }
+
+   public int getLeaseCount() {
+      return Math.max(0, this.leases.get());
+   }
+
+   public long getLastAccessNanos() {
+      return this.lastAccessNanos;
+   }
+
    @Nonnull
    protected IndexedStorageFile create(int blobCount, int segmentSize) throws IOException {
       if (blobCount <= 0) {
@@ -288,11 +413,52 @@ public class IndexedStorageFile implements Closeable {
                this.usedSegments.set(firstSegmentIndex, firstSegmentIndex + segmentsCount);
             }
          }
+
+         this.segmentAllocator.reset(this.usedSegments);
       } finally {
          this.usedSegmentsLock.unlockWrite(stamp);
       }
    }
 
+   protected void replayIntentLog() throws IOException {
+      Path intentLogPath = this.getIntentLogPath();
+      if (Files.exists(intentLogPath)) {
+         ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(intentLogPath));
+         if (isValidIntentLog(buffer)) {
+            int count = buffer.getInt(0);
+
+            for (int i = 0; i < count; i++) {
+               int blobIndex = buffer.getInt(4 + i * 8);
+               if (blobIndex >= 0 && blobIndex < this.blobCount) {
+                  this.mappedBlobIndexes.putInt(blobIndex * 4, buffer.getInt(8 + i * 8));
+               }
+            }
+
+            this.mappedBlobIndexes.force();
+            LOGGER.at(Level.INFO).log("Replayed %s index updates from intent log %s", count, intentLogPath);
+         } else {
+            LOGGER.at(Level.WARNING).log("Discarding incomplete intent log %s", intentLogPath);
+         }
+
+         Files.delete(intentLogPath);
+      }
+   }
+
+   private static boolean isValidIntentLog(@Nonnull ByteBuffer buffer) {
+      if (buffer.remaining() < 12) {
+         return false;
+      } else {
+         int count = buffer.getInt(0);
+         if (count >= 0 && buffer.remaining() == 4 + count * 8 + 8) {
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), 0, 4 + count * 8);
+            return crc.getValue() == buffer.getLong(4 + count * 8);
+         } else {
+            return false;
+         }
+      }
+   }
+
    public long size() throws IOException {
       return this.fileChannel.size();
    }
@@ -324,6 +490,79 @@ public class IndexedStorageFile implements Closeable {
       }
    }
 
+   public int pendingCount() {
+      long stamp = this.pendingLock.readLock();
+
+      int var3;
+      try {
+         var3 = this.pendingIndexes.size();
+      } finally {
+         this.pendingLock.unlockRead(stamp);
+      }
+
+      return var3;
+   }
+
+   public int freeSegmentCount() {
+      long stamp = this.usedSegmentsLock.readLock();
+
+      int var3;
+      try {
+         var3 = this.segmentAllocator.getFreeSegments();
+      } finally {
+         this.usedSegmentsLock.unlockRead(stamp);
+      }
+
+      return var3;
+   }
+
+   public int freeExtentCount() {
+      long stamp = this.usedSegmentsLock.readLock();
+
+      int var3;
+      try {
+         var3 = this.segmentAllocator.getFreeExtents();
+      } finally {
+         this.usedSegmentsLock.unlockRead(stamp);
+      }
+
+      return var3;
+   }
+
+   public double fragmentationRatio() {
+      long stamp = this.usedSegmentsLock.readLock();
+
+      double var4;
+      try {
+         int allocated = this.segmentAllocator.getEnd() - 1;
+         var4 = allocated <= 0 ? 0.0 : (double)this.segmentAllocator.getFreeSegments() / allocated;
+      } finally {
+         this.usedSegmentsLock.unlockRead(stamp);
+      }
+
+      return var4;
+   }
+
+   private int getFirstSegmentIndex(int blobIndex) {
+      if (this.isGroupCommit()) {
+         long stamp = this.pendingLock.readLock();
+
+         try {
+            if (this.pendingIndexes.containsKey(blobIndex)) {
+               return this.pendingIndexes.get(blobIndex);
+            }
+
+            if (this.committingIndexes != null && this.committingIndexes.containsKey(blobIndex)) {
+               return this.committingIndexes.get(blobIndex);
+            }
+         } finally {
+            this.pendingLock.unlockRead(stamp);
+         }
+      }
+
+      return this.mappedBlobIndexes.getInt(blobIndex * 4);
+   }
+
    @Nonnull
    public IntList keys() {
       IntArrayList list = new IntArrayList(this.blobCount);
@@ -332,7 +571,7 @@ public class IndexedStorageFile implements Closeable {
          int indexPos = blobIndex * 4;
          StampedLock lock = this.indexLocks[blobIndex];
          long stamp = lock.tryOptimisticRead();
-         int segmentIndex = this.mappedBlobIndexes.getInt(indexPos);
+         int segmentIndex = this.getFirstSegmentIndex(blobIndex);
          if (lock.validate(stamp)) {
             if (segmentIndex != 0) {
                list.add(blobIndex);
@@ -341,7 +580,7 @@ public class IndexedStorageFile implements Closeable {
             stamp = lock.readLock();
 
             try {
-               if (this.mappedBlobIndexes.getInt(indexPos) != 0) {
+               if (this.getFirstSegmentIndex(blobIndex) != 0) {
                   list.add(blobIndex);
                }
             } finally {
@@ -360,7 +599,7 @@ public class IndexedStorageFile implements Closeable {
 
          byte blobHeaderBuffer;
          try {
-            int firstSegmentIndex = this.mappedBlobIndexes.getInt(indexPos);
+            int firstSegmentIndex = this.getFirstSegmentIndex(blobIndex);
             if (firstSegmentIndex != 0) {
                ByteBuffer blobHeaderBufferx = this.readBlobHeader(firstSegmentIndex);
                return blobHeaderBufferx.getInt(SRC_LENGTH_OFFSET);
@@ -384,7 +623,7 @@ public class IndexedStorageFile implements Closeable {
 
          byte blobHeaderBuffer;
          try {
-            int firstSegmentIndex = this.mappedBlobIndexes.getInt(indexPos);
+            int firstSegmentIndex = this.getFirstSegmentIndex(blobIndex);
             if (firstSegmentIndex != 0) {
                ByteBuffer blobHeaderBufferx = this.readBlobHeader(firstSegmentIndex);
                return blobHeaderBufferx.getInt(COMPRESSED_LENGTH_OFFSET);
@@ -412,7 +651,7 @@ public class IndexedStorageFile implements Closeable {
          label43: {
             ByteBuffer blobHeaderBuffer;
             try {
-               int firstSegmentIndex = this.mappedBlobIndexes.getInt(indexPos);
+               int firstSegmentIndex = this.getFirstSegmentIndex(blobIndex);
                if (firstSegmentIndex != 0) {
                   blobHeaderBuffer = this.readBlobHeader(firstSegmentIndex);
                   srcLength = blobHeaderBuffer.getInt(SRC_LENGTH_OFFSET);
@@ -430,7 +669,8 @@ public class IndexedStorageFile implements Closeable {
          }
 
          src.position(0);
-         return Zstd.decompress(src, srcLength);
+         ZstdDictionary dictionary = this.getFrameDictionary(src);
+         return dictionary != null ? Zstd.decompress(src, dictionary.getDecompressDictionary(), srcLength) : Zstd.decompress(src, srcLength);
       } else {
          throw new IndexOutOfBoundsException("Index out of range: " + blobIndex + " blobCount: " + this.blobCount);
       }
@@ -444,7 +684,7 @@ public class IndexedStorageFile implements Closeable {
          ByteBuffer src;
          int srcLength;
          try {
-            int firstSegmentIndex = this.mappedBlobIndexes.getInt(indexPos);
+            int firstSegmentIndex = this.getFirstSegmentIndex(blobIndex);
             if (firstSegmentIndex == 0) {
                return;
             }
@@ -462,13 +702,14 @@ public class IndexedStorageFile implements Closeable {
          }
 
          src.position(0);
+         ZstdDictionary dictionary = this.getFrameDictionary(src);
          if (dest.isDirect()) {
-            Zstd.decompress(dest, src);
+            this.decompress(dest, src, dictionary);
          } else {
             ByteBuffer tempDest = allocateDirect(srcLength);
 
             try {
-               Zstd.decompress(tempDest, src);
+               this.decompress(tempDest, src, dictionary);
                tempDest.position(0);
                dest.put(tempDest);
             } finally {
@@ -482,6 +723,38 @@ public class IndexedStorageFile implements Closeable {
       }
    }
 
+   private int compress(@Nonnull ByteBuffer dest, @Nonnull ByteBuffer src) {
+      ZstdDictionaryStore dictionaries = this.dictionaries;
+      ZstdDictionary dictionary = dictionaries != null ? dictionaries.getActive() : null;
+      return dictionary != null
+         ? Zstd.compress(dest, src, dictionary.getCompressDictionary(this.compressionLevel))
+         : Zstd.compress(dest, src, this.compressionLevel);
+   }
+
+   private void decompress(@Nonnull ByteBuffer dest, @Nonnull ByteBuffer src, @Nullable ZstdDictionary dictionary) {
+      if (dictionary != null) {
+         Zstd.decompress(dest, src, dictionary.getDecompressDictionary());
+      } else {
+         Zstd.decompress(dest, src);
+      }
+   }
+
+   @Nullable
+   private ZstdDictionary getFrameDictionary(@Nonnull ByteBuffer src) throws IOException {
+      int dictionaryId = (int)Zstd.getDictIdFromFrameBuffer(src);
+      if (dictionaryId == 0) {
+         return null;
+      } else {
+         ZstdDictionaryStore dictionaries = this.dictionaries;
+         ZstdDictionary dictionary = dictionaries != null ? dictionaries.get(dictionaryId) : null;
+         if (dictionary == null) {
+            throw new IOException("Missing zstd dictionary " + Integer.toUnsignedString(dictionaryId) + " required by " + this.path);
+         } else {
+            return dictionary;
+         }
+      }
+   }
+
    @Nonnull
    protected ByteBuffer readBlobHeader(int firstSegmentIndex) throws IOException {
       if (firstSegmentIndex == 0) {
@@ -518,14 +791,14 @@ public class IndexedStorageFile implements Closeable {
          dest.position(BLOB_HEADER_LENGTH);
          int compressedLength;
          if (src.isDirect()) {
-            compressedLength = Zstd.compress(dest, src, this.compressionLevel);
+            compressedLength = this.compress(dest, src);
          } else {
             ByteBuffer tempSrc = allocateDirect(srcLength);
 
             try {
                tempSrc.put(src);
                tempSrc.position(0);
-               compressedLength = Zstd.compress(dest, tempSrc, this.compressionLevel);
+               compressedLength = this.compress(dest, tempSrc);
             } finally {
                if (UnsafeUtil.UNSAFE != null) {
                   UnsafeUtil.UNSAFE.invokeCleaner(tempSrc);
@@ -537,9 +810,17 @@ public class IndexedStorageFile implements Closeable {
          dest.limit(dest.position());
          dest.position(0);
          int indexPos = blobIndex * 4;
+         boolean commit = false;
          long stamp = this.indexLocks[blobIndex].writeLock();
 
          try {
+            if (this.isGroupCommit()) {
+               int length = dest.remaining();
+               int firstSegmentIndex = this.writeSegments(dest);
+               commit = this.stageIndex(blobIndex, firstSegmentIndex, length);
+               return;
+            }
+
             int oldSegmentLength = 0;
             int oldFirstSegmentIndex = this.mappedBlobIndexes.getInt(indexPos);
             if (oldFirstSegmentIndex != 0) {
@@ -559,16 +840,13 @@ public class IndexedStorageFile implements Closeable {
             }
 
             if (oldSegmentLength > 0) {
-               long usedSegmentsStamp = this.usedSegmentsLock.writeLock();
-
-               try {
-                  this.usedSegments.clear(oldFirstSegmentIndex, oldFirstSegmentIndex + oldSegmentLength);
-               } finally {
-                  this.usedSegmentsLock.unlockWrite(usedSegmentsStamp);
-               }
+               this.freeSegments(oldFirstSegmentIndex, oldSegmentLength);
             }
          } finally {
             this.indexLocks[blobIndex].unlockWrite(stamp);
+            if (commit) {
+               this.commit();
+            }
          }
       } else {
          throw new IndexOutOfBoundsException("Index out of range: " + blobIndex + " blobCount: " + this.blobCount);
@@ -578,9 +856,15 @@ public class IndexedStorageFile implements Closeable {
    public void removeBlob(int blobIndex) throws IOException {
       if (blobIndex >= 0 && blobIndex < this.blobCount) {
          int indexPos = blobIndex * 4;
+         boolean commit = false;
          long stamp = this.indexLocks[blobIndex].writeLock();
 
          try {
+            if (this.isGroupCommit()) {
+               commit = this.stageIndex(blobIndex, 0, 0);
+               return;
+            }
+
             int oldFirstSegmentIndex = this.mappedBlobIndexes.getInt(indexPos);
             if (oldFirstSegmentIndex != 0) {
                ByteBuffer blobHeaderBuffer = this.readBlobHeader(oldFirstSegmentIndex);
@@ -591,132 +875,324 @@ public class IndexedStorageFile implements Closeable {
                   this.mappedBlobIndexes.force(indexPos, 4);
                }
 
-               long usedSegmentsStamp = this.usedSegmentsLock.writeLock();
-
-               try {
-                  this.usedSegments.clear(oldFirstSegmentIndex, oldFirstSegmentIndex + oldSegmentLength);
-               } finally {
-                  this.usedSegmentsLock.unlockWrite(usedSegmentsStamp);
-               }
+               this.freeSegments(oldFirstSegmentIndex, oldSegmentLength);
             }
          } finally {
             this.indexLocks[blobIndex].unlockWrite(stamp);
+            if (commit) {
+               this.commit();
+            }
          }
       } else {
          throw new IndexOutOfBoundsException("Index out of range: " + blobIndex + " blobCount: " + this.blobCount);
       }
    }
 
-   protected int writeSegments(@Nonnull ByteBuffer data) throws IOException {
-      int dataRemaining = data.remaining();
-      int segmentsCount = this.requiredSegments(dataRemaining);
-      IndexedStorageFile.SegmentRangeWriteLock segmentLock = this.findFreeSegment(segmentsCount);
+   private boolean stageIndex(int blobIndex, int firstSegmentIndex, int length) throws IOException {
+      long stamp = this.pendingLock.writeLock();
 
-      int var8;
       try {
-         int firstSegmentIndex = segmentLock.segmentIndex;
-         if (this.fileChannel.write(data, this.segmentPosition(firstSegmentIndex)) != dataRemaining) {
-            throw new IllegalStateException();
+         boolean pending = this.pendingIndexes.containsKey(blobIndex);
+         int oldFirstSegmentIndex;
+         if (pending) {
+            oldFirstSegmentIndex = this.pendingIndexes.get(blobIndex);
+         } else if (this.committingIndexes != null && this.committingIndexes.containsKey(blobIndex)) {
+            oldFirstSegmentIndex = this.committingIndexes.get(blobIndex);
+         } else {
+            oldFirstSegmentIndex = this.mappedBlobIndexes.getInt(blobIndex * 4);
          }
 
-         long stamp = this.usedSegmentsLock.writeLock();
+         if (oldFirstSegmentIndex == 0 && firstSegmentIndex == 0) {
+            return false;
+         } else {
+            if (oldFirstSegmentIndex != 0) {
+               ByteBuffer blobHeaderBuffer = this.readBlobHeader(oldFirstSegmentIndex);
+               int oldSegmentLength = this.requiredSegments(BLOB_HEADER_LENGTH + blobHeaderBuffer.getInt(COMPRESSED_LENGTH_OFFSET));
+               if (pending) {
+                  this.freeSegments(oldFirstSegmentIndex, oldSegmentLength);
+               } else {
+                  this.pendingFrees.add(oldFirstSegmentIndex);
+                  this.pendingFrees.add(oldSegmentLength);
+               }
+            }
+
+            this.pendingIndexes.put(blobIndex, firstSegmentIndex);
+            this.pendingBytes += length;
+            if (this.scheduledCommit == null) {
+               this.scheduledCommit = GROUP_COMMIT_EXECUTOR.schedule(this::scheduledCommit, this.groupCommitWindowNanos, TimeUnit.NANOSECONDS);
+            }
 
-         try {
-            this.usedSegments.set(firstSegmentIndex, firstSegmentIndex + segmentsCount);
-         } finally {
-            this.usedSegmentsLock.unlockWrite(stamp);
+            return this.pendingBytes >= this.groupCommitMaxBytes;
          }
-
-         var8 = firstSegmentIndex;
       } finally {
-         segmentLock.unlock();
+         this.pendingLock.unlockWrite(stamp);
       }
+   }
 
-      return var8;
+   private void scheduledCommit() {
+      try {
+         this.commit();
+      } catch (Throwable var2) {
+         ((HytaleLogger.Api)LOGGER.at(Level.SEVERE).withCause(var2)).log("Failed group commit for %s", this.path);
+      }
    }
 
-   @Nonnull
-   private IndexedStorageFile.SegmentRangeWriteLock findFreeSegment(int count) {
-      long[] stamps = new long[count];
-      int index = 1;
+   public void commit() throws IOException {
+      this.commitLock.lock();
 
-      label98:
-      while (true) {
-         long indexesStamp = this.usedSegmentsLock.readLock();
+      try {
+         long stamp = this.pendingLock.writeLock();
 
+         Int2IntOpenHashMap batch;
+         IntArrayList frees;
          try {
-            int start = 0;
-            int found = 0;
-
-            while (found < count) {
-               int nextUsedIndex = this.usedSegments.nextSetBit(index);
-               if (nextUsedIndex < 0) {
-                  start = index;
-                  break;
-               }
+            if (this.scheduledCommit != null) {
+               this.scheduledCommit.cancel(false);
+               this.scheduledCommit = null;
+            }
 
-               if (index == nextUsedIndex) {
-                  start = this.usedSegments.nextClearBit(index);
-                  nextUsedIndex = this.usedSegments.nextSetBit(start + 1);
-                  if (nextUsedIndex < 0) {
-                     break;
-                  }
+            if (this.pendingIndexes.isEmpty()) {
+               return;
+            }
 
-                  found = nextUsedIndex - start;
-                  index = nextUsedIndex + 1;
-               } else {
-                  start = index;
-                  found = nextUsedIndex - index;
-                  index = nextUsedIndex + 1;
+            batch = this.pendingIndexes;
+            frees = this.pendingFrees;
+            this.committingIndexes = batch;
+            this.pendingIndexes = new Int2IntOpenHashMap();
+            this.pendingFrees = new IntArrayList();
+            this.pendingBytes = 0L;
+         } finally {
+            this.pendingLock.unlockWrite(stamp);
+         }
+
+         try {
+            this.fileChannel.force(false);
+            if (this.intentLog) {
+               this.writeIntentLog(batch);
+            }
+
+            for (Int2IntMap.Entry entry : batch.int2IntEntrySet()) {
+               int blobIndex = entry.getIntKey();
+               long indexStamp = this.indexLocks[blobIndex].writeLock();
+
+               try {
+                  this.mappedBlobIndexes.putInt(blobIndex * 4, entry.getIntValue());
+               } finally {
+                  this.indexLocks[blobIndex].unlockWrite(indexStamp);
                }
             }
 
-            for (int i = count - 1; i >= 0; i--) {
-               stamps[i] = this.getSegmentLock(start + i).tryWriteLock();
-               if (stamps[i] == 0L) {
-                  for (int j = count - 1; j > i; j--) {
-                     this.getSegmentLock(start + j).unlockWrite(stamps[j]);
-                  }
+            this.mappedBlobIndexes.force();
+         } catch (Throwable var17) {
+            stamp = this.pendingLock.writeLock();
+
+            try {
+               for (Int2IntMap.Entry entry : batch.int2IntEntrySet()) {
+                  this.pendingIndexes.putIfAbsent(entry.getIntKey(), entry.getIntValue());
+               }
 
-                  index = start + i + 1;
-                  continue label98;
+               this.pendingFrees.addAll(frees);
+               this.committingIndexes = null;
+               if (this.scheduledCommit == null && this.isGroupCommit()) {
+                  this.scheduledCommit = GROUP_COMMIT_EXECUTOR.schedule(this::scheduledCommit, this.groupCommitWindowNanos, TimeUnit.NANOSECONDS);
                }
+            } finally {
+               this.pendingLock.unlockWrite(stamp);
             }
 
-            return new IndexedStorageFile.SegmentRangeWriteLock(start, count, stamps);
+            throw var17;
+         }
+
+         stamp = this.pendingLock.writeLock();
+
+         try {
+            this.committingIndexes = null;
          } finally {
-            this.usedSegmentsLock.unlockRead(indexesStamp);
+            this.pendingLock.unlockWrite(stamp);
+         }
+
+         for (int i = 0; i < frees.size(); i += 2) {
+            this.freeSegments(frees.getInt(i), frees.getInt(i + 1));
+         }
+
+         if (this.intentLog) {
+            Files.deleteIfExists(this.getIntentLogPath());
          }
+      } finally {
+         this.commitLock.unlock();
       }
    }
 
-   protected StampedLock getSegmentLock(int segmentIndex) {
-      if (segmentIndex < this.segmentLocks.length) {
-         return this.segmentLocks[segmentIndex];
-      } else {
-         long stamp = this.segmentLocksLock.writeLock();
+   public int compact(int maxBlobs) throws IOException {
+      this.commitLock.lock();
 
-         StampedLock newLength;
-         try {
-            if (segmentIndex >= this.segmentLocks.length) {
-               int newLengthx = segmentIndex + 1;
-               StampedLock[] newArray = Arrays.copyOf(this.segmentLocks, newLengthx);
+      int var15;
+      try {
+         this.commit();
+         LongArrayList blobs = new LongArrayList();
+
+         for (int blobIndex = 0; blobIndex < this.blobCount; blobIndex++) {
+            int firstSegmentIndex = this.mappedBlobIndexes.getInt(blobIndex * 4);
+            if (firstSegmentIndex != 0) {
+               blobs.add((long)firstSegmentIndex << 32 | blobIndex);
+            }
+         }
+
+         long[] sorted = blobs.toLongArray();
+         Arrays.sort(sorted);
+         int relocated = 0;
+
+         for (int i = sorted.length - 1; i >= 0 && relocated < maxBlobs; i--) {
+            long entry = sorted[i];
+            if (this.relocateBlob((int)entry, (int)(entry >>> 32))) {
+               relocated++;
+            }
+         }
 
-               for (int i = this.segmentLocks.length; i < newLengthx; i++) {
-                  newArray[i] = new StampedLock();
+         this.truncate();
+         var15 = relocated;
+      } finally {
+         this.commitLock.unlock();
+      }
+
+      return var15;
+   }
+
+   private boolean relocateBlob(int blobIndex, int expectedFirstSegmentIndex) throws IOException {
+      int indexPos = blobIndex * 4;
+      long stamp = this.indexLocks[blobIndex].writeLock();
+
+      try {
+         int firstSegmentIndex = this.mappedBlobIndexes.getInt(indexPos);
+         if (firstSegmentIndex != expectedFirstSegmentIndex || firstSegmentIndex == 0) {
+            return false;
+         } else {
+            long pendingStamp = this.pendingLock.readLock();
+
+            try {
+               if (this.pendingIndexes.containsKey(blobIndex)) {
+                  return false;
                }
+            } finally {
+               this.pendingLock.unlockRead(pendingStamp);
+            }
+
+            int length = BLOB_HEADER_LENGTH + this.readBlobHeader(firstSegmentIndex).getInt(COMPRESSED_LENGTH_OFFSET);
+            int segmentsCount = this.requiredSegments(length);
+            int newFirstSegmentIndex = this.allocateSegments(segmentsCount, firstSegmentIndex);
+            if (newFirstSegmentIndex == 0) {
+               return false;
+            } else {
+               try {
+                  ByteBuffer buffer = allocateDirect(length);
+                  if (this.fileChannel.read(buffer, this.segmentPosition(firstSegmentIndex)) != length) {
+                     throw new IllegalStateException();
+                  }
 
-               this.segmentLocks = newArray;
-               return this.segmentLocks[segmentIndex];
+                  buffer.flip();
+                  if (this.fileChannel.write(buffer, this.segmentPosition(newFirstSegmentIndex)) != length) {
+                     throw new IllegalStateException();
+                  }
+
+                  this.fileChannel.force(false);
+                  this.mappedBlobIndexes.putInt(indexPos, newFirstSegmentIndex);
+                  this.mappedBlobIndexes.force(indexPos, 4);
+               } catch (Throwable var15) {
+                  this.freeSegments(newFirstSegmentIndex, segmentsCount);
+                  throw var15;
+               }
+
+               this.freeSegments(firstSegmentIndex, segmentsCount);
+               return true;
             }
+         }
+      } finally {
+         this.indexLocks[blobIndex].unlockWrite(stamp);
+      }
+   }
 
-            newLength = this.segmentLocks[segmentIndex];
-         } finally {
-            this.segmentLocksLock.unlockWrite(stamp);
+   private void truncate() throws IOException {
+      long stamp = this.usedSegmentsLock.writeLock();
+
+      try {
+         long size = this.segmentPosition(this.segmentAllocator.getEnd());
+         if (size < this.fileChannel.size()) {
+            this.fileChannel.truncate(size);
+         }
+      } finally {
+         this.usedSegmentsLock.unlockWrite(stamp);
+      }
+   }
+
+   private void writeIntentLog(@Nonnull Int2IntMap batch) throws IOException {
+      ByteBuffer buffer = ByteBuffer.allocate(4 + batch.size() * 8 + 8);
+      buffer.putInt(batch.size());
+
+      for (Int2IntMap.Entry entry : batch.int2IntEntrySet()) {
+         buffer.putInt(entry.getIntKey());
+         buffer.putInt(entry.getIntValue());
+      }
+
+      CRC32 crc = new CRC32();
+      crc.update(buffer.array(), 0, buffer.position());
+      buffer.putLong(crc.getValue());
+      buffer.flip();
+
+      try (FileChannel channel = FileChannel.open(
+            this.getIntentLogPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING
+         )) {
+         while (buffer.hasRemaining()) {
+            channel.write(buffer);
+         }
+
+         channel.force(false);
+      }
+   }
+
+   private void freeSegments(int firstSegmentIndex, int segmentLength) {
+      long stamp = this.usedSegmentsLock.writeLock();
+
+      try {
+         this.usedSegments.clear(firstSegmentIndex, firstSegmentIndex + segmentLength);
+         this.segmentAllocator.free(firstSegmentIndex, segmentLength);
+      } finally {
+         this.usedSegmentsLock.unlockWrite(stamp);
+      }
+   }
+
+   protected int writeSegments(@Nonnull ByteBuffer data) throws IOException {
+      int dataRemaining = data.remaining();
+      int segmentsCount = this.requiredSegments(dataRemaining);
+      int firstSegmentIndex = this.allocateSegments(segmentsCount, 0);
+
+      try {
+         if (this.fileChannel.write(data, this.segmentPosition(firstSegmentIndex)) != dataRemaining) {
+            throw new IllegalStateException();
+         }
+      } catch (Throwable var6) {
+         this.freeSegments(firstSegmentIndex, segmentsCount);
+         throw var6;
+      }
+
+      return firstSegmentIndex;
+   }
+
+   private int allocateSegments(int count, int limit) {
+      long stamp = this.usedSegmentsLock.writeLock();
+
+      int var6;
+      try {
+         int firstSegmentIndex = limit > 0 ? this.segmentAllocator.allocateBefore(count, limit) : this.segmentAllocator.allocate(count);
+         if (firstSegmentIndex != 0) {
+            this.usedSegments.set(firstSegmentIndex, firstSegmentIndex + count);
          }
 
-         return newLength;
+         var6 = firstSegmentIndex;
+      } finally {
+         this.usedSegmentsLock.unlockWrite(stamp);
       }
+
+      return var6;
    }
 
    protected long segmentsBase() {
@@ -753,18 +1229,25 @@ public class IndexedStorageFile implements Closeable {
    }
 
    public void force(boolean metaData) throws IOException {
+      this.commit();
       this.fileChannel.force(metaData);
       this.mappedBlobIndexes.force();
    }
 
    @Override
    public void close() throws IOException {
-      this.fileChannel.close();
-      if (UnsafeUtil.UNSAFE != null) {
-         UnsafeUtil.UNSAFE.invokeCleaner(this.mappedBlobIndexes);
-      }
+      if (this.mappedBlobIndexes != null) {
+         if (this.isGroupCommit()) {
+            this.commit();
+         }
 
-      this.mappedBlobIndexes = null;
+         this.fileChannel.close();
+         if (UnsafeUtil.UNSAFE != null) {
+            UnsafeUtil.UNSAFE.invokeCleaner(this.mappedBlobIndexes);
+         }
+
+         this.mappedBlobIndexes = null;
+      }
    }
 
    @Nonnull
@@ -782,6 +1265,8 @@ public class IndexedStorageFile implements Closeable {
          + this.mappedBlobIndexes
          + ", usedSegments="
          + this.usedSegments
+         + ", segmentAllocator="
+         + this.segmentAllocator
          + "}";
    }
 
@@ -802,29 +1287,4 @@ public class IndexedStorageFile implements Closeable {
          return this.index;
       }
    }
-
-   protected class SegmentRangeWriteLock {
-      private final int segmentIndex;
-      private final int count;
-      private final long[] stamps;
-
-      public SegmentRangeWriteLock(int segmentIndex, int count, long[] stamps) {
-         if (segmentIndex == 0) {
-            throw new IllegalArgumentException("Invalid segment index!");
-         } else if (count == 0) {
-            throw new IllegalArgumentException("Invalid count!");
-         } else {
-            this.segmentIndex = segmentIndex;
-            this.count = count;
-            this.stamps = stamps;
-         }
-      }
-
-      protected void unlock() {
-         for (int i = 0; i < this.count; i++) {
-            IndexedStorageFile.this.getSegmentLock(this.segmentIndex + i).unlockWrite(this.stamps[i]);
-            this.stamps[i] = 0L;
-         }
-      }
-   }
 }
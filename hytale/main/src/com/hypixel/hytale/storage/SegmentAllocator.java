@@ -0,0 +1,161 @@
+package com.hypixel.hytale.storage;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntRBTreeMap;
+import it.unimi.dsi.fastutil.ints.Int2IntSortedMap;
+import it.unimi.dsi.fastutil.longs.LongRBTreeSet;
+import it.unimi.dsi.fastutil.longs.LongSortedSet;
+import java.util.BitSet;
+import javax.annotation.Nonnull;
+
+public class SegmentAllocator {
+   public static final int NO_SEGMENT = 0;
+   @Nonnull
+   private final Int2IntRBTreeMap extentsByStart = new Int2IntRBTreeMap();
+   @Nonnull
+   private final LongRBTreeSet extentsBySize = new LongRBTreeSet();
+   private int freeSegments;
+   private int end = 1;
+
+   public SegmentAllocator() {
+   }
+
+   private static long sizeKey(int start, int length) {
+      return (long)length << 32 | start & 4294967295L;
+   }
+
+   public void reset(@Nonnull BitSet usedSegments) {
+      this.extentsByStart.clear();
+      this.extentsBySize.clear();
+      this.freeSegments = 0;
+      this.end = Math.max(1, usedSegments.length());
+      int start = usedSegments.nextClearBit(1);
+
+      while (start < this.end) {
+         int next = usedSegments.nextSetBit(start);
+         this.addExtent(start, next - start);
+         start = usedSegments.nextClearBit(next);
+      }
+   }
+
+   public int allocate(int count) {
+      if (count <= 0) {
+         throw new IllegalArgumentException("Invalid count!");
+      } else {
+         LongSortedSet candidates = this.extentsBySize.tailSet(sizeKey(0, count));
+         if (candidates.isEmpty()) {
+            int start = this.end;
+            this.end += count;
+            return start;
+         } else {
+            long key = candidates.firstLong();
+            int start = (int)key;
+            int length = (int)(key >>> 32);
+            this.removeExtent(start, length);
+            if (length > count) {
+               this.addExtent(start + count, length - count);
+            }
+
+            return start;
+         }
+      }
+   }
+
+   public int allocateBefore(int count, int limit) {
+      LongSortedSet candidates = this.extentsBySize.tailSet(sizeKey(0, count));
+      if (candidates.isEmpty()) {
+         return NO_SEGMENT;
+      } else {
+         long key = candidates.firstLong();
+         int start = (int)key;
+         int length = (int)(key >>> 32);
+         if (start + count > limit) {
+            Int2IntSortedMap head = this.extentsByStart.headMap(limit);
+            start = NO_SEGMENT;
+
+            for (Int2IntMap.Entry entry : head.int2IntEntrySet()) {
+               if (entry.getIntValue() >= count && entry.getIntKey() + count <= limit) {
+                  start = entry.getIntKey();
+                  length = entry.getIntValue();
+                  break;
+               }
+            }
+
+            if (start == NO_SEGMENT) {
+               return NO_SEGMENT;
+            }
+         }
+
+         this.removeExtent(start, length);
+         if (length > count) {
+            this.addExtent(start + count, length - count);
+         }
+
+         return start;
+      }
+   }
+
+   public void free(int start, int count) {
+      if (count > 0) {
+         int mergedStart = start;
+         int mergedLength = count;
+         Int2IntSortedMap head = this.extentsByStart.headMap(start);
+         if (!head.isEmpty()) {
+            int previousStart = head.lastIntKey();
+            int previousLength = head.get(previousStart);
+            if (previousStart + previousLength == start) {
+               this.removeExtent(previousStart, previousLength);
+               mergedStart = previousStart;
+               mergedLength += previousLength;
+            }
+         }
+
+         int nextStart = start + count;
+         if (this.extentsByStart.containsKey(nextStart)) {
+            int nextLength = this.extentsByStart.get(nextStart);
+            this.removeExtent(nextStart, nextLength);
+            mergedLength += nextLength;
+         }
+
+         if (mergedStart + mergedLength >= this.end) {
+            this.end = mergedStart;
+         } else {
+            this.addExtent(mergedStart, mergedLength);
+         }
+      }
+   }
+
+   public int getEnd() {
+      return this.end;
+   }
+
+   public int getFreeSegments() {
+      return this.freeSegments;
+   }
+
+   public int getFreeExtents() {
+      return this.extentsByStart.size();
+   }
+
+   public int getLargestFreeExtent() {
+      return this.extentsBySize.isEmpty() ? 0 : (int)(this.extentsBySize.lastLong() >>> 32);
+   }
+
+   private void addExtent(int start, int length) {
+      this.extentsByStart.put(start, length);
+      this.extentsBySize.add(sizeKey(start, length));
+      this.freeSegments += length;
+   }
+
+   private void removeExtent(int start, int length) {
+      this.extentsByStart.remove(start);
+      this.extentsBySize.remove(sizeKey(start, length));
+      this.freeSegments -= length;
+   }
+
+   @Nonnull
+   @Override
+   public String toString() {
+      return "SegmentAllocator{freeSegments=" + this.freeSegments + ", freeExtents=" + this.extentsByStart.size() + ", end=" + this.end + "}";
+   }
+}
@@ -0,0 +1,93 @@
+package com.hypixel.hytale.storage;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdDictTrainer;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+public class ZstdDictionary implements AutoCloseable {
+   public static final int DEFAULT_DICTIONARY_SIZE = 112640;
+   public static final int MIN_SAMPLES = 64;
+   private final int id;
+   @Nonnull
+   private final byte[] bytes;
+   @Nonnull
+   private final ZstdDictDecompress decompressDictionary;
+   @Nonnull
+   private final Int2ObjectOpenHashMap<ZstdDictCompress> compressDictionaries = new Int2ObjectOpenHashMap<>();
+
+   public ZstdDictionary(@Nonnull byte[] bytes) {
+      this.id = (int)Zstd.getDictIdFromDict(bytes);
+      if (this.id == 0) {
+         throw new IllegalArgumentException("Buffer doesn't contain a zstd dictionary!");
+      } else {
+         this.bytes = bytes;
+         this.decompressDictionary = new ZstdDictDecompress(bytes);
+      }
+   }
+
+   @Nonnull
+   public static ZstdDictionary train(@Nonnull List<byte[]> samples, int dictionarySize) {
+      if (samples.size() < MIN_SAMPLES) {
+         throw new IllegalArgumentException("At least " + MIN_SAMPLES + " samples are required to train a dictionary, got " + samples.size());
+      } else {
+         int totalSize = 0;
+
+         for (byte[] sample : samples) {
+            totalSize += sample.length;
+         }
+
+         ZstdDictTrainer trainer = new ZstdDictTrainer(totalSize, dictionarySize);
+
+         for (byte[] sample : samples) {
+            trainer.addSample(sample);
+         }
+
+         return new ZstdDictionary(trainer.trainSamples());
+      }
+   }
+
+   public int getId() {
+      return this.id;
+   }
+
+   @Nonnull
+   public byte[] getBytes() {
+      return this.bytes;
+   }
+
+   @Nonnull
+   public synchronized ZstdDictCompress getCompressDictionary(int compressionLevel) {
+      ZstdDictCompress compressDictionary = this.compressDictionaries.get(compressionLevel);
+      if (compressDictionary == null) {
+         compressDictionary = new ZstdDictCompress(this.bytes, compressionLevel);
+         this.compressDictionaries.put(compressionLevel, compressDictionary);
+      }
+
+      return compressDictionary;
+   }
+
+   @Nonnull
+   public ZstdDictDecompress getDecompressDictionary() {
+      return this.decompressDictionary;
+   }
+
+   @Override
+   public synchronized void close() {
+      for (ZstdDictCompress compressDictionary : this.compressDictionaries.values()) {
+         compressDictionary.close();
+      }
+
+      this.compressDictionaries.clear();
+      this.decompressDictionary.close();
+   }
+
+   @Nonnull
+   @Override
+   public String toString() {
+      return "ZstdDictionary{id=" + Integer.toUnsignedString(this.id) + ", size=" + this.bytes.length + "}";
+   }
+}
@@ -0,0 +1,116 @@
+package com.hypixel.hytale.storage;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+public class ZstdDictionaryStore implements Closeable {
+   private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+   public static final String EXTENSION = ".zdict";
+   @Nonnull
+   private final Path path;
+   @Nonnull
+   private final Map<Integer, ZstdDictionary> dictionaries = new ConcurrentHashMap<>();
+   @Nullable
+   private volatile ZstdDictionary latest;
+   private volatile boolean compressWrites;
+
+   public ZstdDictionaryStore(@Nonnull Path path) {
+      this.path = path;
+   }
+
+   @Nonnull
+   public Path getPath() {
+      return this.path;
+   }
+
+   public void load() throws IOException {
+      if (Files.isDirectory(this.path)) {
+         ZstdDictionary latest = null;
+         FileTime latestTime = null;
+
+         try (Stream<Path> stream = Files.list(this.path)) {
+            for (Path file : stream.filter(p -> p.getFileName().toString().endsWith(EXTENSION)).toList()) {
+               try {
+                  ZstdDictionary dictionary = new ZstdDictionary(Files.readAllBytes(file));
+                  ZstdDictionary existing = this.dictionaries.putIfAbsent(dictionary.getId(), dictionary);
+                  if (existing != null) {
+                     dictionary.close();
+                     dictionary = existing;
+                  }
+
+                  FileTime time = Files.getLastModifiedTime(file);
+                  if (latestTime == null || time.compareTo(latestTime) > 0) {
+                     latest = dictionary;
+                     latestTime = time;
+                  }
+               } catch (IllegalArgumentException var11) {
+                  ((HytaleLogger.Api)LOGGER.at(Level.WARNING).withCause(var11)).log("Ignoring invalid zstd dictionary %s", file);
+               }
+            }
+         }
+
+         if (latest != null) {
+            this.latest = latest;
+         }
+      }
+   }
+
+   public void add(@Nonnull ZstdDictionary dictionary) throws IOException {
+      Files.createDirectories(this.path);
+      Path file = this.path.resolve(Integer.toUnsignedString(dictionary.getId()) + EXTENSION);
+      Path tempFile = this.path.resolve(file.getFileName() + ".tmp");
+      Files.write(tempFile, dictionary.getBytes());
+      Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      this.dictionaries.put(dictionary.getId(), dictionary);
+      this.latest = dictionary;
+      LOGGER.at(Level.INFO).log("Added zstd dictionary %s to %s", dictionary, this.path);
+   }
+
+   @Nullable
+   public ZstdDictionary get(int id) {
+      return this.dictionaries.get(id);
+   }
+
+   @Nullable
+   public ZstdDictionary getActive() {
+      return this.compressWrites ? this.latest : null;
+   }
+
+   public boolean isCompressWrites() {
+      return this.compressWrites;
+   }
+
+   public void setCompressWrites(boolean compressWrites) {
+      this.compressWrites = compressWrites;
+   }
+
+   public boolean needsTraining() {
+      return this.compressWrites && this.latest == null;
+   }
+
+   public int size() {
+      return this.dictionaries.size();
+   }
+
+   @Override
+   public void close() {
+      this.latest = null;
+
+      for (ZstdDictionary dictionary : this.dictionaries.values()) {
+         dictionary.close();
+      }
+
+      this.dictionaries.clear();
+   }
+}